@@ -0,0 +1,131 @@
+package calculus.multivariate.models;
+
+import calculus.univariate.models.Variable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each variable of a multivariate function an int slot, so that points can be passed as
+ * double[] arrays, the value of the variable in slot i being at index i, instead of maps.
+ * Layouts are immutable.
+ */
+public final class VariableLayout {
+
+    private final List<Variable> variables;
+    private final Map<Variable, Integer> slots;
+
+    private VariableLayout(final List<Variable> variables) {
+        this.variables = List.copyOf(variables);
+        this.slots = new HashMap<>();
+        for (int i = 0; i < this.variables.size(); i++) {
+            if (slots.put(this.variables.get(i), i) != null) {
+                throw new IllegalArgumentException("Variable " + this.variables.get(i).getName() + " appears twice in the layout.");
+            }
+        }
+    }
+
+    /**
+     * Creates a layout with the variables in the given order
+     */
+    public static VariableLayout of(final Variable... variables) {
+        return new VariableLayout(List.of(variables));
+    }
+
+    /**
+     * Creates a layout with the variables in the given order
+     */
+    public static VariableLayout of(final List<Variable> variables) {
+        return new VariableLayout(variables);
+    }
+
+    /**
+     * Creates a layout with the variables sorted by name
+     */
+    public static VariableLayout sorted(final Collection<Variable> variables) {
+        return new VariableLayout(variables.stream().sorted().toList());
+    }
+
+    /**
+     * Returns the layout with the variables of this one, followed by those of the other one it lacks
+     */
+    public VariableLayout union(final VariableLayout other) {
+        if (other.variables.stream().allMatch(this::contains)) {
+            return this;
+        }
+        final List<Variable> union = new ArrayList<>(variables);
+        other.variables.stream().filter(variable -> !contains(variable)).forEach(union::add);
+        return new VariableLayout(union);
+    }
+
+    public int size() {
+        return variables.size();
+    }
+
+    public List<Variable> getVariables() {
+        return variables;
+    }
+
+    public Variable getVariable(final int slot) {
+        return variables.get(slot);
+    }
+
+    public boolean contains(final Variable variable) {
+        return slots.containsKey(variable);
+    }
+
+    /**
+     * Returns the slot of the variable
+     * @throws IllegalArgumentException -> if the variable is not in the layout
+     */
+    public int slotOf(final Variable variable) {
+        final Integer slot = slots.get(variable);
+        if (slot == null) {
+            throw new IllegalArgumentException("Variable " + variable.getName() + " is not in the layout.");
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the point of the given variable values, for callers that have a map at hand
+     */
+    public double[] toPoint(final Map<Variable, Double> values) {
+        final double[] point = new double[variables.size()];
+        for (int i = 0; i < point.length; i++) {
+            final Double value = values.get(variables.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value of variable " + variables.get(i).getName() + ".");
+            }
+            point[i] = value;
+        }
+        return point;
+    }
+
+    /**
+     * Returns the variable values of a point, the inverse of toPoint
+     */
+    public Map<Variable, Double> toMap(final double[] point, final int offset) {
+        final Map<Variable, Double> values = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++) {
+            values.put(variables.get(i), point[offset + i]);
+        }
+        return values;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof VariableLayout && variables.equals(((VariableLayout) other).variables);
+    }
+
+    @Override
+    public int hashCode() {
+        return variables.hashCode();
+    }
+
+    public String toString() {
+        return variables.stream().map(Variable::getName).toList().toString();
+    }
+}
@@ -0,0 +1,40 @@
+package calculus.multivariate.models.functions;
+
+import calculus.multivariate.models.VariableLayout;
+
+/**
+ * A multivariate function prepared for repeated evaluation at points given as double[] arrays,
+ * laid out by a VariableLayout, without building maps or boxing values.
+ * Obtained through Function.compile, it does not follow later changes to the function.
+ */
+public interface CompiledFunction {
+
+    VariableLayout getLayout();
+
+    /**
+     * Evaluates the function at the point stored from the given offset of the array
+     */
+    double evaluate(double[] points, int offset);
+
+    default double evaluate(final double[] point) {
+        if (point.length != getLayout().size()) {
+            throw new IllegalArgumentException("Point must have a value for every variable of the layout.");
+        }
+        return evaluate(point, 0);
+    }
+
+    /**
+     * Evaluates the function at points stored one after the other, and writes the values into results
+     * @return results
+     */
+    default double[] evaluateAll(final double[] points, final double[] results) {
+        final int dimension = getLayout().size();
+        if ((long) results.length * dimension != points.length) {
+            throw new IllegalArgumentException("Points must hold one point per result.");
+        }
+        for (int i = 0; i < results.length; i++) {
+            results[i] = evaluate(points, i * dimension);
+        }
+        return results;
+    }
+}
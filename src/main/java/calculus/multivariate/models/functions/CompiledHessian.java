@@ -0,0 +1,207 @@
+package calculus.multivariate.models.functions;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hessian of a multivariate function compiled for repeated evaluation at double[] points.
+ * The first derivatives are built once per variable of the function, and only the second derivatives of
+ * those containing the other variable are compiled, once for both (j, k) and (k, j).
+ * The symmetric structure is kept in compressed sparse row form, so the Hessian is written into a dense
+ * Matrix or row-major array, or as the values of a SparseMatrix sharing the structure; evaluations allocate
+ * nothing once each thread has evaluated it.
+ */
+public final class CompiledHessian {
+
+    @Getter
+    private final VariableLayout layout;
+
+    /**
+     * Second derivatives of rows j <= columns k
+     */
+    private final int[] entryRows;
+    private final int[] entryCols;
+    private final CompiledFunction[] entries;
+
+    /**
+     * Symmetric structure, the value at position p being the one of entry entryOf[p]
+     */
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final int[] entryOf;
+    private final ThreadLocal<double[]> entryValues;
+
+    private CompiledHessian(final VariableLayout layout, final int[] entryRows, final int[] entryCols,
+                            final CompiledFunction[] entries) {
+        this.layout = layout;
+        this.entryRows = entryRows;
+        this.entryCols = entryCols;
+        this.entries = entries;
+        final int size = layout.size();
+        this.rowPointers = new int[size + 1];
+        for (int e = 0; e < entries.length; e++) {
+            rowPointers[entryRows[e] + 1]++;
+            if (entryRows[e] != entryCols[e]) {
+                rowPointers[entryCols[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            rowPointers[i + 1] += rowPointers[i];
+        }
+        // Entries come by increasing row then column, so the columns of every row arrive in increasing order:
+        // the lower ones, of transposed entries with smaller rows, before the upper ones
+        this.columnIndices = new int[rowPointers[size]];
+        this.entryOf = new int[rowPointers[size]];
+        final int[] next = Arrays.copyOf(rowPointers, size);
+        for (int e = 0; e < entries.length; e++) {
+            if (entryRows[e] != entryCols[e]) {
+                columnIndices[next[entryCols[e]]] = entryRows[e];
+                entryOf[next[entryCols[e]]++] = e;
+            }
+        }
+        for (int e = 0; e < entries.length; e++) {
+            columnIndices[next[entryRows[e]]] = entryCols[e];
+            entryOf[next[entryRows[e]]++] = e;
+        }
+        this.entryValues = ThreadLocal.withInitial(() -> new double[entries.length]);
+    }
+
+    /**
+     * Compiles the second partial derivatives of the function for points laid out by the layout, which must
+     * contain every variable of the function
+     */
+    public static CompiledHessian of(final Function function, final VariableLayout layout) {
+        final List<Integer> rows = new ArrayList<>();
+        final List<Integer> cols = new ArrayList<>();
+        final List<CompiledFunction> entries = new ArrayList<>();
+        for (int j = 0; j < layout.size(); j++) {
+            if (!function.containsVariable(layout.getVariable(j))) {
+                continue;
+            }
+            final Function derivative = function.partialDerivative(layout.getVariable(j));
+            for (int k = j; k < layout.size(); k++) {
+                final Variable variable = layout.getVariable(k);
+                if (derivative.containsVariable(variable)) {
+                    rows.add(j);
+                    cols.add(k);
+                    entries.add(derivative.compilePartialDerivative(variable, layout));
+                }
+            }
+        }
+        return new CompiledHessian(layout, rows.stream().mapToInt(Integer::intValue).toArray(),
+                cols.stream().mapToInt(Integer::intValue).toArray(), entries.toArray(CompiledFunction[]::new));
+    }
+
+    /**
+     * Compiles the Hessian with a layout of the variables of the function sorted by name
+     */
+    public static CompiledHessian of(final Function function) {
+        return of(function, VariableLayout.sorted(function.getVariableSet()));
+    }
+
+    public int getSize() {
+        return layout.size();
+    }
+
+    /**
+     * Number of structurally non zero entries, counting both (j, k) and (k, j)
+     */
+    public int getNonZeroCount() {
+        return columnIndices.length;
+    }
+
+    /**
+     * Writes the structurally non zero entries at the point into values, row by row and by increasing column
+     * within a row, the order of the values of newSparseMatrix
+     * @return values
+     */
+    public double[] evaluateNonZeros(final double[] point, final double[] values) {
+        checkPoint(point);
+        if (values.length != columnIndices.length) {
+            throw new IllegalArgumentException("Values must have one entry per structural non zero.");
+        }
+        final double[] computed = entryValues.get();
+        for (int e = 0; e < entries.length; e++) {
+            computed[e] = entries[e].evaluate(point, 0);
+        }
+        for (int p = 0; p < values.length; p++) {
+            values[p] = computed[entryOf[p]];
+        }
+        return values;
+    }
+
+    /**
+     * Writes the Hessian at the point into a row-major array of size * size values
+     * @return buffer
+     */
+    public double[] evaluate(final double[] point, final double[] buffer) {
+        checkPoint(point);
+        final int size = getSize();
+        if (buffer.length != size * size) {
+            throw new IllegalArgumentException("Buffer must hold size * size values.");
+        }
+        Arrays.fill(buffer, 0.0);
+        for (int e = 0; e < entries.length; e++) {
+            final double value = entries[e].evaluate(point, 0);
+            buffer[entryRows[e] * size + entryCols[e]] = value;
+            buffer[entryCols[e] * size + entryRows[e]] = value;
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes the Hessian at the point into a size x size matrix
+     * @return destination
+     */
+    public Matrix evaluate(final double[] point, final Matrix destination) {
+        checkPoint(point);
+        final int size = getSize();
+        if (destination.getNumRows() != size || destination.getNumCols() != size) {
+            throw new IllegalArgumentException("Destination must be a " + size + "x" + size + " matrix.");
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                destination.set(i, j, 0.0);
+            }
+        }
+        for (int e = 0; e < entries.length; e++) {
+            final double value = entries[e].evaluate(point, 0);
+            destination.set(entryRows[e], entryCols[e], value);
+            destination.set(entryCols[e], entryRows[e], value);
+        }
+        return destination;
+    }
+
+    /**
+     * Creates a CSR sparse matrix with the structure of the Hessian and zero values, to be filled by
+     * evaluate(point, SparseMatrix)
+     */
+    public SparseMatrix newSparseMatrix(final String name) {
+        return SparseMatrix.of(name, getSize(), getSize(), SparseMatrix.Format.CSR, rowPointers, columnIndices, new double[columnIndices.length]);
+    }
+
+    /**
+     * Writes the Hessian at the point into the values of a sparse matrix created by newSparseMatrix
+     * @return destination
+     */
+    public SparseMatrix evaluate(final double[] point, final SparseMatrix destination) {
+        if (destination.getPointers() != rowPointers || destination.getIndices() != columnIndices) {
+            throw new IllegalArgumentException("Destination must be created by newSparseMatrix.");
+        }
+        evaluateNonZeros(point, destination.getValues());
+        return destination;
+    }
+
+    private void checkPoint(final double[] point) {
+        if (point.length != layout.size()) {
+            throw new IllegalArgumentException("Point must have a value for every variable of the layout.");
+        }
+    }
+}
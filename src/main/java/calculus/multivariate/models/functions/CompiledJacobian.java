@@ -0,0 +1,178 @@
+package calculus.multivariate.models.functions;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Jacobian of a vector of multivariate functions compiled for repeated evaluation at double[] points.
+ * Entry (i, j) is the partial derivative of function i with respect to the variable of slot j of the layout.
+ * Only the entries of functions containing that variable are compiled, the others being structural zeros,
+ * and the structure is kept in compressed sparse row form. The Jacobian is written into a dense Matrix or
+ * row-major array, or as the values of a SparseMatrix sharing the structure; evaluations allocate nothing.
+ */
+public final class CompiledJacobian {
+
+    @Getter
+    private final VariableLayout layout;
+    private final CompiledFunction[] functions;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final CompiledFunction[] entries;
+
+    private CompiledJacobian(final VariableLayout layout, final CompiledFunction[] functions, final int[] rowPointers,
+                             final int[] columnIndices, final CompiledFunction[] entries) {
+        this.layout = layout;
+        this.functions = functions;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.entries = entries;
+    }
+
+    /**
+     * Compiles the functions and their partial derivatives for points laid out by the layout, which must
+     * contain every variable of the functions
+     */
+    public static CompiledJacobian of(final List<? extends Function> functions, final VariableLayout layout) {
+        if (functions.isEmpty()) {
+            throw new IllegalArgumentException("At least one function is needed.");
+        }
+        final CompiledFunction[] compiledFunctions = new CompiledFunction[functions.size()];
+        final int[] rowPointers = new int[functions.size() + 1];
+        final List<Integer> columnIndices = new ArrayList<>();
+        final List<CompiledFunction> entries = new ArrayList<>();
+        for (int i = 0; i < functions.size(); i++) {
+            final Function function = functions.get(i);
+            compiledFunctions[i] = function.compile(layout);
+            for (int j = 0; j < layout.size(); j++) {
+                final Variable variable = layout.getVariable(j);
+                if (function.containsVariable(variable)) {
+                    columnIndices.add(j);
+                    entries.add(function.compilePartialDerivative(variable, layout));
+                }
+            }
+            rowPointers[i + 1] = entries.size();
+        }
+        return new CompiledJacobian(layout, compiledFunctions, rowPointers,
+                columnIndices.stream().mapToInt(Integer::intValue).toArray(), entries.toArray(CompiledFunction[]::new));
+    }
+
+    /**
+     * Compiles the Jacobian with a layout of the variables of the functions sorted by name
+     */
+    public static CompiledJacobian of(final List<? extends Function> functions) {
+        return of(functions, VariableLayout.sorted(functions.stream().flatMap(function -> function.getVariableSet().stream()).distinct().toList()));
+    }
+
+    public int getNumRows() {
+        return functions.length;
+    }
+
+    public int getNumCols() {
+        return layout.size();
+    }
+
+    public int getNonZeroCount() {
+        return entries.length;
+    }
+
+    /**
+     * Writes the values of the functions at the point into values
+     * @return values
+     */
+    public double[] evaluateFunctions(final double[] point, final double[] values) {
+        checkPoint(point);
+        if (values.length != functions.length) {
+            throw new IllegalArgumentException("Values must have one entry per function.");
+        }
+        for (int i = 0; i < functions.length; i++) {
+            values[i] = functions[i].evaluate(point, 0);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the structurally non zero entries at the point into values, row by row and by increasing column
+     * within a row, the order of the values of newSparseMatrix
+     * @return values
+     */
+    public double[] evaluateNonZeros(final double[] point, final double[] values) {
+        checkPoint(point);
+        if (values.length != entries.length) {
+            throw new IllegalArgumentException("Values must have one entry per structural non zero.");
+        }
+        for (int p = 0; p < entries.length; p++) {
+            values[p] = entries[p].evaluate(point, 0);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the Jacobian at the point into a row-major array of numRows * numCols values
+     * @return buffer
+     */
+    public double[] evaluate(final double[] point, final double[] buffer) {
+        checkPoint(point);
+        final int numCols = getNumCols();
+        if (buffer.length != functions.length * numCols) {
+            throw new IllegalArgumentException("Buffer must hold numRows * numCols values.");
+        }
+        Arrays.fill(buffer, 0.0);
+        for (int i = 0; i < functions.length; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                buffer[i * numCols + columnIndices[p]] = entries[p].evaluate(point, 0);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes the Jacobian at the point into a numRows x numCols matrix
+     * @return destination
+     */
+    public Matrix evaluate(final double[] point, final Matrix destination) {
+        checkPoint(point);
+        if (destination.getNumRows() != functions.length || destination.getNumCols() != getNumCols()) {
+            throw new IllegalArgumentException("Destination must be a " + functions.length + "x" + getNumCols() + " matrix.");
+        }
+        for (int i = 0; i < functions.length; i++) {
+            int p = rowPointers[i];
+            for (int j = 0; j < getNumCols(); j++) {
+                destination.set(i, j, p < rowPointers[i + 1] && columnIndices[p] == j ? entries[p++].evaluate(point, 0) : 0.0);
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Creates a CSR sparse matrix with the structure of the Jacobian and zero values, to be filled by
+     * evaluate(point, SparseMatrix)
+     */
+    public SparseMatrix newSparseMatrix(final String name) {
+        return SparseMatrix.of(name, getNumRows(), getNumCols(), SparseMatrix.Format.CSR, rowPointers, columnIndices, new double[entries.length]);
+    }
+
+    /**
+     * Writes the Jacobian at the point into the values of a sparse matrix created by newSparseMatrix
+     * @return destination
+     */
+    public SparseMatrix evaluate(final double[] point, final SparseMatrix destination) {
+        if (destination.getPointers() != rowPointers || destination.getIndices() != columnIndices) {
+            throw new IllegalArgumentException("Destination must be created by newSparseMatrix.");
+        }
+        evaluateNonZeros(point, destination.getValues());
+        return destination;
+    }
+
+    private void checkPoint(final double[] point) {
+        if (point.length != layout.size()) {
+            throw new IllegalArgumentException("Point must have a value for every variable of the layout.");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package calculus.multivariate.models.functions;
 
 import lombok.Getter;
+import calculus.multivariate.models.VariableLayout;
 import calculus.univariate.models.Variable;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
@@ -58,6 +59,22 @@ public class ConstantFunction extends Function {
         return this.value;
     }
 
+    @Override
+    public CompiledFunction compile(final VariableLayout layout) {
+        final double constant = this.value;
+        return new CompiledFunction() {
+            @Override
+            public VariableLayout getLayout() {
+                return layout;
+            }
+
+            @Override
+            public double evaluate(final double[] points, final int offset) {
+                return constant;
+            }
+        };
+    }
+
     @Override
     public Function partialDerivative(final Variable variable) {
         return new ConstantFunction(0.0, this.getFuncName() + "'", this.getIsIndefiniteIntegral());
@@ -1,27 +1,38 @@
 package calculus.multivariate.models.functions;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import calculus.multivariate.models.VariableLayout;
 import calculus.univariate.models.Variable;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Multivariate function. The variable set, domain and range are computed on first use and cached, so building
+ * a function costs little more than storing its name and variables.
+ */
 @Getter
 public abstract class Function {
     @NonNull private final String funcName;
-    @NonNull private final Set<Variable> variableSet;
+    @Getter(AccessLevel.NONE) private final Collection<Variable> variables;
     @NonNull private final FunctionType functionType;
     private final Boolean isIndefiniteIntegral;
-    @NonNull private final Map<Variable, Range> domain;
-    @NonNull private final List<Range> range;
     private final Boolean isEval;
     private Map<Variable, Double> evalValues = null;
 
+    @Getter(AccessLevel.NONE) private volatile Set<Variable> variableSet;
+    @Getter(AccessLevel.NONE) private volatile Map<Variable, Range> domain;
+    @Getter(AccessLevel.NONE) private volatile List<Range> range;
+
     public Function(
             final String funcName,
             final List<Variable> variableList,
@@ -35,11 +46,9 @@ public abstract class Function {
         }
 
         this.funcName = funcName;
-        this.variableSet = new HashSet<>(variableList);
+        this.variables = List.copyOf(variableList);
         this.functionType = functionType;
         this.isIndefiniteIntegral = isIndefiniteIntegral;
-        this.domain = computeDomain();
-        this.range = computeRange();
     }
 
     public Function(
@@ -58,11 +67,62 @@ public abstract class Function {
         }
 
         this.funcName = funcName;
-        this.variableSet = new HashSet<>(variableList);
+        this.variables = List.copyOf(variableList);
         this.functionType = functionType;
         this.isIndefiniteIntegral = isIndefiniteIntegral;
-        this.domain = computeDomain();
-        this.range = computeRange();
+    }
+
+    /**
+     * Lightweight construction for intermediate results of operations on functions: the variable set is shared
+     * as given, and must not change afterwards, and the name, built from validated names, is not checked again
+     */
+    protected Function(
+            final String funcName,
+            final Set<Variable> variableSet,
+            final FunctionType functionType,
+            final Boolean isIndefiniteIntegral) {
+        this.isEval = false;
+        this.funcName = funcName;
+        this.variables = variableSet;
+        this.variableSet = variableSet;
+        this.functionType = functionType;
+        this.isIndefiniteIntegral = isIndefiniteIntegral;
+    }
+
+    /**
+     * Returns the variables of the function, collected into an unmodifiable set on first use
+     */
+    public Set<Variable> getVariableSet() {
+        Set<Variable> set = this.variableSet;
+        if (set == null) {
+            set = Collections.unmodifiableSet(new HashSet<>(this.variables));
+            this.variableSet = set;
+        }
+        return set;
+    }
+
+    /**
+     * Returns the domain, computed on first use
+     */
+    public Map<Variable, Range> getDomain() {
+        Map<Variable, Range> computed = this.domain;
+        if (computed == null) {
+            computed = computeDomain();
+            this.domain = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Returns the range, computed on first use
+     */
+    public List<Range> getRange() {
+        List<Range> computed = this.range;
+        if (computed == null) {
+            computed = computeRange();
+            this.range = computed;
+        }
+        return computed;
     }
 
     public abstract boolean containsVariable(final Variable variable);
@@ -79,8 +139,64 @@ public abstract class Function {
 
     public abstract Double evaluate(Map<Variable, Double> values);
 
+    /**
+     * Compiles the function for evaluation at double[] points laid out by the given layout,
+     * which must contain every variable of the function.
+     * This default goes through evaluate(Map); subclasses override it with a specialized evaluation.
+     */
+    public CompiledFunction compile(final VariableLayout layout) {
+        final List<Variable> variables = getVariableSet().stream().sorted().toList();
+        final int[] slots = variables.stream().mapToInt(layout::slotOf).toArray();
+        return new CompiledFunction() {
+            @Override
+            public VariableLayout getLayout() {
+                return layout;
+            }
+
+            @Override
+            public double evaluate(final double[] points, final int offset) {
+                final Map<Variable, Double> values = new HashMap<>();
+                for (int i = 0; i < slots.length; i++) {
+                    values.put(variables.get(i), points[offset + slots[i]]);
+                }
+                return Function.this.evaluate(values);
+            }
+        };
+    }
+
+    /**
+     * Compiles the function with a layout of its variables sorted by name
+     */
+    public CompiledFunction compile() {
+        return compile(VariableLayout.sorted(getVariableSet()));
+    }
+
+    /**
+     * Compiles the function with some variables fixed to the given values, for evaluation at points of the
+     * remaining variables laid out by the layout.
+     * This default compiles partialEvaluate(values); subclasses override it to skip building the partial evaluation.
+     */
+    public CompiledFunction specialize(final Map<Variable, Double> values, final VariableLayout layout) {
+        return partialEvaluate(values).compile(layout);
+    }
+
+    /**
+     * Specializes the function with a layout of the remaining variables sorted by name
+     */
+    public CompiledFunction specialize(final Map<Variable, Double> values) {
+        return specialize(values, VariableLayout.sorted(getVariableSet().stream().filter(variable -> !values.containsKey(variable)).toList()));
+    }
+
     public abstract Function partialDerivative(final Variable variable);
 
+    /**
+     * Compiles the partial derivative with respect to the variable for evaluation at points laid out by the layout.
+     * This default compiles partialDerivative(variable); subclasses override it to skip building the derivative.
+     */
+    public CompiledFunction compilePartialDerivative(final Variable variable, final VariableLayout layout) {
+        return partialDerivative(variable).compile(layout);
+    }
+
     public abstract Function add(Function other);
 
     public abstract Function substract(Function other);
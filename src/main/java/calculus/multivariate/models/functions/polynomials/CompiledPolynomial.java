@@ -0,0 +1,220 @@
+package calculus.multivariate.models.functions.polynomials;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.CompiledFunction;
+import calculus.univariate.models.Variable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Polynomial compiled into flat arrays. At each point, the powers x^1 ... x^d of every variable, up to
+ * the highest integer exponent d of that variable, are computed once into a table by repeated
+ * multiplication; each term is then its coefficient times a product of table entries.
+ * Exponents that are not small positive integers go through Math.pow.
+ */
+final class CompiledPolynomial implements CompiledFunction {
+
+    /**
+     * Highest integer exponent served from the table of powers
+     */
+    private static final int MAX_TABLE_POWER = 64;
+
+    private final VariableLayout layout;
+    private final double[] coefficients;
+
+    /**
+     * Factors of term t are at indices termStarts[t] to termStarts[t + 1] - 1. A factor f >= 0 is an
+     * index in the table of powers; a factor f < 0 is x^exponents[k] with x the variable of slot -f - 1.
+     */
+    private final int[] termStarts;
+    private final int[] factors;
+    private final double[] exponents;
+
+    /**
+     * Variables with table powers, their highest power, and where their x^1 lies in the table
+     */
+    private final int[] tableSlots;
+    private final int[] tablePowers;
+    private final int[] tableOffsets;
+    private final int tableSize;
+    private final ThreadLocal<double[]> tables;
+
+    private CompiledPolynomial(final VariableLayout layout, final double[] coefficients, final int[] termStarts,
+                               final int[] factors, final double[] exponents, final int[] maxPowers) {
+        this.layout = layout;
+        this.coefficients = coefficients;
+        this.termStarts = termStarts;
+        this.factors = factors;
+        this.exponents = exponents;
+        this.tableSlots = IntStream.range(0, maxPowers.length).filter(slot -> maxPowers[slot] > 0).toArray();
+        this.tablePowers = Arrays.stream(tableSlots).map(slot -> maxPowers[slot]).toArray();
+        this.tableOffsets = tableOffsets(maxPowers);
+        this.tableSize = Arrays.stream(maxPowers).sum();
+        this.tables = ThreadLocal.withInitial(this::newTable);
+    }
+
+    /**
+     * Shares the terms and tables of the structure, with other coefficients
+     */
+    private CompiledPolynomial(final CompiledPolynomial structure, final double[] coefficients) {
+        this.layout = structure.layout;
+        this.coefficients = coefficients;
+        this.termStarts = structure.termStarts;
+        this.factors = structure.factors;
+        this.exponents = structure.exponents;
+        this.tableSlots = structure.tableSlots;
+        this.tablePowers = structure.tablePowers;
+        this.tableOffsets = structure.tableOffsets;
+        this.tableSize = structure.tableSize;
+        this.tables = structure.tables;
+    }
+
+    static CompiledPolynomial of(final Collection<PolynomialTerm> terms, final VariableLayout layout) {
+        final List<PolynomialTerm> nonZeroTerms = terms.stream().filter(term -> term.getCoefficient() != 0.0).toList();
+        final int[] maxPowers = new int[layout.size()];
+        for (final PolynomialTerm term : nonZeroTerms) {
+            for (final Map.Entry<Variable, Double> entry : term.getVariableToExponentMap().entrySet()) {
+                if (isTablePower(entry.getValue())) {
+                    final int slot = layout.slotOf(entry.getKey());
+                    maxPowers[slot] = Math.max(maxPowers[slot], entry.getValue().intValue());
+                }
+            }
+        }
+        final int[] offsets = tableOffsets(maxPowers);
+
+        final double[] coefficients = new double[nonZeroTerms.size()];
+        final int[] termStarts = new int[nonZeroTerms.size() + 1];
+        final int factorCount = nonZeroTerms.stream().mapToInt(term -> term.getVariableToExponentMap().size()).sum();
+        final int[] factors = new int[factorCount];
+        final double[] exponents = new double[factorCount];
+        int k = 0;
+        for (int t = 0; t < coefficients.length; t++) {
+            final PolynomialTerm term = nonZeroTerms.get(t);
+            coefficients[t] = term.getCoefficient();
+            termStarts[t] = k;
+            for (final Map.Entry<Variable, Double> entry : term.getVariableToExponentMap().entrySet()) {
+                final double exponent = entry.getValue();
+                if (exponent == 0.0) {
+                    continue;
+                }
+                final int slot = layout.slotOf(entry.getKey());
+                factors[k] = isTablePower(exponent) ? offsets[slot] + (int) exponent - 1 : -slot - 1;
+                exponents[k++] = exponent;
+            }
+        }
+        termStarts[coefficients.length] = k;
+        return new CompiledPolynomial(layout, coefficients, termStarts, Arrays.copyOf(factors, k), Arrays.copyOf(exponents, k), maxPowers);
+    }
+
+    private static boolean isTablePower(final double exponent) {
+        return exponent == Math.rint(exponent) && exponent >= 1 && exponent <= MAX_TABLE_POWER;
+    }
+
+    /**
+     * The table holds x^1 ... x^d for each variable in turn, d being its highest integer exponent
+     */
+    private static int[] tableOffsets(final int[] maxPowers) {
+        final int[] offsets = new int[maxPowers.length];
+        for (int slot = 1; slot < maxPowers.length; slot++) {
+            offsets[slot] = offsets[slot - 1] + maxPowers[slot - 1];
+        }
+        return offsets;
+    }
+
+    @Override
+    public VariableLayout getLayout() {
+        return layout;
+    }
+
+    int getTermCount() {
+        return coefficients.length;
+    }
+
+    /**
+     * Returns the polynomial with the same terms and the given coefficients, in the order of the terms
+     */
+    CompiledPolynomial withCoefficients(final double[] coefficients) {
+        if (coefficients.length != this.coefficients.length) {
+            throw new IllegalArgumentException("Coefficients must have one value per term.");
+        }
+        return new CompiledPolynomial(this, coefficients);
+    }
+
+    /**
+     * Returns a table of powers for evaluate(points, offset, table)
+     */
+    double[] newTable() {
+        return new double[tableSize];
+    }
+
+    /**
+     * Looks the table of powers of the calling thread up on every call; loops over many points go through
+     * evaluateAll, which looks it up once, or evaluate(points, offset, table)
+     */
+    @Override
+    public double evaluate(final double[] points, final int offset) {
+        return evaluate(points, offset, tables.get());
+    }
+
+    /**
+     * Evaluates at the point with a table of powers owned by the caller, created by newTable
+     */
+    double evaluate(final double[] points, final int offset, final double[] table) {
+        fillTable(points, offset, table);
+        double sum = 0.0;
+        for (int t = 0; t < coefficients.length; t++) {
+            sum += term(t, table, points, offset);
+        }
+        return sum;
+    }
+
+    @Override
+    public double[] evaluateAll(final double[] points, final double[] results) {
+        final int dimension = layout.size();
+        if ((long) results.length * dimension != points.length) {
+            throw new IllegalArgumentException("Points must hold one point per result.");
+        }
+        final double[] table = tables.get();
+        for (int i = 0; i < results.length; i++) {
+            results[i] = evaluate(points, i * dimension, table);
+        }
+        return results;
+    }
+
+    /**
+     * Writes the value of every term at the point into values
+     * @return values
+     */
+    double[] evaluateTerms(final double[] points, final int offset, final double[] values) {
+        final double[] table = tables.get();
+        fillTable(points, offset, table);
+        for (int t = 0; t < coefficients.length; t++) {
+            values[t] = term(t, table, points, offset);
+        }
+        return values;
+    }
+
+    private void fillTable(final double[] points, final int offset, final double[] table) {
+        for (int i = 0; i < tableSlots.length; i++) {
+            final double x = points[offset + tableSlots[i]];
+            final int first = tableOffsets[tableSlots[i]];
+            table[first] = x;
+            for (int power = 1; power < tablePowers[i]; power++) {
+                table[first + power] = table[first + power - 1] * x;
+            }
+        }
+    }
+
+    private double term(final int t, final double[] table, final double[] points, final int offset) {
+        double value = coefficients[t];
+        for (int k = termStarts[t]; k < termStarts[t + 1]; k++) {
+            final int factor = factors[k];
+            value *= factor >= 0 ? table[factor] : Math.pow(points[offset - factor - 1], exponents[k]);
+        }
+        return value;
+    }
+}
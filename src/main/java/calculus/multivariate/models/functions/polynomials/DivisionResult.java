@@ -0,0 +1,19 @@
+package calculus.multivariate.models.functions.polynomials;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Quotients, one per divisor, and remainder of the division of a SparsePolynomial
+ */
+@Getter
+public final class DivisionResult {
+    private final List<SparsePolynomial> quotients;
+    private final SparsePolynomial remainder;
+
+    DivisionResult(final List<SparsePolynomial> quotients, final SparsePolynomial remainder) {
+        this.quotients = quotients;
+        this.remainder = remainder;
+    }
+}
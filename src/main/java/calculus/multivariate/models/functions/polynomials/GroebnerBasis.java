@@ -0,0 +1,691 @@
+package calculus.multivariate.models.functions.polynomials;
+
+import calculus.multivariate.models.VariableLayout;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes reduced Gröbner bases of polynomial ideals, with Buchberger's algorithm or F4.
+ * Both work through critical pairs of basis polynomials, discarding the useless ones with Buchberger's
+ * product and chain criteria. Buchberger reduces the S-polynomial of one pair at a time by division;
+ * F4 takes all pairs of lowest degree at once, gathers the multiples of basis polynomials needed to reduce
+ * them (symbolic preprocessing) into a sparse matrix whose columns are the monomials in decreasing order,
+ * and row reduces it, the rows with new leading monomials joining the basis.
+ * Elimination in floating point loses too many digits for the basis to be trusted, so coefficients are read
+ * as fractions and the basis is computed exactly modulo primes below 2^31: the bases of several primes are
+ * combined by the Chinese remainder theorem, and their coefficients recovered as fractions once two
+ * consecutive primes agree. The rare primes whose basis has other leading monomials are discarded.
+ */
+@Getter
+@Builder
+public class GroebnerBasis {
+
+    public enum Algorithm {
+        BUCHBERGER, F4
+    }
+
+    private static final long LARGEST_PRIME = Integer.MAX_VALUE;
+
+    @Builder.Default
+    private Algorithm algorithm = Algorithm.F4;
+
+    /**
+     * Relative accuracy with which coefficients are read as fractions, the one with the smallest denominator
+     * being taken, so that 0.1 is read as 1 / 10
+     */
+    @Builder.Default
+    private double tolerance = 1e-12;
+
+    /**
+     * Largest number of critical pairs reduced modulo each prime
+     */
+    @Builder.Default
+    private int maxPairs = 100_000;
+
+    /**
+     * Largest number of primes the basis is computed modulo
+     */
+    @Builder.Default
+    private int maxPrimes = 64;
+
+    /**
+     * @param generators -> polynomials sharing a monomial order; their layouts are merged
+     * @return the reduced Gröbner basis of the ideal they generate: monic polynomials, none of whose terms is
+     * divisible by the leading monomial of another, sorted by increasing leading monomial. It is [1] when the
+     * polynomials have no common zero, and empty when they are all zero.
+     * @throws IllegalStateException -> if more than maxPairs pairs are reduced modulo a prime, or the
+     * coefficients are not recovered after maxPrimes primes
+     */
+    public List<SparsePolynomial> compute(final List<SparsePolynomial> generators) {
+        if (generators.isEmpty()) {
+            throw new IllegalArgumentException("At least one generator is needed.");
+        }
+        final MonomialOrder order = generators.get(0).getOrder();
+        VariableLayout layout = generators.get(0).getLayout();
+        for (final SparsePolynomial generator : generators) {
+            if (generator.getOrder() != order) {
+                throw new IllegalArgumentException("Generators must share their monomial order.");
+            }
+            layout = layout.union(generator.getLayout());
+        }
+        final List<SparsePolynomial> polynomials = new ArrayList<>();
+        final List<BigInteger[][]> fractions = new ArrayList<>();
+        for (final SparsePolynomial generator : generators) {
+            if (!generator.isZero()) {
+                final SparsePolynomial polynomial = generator.withLayout(layout);
+                final BigInteger[][] coefficients = new BigInteger[polynomial.size()][];
+                for (int t = 0; t < coefficients.length; t++) {
+                    coefficients[t] = fraction(polynomial.getCoefficient(t));
+                }
+                polynomials.add(polynomial);
+                fractions.add(coefficients);
+            }
+        }
+        if (polynomials.isEmpty()) {
+            return List.of();
+        }
+        final int words = polynomials.get(0).words();
+
+        List<ModularPolynomial> images = null;
+        BigInteger[][] residues = null;
+        BigInteger modulus = BigInteger.ONE;
+        List<SparsePolynomial> previous = null;
+        long prime = LARGEST_PRIME;
+        for (int primes = 0; primes < maxPrimes; primes++, prime = previousPrime(prime)) {
+            final List<ModularPolynomial> reduced = modularBasis(polynomials, fractions, order, words, prime);
+            if (reduced == null) {
+                continue;
+            }
+            if (images == null || !sameMonomials(images, reduced)) {
+                // A basis of other leading monomials: the unlucky one is the one no other prime agrees with
+                if (images != null && modulus.bitLength() > 32) {
+                    continue;
+                }
+                images = reduced;
+                residues = new BigInteger[reduced.size()][];
+                for (int i = 0; i < reduced.size(); i++) {
+                    residues[i] = Arrays.stream(reduced.get(i).coefficients).mapToObj(BigInteger::valueOf).toArray(BigInteger[]::new);
+                }
+                modulus = BigInteger.valueOf(prime);
+                previous = null;
+                continue;
+            }
+            final BigInteger p = BigInteger.valueOf(prime);
+            final BigInteger inverse = modulus.mod(p).modInverse(p);
+            for (int i = 0; i < reduced.size(); i++) {
+                for (int t = 0; t < residues[i].length; t++) {
+                    final BigInteger step = BigInteger.valueOf(reduced.get(i).coefficients[t]).subtract(residues[i][t]).multiply(inverse).mod(p);
+                    residues[i][t] = residues[i][t].add(modulus.multiply(step));
+                }
+            }
+            modulus = modulus.multiply(p);
+            final List<SparsePolynomial> basis = reconstruct(images, residues, modulus, layout, order);
+            if (basis != null && basis.equals(previous)) {
+                return basis;
+            }
+            previous = basis;
+        }
+        throw new IllegalStateException("Gröbner basis coefficients not recovered after " + maxPrimes + " primes.");
+    }
+
+    /**
+     * Reduced basis of the generators modulo the prime, or null if the prime divides a denominator
+     */
+    private List<ModularPolynomial> modularBasis(final List<SparsePolynomial> polynomials, final List<BigInteger[][]> fractions,
+                                                 final MonomialOrder order, final int words, final long prime) {
+        final BigInteger p = BigInteger.valueOf(prime);
+        final List<ModularPolynomial> basis = new ArrayList<>();
+        final Pairs pairs = new Pairs();
+        for (int g = 0; g < polynomials.size(); g++) {
+            final long[] coefficients = new long[polynomials.get(g).size()];
+            for (int t = 0; t < coefficients.length; t++) {
+                final BigInteger denominator = fractions.get(g)[t][1].mod(p);
+                if (denominator.signum() == 0) {
+                    return null;
+                }
+                coefficients[t] = fractions.get(g)[t][0].multiply(denominator.modInverse(p)).mod(p).longValueExact();
+                if (coefficients[t] == 0) {
+                    // The prime divides a numerator, so the image loses a term
+                    return null;
+                }
+            }
+            addToBasis(new ModularPolynomial(polynomials.get(g).packedMonomials(), coefficients).monic(prime), basis, pairs, words);
+        }
+        final Field field = new Field(order, words, prime);
+        if (algorithm == Algorithm.BUCHBERGER) {
+            buchberger(basis, pairs, field);
+        } else {
+            f4(basis, pairs, field);
+        }
+        return reduced(basis, field);
+    }
+
+    /**
+     * Monomial order, monomial size and prime of a modular computation
+     */
+    private static final class Field {
+        private final MonomialOrder order;
+        private final int words;
+        private final long prime;
+
+        private Field(final MonomialOrder order, final int words, final long prime) {
+            this.order = order;
+            this.words = words;
+            this.prime = prime;
+        }
+    }
+
+    private static long previousPrime(final long prime) {
+        long candidate = prime - 2;
+        while (!BigInteger.valueOf(candidate).isProbablePrime(40)) {
+            candidate -= 2;
+        }
+        return candidate;
+    }
+
+    private static boolean sameMonomials(final List<ModularPolynomial> a, final List<ModularPolynomial> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!Arrays.equals(a.get(i).monomials, b.get(i).monomials)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a coefficient as the fraction of smallest denominator within the tolerance, through its continued
+     * fraction, falling back to its exact binary value
+     * @return numerator and positive denominator
+     */
+    private BigInteger[] fraction(final double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Coefficients must be finite.");
+        }
+        final double magnitude = Math.abs(value);
+        double x = magnitude;
+        long h0 = 0;
+        long h1 = 1;
+        long k0 = 1;
+        long k1 = 0;
+        for (int iteration = 0; iteration < 64 && x < 1L << 52; iteration++) {
+            final long a = (long) Math.floor(x);
+            final long h = Math.addExact(Math.multiplyExact(a, h1), h0);
+            final long k = Math.addExact(Math.multiplyExact(a, k1), k0);
+            if (Math.abs((double) h / k - magnitude) <= tolerance * magnitude) {
+                return new BigInteger[] {BigInteger.valueOf(value < 0 ? -h : h), BigInteger.valueOf(k)};
+            }
+            if (h > 1L << 52 || k > 1L << 52 || x == a) {
+                break;
+            }
+            h0 = h1;
+            h1 = h;
+            k0 = k1;
+            k1 = k;
+            x = 1 / (x - a);
+        }
+        final BigDecimal exact = new BigDecimal(value);
+        BigInteger numerator = exact.unscaledValue();
+        BigInteger denominator = BigInteger.ONE;
+        if (exact.scale() > 0) {
+            denominator = BigInteger.TEN.pow(exact.scale());
+        } else {
+            numerator = numerator.multiply(BigInteger.TEN.pow(-exact.scale()));
+        }
+        final BigInteger gcd = numerator.gcd(denominator);
+        return new BigInteger[] {numerator.divide(gcd), denominator.divide(gcd)};
+    }
+
+    /**
+     * Recovers the coefficients from their residues as fractions of numerator and denominator below
+     * sqrt(modulus / 2), or returns null if one is not
+     */
+    private static List<SparsePolynomial> reconstruct(final List<ModularPolynomial> images, final BigInteger[][] residues,
+                                                      final BigInteger modulus, final VariableLayout layout, final MonomialOrder order) {
+        final BigInteger bound = modulus.shiftRight(1).sqrt();
+        final List<SparsePolynomial> basis = new ArrayList<>();
+        for (int i = 0; i < images.size(); i++) {
+            final double[] coefficients = new double[residues[i].length];
+            for (int t = 0; t < coefficients.length; t++) {
+                BigInteger r0 = modulus;
+                BigInteger r1 = residues[i][t];
+                BigInteger t0 = BigInteger.ZERO;
+                BigInteger t1 = BigInteger.ONE;
+                while (r1.compareTo(bound) > 0) {
+                    final BigInteger[] division = r0.divideAndRemainder(r1);
+                    r0 = r1;
+                    r1 = division[1];
+                    final BigInteger next = t0.subtract(division[0].multiply(t1));
+                    t0 = t1;
+                    t1 = next;
+                }
+                if (t1.abs().compareTo(bound) > 0 || !r1.gcd(t1).equals(BigInteger.ONE)) {
+                    return null;
+                }
+                coefficients[t] = new BigDecimal(t1.signum() < 0 ? r1.negate() : r1)
+                        .divide(new BigDecimal(t1.abs()), MathContext.DECIMAL64).doubleValue();
+            }
+            basis.add(new SparsePolynomial(layout, order, images.get(i).monomials, coefficients));
+        }
+        return basis;
+    }
+
+    private void buchberger(final List<ModularPolynomial> basis, final Pairs pairs, final Field field) {
+        int reduced = 0;
+        while (!pairs.isEmpty()) {
+            final Pair pair = pairs.pollSmallest(field.order);
+            if (pairs.isUseless(pair, basis)) {
+                continue;
+            }
+            checkPairCount(++reduced);
+            final ModularPolynomial remainder = sPolynomial(pair, basis, field).remainder(basis, field.order, field.words, field.prime);
+            if (!remainder.isZero()) {
+                addToBasis(remainder.monic(field.prime), basis, pairs, field.words);
+            }
+        }
+    }
+
+    private void f4(final List<ModularPolynomial> basis, final Pairs pairs, final Field field) {
+        int reduced = 0;
+        while (!pairs.isEmpty()) {
+            final List<Pair> selected = new ArrayList<>();
+            for (final Pair pair : pairs.pollLowestDegree()) {
+                // Pairs are released one by one, so that the chain criterion only relies on pairs already kept
+                final boolean useless = pairs.isUseless(pair, basis);
+                pairs.release(pair);
+                if (!useless) {
+                    selected.add(pair);
+                }
+            }
+            if (selected.isEmpty()) {
+                continue;
+            }
+            reduced += selected.size();
+            checkPairCount(reduced);
+            for (final ModularPolynomial polynomial : new MacaulayMatrix(basis, selected, field).reduce()) {
+                addToBasis(polynomial, basis, pairs, field.words);
+            }
+        }
+    }
+
+    private void checkPairCount(final int reduced) {
+        if (reduced > maxPairs) {
+            throw new IllegalStateException("Gröbner basis not found after reducing " + maxPairs + " pairs.");
+        }
+    }
+
+    private static void addToBasis(final ModularPolynomial polynomial, final List<ModularPolynomial> basis, final Pairs pairs,
+                                   final int words) {
+        basis.add(polynomial);
+        for (int i = 0; i < basis.size() - 1; i++) {
+            pairs.add(i, basis.size() - 1, basis, words);
+        }
+    }
+
+    /**
+     * Returns lcm / lt(f) * f - lcm / lt(g) * g for the monic basis polynomials f and g of a pair
+     */
+    private static ModularPolynomial sPolynomial(final Pair pair, final List<ModularPolynomial> basis, final Field field) {
+        final ModularPolynomial f = basis.get(pair.first);
+        final ModularPolynomial g = basis.get(pair.second);
+        final long[] fShift = new long[field.words];
+        final long[] gShift = new long[field.words];
+        Monomials.quotient(pair.lcm, 0, f.monomials, 0, fShift, 0, field.words);
+        Monomials.quotient(pair.lcm, 0, g.monomials, 0, gShift, 0, field.words);
+        return ModularPolynomial.combine(f, 1, 1, fShift, g, 1, field.prime - 1, gShift, field.order, field.words, field.prime);
+    }
+
+    /**
+     * Keeps the polynomials whose leading monomial no other one divides, then reduces each by the others
+     */
+    private static List<ModularPolynomial> reduced(final List<ModularPolynomial> basis, final Field field) {
+        final List<ModularPolynomial> sorted = new ArrayList<>(basis);
+        sorted.sort((f, g) -> field.order.compare(f.monomials, 0, g.monomials, 0, field.words));
+        final List<ModularPolynomial> minimal = new ArrayList<>();
+        for (final ModularPolynomial polynomial : sorted) {
+            if (minimal.stream().noneMatch(kept -> Monomials.divides(kept.monomials, 0, polynomial.monomials, 0, field.words))) {
+                minimal.add(polynomial);
+            }
+        }
+        for (int i = 0; i < minimal.size(); i++) {
+            // The leading term stays, as no other leading monomial divides it
+            final ModularPolynomial polynomial = minimal.get(i);
+            final List<ModularPolynomial> others = new ArrayList<>(minimal);
+            others.remove(i);
+            final ModularPolynomial tail = new ModularPolynomial(
+                    Arrays.copyOfRange(polynomial.monomials, field.words, polynomial.monomials.length),
+                    Arrays.copyOfRange(polynomial.coefficients, 1, polynomial.size()))
+                    .remainder(others, field.order, field.words, field.prime);
+            final long[] monomials = new long[(tail.size() + 1) * field.words];
+            final long[] coefficients = new long[tail.size() + 1];
+            System.arraycopy(polynomial.monomials, 0, monomials, 0, field.words);
+            System.arraycopy(tail.monomials, 0, monomials, field.words, tail.monomials.length);
+            coefficients[0] = 1;
+            System.arraycopy(tail.coefficients, 0, coefficients, 1, tail.size());
+            minimal.set(i, new ModularPolynomial(monomials, coefficients));
+        }
+        return minimal;
+    }
+
+    /**
+     * Critical pair of basis polynomials first < second, with the lcm of their leading monomials
+     */
+    private static final class Pair {
+        private final int first;
+        private final int second;
+        private final long[] lcm;
+        private final int degree;
+
+        private Pair(final int first, final int second, final long[] lcm, final int words) {
+            this.first = first;
+            this.second = second;
+            this.lcm = lcm;
+            this.degree = Monomials.degree(lcm, 0, words);
+        }
+    }
+
+    /**
+     * Pending critical pairs
+     */
+    private static final class Pairs {
+        private final List<Pair> pending = new ArrayList<>();
+        private final Set<Long> keys = new HashSet<>();
+
+        private void add(final int first, final int second, final List<ModularPolynomial> basis, final int words) {
+            final long[] lcm = new long[words];
+            Monomials.lcm(basis.get(first).monomials, 0, basis.get(second).monomials, 0, lcm, 0, words);
+            pending.add(new Pair(first, second, lcm, words));
+            keys.add(key(first, second));
+        }
+
+        private static long key(final int i, final int j) {
+            return ((long) Math.min(i, j) << 32) | Math.max(i, j);
+        }
+
+        private boolean isEmpty() {
+            return pending.isEmpty();
+        }
+
+        private Pair pollSmallest(final MonomialOrder order) {
+            int best = 0;
+            for (int p = 1; p < pending.size(); p++) {
+                if (order.compare(pending.get(p).lcm, 0, pending.get(best).lcm, 0, pending.get(p).lcm.length) < 0) {
+                    best = p;
+                }
+            }
+            final Pair pair = pending.get(best);
+            pending.set(best, pending.get(pending.size() - 1));
+            pending.remove(pending.size() - 1);
+            release(pair);
+            return pair;
+        }
+
+        /**
+         * Marks a polled pair as treated
+         */
+        private void release(final Pair pair) {
+            keys.remove(key(pair.first, pair.second));
+        }
+
+        /**
+         * Removes the pairs of lowest lcm degree, which stay pending until released
+         */
+        private List<Pair> pollLowestDegree() {
+            final int degree = pending.stream().mapToInt(pair -> pair.degree).min().orElseThrow();
+            final List<Pair> lowest = new ArrayList<>();
+            final List<Pair> others = new ArrayList<>();
+            for (final Pair pair : pending) {
+                (pair.degree == degree ? lowest : others).add(pair);
+            }
+            pending.clear();
+            pending.addAll(others);
+            return lowest;
+        }
+
+        /**
+         * Product criterion: leading monomials without common variables reduce to zero. Chain criterion: when the
+         * leading monomial of a third polynomial k divides the lcm and the pairs with k are no longer pending,
+         * the S-polynomial reduces to zero through theirs.
+         */
+        private boolean isUseless(final Pair pair, final List<ModularPolynomial> basis) {
+            final int words = pair.lcm.length;
+            if (Monomials.coprime(basis.get(pair.first).monomials, 0, basis.get(pair.second).monomials, 0, words)) {
+                return true;
+            }
+            for (int k = 0; k < basis.size(); k++) {
+                if (k != pair.first && k != pair.second
+                        && !keys.contains(key(pair.first, k)) && !keys.contains(key(pair.second, k))
+                        && Monomials.divides(basis.get(k).monomials, 0, pair.lcm, 0, words)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Monomial multiple of a basis polynomial, a row of the F4 matrix
+     */
+    private static final class Multiple {
+        private final int polynomial;
+        private final long[] shift;
+
+        private Multiple(final int polynomial, final long[] shift) {
+            this.polynomial = polynomial;
+            this.shift = shift;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Multiple && polynomial == ((Multiple) other).polynomial
+                    && Arrays.equals(shift, ((Multiple) other).shift);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * polynomial + Arrays.hashCode(shift);
+        }
+    }
+
+    /**
+     * Monomial as a hash key
+     */
+    private static final class Key {
+        private final long[] monomial;
+
+        private Key(final long[] monomial) {
+            this.monomial = monomial;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key && Arrays.equals(monomial, ((Key) other).monomial);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(monomial);
+        }
+    }
+
+    /**
+     * Sparse matrix of the F4 reduction step. Rows are the multiples of both polynomials of the selected pairs,
+     * and a reducer for every monomial they involve that a leading monomial of the basis divides; columns are
+     * the monomials in decreasing order, so the leading monomial of a row is its first entry.
+     */
+    private static final class MacaulayMatrix {
+        private final List<ModularPolynomial> basis;
+        private final Field field;
+        private final int words;
+        private final Set<Multiple> rows = new LinkedHashSet<>();
+        private final Map<Key, Integer> columns = new HashMap<>();
+        private final Set<Key> leading = new HashSet<>();
+        private final ArrayDeque<long[]> unvisited = new ArrayDeque<>();
+
+        private MacaulayMatrix(final List<ModularPolynomial> basis, final List<Pair> pairs, final Field field) {
+            this.basis = basis;
+            this.field = field;
+            this.words = field.words;
+            for (final Pair pair : pairs) {
+                for (final int polynomial : new int[] {pair.first, pair.second}) {
+                    final long[] shift = new long[words];
+                    Monomials.quotient(pair.lcm, 0, basis.get(polynomial).monomials, 0, shift, 0, words);
+                    addRow(new Multiple(polynomial, shift));
+                }
+            }
+            // Symbolic preprocessing: one reducer for each monomial divisible by a leading monomial of the basis
+            while (!unvisited.isEmpty()) {
+                final long[] monomial = unvisited.poll();
+                if (leading.contains(new Key(monomial))) {
+                    continue;
+                }
+                int reducer = -1;
+                for (int g = 0; g < basis.size(); g++) {
+                    if (Monomials.divides(basis.get(g).monomials, 0, monomial, 0, words)
+                            && (reducer < 0 || basis.get(g).size() < basis.get(reducer).size())) {
+                        reducer = g;
+                    }
+                }
+                if (reducer >= 0) {
+                    final long[] shift = new long[words];
+                    Monomials.quotient(monomial, 0, basis.get(reducer).monomials, 0, shift, 0, words);
+                    addRow(new Multiple(reducer, shift));
+                }
+            }
+        }
+
+        private void addRow(final Multiple multiple) {
+            if (!rows.add(multiple)) {
+                return;
+            }
+            final ModularPolynomial polynomial = basis.get(multiple.polynomial);
+            for (int t = 0; t < polynomial.size(); t++) {
+                final long[] monomial = new long[words];
+                Monomials.multiply(polynomial.monomials, t * words, multiple.shift, 0, monomial, 0, words);
+                final Key key = new Key(monomial);
+                if (t == 0) {
+                    leading.add(key);
+                }
+                if (columns.putIfAbsent(key, -1) == null) {
+                    unvisited.add(monomial);
+                }
+            }
+        }
+
+        /**
+         * Row reduces the matrix, and returns as monic polynomials the rows whose leading monomial is not the one
+         * of any row before reduction
+         */
+        private List<ModularPolynomial> reduce() {
+            final long prime = field.prime;
+            final long[][] sortedColumns = columns.keySet().stream()
+                    .map(key -> key.monomial)
+                    .sorted((a, b) -> field.order.compare(b, 0, a, 0, words))
+                    .toArray(long[][]::new);
+            for (int c = 0; c < sortedColumns.length; c++) {
+                columns.put(new Key(sortedColumns[c]), c);
+            }
+
+            // Sparse rows, by increasing leading column, reducers first among rows of the same leading column
+            final List<int[]> rowColumns = new ArrayList<>();
+            final List<long[]> rowValues = new ArrayList<>();
+            final List<Multiple> multiples = new ArrayList<>(rows);
+            final long[] monomial = new long[words];
+            for (final Multiple multiple : multiples) {
+                final ModularPolynomial polynomial = basis.get(multiple.polynomial);
+                final int[] cols = new int[polynomial.size()];
+                for (int t = 0; t < cols.length; t++) {
+                    Monomials.multiply(polynomial.monomials, t * words, multiple.shift, 0, monomial, 0, words);
+                    cols[t] = columns.get(new Key(monomial.clone()));
+                }
+                rowColumns.add(cols);
+                rowValues.add(polynomial.coefficients);
+            }
+            final Integer[] rowOrder = new Integer[multiples.size()];
+            Arrays.setAll(rowOrder, r -> r);
+            Arrays.sort(rowOrder, Comparator.comparingInt((Integer r) -> rowColumns.get(r)[0])
+                    .thenComparingInt(r -> rowValues.get(r).length));
+            final boolean[] leadingColumn = new boolean[sortedColumns.length];
+            rowColumns.forEach(cols -> leadingColumn[cols[0]] = true);
+
+            // Pivot rows, normalized to a leading coefficient of 1, by leading column
+            final int[][] pivotColumns = new int[sortedColumns.length][];
+            final long[][] pivotValues = new long[sortedColumns.length][];
+            final long[] dense = new long[sortedColumns.length];
+            final List<Integer> newPivots = new ArrayList<>();
+            for (final int r : rowOrder) {
+                final int[] cols = rowColumns.get(r);
+                final long[] values = rowValues.get(r);
+                for (int k = 0; k < cols.length; k++) {
+                    dense[cols[k]] = values[k];
+                }
+                int lead = -1;
+                int count = 0;
+                for (int c = cols[0]; c < dense.length; c++) {
+                    final long value = dense[c];
+                    if (value == 0) {
+                        continue;
+                    }
+                    if (lead < 0 && pivotColumns[c] != null) {
+                        final int[] pivotCols = pivotColumns[c];
+                        final long[] pivot = pivotValues[c];
+                        final long factor = prime - value;
+                        for (int k = 1; k < pivotCols.length; k++) {
+                            dense[pivotCols[k]] = (dense[pivotCols[k]] + factor * pivot[k]) % prime;
+                        }
+                        dense[c] = 0;
+                    } else {
+                        // Once the row has a new leading column, the rest is reduced when it serves as a pivot
+                        lead = lead < 0 ? c : lead;
+                        count++;
+                    }
+                }
+                if (lead < 0) {
+                    continue;
+                }
+                final int[] pivotCols = new int[count];
+                final long[] pivot = new long[count];
+                final long inverse = ModularPolynomial.inverse(dense[lead], prime);
+                for (int c = lead, k = 0; c < dense.length; c++) {
+                    if (dense[c] != 0) {
+                        pivotCols[k] = c;
+                        pivot[k++] = dense[c] * inverse % prime;
+                        dense[c] = 0;
+                    }
+                }
+                pivotColumns[lead] = pivotCols;
+                pivotValues[lead] = pivot;
+                if (!leadingColumn[lead]) {
+                    newPivots.add(lead);
+                }
+            }
+
+            final List<ModularPolynomial> polynomials = new ArrayList<>();
+            for (final int lead : newPivots) {
+                final int[] cols = pivotColumns[lead];
+                final long[] monomials = new long[cols.length * words];
+                for (int k = 0; k < cols.length; k++) {
+                    System.arraycopy(sortedColumns[cols[k]], 0, monomials, k * words, words);
+                }
+                polynomials.add(new ModularPolynomial(monomials, pivotValues[lead]));
+            }
+            return polynomials;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package calculus.multivariate.models.functions.polynomials;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Polynomial with coefficients in the prime field of a prime p < 2^31, held as longs in [0, p), over the
+ * packed monomials of SparsePolynomial and sorted the same way. The Gröbner basis engine computes with
+ * these, arithmetic being exact.
+ */
+final class ModularPolynomial {
+
+    final long[] monomials;
+    final long[] coefficients;
+
+    ModularPolynomial(final long[] monomials, final long[] coefficients) {
+        this.monomials = monomials;
+        this.coefficients = coefficients;
+    }
+
+    int size() {
+        return coefficients.length;
+    }
+
+    boolean isZero() {
+        return coefficients.length == 0;
+    }
+
+    static long inverse(final long a, final long p) {
+        long r0 = p;
+        long r1 = a;
+        long t0 = 0;
+        long t1 = 1;
+        while (r1 != 0) {
+            final long q = r0 / r1;
+            final long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            final long t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        if (r0 != 1) {
+            throw new ArithmeticException(a + " is not invertible modulo " + p + ".");
+        }
+        return t0 < 0 ? t0 + p : t0;
+    }
+
+    ModularPolynomial monic(final long p) {
+        if (isZero() || coefficients[0] == 1) {
+            return this;
+        }
+        final long inverse = inverse(coefficients[0], p);
+        final long[] scaled = new long[size()];
+        for (int t = 0; t < scaled.length; t++) {
+            scaled[t] = coefficients[t] * inverse % p;
+        }
+        return new ModularPolynomial(monomials, scaled);
+    }
+
+    /**
+     * Returns ca * aShift * a + cb * bShift * b over the terms of a from aFrom and of b from bFrom, as
+     * SparsePolynomial.combine does, the shifts being monomials (null for 1)
+     */
+    static ModularPolynomial combine(final ModularPolynomial a, final int aFrom, final long ca, final long[] aShift,
+                                     final ModularPolynomial b, final int bFrom, final long cb, final long[] bShift,
+                                     final MonomialOrder order, final int words, final long p) {
+        final long[] aMonomial = new long[words];
+        final long[] bMonomial = new long[words];
+        final long[] mergedMonomials = new long[(a.size() - aFrom + b.size() - bFrom) * words];
+        final long[] mergedCoefficients = new long[a.size() - aFrom + b.size() - bFrom];
+        int i = aFrom;
+        int j = bFrom;
+        int count = 0;
+        a.shiftedMonomial(i, aShift, aMonomial, words);
+        b.shiftedMonomial(j, bShift, bMonomial, words);
+        while (i < a.size() || j < b.size()) {
+            final int comparison = i == a.size() ? -1 : j == b.size() ? 1 : order.compare(aMonomial, 0, bMonomial, 0, words);
+            final long coefficient;
+            if (comparison > 0) {
+                System.arraycopy(aMonomial, 0, mergedMonomials, count * words, words);
+                coefficient = ca * a.coefficients[i] % p;
+                a.shiftedMonomial(++i, aShift, aMonomial, words);
+            } else if (comparison < 0) {
+                System.arraycopy(bMonomial, 0, mergedMonomials, count * words, words);
+                coefficient = cb * b.coefficients[j] % p;
+                b.shiftedMonomial(++j, bShift, bMonomial, words);
+            } else {
+                System.arraycopy(aMonomial, 0, mergedMonomials, count * words, words);
+                coefficient = (ca * a.coefficients[i] % p + cb * b.coefficients[j] % p) % p;
+                a.shiftedMonomial(++i, aShift, aMonomial, words);
+                b.shiftedMonomial(++j, bShift, bMonomial, words);
+            }
+            if (coefficient != 0) {
+                mergedCoefficients[count++] = coefficient;
+            }
+        }
+        return new ModularPolynomial(Arrays.copyOf(mergedMonomials, count * words), Arrays.copyOf(mergedCoefficients, count));
+    }
+
+    private void shiftedMonomial(final int term, final long[] shift, final long[] monomial, final int words) {
+        if (term >= size()) {
+            return;
+        }
+        if (shift == null) {
+            System.arraycopy(monomials, term * words, monomial, 0, words);
+        } else {
+            Monomials.multiply(monomials, term * words, shift, 0, monomial, 0, words);
+        }
+    }
+
+    /**
+     * Remainder of the division by the divisors, which must be monic, as in SparsePolynomial.divide
+     */
+    ModularPolynomial remainder(final List<ModularPolynomial> divisors, final MonomialOrder order, final int words, final long p) {
+        long[] remainderMonomials = new long[16 * words];
+        long[] remainderCoefficients = new long[16];
+        int count = 0;
+        final long[] shift = new long[words];
+        ModularPolynomial dividend = this;
+        int from = 0;
+        while (from < dividend.size()) {
+            int d = 0;
+            while (d < divisors.size() && !Monomials.divides(divisors.get(d).monomials, 0, dividend.monomials, from * words, words)) {
+                d++;
+            }
+            if (d == divisors.size()) {
+                if (count == remainderCoefficients.length) {
+                    remainderMonomials = Arrays.copyOf(remainderMonomials, 2 * count * words);
+                    remainderCoefficients = Arrays.copyOf(remainderCoefficients, 2 * count);
+                }
+                System.arraycopy(dividend.monomials, from * words, remainderMonomials, count * words, words);
+                remainderCoefficients[count++] = dividend.coefficients[from++];
+                continue;
+            }
+            Monomials.quotient(dividend.monomials, from * words, divisors.get(d).monomials, 0, shift, 0, words);
+            dividend = combine(dividend, from + 1, 1, null, divisors.get(d), 1, p - dividend.coefficients[from], shift, order, words, p);
+            from = 0;
+        }
+        // Terms enter the remainder by decreasing monomial, so it is sorted
+        return new ModularPolynomial(Arrays.copyOf(remainderMonomials, count * words), Arrays.copyOf(remainderCoefficients, count));
+    }
+}
@@ -0,0 +1,53 @@
+package calculus.multivariate.models.functions.polynomials;
+
+/**
+ * Total orders of monomials, compatible with multiplication, on the packed form of Monomials.
+ * Variables are ranked by their slot in the layout, slot 0 being the largest variable.
+ */
+public enum MonomialOrder {
+
+    /**
+     * Lexicographic: compares the exponents of the variables in turn, from slot 0
+     */
+    LEX {
+        @Override
+        int compare(final long[] a, final int aIndex, final long[] b, final int bIndex, final int words) {
+            // The variable of slot 0 being in the highest bits, and guard bits being clear, words compare as numbers
+            for (int w = 0; w < words; w++) {
+                if (a[aIndex + w] != b[bIndex + w]) {
+                    return Long.compare(a[aIndex + w], b[bIndex + w]);
+                }
+            }
+            return 0;
+        }
+    },
+
+    /**
+     * Graded reverse lexicographic: compares total degrees, then the monomial with the smaller
+     * exponent in the last variable where they differ is the larger
+     */
+    GREVLEX {
+        @Override
+        int compare(final long[] a, final int aIndex, final long[] b, final int bIndex, final int words) {
+            final int degrees = Integer.compare(Monomials.degree(a, aIndex, words), Monomials.degree(b, bIndex, words));
+            if (degrees != 0) {
+                return degrees;
+            }
+            for (int w = words - 1; w >= 0; w--) {
+                final long difference = a[aIndex + w] ^ b[bIndex + w];
+                if (difference != 0) {
+                    // The lowest differing field is the last differing variable of the word
+                    final int shift = Long.numberOfTrailingZeros(difference) / Monomials.FIELD_BITS * Monomials.FIELD_BITS;
+                    final long mask = (1L << Monomials.FIELD_BITS) - 1;
+                    return Long.compare((b[bIndex + w] >>> shift) & mask, (a[aIndex + w] >>> shift) & mask);
+                }
+            }
+            return 0;
+        }
+    };
+
+    /**
+     * Compares the monomials starting at the given indices of two arrays
+     */
+    abstract int compare(long[] a, int aIndex, long[] b, int bIndex, int words);
+}
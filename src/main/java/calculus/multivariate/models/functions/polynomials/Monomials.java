@@ -0,0 +1,131 @@
+package calculus.multivariate.models.functions.polynomials;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Operations on monomials packed into longs: the exponent of each variable takes a 16 bit field,
+ * four variables per long, the variable of slot 0 in the highest bits of the first long.
+ * The top bit of each field stays clear, so that a product overflowing an exponent is detected.
+ * A monomial of n variables takes words(n) consecutive longs of an array.
+ */
+@UtilityClass
+class Monomials {
+
+    static final int FIELD_BITS = 16;
+    static final int FIELDS_PER_WORD = 4;
+    static final int MAX_EXPONENT = (1 << (FIELD_BITS - 1)) - 1;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final long GUARD_BITS = 0x8000_8000_8000_8000L;
+
+    static int words(final int numVars) {
+        return Math.max(1, (numVars + FIELDS_PER_WORD - 1) / FIELDS_PER_WORD);
+    }
+
+    private static int shift(final int slot) {
+        return FIELD_BITS * (FIELDS_PER_WORD - 1 - slot % FIELDS_PER_WORD);
+    }
+
+    static int exponent(final long[] monomials, final int index, final int slot) {
+        return (int) ((monomials[index + slot / FIELDS_PER_WORD] >>> shift(slot)) & FIELD_MASK);
+    }
+
+    static void setExponent(final long[] monomials, final int index, final int slot, final int exponent) {
+        if (exponent < 0 || exponent > MAX_EXPONENT) {
+            throw new IllegalArgumentException("Exponents must be integers between 0 and " + MAX_EXPONENT + ".");
+        }
+        final int word = index + slot / FIELDS_PER_WORD;
+        monomials[word] = (monomials[word] & ~(FIELD_MASK << shift(slot))) | ((long) exponent << shift(slot));
+    }
+
+    /**
+     * Writes the product of two monomials, which is the sum of their exponents
+     * @throws ArithmeticException -> if an exponent of the product exceeds MAX_EXPONENT
+     */
+    static void multiply(final long[] a, final int aIndex, final long[] b, final int bIndex, final long[] product, final int index,
+                         final int words) {
+        for (int w = 0; w < words; w++) {
+            final long sum = a[aIndex + w] + b[bIndex + w];
+            if ((sum & GUARD_BITS) != 0) {
+                throw new ArithmeticException("Exponent overflow, exponents are limited to " + MAX_EXPONENT + ".");
+            }
+            product[index + w] = sum;
+        }
+    }
+
+    /**
+     * Checks whether monomial b divides monomial a, that is every exponent of b is at most the one of a
+     */
+    static boolean divides(final long[] b, final int bIndex, final long[] a, final int aIndex, final int words) {
+        for (int w = 0; w < words; w++) {
+            // Setting the guard bits makes the fields of the difference borrow into them when b exceeds a
+            if ((((a[aIndex + w] | GUARD_BITS) - b[bIndex + w]) & GUARD_BITS) != GUARD_BITS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a / b, the difference of their exponents, for a monomial b dividing a
+     */
+    static void quotient(final long[] a, final int aIndex, final long[] b, final int bIndex, final long[] quotient, final int index,
+                         final int words) {
+        for (int w = 0; w < words; w++) {
+            quotient[index + w] = a[aIndex + w] - b[bIndex + w];
+        }
+    }
+
+    /**
+     * Writes the least common multiple of two monomials, the largest of their exponents
+     */
+    static void lcm(final long[] a, final int aIndex, final long[] b, final int bIndex, final long[] lcm, final int index,
+                    final int words) {
+        for (int w = 0; w < words; w++) {
+            // The guard bit of a field survives the difference when the field of a is at least the one of b
+            final long greater = (((a[aIndex + w] | GUARD_BITS) - b[bIndex + w]) & GUARD_BITS) >>> (FIELD_BITS - 1);
+            final long mask = greater * FIELD_MASK;
+            lcm[index + w] = (a[aIndex + w] & mask) | (b[bIndex + w] & ~mask);
+        }
+    }
+
+    /**
+     * Checks whether two monomials have no variable in common
+     */
+    static boolean coprime(final long[] a, final int aIndex, final long[] b, final int bIndex, final int words) {
+        for (int w = 0; w < words; w++) {
+            // Adding 0x7FFF to a field sets its guard bit exactly when the field is non zero
+            if (((a[aIndex + w] + ~GUARD_BITS) & (b[bIndex + w] + ~GUARD_BITS) & GUARD_BITS) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int degree(final long[] monomials, final int index, final int words) {
+        int degree = 0;
+        for (int w = 0; w < words; w++) {
+            // Adds the fields pairwise into two 32 bit lanes, which cannot overflow as exponents keep their top bit clear
+            final long word = monomials[index + w];
+            final long pairs = (word & 0x0000_FFFF_0000_FFFFL) + ((word >>> FIELD_BITS) & 0x0000_FFFF_0000_FFFFL);
+            degree += (int) ((pairs & 0xFFFF_FFFFL) + (pairs >>> 32));
+        }
+        return degree;
+    }
+
+    static boolean equal(final long[] a, final int aIndex, final long[] b, final int bIndex, final int words) {
+        for (int w = 0; w < words; w++) {
+            if (a[aIndex + w] != b[bIndex + w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int hash(final long[] monomials, final int index, final int words) {
+        long hash = 0;
+        for (int w = 0; w < words; w++) {
+            hash = (hash + monomials[index + w]) * 0x9E37_79B9_7F4A_7C15L;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -1,14 +1,19 @@
 package calculus.multivariate.models.functions.polynomials;
 
 import lombok.NonNull;
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.CompiledFunction;
+import calculus.multivariate.models.functions.ConstantFunction;
 import calculus.multivariate.models.functions.Function;
 import calculus.univariate.models.Variable;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,7 +42,7 @@ public class PolynomialFunction extends Function {
             final Boolean isIndefiniteIntegral,
             @NonNull final List<PolynomialTerm> terms) {
         super(funcName, variableList, FunctionType.POLYNOMIAL, isIndefiniteIntegral);
-        this.terms = new HashSet<>(terms);
+        this.terms = new LinkedHashSet<>(terms);
         this.simplify();
     }
 
@@ -48,10 +53,27 @@ public class PolynomialFunction extends Function {
             @NonNull List<PolynomialTerm> terms,
             final Map<Variable, Double> evalValues) {
         super(funcName, variableList, FunctionType.POLYNOMIAL, isIndefiniteIntegral, evalValues);
-        this.terms = new HashSet<>(terms);
+        this.terms = new LinkedHashSet<>(terms);
         this.simplify();
     }
 
+    /**
+     * Lightweight construction of intermediate results: the variable set is shared, and the terms are only
+     * simplified when the caller has not already merged them
+     */
+    PolynomialFunction(
+            final String funcName,
+            final Set<Variable> variableSet,
+            final Boolean isIndefiniteIntegral,
+            final List<PolynomialTerm> terms,
+            final boolean simplified) {
+        super(funcName, variableSet, FunctionType.POLYNOMIAL, isIndefiniteIntegral);
+        this.terms = new LinkedHashSet<>(terms);
+        if (!simplified) {
+            this.simplify();
+        }
+    }
+
     @Override
     public boolean containsVariable(final Variable variable) {
         return this.terms.stream().anyMatch(term -> term.containsVariable(variable));
@@ -74,9 +96,26 @@ public class PolynomialFunction extends Function {
         return List.of();
     }
 
+    /**
+     * Drops zero exponents and merges like terms, in one pass through a hash map keyed by exponents.
+     * Terms whose coefficients cancel out are removed.
+     */
     @Override
     public void simplify() {
-        this.terms.forEach(PolynomialTerm::simplify);
+        final Map<Map<Variable, Double>, Double> coefficients = new LinkedHashMap<>();
+        for (final PolynomialTerm term : this.terms) {
+            coefficients.merge(term.simplify().getVariableToExponentMap(), term.getCoefficient(), Double::sum);
+        }
+        this.terms.clear();
+        coefficients.forEach((exponents, coefficient) -> {
+            if (coefficient != 0.0) {
+                this.terms.add(new PolynomialTerm(exponents, coefficient));
+            }
+        });
+    }
+
+    public Set<PolynomialTerm> getTerms() {
+        return Collections.unmodifiableSet(this.terms);
     }
 
     @Override
@@ -90,16 +129,14 @@ public class PolynomialFunction extends Function {
                 .filter(variable -> !variableToValuesMap.containsKey(variable))
                 .toList();
 
-        PolynomialFunction newPolynomialFunction = new PolynomialFunction(
+        // The constructor merges the like terms left by the evaluated variables
+        return new PolynomialFunction(
                 this.getFuncName(),
                 newVariableList,
                 this.getIsIndefiniteIntegral(),
                 newTerms,
                 variableToValuesMap
         );
-        newPolynomialFunction.simplify();
-
-        return newPolynomialFunction;
     }
 
     @Override
@@ -107,40 +144,84 @@ public class PolynomialFunction extends Function {
         return terms.stream().map(term -> term.evaluate(values)).reduce(0.0, Double::sum);
     }
 
+    /**
+     * Compiles the polynomial into flat arrays of coefficients and factors, see CompiledPolynomial.
+     * The layout must contain every variable of the terms.
+     */
+    @Override
+    public CompiledFunction compile(final VariableLayout layout) {
+        return CompiledPolynomial.of(this.terms, layout);
+    }
+
+    /**
+     * Compiles the derivatives of the terms containing the variable, without building a PolynomialFunction
+     */
+    @Override
+    public CompiledFunction compilePartialDerivative(final Variable variable, final VariableLayout layout) {
+        return CompiledPolynomial.of(
+                this.terms.stream()
+                        .filter(term -> term.containsVariable(variable))
+                        .map(term -> term.partialDerivative(variable))
+                        .toList(),
+                layout);
+    }
+
+    /**
+     * Groups the terms by their monomial in the remaining variables and compiles the slice, without building a
+     * PolynomialFunction
+     */
+    @Override
+    public CompiledFunction specialize(final Map<Variable, Double> values, final VariableLayout layout) {
+        return specialize(VariableLayout.sorted(values.keySet()), layout).at(values);
+    }
+
+    /**
+     * Prepares the slices of the polynomial where the variables of the fixed layout take given values, for callers
+     * sweeping the free variables for many values of the fixed ones
+     */
+    public PolynomialSpecialization specialize(final VariableLayout fixedLayout, final VariableLayout freeLayout) {
+        return PolynomialSpecialization.of(this.terms, fixedLayout, freeLayout);
+    }
+
     @Override
     public Function partialDerivative(Variable variable) {
         return new PolynomialFunction(
                 this.getFuncName(),
-                this.getVariableSet().stream().toList(),
+                this.getVariableSet(),
                 this.getIsIndefiniteIntegral(),
                 this.terms.stream()
                         .map(term -> term.partialDerivative(variable))
-                        .toList()
+                        .toList(),
+                false
+        );
+    }
+
+    /**
+     * Antiderivative with respect to the variable, term by term, with a zero constant of integration
+     * @throws UnsupportedOperationException -> if a term has the variable to the power -1
+     */
+    public PolynomialFunction antiderivative(final Variable variable) {
+        return new PolynomialFunction(
+                this.getFuncName(),
+                this.getVariableSet().contains(variable) ? this.getVariableSet() : union(this.getVariableSet(), Set.of(variable)),
+                true,
+                this.terms.stream()
+                        .map(term -> term.antiderivative(variable))
+                        .toList(),
+                false
         );
     }
 
     @Override
     public Function add(final Function other) {
         if (other instanceof PolynomialFunction) {
-            PolynomialFunction sum = new PolynomialFunction(
-                    this.getFuncName(),
-                    Stream.concat(this.getVariableSet().stream(), other.getVariableSet().stream())
-                            .toList(),
-                    this.getIsIndefiniteIntegral(),
-                    this.terms.stream()
-                            .map(PolynomialTerm::copy)
-                            .toList()
-            );
-
-            for (final PolynomialTerm term: ((PolynomialFunction) other).terms) {
-                sum = sum.addTerm(term, this.getFuncName());
-            }
-
             return new PolynomialFunction(
                     String.format("(%s + %s)", this.getFuncName(), other.getFuncName()),
-                    sum.getVariableSet().stream().toList(),
+                    union(this.getVariableSet(), other.getVariableSet()),
                     this.getIsIndefiniteIntegral(),
-                    sum.terms.stream().toList()
+                    Stream.concat(this.terms.stream(), ((PolynomialFunction) other).terms.stream())
+                            .toList(),
+                    false
             );
         } else {
             throw new UnsupportedOperationException(
@@ -148,55 +229,16 @@ public class PolynomialFunction extends Function {
         }
     }
 
-    private PolynomialFunction addTerm(final PolynomialTerm newTerm, final String funcName) {
-        if (newTerm.getCoefficient() == 0.0) {
-            return this;
-        }
-
-        if (this.terms.stream().noneMatch(term -> term.isLikeTerm(newTerm))) {
-            return new PolynomialFunction(
-                    funcName,
-                    this.getVariableSet().stream().toList(),
-                    this.getIsIndefiniteIntegral(),
-                    Stream.concat(this.terms.stream(), Stream.of(newTerm))
-                            .toList()
-            );
-        }
-
-        final PolynomialTerm likeTerm = this.terms.stream()
-                .filter(term -> term.isLikeTerm(newTerm))
-                // TODO: Refactor to avoid using optional
-                .findFirst().get();
-        final List<PolynomialTerm> newTerms = this.terms.stream().filter(term -> !term.isLikeTerm(newTerm))
-                .map(PolynomialTerm::copy)
-                .toList();
-        return new PolynomialFunction(
-                funcName,
-                Stream.concat(this.getVariableSet().stream(), newTerm.getVariableToExponentMap().keySet().stream())
-                        .toList(),
-                this.getIsIndefiniteIntegral(),
-                Stream.concat(newTerms.stream(), Stream.of(likeTerm.add(newTerm).get(0)))
-                        .toList()
-        );
-    }
-
     @Override
     public Function substract(final Function other) {
         if (other instanceof PolynomialFunction) {
-            final PolynomialFunction otherFuncNegated = new PolynomialFunction(
-                    other.getFuncName(),
-                    other.getVariableSet().stream().toList(),
-                    other.getIsIndefiniteIntegral(),
-                    ((PolynomialFunction) other).terms.stream()
-                            .map(PolynomialTerm::negate)
-                            .toList()
-            );
-            final PolynomialFunction newFunc = (PolynomialFunction) this.add(otherFuncNegated);
             return new PolynomialFunction(
                     String.format("(%s - %s)", this.getFuncName(), other.getFuncName()),
-                    newFunc.getVariableSet().stream().toList(),
+                    union(this.getVariableSet(), other.getVariableSet()),
                     this.getIsIndefiniteIntegral(),
-                    newFunc.terms.stream().toList()
+                    Stream.concat(this.terms.stream(), ((PolynomialFunction) other).terms.stream().map(PolynomialTerm::negate))
+                            .toList(),
+                    false
             );
         } else {
             throw new UnsupportedOperationException(
@@ -205,24 +247,39 @@ public class PolynomialFunction extends Function {
         }
     }
 
+    /**
+     * Multiplies every pair of terms, merging like products as they are produced so that memory follows the
+     * size of the result. Polynomials with natural exponents are multiplied as SparsePolynomials by the heap
+     * method, others through a map of like terms.
+     */
     @Override
     public Function multiply(final Function other) {
         if (other instanceof PolynomialFunction) {
-            final Set<Variable> newVariables = new HashSet<>(
-                    Stream.concat(this.getVariableSet().stream(), other.getVariableSet().stream())
-                            .toList()
-            );
-            final List<PolynomialTerm> newTerms = new ArrayList<>();
-            for (final PolynomialTerm term1: this.terms) {
-                for (final PolynomialTerm term2: ((PolynomialFunction) other).terms) {
-                    newTerms.add(term1.multiply(term2));
+            final PolynomialFunction otherPolynomial = (PolynomialFunction) other;
+            final List<PolynomialTerm> newTerms;
+            if (this.hasNaturalExponents() && otherPolynomial.hasNaturalExponents()) {
+                newTerms = SparsePolynomial.of(this, MonomialOrder.GREVLEX)
+                        .multiply(SparsePolynomial.of(otherPolynomial, MonomialOrder.GREVLEX))
+                        .toTerms();
+            } else {
+                final Map<Map<Variable, Double>, Double> products = new LinkedHashMap<>();
+                for (final PolynomialTerm term1: this.terms) {
+                    for (final PolynomialTerm term2: otherPolynomial.terms) {
+                        final PolynomialTerm product = term1.multiply(term2).simplify();
+                        products.merge(product.getVariableToExponentMap(), product.getCoefficient(), Double::sum);
+                    }
                 }
+                newTerms = products.entrySet().stream()
+                        .filter(entry -> entry.getValue() != 0.0)
+                        .map(entry -> new PolynomialTerm(entry.getKey(), entry.getValue()))
+                        .toList();
             }
             return new PolynomialFunction(
                     String.format("(%s x %s)", this.getFuncName(), other.getFuncName()),
-                    newVariables.stream().toList(),
+                    union(this.getVariableSet(), other.getVariableSet()),
                     this.getIsIndefiniteIntegral(),
-                    newTerms
+                    newTerms,
+                    true
             );
         } else {
             throw new UnsupportedOperationException(
@@ -231,10 +288,72 @@ public class PolynomialFunction extends Function {
         }
     }
 
+    /**
+     * Variables of two operands, in a new set shared by the result
+     */
+    private static Set<Variable> union(final Set<Variable> first, final Set<Variable> second) {
+        final Set<Variable> union = new HashSet<>(first);
+        union.addAll(second);
+        return Collections.unmodifiableSet(union);
+    }
+
+    /**
+     * Checks whether every exponent is a natural number small enough for products to fit packed monomials
+     */
+    private boolean hasNaturalExponents() {
+        return this.terms.stream()
+                .flatMap(term -> term.getVariableToExponentMap().values().stream())
+                .allMatch(exponent -> exponent == Math.rint(exponent) && exponent >= 0 && exponent <= Monomials.MAX_EXPONENT / 2);
+    }
+
+    /**
+     * Divides by a constant, or exactly by a polynomial: the division is carried out on SparsePolynomials in
+     * grevlex order, and must leave no remainder. SparsePolynomial.divide gives quotients and remainder
+     * of a division by several polynomials.
+     */
     @Override
     public Function divide(final Function other) {
-        // TODO: Implement Multivariate polynomial division
-        throw new UnsupportedOperationException("Multivariate polynomial division not supported");
+        final String funcName = String.format("(%s / %s)", this.getFuncName(), other.getFuncName());
+        if (other instanceof ConstantFunction) {
+            final double divisor = ((ConstantFunction) other).getValue();
+            if (divisor == 0.0) {
+                throw new ArithmeticException("Division by zero");
+            }
+            return new PolynomialFunction(
+                    funcName,
+                    this.getVariableSet(),
+                    this.getIsIndefiniteIntegral(),
+                    this.terms.stream()
+                            .map(term -> new PolynomialTerm(term.getVariableToExponentMap(), term.getCoefficient() / divisor))
+                            .toList(),
+                    false
+            );
+        } else if (other instanceof PolynomialFunction) {
+            final PolynomialFunction otherPolynomial = (PolynomialFunction) other;
+            if (!this.hasNaturalExponents() || !otherPolynomial.hasNaturalExponents()) {
+                throw new UnsupportedOperationException("Multivariate polynomial division requires natural exponents");
+            }
+            final SparsePolynomial divisor = SparsePolynomial.of(otherPolynomial, MonomialOrder.GREVLEX);
+            if (divisor.isZero()) {
+                throw new ArithmeticException("Division by zero");
+            }
+            final DivisionResult division = SparsePolynomial.of(this, MonomialOrder.GREVLEX).divide(List.of(divisor));
+            if (!division.getRemainder().isZero()) {
+                throw new IllegalArgumentException(
+                        String.format("%s does not divide %s, the remainder is %s", other.getFuncName(), this.getFuncName(), division.getRemainder()));
+            }
+            return new PolynomialFunction(
+                    funcName,
+                    union(this.getVariableSet(), other.getVariableSet()),
+                    this.getIsIndefiniteIntegral(),
+                    division.getQuotients().get(0).toTerms(),
+                    true
+            );
+        } else {
+            throw new UnsupportedOperationException(
+                    String.format("Multivariate polynomial division with function type %s not supported", other.getClass().getName())
+            );
+        }
     }
 
     @Override
@@ -259,7 +378,7 @@ public class PolynomialFunction extends Function {
         return lh + this.terms.stream()
                 .map(PolynomialTerm::toString)
                 .reduce((s1, s2) -> s1 + " + " + s2)
-                .orElse("");
+                .orElse("0");
     }
 
 }
@@ -0,0 +1,108 @@
+package calculus.multivariate.models.functions.polynomials;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.CompiledFunction;
+import calculus.univariate.models.Variable;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Polynomial split between fixed variables and free ones, to evaluate its slices where the fixed variables take
+ * given values. Terms are grouped once by their monomial in the free variables, so that like terms of a slice
+ * are merged before any value is known. A slice computes one coefficient per group from the fixed values, in a
+ * single pass over the terms, and is compiled over the free variables with one term per group.
+ */
+public final class PolynomialSpecialization {
+
+    @Getter
+    private final VariableLayout fixedLayout;
+
+    @Getter
+    private final VariableLayout freeLayout;
+
+    /**
+     * Term t is its coefficient times its monomial in the fixed variables, and belongs to group groupOf[t]
+     */
+    private final CompiledPolynomial fixedParts;
+    private final int[] groupOf;
+
+    /**
+     * Monomial in the free variables of every group, with unit coefficients
+     */
+    private final CompiledPolynomial groups;
+    private final ThreadLocal<double[]> termValues;
+
+    private PolynomialSpecialization(final VariableLayout fixedLayout, final VariableLayout freeLayout,
+                                     final CompiledPolynomial fixedParts, final int[] groupOf, final CompiledPolynomial groups) {
+        this.fixedLayout = fixedLayout;
+        this.freeLayout = freeLayout;
+        this.fixedParts = fixedParts;
+        this.groupOf = groupOf;
+        this.groups = groups;
+        this.termValues = ThreadLocal.withInitial(() -> new double[groupOf.length]);
+    }
+
+    /**
+     * Splits the terms between the variables of the fixed layout and the others, which must all be in the free layout
+     * @throws IllegalArgumentException -> if a variable of the terms is in neither layout
+     */
+    public static PolynomialSpecialization of(final Collection<PolynomialTerm> terms, final VariableLayout fixedLayout,
+                                              final VariableLayout freeLayout) {
+        final List<PolynomialTerm> fixedParts = new ArrayList<>();
+        final List<Integer> groupOf = new ArrayList<>();
+        final Map<Map<Variable, Double>, Integer> groups = new LinkedHashMap<>();
+        for (final PolynomialTerm term : terms) {
+            if (term.getCoefficient() == 0.0) {
+                continue;
+            }
+            final Map<Variable, Double> fixed = new LinkedHashMap<>();
+            final Map<Variable, Double> free = new LinkedHashMap<>();
+            term.getVariableToExponentMap().forEach((variable, exponent) -> {
+                if (exponent != 0.0) {
+                    (fixedLayout.contains(variable) ? fixed : free).put(variable, exponent);
+                }
+            });
+            fixedParts.add(new PolynomialTerm(fixed, term.getCoefficient()));
+            groupOf.add(groups.computeIfAbsent(free, key -> groups.size()));
+        }
+        return new PolynomialSpecialization(fixedLayout, freeLayout,
+                CompiledPolynomial.of(fixedParts, fixedLayout),
+                groupOf.stream().mapToInt(Integer::intValue).toArray(),
+                CompiledPolynomial.of(groups.keySet().stream().map(monomial -> new PolynomialTerm(monomial, 1.0)).toList(), freeLayout));
+    }
+
+    /**
+     * Number of terms of the slices, that is of distinct monomials in the free variables
+     */
+    public int getTermCount() {
+        return groups.getTermCount();
+    }
+
+    /**
+     * Compiles the slice where the fixed variables take the given values, laid out by the fixed layout.
+     * Its evaluations cost one product per term of the slice.
+     */
+    public CompiledFunction at(final double[] fixedValues) {
+        if (fixedValues.length != fixedLayout.size()) {
+            throw new IllegalArgumentException("Fixed values must have a value for every variable of the fixed layout.");
+        }
+        final double[] values = fixedParts.evaluateTerms(fixedValues, 0, termValues.get());
+        final double[] coefficients = new double[groups.getTermCount()];
+        for (int t = 0; t < groupOf.length; t++) {
+            coefficients[groupOf[t]] += values[t];
+        }
+        return groups.withCoefficients(coefficients);
+    }
+
+    /**
+     * Compiles the slice where the fixed variables take the given values
+     */
+    public CompiledFunction at(final Map<Variable, Double> fixedValues) {
+        return at(fixedLayout.toPoint(fixedValues));
+    }
+}
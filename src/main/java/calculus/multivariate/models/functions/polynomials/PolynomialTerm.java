@@ -68,11 +68,12 @@ public class PolynomialTerm {
 
     public Double evaluate(final Map<Variable, Double> inputVariableToValueMap) {
         verifyCompleteInputValues(inputVariableToValueMap);
-        return this.coefficient
-                *
-                inputVariableToValueMap.entrySet().stream()
-                .mapToDouble(entry -> Math.pow(entry.getValue(), this.variableToExponentMap.get(entry.getKey())))
-                .reduce(1.0, (a, b) -> a * b);
+        // Values of variables the term does not contain are ignored
+        double value = this.coefficient;
+        for (final Map.Entry<Variable, Double> entry : this.variableToExponentMap.entrySet()) {
+            value *= Math.pow(inputVariableToValueMap.get(entry.getKey()), entry.getValue());
+        }
+        return value;
     }
 
     public void verifyCompleteInputValues(final Map<Variable, Double> values) {
@@ -113,7 +114,7 @@ public class PolynomialTerm {
 
     public PolynomialTerm partialDerivative(final Variable variable) {
         if (!this.variableToExponentMap.containsKey(variable)) {
-            return this.copy();
+            return new PolynomialTerm(Map.of(), 0.0);
         }
         final Map<Variable, Double> newVariableToExponentMap = new HashMap<>(this.variableToExponentMap);
         final Double newCoefficient = this.coefficient * newVariableToExponentMap.get(variable);
@@ -121,6 +122,20 @@ public class PolynomialTerm {
         return new PolynomialTerm(newVariableToExponentMap, newCoefficient);
     }
 
+    /**
+     * Antiderivative with respect to the variable, which need not be in the term
+     * @throws UnsupportedOperationException -> if the variable has exponent -1, whose antiderivative is a logarithm
+     */
+    public PolynomialTerm antiderivative(final Variable variable) {
+        final double exponent = this.variableToExponentMap.getOrDefault(variable, 0.0);
+        if (exponent == -1.0) {
+            throw new UnsupportedOperationException("The antiderivative of " + variable.getName() + "^-1 is not a polynomial term");
+        }
+        final Map<Variable, Double> newVariableToExponentMap = new HashMap<>(this.variableToExponentMap);
+        newVariableToExponentMap.put(variable, exponent + 1.0);
+        return new PolynomialTerm(newVariableToExponentMap, this.coefficient / (exponent + 1.0));
+    }
+
     public PolynomialTerm negate() {
         return new PolynomialTerm(this.variableToExponentMap, -this.coefficient);
     }
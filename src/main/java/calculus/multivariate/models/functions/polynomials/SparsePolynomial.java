@@ -0,0 +1,834 @@
+package calculus.multivariate.models.functions.polynomials;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.univariate.models.Variable;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Polynomial with non negative integer exponents, stored as packed monomials (see Monomials) and a
+ * double[] of coefficients. Terms are sorted by decreasing monomial order, like terms are merged
+ * and zero coefficients dropped, so that the leading term is term 0.
+ * Addition and subtraction merge the sorted terms in linear time, products come out of a heap
+ * already sorted, and construction merges like terms through a hash table before sorting them.
+ * Polynomials are immutable.
+ */
+public final class SparsePolynomial {
+
+    /**
+     * Number of term products under which multiplication stays on the calling thread
+     */
+    private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+    /**
+     * Relative size under which coefficients left by cancellations are dropped by division, by default
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-12;
+
+    @Getter private final VariableLayout layout;
+    @Getter private final MonomialOrder order;
+    private final int words;
+    private final long[] monomials;
+    private final double[] coefficients;
+
+    /**
+     * Wraps terms already sorted by decreasing monomial, with distinct monomials and non zero coefficients
+     */
+    SparsePolynomial(final VariableLayout layout, final MonomialOrder order, final long[] monomials,
+                             final double[] coefficients) {
+        this.layout = layout;
+        this.order = order;
+        this.words = Monomials.words(layout.size());
+        this.monomials = monomials;
+        this.coefficients = coefficients;
+    }
+
+    public static Builder builder(final VariableLayout layout, final MonomialOrder order) {
+        return new Builder(layout, order);
+    }
+
+    public static SparsePolynomial zero(final VariableLayout layout, final MonomialOrder order) {
+        return new SparsePolynomial(layout, order, new long[0], new double[0]);
+    }
+
+    public static SparsePolynomial constant(final double value, final VariableLayout layout, final MonomialOrder order) {
+        return builder(layout, order).add(value).build();
+    }
+
+    /**
+     * Converts the terms of a polynomial function, whose exponents must be non negative integers
+     */
+    public static SparsePolynomial of(final PolynomialFunction function, final VariableLayout layout, final MonomialOrder order) {
+        final Builder builder = builder(layout, order);
+        function.getTerms().forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Converts a polynomial function over the layout of its variables sorted by name
+     */
+    public static SparsePolynomial of(final PolynomialFunction function, final MonomialOrder order) {
+        final Set<Variable> variables = new HashSet<>(function.getVariableSet());
+        function.getTerms().forEach(term -> variables.addAll(term.getVariableToExponentMap().keySet()));
+        return of(function, VariableLayout.sorted(variables), order);
+    }
+
+    public PolynomialFunction toPolynomialFunction(final String funcName) {
+        return new PolynomialFunction(funcName, layout.getVariables(), false, toTerms());
+    }
+
+    List<PolynomialTerm> toTerms() {
+        final List<PolynomialTerm> terms = new ArrayList<>(size());
+        for (int t = 0; t < size(); t++) {
+            final Map<Variable, Double> exponents = new TreeMap<>();
+            for (int slot = 0; slot < layout.size(); slot++) {
+                final int exponent = getExponent(t, slot);
+                if (exponent != 0) {
+                    exponents.put(layout.getVariable(slot), (double) exponent);
+                }
+            }
+            terms.add(new PolynomialTerm(exponents, coefficients[t]));
+        }
+        return terms;
+    }
+
+    int words() {
+        return words;
+    }
+
+    long[] packedMonomials() {
+        return monomials;
+    }
+
+    public int size() {
+        return coefficients.length;
+    }
+
+    public boolean isZero() {
+        return coefficients.length == 0;
+    }
+
+    public double getCoefficient(final int term) {
+        return coefficients[term];
+    }
+
+    public int getExponent(final int term, final int slot) {
+        checkSlot(slot);
+        return Monomials.exponent(monomials, term * words, slot);
+    }
+
+    private void checkSlot(final int slot) {
+        if (slot < 0 || slot >= layout.size()) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " out of bounds for layout " + layout + ".");
+        }
+    }
+
+    public int[] getExponents(final int term) {
+        final int[] exponents = new int[layout.size()];
+        for (int slot = 0; slot < exponents.length; slot++) {
+            exponents[slot] = Monomials.exponent(monomials, term * words, slot);
+        }
+        return exponents;
+    }
+
+    public int totalDegree(final int term) {
+        return Monomials.degree(monomials, term * words, words);
+    }
+
+    /**
+     * Returns the highest total degree of the terms, -1 for the zero polynomial
+     */
+    public int degree() {
+        int degree = -1;
+        for (int t = 0; t < size(); t++) {
+            degree = Math.max(degree, totalDegree(t));
+        }
+        return degree;
+    }
+
+    public SparsePolynomial add(final SparsePolynomial other) {
+        return merge(other, 1.0);
+    }
+
+    public SparsePolynomial subtract(final SparsePolynomial other) {
+        return merge(other, -1.0);
+    }
+
+    public SparsePolynomial negate() {
+        return scale(-1.0);
+    }
+
+    public SparsePolynomial scale(final double factor) {
+        if (factor == 0.0) {
+            return zero(layout, order);
+        }
+        final double[] scaled = new double[size()];
+        for (int t = 0; t < scaled.length; t++) {
+            scaled[t] = coefficients[t] * factor;
+        }
+        return new SparsePolynomial(layout, order, monomials, scaled);
+    }
+
+    /**
+     * Multiplies by Johnson's heap method: the products f_i g_j come out of a heap of at most one entry per
+     * term of the smaller operand, in decreasing order, so like products are merged as they are produced
+     * and memory stays proportional to the size of the result.
+     */
+    public SparsePolynomial multiply(final SparsePolynomial other) {
+        if (!layout.equals(other.layout)) {
+            final VariableLayout union = layout.union(other.layout);
+            return withLayout(union).multiply(other.withLayout(union));
+        }
+        checkOrder(other);
+        return size() <= other.size() ? heapProduct(this, 0, size(), other) : heapProduct(other, 0, other.size(), this);
+    }
+
+    /**
+     * Multiplies on the given pool: the terms of this polynomial are split into chunks whose products with
+     * the other polynomial are computed by the heap method in parallel, then the sorted partial products are
+     * merged pairwise. Small products, or a null pool, stay on the calling thread.
+     */
+    public SparsePolynomial multiply(final SparsePolynomial other, final ForkJoinPool pool) {
+        if (!layout.equals(other.layout)) {
+            final VariableLayout union = layout.union(other.layout);
+            return withLayout(union).multiply(other.withLayout(union), pool);
+        }
+        checkOrder(other);
+        if (pool == null || pool.getParallelism() < 2 || size() < 2 || (long) size() * other.size() <= PARALLEL_THRESHOLD) {
+            return multiply(other);
+        }
+        final int chunks = Math.min(size(), 4 * pool.getParallelism());
+        return pool.invoke(new ProductTask(this, other, 0, size(), Math.max(1, size() / chunks)));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ProductTask extends RecursiveTask<SparsePolynomial> {
+        private final SparsePolynomial f;
+        private final SparsePolynomial g;
+        private final int first;
+        private final int last;
+        private final int grain;
+
+        private ProductTask(final SparsePolynomial f, final SparsePolynomial g, final int first, final int last, final int grain) {
+            this.f = f;
+            this.g = g;
+            this.first = first;
+            this.last = last;
+            this.grain = grain;
+        }
+
+        @Override
+        protected SparsePolynomial compute() {
+            if (last - first <= grain) {
+                return heapProduct(f, first, last, g);
+            }
+            final int mid = first + (last - first) / 2;
+            final ProductTask right = new ProductTask(f, g, mid, last, grain);
+            right.fork();
+            final SparsePolynomial left = new ProductTask(f, g, first, mid, grain).compute();
+            return left.merge(right.join(), 1.0);
+        }
+    }
+
+    /**
+     * Product of the terms [first, last) of f with g. The heap holds the rows r of f, each with the
+     * column c of g whose product f_r g_c is its next one; popping (r, c) pushes (r, c + 1), and
+     * popping (r, 0) also pushes (r + 1, 0), which is smaller than f_r g_0.
+     */
+    private static SparsePolynomial heapProduct(final SparsePolynomial f, final int first, final int last, final SparsePolynomial g) {
+        final VariableLayout layout = f.layout;
+        final MonomialOrder order = f.order;
+        final int words = f.words;
+        final int rows = last - first;
+        if (rows <= 0 || g.isZero()) {
+            return zero(layout, order);
+        }
+        final int[] columns = new int[rows];
+        final long[] products = new long[rows * words];
+        final int[] heap = new int[rows];
+        int heapSize = 0;
+
+        int capacity = rows + g.size();
+        long[] outMonomials = new long[capacity * words];
+        double[] outCoefficients = new double[capacity];
+        int count = 0;
+
+        Monomials.multiply(f.monomials, first * words, g.monomials, 0, products, 0, words);
+        heap[heapSize++] = 0;
+        while (heapSize > 0) {
+            if (count == capacity) {
+                capacity *= 2;
+                outMonomials = Arrays.copyOf(outMonomials, capacity * words);
+                outCoefficients = Arrays.copyOf(outCoefficients, capacity);
+            }
+            System.arraycopy(products, heap[0] * words, outMonomials, count * words, words);
+            double coefficient = 0.0;
+            do {
+                final int row = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize, 0, products, order, words);
+                coefficient += f.coefficients[first + row] * g.coefficients[columns[row]];
+
+                if (columns[row] == 0 && row + 1 < rows) {
+                    Monomials.multiply(f.monomials, (first + row + 1) * words, g.monomials, 0, products, (row + 1) * words, words);
+                    heap[heapSize] = row + 1;
+                    siftUp(heap, heapSize++, products, order, words);
+                }
+                if (++columns[row] < g.size()) {
+                    Monomials.multiply(f.monomials, (first + row) * words, g.monomials, columns[row] * words, products, row * words, words);
+                    heap[heapSize] = row;
+                    siftUp(heap, heapSize++, products, order, words);
+                }
+            } while (heapSize > 0 && Monomials.equal(products, heap[0] * words, outMonomials, count * words, words));
+            if (coefficient != 0.0) {
+                outCoefficients[count++] = coefficient;
+            }
+        }
+        return new SparsePolynomial(layout, order, Arrays.copyOf(outMonomials, count * words), Arrays.copyOf(outCoefficients, count));
+    }
+
+    private static void siftUp(final int[] heap, int position, final long[] products, final MonomialOrder order, final int words) {
+        final int row = heap[position];
+        while (position > 0) {
+            final int parent = (position - 1) >>> 1;
+            if (order.compare(products, heap[parent] * words, products, row * words, words) >= 0) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = row;
+    }
+
+    private static void siftDown(final int[] heap, final int heapSize, int position, final long[] products, final MonomialOrder order,
+                                 final int words) {
+        if (heapSize == 0) {
+            return;
+        }
+        final int row = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && order.compare(products, heap[child + 1] * words, products, heap[child] * words, words) > 0) {
+                child++;
+            }
+            if (order.compare(products, heap[child] * words, products, row * words, words) <= 0) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = row;
+    }
+
+    /**
+     * Merges the sorted terms of both polynomials, adding sign times the other coefficients
+     */
+    private SparsePolynomial merge(final SparsePolynomial other, final double sign) {
+        if (!layout.equals(other.layout)) {
+            final VariableLayout union = layout.union(other.layout);
+            return withLayout(union).merge(other.withLayout(union), sign);
+        }
+        checkOrder(other);
+        return combine(this, 0, 1.0, null, other, 0, sign, null, 0.0);
+    }
+
+    /**
+     * Returns ca * aShift * a + cb * bShift * b, over the terms of a from aFrom and of b from bFrom, the shifts
+     * being monomials (null for 1). Multiplying by a monomial keeps terms sorted, so this is a single merge.
+     * Coefficients adding up to at most tolerance times the largest of both are dropped.
+     */
+    static SparsePolynomial combine(final SparsePolynomial a, final int aFrom, final double ca, final long[] aShift,
+                                    final SparsePolynomial b, final int bFrom, final double cb, final long[] bShift,
+                                    final double tolerance) {
+        final int words = a.words;
+        final MonomialOrder order = a.order;
+        final long[] aMonomial = new long[words];
+        final long[] bMonomial = new long[words];
+        final long[] mergedMonomials = new long[(a.size() - aFrom + b.size() - bFrom) * words];
+        final double[] mergedCoefficients = new double[a.size() - aFrom + b.size() - bFrom];
+        int i = aFrom;
+        int j = bFrom;
+        int count = 0;
+        a.shiftedMonomial(i, aShift, aMonomial);
+        b.shiftedMonomial(j, bShift, bMonomial);
+        while (i < a.size() || j < b.size()) {
+            final int comparison = i == a.size() ? -1 : j == b.size() ? 1 : order.compare(aMonomial, 0, bMonomial, 0, words);
+            double coefficient;
+            if (comparison > 0) {
+                System.arraycopy(aMonomial, 0, mergedMonomials, count * words, words);
+                coefficient = ca * a.coefficients[i];
+                a.shiftedMonomial(++i, aShift, aMonomial);
+            } else if (comparison < 0) {
+                System.arraycopy(bMonomial, 0, mergedMonomials, count * words, words);
+                coefficient = cb * b.coefficients[j];
+                b.shiftedMonomial(++j, bShift, bMonomial);
+            } else {
+                System.arraycopy(aMonomial, 0, mergedMonomials, count * words, words);
+                final double x = ca * a.coefficients[i];
+                final double y = cb * b.coefficients[j];
+                coefficient = x + y;
+                if (Math.abs(coefficient) <= tolerance * Math.max(Math.abs(x), Math.abs(y))) {
+                    coefficient = 0.0;
+                }
+                a.shiftedMonomial(++i, aShift, aMonomial);
+                b.shiftedMonomial(++j, bShift, bMonomial);
+            }
+            if (coefficient != 0.0) {
+                mergedCoefficients[count++] = coefficient;
+            }
+        }
+        return new SparsePolynomial(a.layout, order, Arrays.copyOf(mergedMonomials, count * words),
+                Arrays.copyOf(mergedCoefficients, count));
+    }
+
+    private void shiftedMonomial(final int term, final long[] shift, final long[] monomial) {
+        if (term >= size()) {
+            return;
+        }
+        if (shift == null) {
+            System.arraycopy(monomials, term * words, monomial, 0, words);
+        } else {
+            Monomials.multiply(monomials, term * words, shift, 0, monomial, 0, words);
+        }
+    }
+
+    private void checkOrder(final SparsePolynomial other) {
+        if (order != other.order) {
+            throw new IllegalArgumentException("Polynomials must share their monomial order, got " + order + " and " + other.order + ".");
+        }
+    }
+
+    public double getLeadingCoefficient() {
+        checkNonZero();
+        return coefficients[0];
+    }
+
+    public int[] getLeadingExponents() {
+        checkNonZero();
+        return getExponents(0);
+    }
+
+    private void checkNonZero() {
+        if (isZero()) {
+            throw new IllegalStateException("The zero polynomial has no leading term.");
+        }
+    }
+
+    /**
+     * Returns the polynomial divided by its leading coefficient, the zero polynomial staying zero
+     */
+    public SparsePolynomial monic() {
+        return isZero() || coefficients[0] == 1.0 ? this : scale(1.0 / coefficients[0]);
+    }
+
+    public DivisionResult divide(final List<SparsePolynomial> divisors) {
+        return divide(divisors, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Divides by the divisors with remainder: while the dividend is not zero, its leading term is divided by the
+     * leading term of the first divisor whose leading monomial divides it, or moved to the remainder when there
+     * is none. Then this = sum of quotient i times divisor i, plus the remainder, none of whose terms is
+     * divisible by a leading monomial of the divisors. The layouts of all polynomials are merged.
+     * @param tolerance -> coefficients left by cancellations, relative to the terms they come from, under which they are dropped
+     */
+    public DivisionResult divide(final List<SparsePolynomial> divisors, final double tolerance) {
+        final SparsePolynomial[] operands = commonLayout(divisors);
+        final Builder[] quotients = new Builder[divisors.size()];
+        for (int d = 0; d < quotients.length; d++) {
+            quotients[d] = new Builder(operands[0].layout, order, 16);
+        }
+        final SparsePolynomial remainder = operands[0].reduce(Arrays.copyOfRange(operands, 1, operands.length), quotients, tolerance);
+        return new DivisionResult(Arrays.stream(quotients).map(Builder::build).toList(), remainder);
+    }
+
+    /**
+     * Returns the remainder of the division by the divisors, without forming the quotients
+     */
+    public SparsePolynomial remainder(final List<SparsePolynomial> divisors, final double tolerance) {
+        final SparsePolynomial[] operands = commonLayout(divisors);
+        return operands[0].reduce(Arrays.copyOfRange(operands, 1, operands.length), null, tolerance);
+    }
+
+    /**
+     * Returns this polynomial followed by the divisors, over the union of their layouts
+     */
+    private SparsePolynomial[] commonLayout(final List<SparsePolynomial> divisors) {
+        VariableLayout common = layout;
+        for (final SparsePolynomial divisor : divisors) {
+            checkOrder(divisor);
+            if (divisor.isZero()) {
+                throw new IllegalArgumentException("Cannot divide by the zero polynomial.");
+            }
+            common = common.union(divisor.layout);
+        }
+        final SparsePolynomial[] operands = new SparsePolynomial[divisors.size() + 1];
+        operands[0] = withLayout(common);
+        for (int d = 0; d < divisors.size(); d++) {
+            operands[d + 1] = divisors.get(d).withLayout(common);
+        }
+        return operands;
+    }
+
+    /**
+     * Division loop over divisors of the same layout; quotient terms are added to the builders when given
+     */
+    SparsePolynomial reduce(final SparsePolynomial[] divisors, final Builder[] quotients, final double tolerance) {
+        final Builder remainder = new Builder(layout, order, 16);
+        final long[] shift = new long[words];
+        SparsePolynomial dividend = this;
+        int from = 0;
+        while (from < dividend.size()) {
+            int d = 0;
+            while (d < divisors.length && !Monomials.divides(divisors[d].monomials, 0, dividend.monomials, from * words, words)) {
+                d++;
+            }
+            if (d == divisors.length) {
+                remainder.addPacked(dividend.monomials, from * words, dividend.coefficients[from]);
+                from++;
+                continue;
+            }
+            final double factor = dividend.coefficients[from] / divisors[d].coefficients[0];
+            Monomials.quotient(dividend.monomials, from * words, divisors[d].monomials, 0, shift, 0, words);
+            if (quotients != null) {
+                quotients[d].addPacked(shift, 0, factor);
+            }
+            // The leading terms cancel, so they are left out of the difference
+            dividend = combine(dividend, from + 1, 1.0, null, divisors[d], 1, -factor, shift, tolerance);
+            from = 0;
+        }
+        return remainder.build();
+    }
+
+    /**
+     * Returns the same polynomial over another layout, which must contain every variable with a non zero exponent
+     */
+    public SparsePolynomial withLayout(final VariableLayout newLayout) {
+        if (layout.equals(newLayout)) {
+            return this;
+        }
+        final int[] slots = new int[layout.size()];
+        for (int slot = 0; slot < slots.length; slot++) {
+            slots[slot] = newLayout.contains(layout.getVariable(slot)) ? newLayout.slotOf(layout.getVariable(slot)) : -1;
+        }
+        final Builder builder = new Builder(newLayout, order, size());
+        final int[] exponents = new int[newLayout.size()];
+        for (int t = 0; t < size(); t++) {
+            Arrays.fill(exponents, 0);
+            for (int slot = 0; slot < slots.length; slot++) {
+                final int exponent = Monomials.exponent(monomials, t * words, slot);
+                if (exponent != 0) {
+                    if (slots[slot] < 0) {
+                        throw new IllegalArgumentException("Variable " + layout.getVariable(slot).getName() + " is not in the layout.");
+                    }
+                    exponents[slots[slot]] = exponent;
+                }
+            }
+            builder.add(coefficients[t], exponents);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the same polynomial with its terms sorted by another order
+     */
+    public SparsePolynomial withOrder(final MonomialOrder newOrder) {
+        if (order == newOrder) {
+            return this;
+        }
+        final Builder builder = new Builder(layout, newOrder, size());
+        for (int t = 0; t < size(); t++) {
+            builder.addPacked(monomials, t * words, coefficients[t]);
+        }
+        return builder.build();
+    }
+
+    public SparsePolynomial partialDerivative(final int slot) {
+        checkSlot(slot);
+        final Builder builder = new Builder(layout, order, size());
+        final long[] monomial = new long[words];
+        for (int t = 0; t < size(); t++) {
+            final int exponent = Monomials.exponent(monomials, t * words, slot);
+            if (exponent != 0) {
+                System.arraycopy(monomials, t * words, monomial, 0, words);
+                Monomials.setExponent(monomial, 0, slot, exponent - 1);
+                builder.addPacked(monomial, 0, coefficients[t] * exponent);
+            }
+        }
+        return builder.build();
+    }
+
+    public double evaluate(final double[] point) {
+        if (point.length != layout.size()) {
+            throw new IllegalArgumentException("Point must have a value for every variable of the layout.");
+        }
+        double sum = 0.0;
+        for (int t = 0; t < size(); t++) {
+            double value = coefficients[t];
+            for (int slot = 0; slot < point.length; slot++) {
+                final int exponent = Monomials.exponent(monomials, t * words, slot);
+                if (exponent != 0) {
+                    value *= power(point[slot], exponent);
+                }
+            }
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static double power(final double x, final int exponent) {
+        double result = 1.0;
+        double square = x;
+        for (int e = exponent; e != 0; e >>= 1) {
+            if ((e & 1) != 0) {
+                result *= square;
+            }
+            square *= square;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof SparsePolynomial)) {
+            return false;
+        }
+        final SparsePolynomial polynomial = (SparsePolynomial) other;
+        return layout.equals(polynomial.layout) && order == polynomial.order
+                && Arrays.equals(monomials, polynomial.monomials) && Arrays.equals(coefficients, polynomial.coefficients);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * layout.hashCode() + Arrays.hashCode(monomials)) + Arrays.hashCode(coefficients);
+    }
+
+    public String toString() {
+        if (isZero()) {
+            return "0";
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (int t = 0; t < size(); t++) {
+            if (t > 0) {
+                builder.append(" + ");
+            }
+            builder.append(coefficients[t]);
+            for (int slot = 0; slot < layout.size(); slot++) {
+                final int exponent = getExponent(t, slot);
+                if (exponent != 0) {
+                    builder.append(" * ").append(layout.getVariable(slot).getName());
+                    if (exponent != 1) {
+                        builder.append('^').append(exponent);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Accumulates terms, merging like terms through an open addressing hash table as they are added.
+     * build hands the terms over to the polynomial, after which the builder starts empty again.
+     */
+    public static final class Builder {
+
+        private final VariableLayout layout;
+        private final MonomialOrder order;
+        private final int words;
+        private long[] monomials;
+        private double[] coefficients;
+        private int size;
+
+        /**
+         * Index of the term of each monomial, -1 for empty entries; the table is at most half full
+         */
+        private int[] table;
+
+        private Builder(final VariableLayout layout, final MonomialOrder order) {
+            this(layout, order, 16);
+        }
+
+        private Builder(final VariableLayout layout, final MonomialOrder order, final int expectedSize) {
+            this.layout = layout;
+            this.order = order;
+            this.words = Monomials.words(layout.size());
+            reset(expectedSize);
+        }
+
+        private void reset(final int expectedSize) {
+            final int capacity = Math.max(4, expectedSize);
+            this.monomials = new long[capacity * words];
+            this.coefficients = new double[capacity];
+            this.size = 0;
+            this.table = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+            Arrays.fill(table, -1);
+        }
+
+        /**
+         * Adds the term of the given coefficient and exponents, one per slot of the layout; missing
+         * trailing exponents are 0
+         */
+        public Builder add(final double coefficient, final int... exponents) {
+            if (exponents.length > layout.size()) {
+                throw new IllegalArgumentException("Got " + exponents.length + " exponents for layout " + layout + ".");
+            }
+            ensureCapacity();
+            final int index = size * words;
+            Arrays.fill(monomials, index, index + words, 0L);
+            for (int slot = 0; slot < exponents.length; slot++) {
+                Monomials.setExponent(monomials, index, slot, exponents[slot]);
+            }
+            insert(coefficient);
+            return this;
+        }
+
+        /**
+         * Adds a term whose exponents must be non negative integers, over variables of the layout
+         */
+        public Builder add(final PolynomialTerm term) {
+            ensureCapacity();
+            final int index = size * words;
+            Arrays.fill(monomials, index, index + words, 0L);
+            for (final Map.Entry<Variable, Double> entry : term.getVariableToExponentMap().entrySet()) {
+                final double exponent = entry.getValue();
+                if (exponent != Math.rint(exponent)) {
+                    throw new IllegalArgumentException("Exponents must be integers, got " + exponent + ".");
+                }
+                if (exponent != 0.0) {
+                    final int slot = layout.slotOf(entry.getKey());
+                    Monomials.setExponent(monomials, index, slot, Monomials.exponent(monomials, index, slot) + (int) exponent);
+                }
+            }
+            insert(term.getCoefficient());
+            return this;
+        }
+
+        void addPacked(final long[] monomial, final int index, final double coefficient) {
+            ensureCapacity();
+            System.arraycopy(monomial, index, monomials, size * words, words);
+            insert(coefficient);
+        }
+
+        private void ensureCapacity() {
+            if (size == coefficients.length) {
+                coefficients = Arrays.copyOf(coefficients, size * 2);
+                monomials = Arrays.copyOf(monomials, size * 2 * words);
+            }
+        }
+
+        /**
+         * Merges the monomial written at position size into the table
+         */
+        private void insert(final double coefficient) {
+            final int index = size * words;
+            final int mask = table.length - 1;
+            for (int h = Monomials.hash(monomials, index, words) & mask; ; h = (h + 1) & mask) {
+                final int term = table[h];
+                if (term < 0) {
+                    table[h] = size;
+                    coefficients[size++] = coefficient;
+                    if (size * 2 > table.length) {
+                        rehash();
+                    }
+                    return;
+                }
+                if (Monomials.equal(monomials, term * words, monomials, index, words)) {
+                    coefficients[term] += coefficient;
+                    return;
+                }
+            }
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            Arrays.fill(table, -1);
+            final int mask = table.length - 1;
+            for (int term = 0; term < size; term++) {
+                int h = Monomials.hash(monomials, term * words, words) & mask;
+                while (table[h] >= 0) {
+                    h = (h + 1) & mask;
+                }
+                table[h] = term;
+            }
+        }
+
+        /**
+         * Drops the terms that cancelled out and sorts the others by decreasing monomial order
+         */
+        public SparsePolynomial build() {
+            int count = 0;
+            for (int term = 0; term < size; term++) {
+                if (coefficients[term] != 0.0) {
+                    count++;
+                }
+            }
+            final int[] terms = new int[count];
+            count = 0;
+            for (int term = 0; term < size; term++) {
+                if (coefficients[term] != 0.0) {
+                    terms[count++] = term;
+                }
+            }
+            sort(terms, 0, count, new int[count]);
+
+            final long[] sortedMonomials = new long[count * words];
+            final double[] sortedCoefficients = new double[count];
+            for (int t = 0; t < count; t++) {
+                System.arraycopy(monomials, terms[t] * words, sortedMonomials, t * words, words);
+                sortedCoefficients[t] = coefficients[terms[t]];
+            }
+            reset(16);
+            return new SparsePolynomial(layout, order, sortedMonomials, sortedCoefficients);
+        }
+
+        /**
+         * Merge sort of terms[from, to) by decreasing monomial, insertion sort on short runs
+         */
+        private void sort(final int[] terms, final int from, final int to, final int[] buffer) {
+            if (to - from <= 16) {
+                for (int i = from + 1; i < to; i++) {
+                    final int term = terms[i];
+                    int j = i;
+                    while (j > from && compare(terms[j - 1], term) < 0) {
+                        terms[j] = terms[j - 1];
+                        j--;
+                    }
+                    terms[j] = term;
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            sort(terms, from, middle, buffer);
+            sort(terms, middle, to, buffer);
+            if (compare(terms[middle - 1], terms[middle]) >= 0) {
+                return;
+            }
+            System.arraycopy(terms, from, buffer, from, to - from);
+            int i = from;
+            int j = middle;
+            for (int k = from; k < to; k++) {
+                if (j == to || (i < middle && compare(buffer[i], buffer[j]) >= 0)) {
+                    terms[k] = buffer[i++];
+                } else {
+                    terms[k] = buffer[j++];
+                }
+            }
+        }
+
+        private int compare(final int a, final int b) {
+            return order.compare(monomials, a * words, monomials, b * words, words);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package calculus.multivariate.models.integration;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.numberUtils.Range;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Hyper-rectangle of integration: a bounded range for each variable of a layout. Whether the ranges include
+ * their bounds does not change integrals.
+ */
+public final class Box {
+
+    @Getter
+    private final VariableLayout layout;
+    private final double[] lower;
+    private final double[] upper;
+
+    private Box(final VariableLayout layout, final double[] lower, final double[] upper) {
+        this.layout = layout;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Creates the box of the ranges, its variables laid out in the given order
+     * @throws IllegalArgumentException -> if a variable of the layout has no range, or an unbounded one
+     */
+    public static Box of(final Map<Variable, Range> ranges, final VariableLayout layout) {
+        final double[] lower = new double[layout.size()];
+        final double[] upper = new double[layout.size()];
+        for (int slot = 0; slot < layout.size(); slot++) {
+            final Range range = ranges.get(layout.getVariable(slot));
+            if (range == null) {
+                throw new IllegalArgumentException("Missing range of variable " + layout.getVariable(slot).getName() + ".");
+            }
+            if (range.getLowerBound().isInfinite() || range.getUpperBound().isInfinite()) {
+                throw new IllegalArgumentException("Cannot integrate over the unbounded range of " + layout.getVariable(slot).getName() + ".");
+            }
+            lower[slot] = range.getLowerBound();
+            upper[slot] = range.getUpperBound();
+        }
+        return new Box(layout, lower, upper);
+    }
+
+    /**
+     * Creates the box of the ranges, its variables sorted by name
+     */
+    public static Box of(final Map<Variable, Range> ranges) {
+        return of(ranges, VariableLayout.sorted(ranges.keySet()));
+    }
+
+    public int getDimension() {
+        return lower.length;
+    }
+
+    public double getLower(final int slot) {
+        return lower[slot];
+    }
+
+    public double getUpper(final int slot) {
+        return upper[slot];
+    }
+
+    public double getWidth(final int slot) {
+        return upper[slot] - lower[slot];
+    }
+
+    public double getVolume() {
+        double volume = 1.0;
+        for (int slot = 0; slot < lower.length; slot++) {
+            volume *= getWidth(slot);
+        }
+        return volume;
+    }
+}
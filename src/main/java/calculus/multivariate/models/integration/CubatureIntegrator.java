@@ -0,0 +1,138 @@
+package calculus.multivariate.models.integration;
+
+import calculus.multivariate.models.functions.CompiledFunction;
+import calculus.multivariate.models.functions.Function;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tensor product Gauss-Legendre cubature, exact for polynomials of degree up to 2 * points - 1 in each variable.
+ * The integral is also computed with one point less per variable, their difference estimating the error.
+ * The cost grows as points^dimension, which suits low dimensions; QuasiMonteCarloIntegrator takes over in high ones.
+ */
+@Getter
+@Builder
+public class CubatureIntegrator implements Integrator {
+
+    private static final long GRAIN = 1024;
+
+    /**
+     * Gauss-Legendre points per variable
+     */
+    @Builder.Default
+    private int points = 10;
+
+    /**
+     * Largest number of integrand evaluations allowed, both rules included
+     */
+    @Builder.Default
+    private long maxEvaluations = 10_000_000L;
+
+    /**
+     * @throws IllegalArgumentException -> if a variable of the integrand is missing from the box, or if the rules
+     * need more than maxEvaluations evaluations
+     */
+    @Override
+    public IntegrationResult integrate(final Function integrand, final Box box, final ForkJoinPool pool) {
+        if (points < 2) {
+            throw new IllegalArgumentException("Cubature needs at least 2 points per variable.");
+        }
+        final long evaluations = gridSize(points, box.getDimension()) + gridSize(points - 1, box.getDimension());
+        if (evaluations > maxEvaluations) {
+            throw new IllegalArgumentException("Cubature with " + points + " points in " + box.getDimension()
+                    + " dimensions needs more than " + maxEvaluations + " evaluations.");
+        }
+        final CompiledFunction function = integrand.compile(box.getLayout());
+        final double value = rule(function, box, points, pool);
+        final double lower = rule(function, box, points - 1, pool);
+        return new IntegrationResult(value, Math.abs(value - lower), evaluations);
+    }
+
+    private static long gridSize(final int points, final int dimension) {
+        long size = 1;
+        for (int i = 0; i < dimension; i++) {
+            size = size > Long.MAX_VALUE / points ? Long.MAX_VALUE : size * points;
+        }
+        return size;
+    }
+
+    /**
+     * Sums weight * f(node) over the grid, the grid index i having digit i_k in base n for variable k
+     */
+    private static double rule(final CompiledFunction function, final Box box, final int n, final ForkJoinPool pool) {
+        final int dimension = box.getDimension();
+        final double[] unitNodes = new double[n];
+        final double[] unitWeights = new double[n];
+        gaussLegendre(n, unitNodes, unitWeights);
+        final double[][] nodes = new double[dimension][n];
+        final double[][] weights = new double[dimension][n];
+        for (int k = 0; k < dimension; k++) {
+            final double half = 0.5 * box.getWidth(k);
+            final double center = box.getLower(k) + half;
+            for (int j = 0; j < n; j++) {
+                nodes[k][j] = center + half * unitNodes[j];
+                weights[k][j] = half * unitWeights[j];
+            }
+        }
+        return pool.invoke(new SumTask((from, to) -> {
+            final int[] digits = new int[dimension];
+            long rest = from;
+            for (int k = 0; k < dimension; k++) {
+                digits[k] = (int) (rest % n);
+                rest /= n;
+            }
+            final double[] point = new double[dimension];
+            for (int k = 0; k < dimension; k++) {
+                point[k] = nodes[k][digits[k]];
+            }
+            double sum = 0.0;
+            for (long i = from; i < to; i++) {
+                double weight = 1.0;
+                for (int k = 0; k < dimension; k++) {
+                    weight *= weights[k][digits[k]];
+                }
+                sum += weight * function.evaluate(point, 0);
+                // Next grid point, incrementing the digits like an odometer
+                for (int k = 0; k < dimension; k++) {
+                    if (++digits[k] < n) {
+                        point[k] = nodes[k][digits[k]];
+                        break;
+                    }
+                    digits[k] = 0;
+                    point[k] = nodes[k][0];
+                }
+            }
+            return sum;
+        }, 0, gridSize(n, dimension), GRAIN));
+    }
+
+    /**
+     * Nodes and weights of the n point Gauss-Legendre rule on [-1, 1], the roots of the Legendre polynomial P_n
+     * found by Newton's method from Chebyshev-like guesses
+     */
+    static void gaussLegendre(final int n, final double[] nodes, final double[] weights) {
+        for (int i = 0; i < (n + 1) / 2; i++) {
+            double z = Math.cos(Math.PI * (i + 0.75) / (n + 0.5));
+            double derivative;
+            double previous;
+            do {
+                double p1 = 1.0;
+                double p2 = 0.0;
+                for (int j = 1; j <= n; j++) {
+                    final double p3 = p2;
+                    p2 = p1;
+                    p1 = ((2.0 * j - 1.0) * z * p2 - (j - 1.0) * p3) / j;
+                }
+                derivative = n * (z * p1 - p2) / (z * z - 1.0);
+                previous = z;
+                z = previous - p1 / derivative;
+            } while (Math.abs(z - previous) > 1e-15);
+            nodes[i] = -z;
+            nodes[n - 1 - i] = z;
+            weights[i] = 2.0 / ((1.0 - z * z) * derivative * derivative);
+            weights[n - 1 - i] = weights[i];
+        }
+    }
+}
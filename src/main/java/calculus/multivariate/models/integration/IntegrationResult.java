@@ -0,0 +1,29 @@
+package calculus.multivariate.models.integration;
+
+import lombok.Getter;
+
+/**
+ * Value of an integral, with an estimate of its absolute error and the number of integrand evaluations spent
+ */
+@Getter
+public class IntegrationResult {
+
+    private final double value;
+
+    /**
+     * Zero for exact integrals; for cubature, the difference with a rule of lower order; for quasi-Monte Carlo,
+     * the standard error of the mean over the randomized replicates
+     */
+    private final double errorEstimate;
+    private final long evaluations;
+
+    public IntegrationResult(final double value, final double errorEstimate, final long evaluations) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+    }
+
+    public String toString() {
+        return value + " +- " + errorEstimate + " after " + evaluations + " evaluations";
+    }
+}
@@ -0,0 +1,36 @@
+package calculus.multivariate.models.integration;
+
+import calculus.multivariate.models.functions.Function;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.numberUtils.Range;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Integrates multivariate functions over boxes. The work is split into a fixed tree of blocks whose sums are
+ * combined in a fixed order, so results do not depend on the pool or its parallelism.
+ */
+public interface Integrator {
+
+    /**
+     * Integrates the function over the box, which must contain every variable of the function; variables of
+     * the box the function does not depend on multiply the integral by their width
+     */
+    IntegrationResult integrate(Function integrand, Box box, ForkJoinPool pool);
+
+    /**
+     * Integrates on the default pool of Matrix
+     */
+    default IntegrationResult integrate(final Function integrand, final Box box) {
+        return integrate(integrand, box, Matrix.getDefaultPool());
+    }
+
+    /**
+     * Integrates over the box of the ranges on the default pool of Matrix
+     */
+    default IntegrationResult integrate(final Function integrand, final Map<Variable, Range> ranges) {
+        return integrate(integrand, Box.of(ranges));
+    }
+}
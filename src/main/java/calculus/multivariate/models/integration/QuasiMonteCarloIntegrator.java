@@ -0,0 +1,88 @@
+package calculus.multivariate.models.integration;
+
+import calculus.multivariate.models.functions.CompiledFunction;
+import calculus.multivariate.models.functions.Function;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Randomized quasi-Monte Carlo integration over Sobol points, for high dimensions. Each replicate XORs every
+ * coordinate of the points with a random 32 bit shift, which keeps their stratification while making the
+ * replicate an unbiased estimate; the mean of the replicates is the integral, and their standard error the error
+ * estimate. The error decreases close to 1 / points for smooth integrands, against 1 / sqrt(points) for Monte Carlo.
+ * Shifts come from streams split off a SplittableRandom seeded by the seed, one per replicate in order, and the
+ * points of a replicate are summed in fixed blocks, so equal seeds give equal results on any pool.
+ */
+@Getter
+@Builder
+public class QuasiMonteCarloIntegrator implements Integrator {
+
+    private static final long GRAIN = 4096;
+
+    /**
+     * Sobol points per replicate, preferably a power of 2
+     */
+    @Builder.Default
+    private int points = 1 << 14;
+
+    /**
+     * Number of independently shifted replicates, at least 2 for an error estimate
+     */
+    @Builder.Default
+    private int replicates = 16;
+
+    @Builder.Default
+    private long seed = 0x5EED;
+
+    /**
+     * @throws IllegalArgumentException -> if a variable of the integrand is missing from the box
+     */
+    @Override
+    public IntegrationResult integrate(final Function integrand, final Box box, final ForkJoinPool pool) {
+        if (points < 1 || replicates < 2) {
+            throw new IllegalArgumentException("Quasi-Monte Carlo needs a positive number of points and at least 2 replicates.");
+        }
+        final int dimension = box.getDimension();
+        final CompiledFunction function = integrand.compile(box.getLayout());
+        final SobolSequence sequence = SobolSequence.of(Math.max(dimension, 1));
+        final double volume = box.getVolume();
+        final SplittableRandom root = new SplittableRandom(seed);
+        final double[] estimates = new double[replicates];
+        for (int r = 0; r < replicates; r++) {
+            final SplittableRandom stream = root.split();
+            final int[] shift = new int[sequence.getDimension()];
+            for (int j = 0; j < shift.length; j++) {
+                shift[j] = stream.nextInt();
+            }
+            final double sum = pool.invoke(new SumTask((from, to) -> {
+                final int[] state = sequence.seek(from, new int[shift.length]);
+                final double[] point = new double[dimension];
+                double blockSum = 0.0;
+                for (long i = from; i < to; i++) {
+                    for (int k = 0; k < dimension; k++) {
+                        point[k] = box.getLower(k) + box.getWidth(k) * SobolSequence.toUnit(state[k] ^ shift[k]);
+                    }
+                    blockSum += function.evaluate(point, 0);
+                    sequence.next(i, state);
+                }
+                return blockSum;
+            }, 0, points, GRAIN));
+            estimates[r] = volume * sum / points;
+        }
+
+        double mean = 0.0;
+        for (final double estimate : estimates) {
+            mean += estimate;
+        }
+        mean /= replicates;
+        double variance = 0.0;
+        for (final double estimate : estimates) {
+            variance += (estimate - mean) * (estimate - mean);
+        }
+        variance /= replicates - 1;
+        return new IntegrationResult(mean, Math.sqrt(variance / replicates), (long) points * replicates);
+    }
+}
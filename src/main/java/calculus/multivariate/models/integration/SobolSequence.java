@@ -0,0 +1,209 @@
+package calculus.multivariate.models.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sobol low discrepancy sequence of points in [0, 1)^dimension, with 32 bit coordinates generated in Gray code
+ * order. The first coordinate is the van der Corput sequence; each further one uses the next primitive polynomial
+ * over GF(2), by degree then coefficients, with the initial direction numbers of Joe and Kuo for the first 21
+ * coordinates and odd numbers drawn from a fixed seed beyond. Every coordinate of the first 2^k points has one
+ * point in each interval of width 2^-k.
+ */
+public final class SobolSequence {
+
+    public static final int BITS = 32;
+
+    /**
+     * Initial direction numbers m_1 ... m_s of coordinates 1 to 20 (Joe and Kuo, new-joe-kuo-6.21201)
+     */
+    private static final int[][] INITIAL_NUMBERS = {
+            {1}, {1, 3}, {1, 3, 1}, {1, 1, 1}, {1, 1, 3, 3}, {1, 3, 5, 13}, {1, 1, 5, 5, 17}, {1, 1, 5, 5, 5},
+            {1, 1, 7, 11, 19}, {1, 1, 5, 1, 1}, {1, 1, 1, 3, 11}, {1, 3, 5, 5, 31}, {1, 3, 3, 9, 7, 49},
+            {1, 1, 1, 15, 21, 21}, {1, 3, 1, 13, 27, 49}, {1, 1, 1, 15, 7, 5}, {1, 3, 1, 15, 13, 25},
+            {1, 1, 5, 5, 19, 61}, {1, 3, 7, 11, 23, 15, 103}, {1, 3, 7, 13, 13, 15, 69}};
+
+    /**
+     * directions[j][b] is the XOR mask of coordinate j for bit b of the Gray code of the index
+     */
+    private final int[][] directions;
+
+    private SobolSequence(final int[][] directions) {
+        this.directions = directions;
+    }
+
+    /**
+     * @throws IllegalArgumentException -> if the dimension is not positive
+     */
+    public static SobolSequence of(final int dimension) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Dimension must be positive.");
+        }
+        final int[][] directions = new int[dimension][BITS];
+        for (int b = 0; b < BITS; b++) {
+            directions[0][b] = 1 << (BITS - 1 - b);
+        }
+        final List<Integer> polynomials = primitivePolynomials(dimension - 1);
+        for (int j = 1; j < dimension; j++) {
+            final int polynomial = polynomials.get(j - 1);
+            final int degree = 31 - Integer.numberOfLeadingZeros(polynomial);
+            final int[] initial = initialNumbers(j, degree);
+            final int[] v = directions[j];
+            for (int b = 0; b < BITS; b++) {
+                if (b < degree) {
+                    v[b] = initial[b] << (BITS - 1 - b);
+                } else {
+                    // v_b = v_{b-s} ^ (v_{b-s} >> s) ^ sum of a_i v_{b-i}, a_i the inner coefficients of the polynomial
+                    int value = v[b - degree] ^ (v[b - degree] >>> degree);
+                    for (int i = 1; i < degree; i++) {
+                        if (((polynomial >>> (degree - i)) & 1) != 0) {
+                            value ^= v[b - i];
+                        }
+                    }
+                    v[b] = value;
+                }
+            }
+        }
+        return new SobolSequence(directions);
+    }
+
+    public int getDimension() {
+        return directions.length;
+    }
+
+    /**
+     * Writes the coordinates of the point of the index, as 32 bit fractions, into state
+     * @return state
+     */
+    int[] seek(final long index, final int[] state) {
+        final long gray = index ^ (index >>> 1);
+        for (int j = 0; j < directions.length; j++) {
+            int value = 0;
+            for (int b = 0; b < BITS; b++) {
+                if (((gray >>> b) & 1) != 0) {
+                    value ^= directions[j][b];
+                }
+            }
+            state[j] = value;
+        }
+        return state;
+    }
+
+    /**
+     * Moves the state of the point of the index to the point of index + 1
+     */
+    void next(final long index, final int[] state) {
+        final int bit = Long.numberOfTrailingZeros(index + 1);
+        for (int j = 0; j < directions.length; j++) {
+            state[j] ^= directions[j][bit];
+        }
+    }
+
+    /**
+     * Writes the point of the index into point
+     * @return point
+     */
+    public double[] point(final long index, final double[] point) {
+        if (index < 0 || index >= 1L << BITS) {
+            throw new IllegalArgumentException("Index must be in [0, 2^32).");
+        }
+        if (point.length != directions.length) {
+            throw new IllegalArgumentException("Point must have " + directions.length + " coordinates.");
+        }
+        final int[] state = seek(index, new int[directions.length]);
+        for (int j = 0; j < state.length; j++) {
+            point[j] = toUnit(state[j]);
+        }
+        return point;
+    }
+
+    static double toUnit(final int fraction) {
+        return (fraction & 0xFFFFFFFFL) * 0x1p-32;
+    }
+
+    /**
+     * Initial direction numbers of coordinate j, whose polynomial has the given degree: odd, and m_i < 2^i
+     */
+    private static int[] initialNumbers(final int j, final int degree) {
+        if (j <= INITIAL_NUMBERS.length) {
+            return INITIAL_NUMBERS[j - 1];
+        }
+        final SplittableRandom random = new SplittableRandom(j);
+        final int[] numbers = new int[degree];
+        for (int i = 0; i < degree; i++) {
+            numbers[i] = random.nextInt(1 << i) * 2 + 1;
+        }
+        return numbers;
+    }
+
+    /**
+     * First primitive polynomials over GF(2), as bit masks, by increasing degree then inner coefficients
+     */
+    static List<Integer> primitivePolynomials(final int count) {
+        final List<Integer> polynomials = new ArrayList<>();
+        for (int degree = 1; polynomials.size() < count; degree++) {
+            for (int inner = 0; inner < 1 << (degree - 1) && polynomials.size() < count; inner++) {
+                final int polynomial = (1 << degree) | (inner << 1) | 1;
+                if (isPrimitive(polynomial, degree)) {
+                    polynomials.add(polynomial);
+                }
+            }
+        }
+        return polynomials;
+    }
+
+    /**
+     * Checks whether x has order 2^degree - 1 modulo the polynomial: x^order = 1, and x^(order / q) != 1 for the
+     * prime factors q of the order
+     */
+    private static boolean isPrimitive(final int polynomial, final int degree) {
+        final long order = (1L << degree) - 1;
+        if (powerOfX(order, polynomial, degree) != 1) {
+            return false;
+        }
+        long rest = order;
+        for (long q = 3; q * q <= rest; q += 2) {
+            if (rest % q == 0) {
+                if (powerOfX(order / q, polynomial, degree) == 1) {
+                    return false;
+                }
+                while (rest % q == 0) {
+                    rest /= q;
+                }
+            }
+        }
+        return rest == 1 || rest == order || powerOfX(order / rest, polynomial, degree) != 1;
+    }
+
+    /**
+     * x^exponent modulo the polynomial, by repeated squaring
+     */
+    private static long powerOfX(long exponent, final int polynomial, final int degree) {
+        long result = 1;
+        long base = degree == 1 ? (2 ^ polynomial) : 2;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = multiply(result, base, polynomial, degree);
+            }
+            base = multiply(base, base, polynomial, degree);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    private static long multiply(long a, long b, final int polynomial, final int degree) {
+        long product = 0;
+        while (b != 0) {
+            if ((b & 1) != 0) {
+                product ^= a;
+            }
+            b >>>= 1;
+            a <<= 1;
+            if (((a >>> degree) & 1) != 0) {
+                a ^= polynomial;
+            }
+        }
+        return product;
+    }
+}
@@ -0,0 +1,41 @@
+package calculus.multivariate.models.integration;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sums the blocks of the index range [from, to), splitting it in halves down to a fixed grain. The split points
+ * only depend on the range and the grain, and the halves are added left to right, so the rounding of the sum is
+ * the same on any pool.
+ */
+@SuppressWarnings("serial")
+final class SumTask extends RecursiveTask<Double> {
+
+    @FunctionalInterface
+    interface Block {
+        double sum(long from, long to);
+    }
+
+    private final Block block;
+    private final long from;
+    private final long to;
+    private final long grain;
+
+    SumTask(final Block block, final long from, final long to, final long grain) {
+        this.block = block;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    @Override
+    protected Double compute() {
+        if (to - from <= grain) {
+            return block.sum(from, to);
+        }
+        final long middle = (from + to) >>> 1;
+        final SumTask left = new SumTask(block, from, middle, grain);
+        left.fork();
+        final double right = new SumTask(block, middle, to, grain).compute();
+        return left.join() + right;
+    }
+}
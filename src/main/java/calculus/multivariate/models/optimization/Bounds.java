@@ -0,0 +1,120 @@
+package calculus.multivariate.models.optimization;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.numberUtils.Range;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Lower and upper bounds on the variables of a minimization, infinite for unbounded variables
+ */
+public final class Bounds {
+
+    private final double[] lower;
+    private final double[] upper;
+
+    private Bounds(final double[] lower, final double[] upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * @throws IllegalArgumentException -> if the arrays differ in length, or a lower bound exceeds its upper bound
+     */
+    public static Bounds of(final double[] lower, final double[] upper) {
+        if (lower.length != upper.length) {
+            throw new IllegalArgumentException("Lower and upper bounds must have the same length.");
+        }
+        for (int i = 0; i < lower.length; i++) {
+            if (!(lower[i] <= upper[i])) {
+                throw new IllegalArgumentException("Lower bound " + lower[i] + " of slot " + i + " exceeds its upper bound " + upper[i] + ".");
+            }
+        }
+        return new Bounds(lower.clone(), upper.clone());
+    }
+
+    /**
+     * Bounds from the ranges of some variables of the layout, the others being unbounded.
+     * Whether a range includes its bounds does not matter.
+     */
+    public static Bounds of(final Map<Variable, Range> ranges, final VariableLayout layout) {
+        final double[] lower = new double[layout.size()];
+        final double[] upper = new double[layout.size()];
+        Arrays.fill(lower, Double.NEGATIVE_INFINITY);
+        Arrays.fill(upper, Double.POSITIVE_INFINITY);
+        ranges.forEach((variable, range) -> {
+            lower[layout.slotOf(variable)] = range.getLowerBound();
+            upper[layout.slotOf(variable)] = range.getUpperBound();
+        });
+        return of(lower, upper);
+    }
+
+    public int size() {
+        return lower.length;
+    }
+
+    public double getLower(final int slot) {
+        return lower[slot];
+    }
+
+    public double getUpper(final int slot) {
+        return upper[slot];
+    }
+
+    double clamp(final int slot, final double value) {
+        return Math.min(Math.max(value, lower[slot]), upper[slot]);
+    }
+
+    /**
+     * Moves the point into the box
+     */
+    void project(final double[] x) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] = clamp(i, x[i]);
+        }
+    }
+
+    /**
+     * Largest step along the direction from x that stays in the box
+     */
+    double maxStep(final double[] x, final double[] direction) {
+        double step = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < x.length; i++) {
+            if (direction[i] > 0.0) {
+                step = Math.min(step, (upper[i] - x[i]) / direction[i]);
+            } else if (direction[i] < 0.0) {
+                step = Math.min(step, (lower[i] - x[i]) / direction[i]);
+            }
+        }
+        return step;
+    }
+
+    /**
+     * Checks whether variable i sits on a bound that the gradient pushes it against
+     */
+    boolean isActive(final int i, final double x, final double gradient) {
+        return (x <= lower[i] && gradient > 0.0) || (x >= upper[i] && gradient < 0.0);
+    }
+
+    /**
+     * Largest component of P(x - gradient) - x, P projecting into the box: the gradient norm that vanishes
+     * at a constrained minimum
+     */
+    double projectedGradientNorm(final double[] x, final double[] gradient) {
+        double norm = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            norm = Math.max(norm, Math.abs(clamp(i, x[i] - gradient[i]) - x[i]));
+        }
+        return norm;
+    }
+
+    static Bounds none(final int size) {
+        final double[] lower = new double[size];
+        final double[] upper = new double[size];
+        Arrays.fill(lower, Double.NEGATIVE_INFINITY);
+        Arrays.fill(upper, Double.POSITIVE_INFINITY);
+        return new Bounds(lower, upper);
+    }
+}
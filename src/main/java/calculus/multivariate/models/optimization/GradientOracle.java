@@ -0,0 +1,51 @@
+package calculus.multivariate.models.optimization;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.CompiledFunction;
+import calculus.multivariate.models.functions.CompiledJacobian;
+import calculus.multivariate.models.functions.Function;
+
+import java.util.List;
+
+/**
+ * Objective of a minimization: its value and gradient at points given as double[] arrays.
+ * Implementations should not allocate, as they are called several times per iteration of the optimizers.
+ */
+public interface GradientOracle {
+
+    int getDimension();
+
+    /**
+     * Writes the gradient at x into gradient
+     * @return the value at x
+     */
+    double evaluate(double[] x, double[] gradient);
+
+    /**
+     * Compiles the function and its partial derivatives for points laid out by the layout
+     */
+    static GradientOracle of(final Function objective, final VariableLayout layout) {
+        final CompiledFunction value = objective.compile(layout);
+        final CompiledJacobian gradient = CompiledJacobian.of(List.of(objective), layout);
+        return new GradientOracle() {
+            @Override
+            public int getDimension() {
+                return layout.size();
+            }
+
+            @Override
+            public double evaluate(final double[] x, final double[] g) {
+                // The Jacobian of one function is the gradient, as a 1 x n row-major array
+                gradient.evaluate(x, g);
+                return value.evaluate(x);
+            }
+        };
+    }
+
+    /**
+     * Compiles the function with a layout of its variables sorted by name
+     */
+    static GradientOracle of(final Function objective) {
+        return of(objective, VariableLayout.sorted(objective.getVariableSet()));
+    }
+}
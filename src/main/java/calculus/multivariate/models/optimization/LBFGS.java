@@ -0,0 +1,227 @@
+package calculus.multivariate.models.optimization;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Limited memory BFGS, approximating the inverse Hessian by the last memory pairs of steps and gradient changes
+ * through the two-loop recursion, with steps from a strong Wolfe line search. Bound constraints follow the
+ * active set idea of L-BFGS-B: variables on a bound that the gradient pushes against are held fixed, the
+ * quasi-Newton direction is computed on the free ones, and the line search stops at the first bound met.
+ * Iterations cost O(memory * n) besides the objective, so hundreds or thousands of variables are cheap.
+ */
+@Getter
+@Builder
+public class LBFGS implements Optimizer {
+
+    /**
+     * Number of step and gradient change pairs kept
+     */
+    @Builder.Default
+    private int memory = 10;
+
+    /**
+     * Largest component of the projected gradient under which the minimization stops
+     */
+    @Builder.Default
+    private double gradientTolerance = 1e-6;
+
+    /**
+     * Decrease of the value, relative to the value, under which the minimization stops
+     */
+    @Builder.Default
+    private double functionTolerance = 1e-15;
+
+    @Builder.Default
+    private int maxIterations = 1000;
+
+    /**
+     * Sufficient decrease constant of the Wolfe conditions
+     */
+    @Builder.Default
+    private double c1 = 1e-4;
+
+    /**
+     * Curvature constant of the Wolfe conditions
+     */
+    @Builder.Default
+    private double c2 = 0.9;
+
+    /**
+     * Bounds on the variables, unbounded when not set
+     */
+    private Bounds bounds;
+
+    /**
+     * Called after every iteration, when set
+     */
+    private OptimizerCallback callback;
+
+    @Override
+    public OptimizerResult minimize(final GradientOracle objective, final double[] x) {
+        final int n = objective.getDimension();
+        if (x.length != n) {
+            throw new IllegalArgumentException("Initial point must have " + n + " values.");
+        }
+        if (memory < 1) {
+            throw new IllegalArgumentException("Memory must be positive.");
+        }
+        if (bounds != null && bounds.size() != n) {
+            throw new IllegalArgumentException("Bounds must have " + n + " values.");
+        }
+        final Bounds box = bounds != null ? bounds : Bounds.none(n);
+        box.project(x);
+        final StrongWolfeLineSearch lineSearch = new StrongWolfeLineSearch(objective, box, c1, c2);
+        final double[] gradient = new double[n];
+        final double[] direction = new double[n];
+        final double[] trial = new double[n];
+        final double[] trialGradient = new double[n];
+        final boolean[] free = new boolean[n];
+        final double[][] steps = new double[memory][n];
+        final double[][] changes = new double[memory][n];
+        final double[] rho = new double[memory];
+        final double[] alpha = new double[memory];
+        final double[] pairStep = new double[n];
+        final double[] pairChange = new double[n];
+        int stored = 0;
+        int newest = -1;
+        int skippedUpdates = 0;
+
+        double value = objective.evaluate(x, gradient);
+        int evaluations = 1;
+        double gradientNorm = box.projectedGradientNorm(x, gradient);
+        int iteration = 0;
+        OptimizerResult.Status status;
+        while (true) {
+            if (gradientNorm <= gradientTolerance) {
+                status = OptimizerResult.Status.GRADIENT_TOLERANCE;
+                break;
+            }
+            if (iteration == maxIterations) {
+                status = OptimizerResult.Status.MAX_ITERATIONS;
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                free[i] = !box.isActive(i, x[i], gradient[i]);
+            }
+
+            // Two-loop recursion on the free variables, newest pair first then oldest first
+            for (int i = 0; i < n; i++) {
+                direction[i] = free[i] ? -gradient[i] : 0.0;
+            }
+            for (int k = 0, slot = newest; k < stored; k++, slot = (slot + memory - 1) % memory) {
+                alpha[slot] = rho[slot] * freeDot(steps[slot], direction, free);
+                freeAxpy(-alpha[slot], changes[slot], direction, free);
+            }
+            if (stored > 0) {
+                final double scaling = 1.0 / (rho[newest] * freeDot(changes[newest], changes[newest], free));
+                if (Double.isFinite(scaling) && scaling > 0.0) {
+                    for (int i = 0; i < n; i++) {
+                        direction[i] *= scaling;
+                    }
+                }
+            }
+            for (int k = 0, slot = (newest - stored + 1 + memory) % memory; k < stored; k++, slot = (slot + 1) % memory) {
+                final double beta = rho[slot] * freeDot(changes[slot], direction, free);
+                freeAxpy(alpha[slot] - beta, steps[slot], direction, free);
+            }
+            // Free variables on a bound do not leave the box
+            for (int i = 0; i < n; i++) {
+                if ((x[i] <= box.getLower(i) && direction[i] < 0.0) || (x[i] >= box.getUpper(i) && direction[i] > 0.0)) {
+                    direction[i] = 0.0;
+                }
+            }
+            if (!(StrongWolfeLineSearch.dot(direction, gradient) < 0.0)) {
+                stored = 0;
+                for (int i = 0; i < n; i++) {
+                    direction[i] = free[i] ? -gradient[i] : 0.0;
+                }
+            }
+
+            double step = search(lineSearch, box, x, value, gradient, direction, stored == 0, trial, trialGradient);
+            if (Double.isNaN(step) && stored > 0) {
+                // Restarts along the steepest descent direction with a fresh memory
+                stored = 0;
+                for (int i = 0; i < n; i++) {
+                    direction[i] = free[i] ? -gradient[i] : 0.0;
+                }
+                step = search(lineSearch, box, x, value, gradient, direction, true, trial, trialGradient);
+            }
+            if (Double.isNaN(step)) {
+                status = OptimizerResult.Status.LINE_SEARCH_FAILED;
+                break;
+            }
+            iteration++;
+
+            // Keeps the pair only when the curvature is positive enough for the approximation to stay positive definite,
+            // replacing the oldest pair once the memory is full
+            double curvature = 0.0;
+            double changeNorm = 0.0;
+            for (int i = 0; i < n; i++) {
+                pairStep[i] = trial[i] - x[i];
+                pairChange[i] = trialGradient[i] - gradient[i];
+                curvature += pairStep[i] * pairChange[i];
+                changeNorm += pairChange[i] * pairChange[i];
+            }
+            if (curvature > 1e-10 * changeNorm) {
+                final int slot = (newest + 1) % memory;
+                System.arraycopy(pairStep, 0, steps[slot], 0, n);
+                System.arraycopy(pairChange, 0, changes[slot], 0, n);
+                rho[slot] = 1.0 / curvature;
+                newest = slot;
+                stored = Math.min(stored + 1, memory);
+            } else {
+                skippedUpdates++;
+            }
+
+            final double previousValue = value;
+            value = lineSearch.value;
+            System.arraycopy(trial, 0, x, 0, n);
+            System.arraycopy(trialGradient, 0, gradient, 0, n);
+            gradientNorm = box.projectedGradientNorm(x, gradient);
+            if (callback != null) {
+                callback.onIteration(iteration, value, gradientNorm, step);
+            }
+            if (gradientNorm > gradientTolerance
+                    && previousValue - value <= functionTolerance * Math.max(1.0, Math.max(Math.abs(previousValue), Math.abs(value)))) {
+                status = OptimizerResult.Status.FUNCTION_TOLERANCE;
+                break;
+            }
+        }
+        evaluations += lineSearch.evaluations;
+        return new OptimizerResult(status, iteration, value, gradientNorm, evaluations, skippedUpdates);
+    }
+
+    /**
+     * Searches along the direction, starting from a unit step, or from a step of length one when the memory is
+     * empty and the direction is the unscaled gradient
+     */
+    private static double search(final StrongWolfeLineSearch lineSearch, final Bounds box, final double[] x, final double value,
+                                 final double[] gradient, final double[] direction, final boolean steepest,
+                                 final double[] trial, final double[] trialGradient) {
+        final double maxStep = box.maxStep(x, direction);
+        if (!(maxStep > 0.0)) {
+            return Double.NaN;
+        }
+        final double initialStep = steepest ? Math.min(1.0, 1.0 / Math.sqrt(StrongWolfeLineSearch.dot(direction, direction))) : 1.0;
+        return lineSearch.search(x, value, gradient, direction, initialStep, maxStep, trial, trialGradient);
+    }
+
+    private static double freeDot(final double[] a, final double[] b, final boolean[] free) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            if (free[i]) {
+                sum += a[i] * b[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void freeAxpy(final double factor, final double[] a, final double[] b, final boolean[] free) {
+        for (int i = 0; i < a.length; i++) {
+            if (free[i]) {
+                b[i] += factor * a[i];
+            }
+        }
+    }
+}
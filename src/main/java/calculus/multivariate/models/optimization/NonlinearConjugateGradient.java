@@ -0,0 +1,151 @@
+package calculus.multivariate.models.optimization;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Nonlinear Conjugate Gradient, moving along d = -g + beta * d_previous with steps from a strong Wolfe line
+ * search. It only keeps a handful of vectors, at the price of more iterations than LBFGS. The direction restarts
+ * along the steepest descent one every n iterations, and whenever it stops being a descent direction.
+ * Bounds are not supported; LBFGS handles them.
+ */
+@Getter
+@Builder
+public class NonlinearConjugateGradient implements Optimizer {
+
+    public enum Formula {
+        /**
+         * beta = |g|^2 / |g_previous|^2
+         */
+        FLETCHER_REEVES,
+        /**
+         * beta = max(0, g^T (g - g_previous) / |g_previous|^2), restarting by itself when progress stalls
+         */
+        POLAK_RIBIERE
+    }
+
+    @Builder.Default
+    private Formula formula = Formula.POLAK_RIBIERE;
+
+    /**
+     * Largest component of the gradient under which the minimization stops
+     */
+    @Builder.Default
+    private double gradientTolerance = 1e-6;
+
+    /**
+     * Decrease of the value, relative to the value, under which the minimization stops
+     */
+    @Builder.Default
+    private double functionTolerance = 1e-15;
+
+    @Builder.Default
+    private int maxIterations = 5000;
+
+    /**
+     * Sufficient decrease constant of the Wolfe conditions
+     */
+    @Builder.Default
+    private double c1 = 1e-4;
+
+    /**
+     * Curvature constant of the Wolfe conditions, small so that the steps come close to exact line minimizations
+     */
+    @Builder.Default
+    private double c2 = 0.1;
+
+    /**
+     * Called after every iteration, when set
+     */
+    private OptimizerCallback callback;
+
+    @Override
+    public OptimizerResult minimize(final GradientOracle objective, final double[] x) {
+        final int n = objective.getDimension();
+        if (x.length != n) {
+            throw new IllegalArgumentException("Initial point must have " + n + " values.");
+        }
+        final StrongWolfeLineSearch lineSearch = new StrongWolfeLineSearch(objective, Bounds.none(n), c1, c2);
+        final double[] gradient = new double[n];
+        final double[] direction = new double[n];
+        final double[] trial = new double[n];
+        final double[] trialGradient = new double[n];
+
+        double value = objective.evaluate(x, gradient);
+        int evaluations = 1;
+        double gradientNorm = infinityNorm(gradient);
+        for (int i = 0; i < n; i++) {
+            direction[i] = -gradient[i];
+        }
+        double slope = StrongWolfeLineSearch.dot(gradient, direction);
+        double step = Math.min(1.0, 1.0 / Math.sqrt(-slope));
+        int iteration = 0;
+        OptimizerResult.Status status;
+        while (true) {
+            if (gradientNorm <= gradientTolerance) {
+                status = OptimizerResult.Status.GRADIENT_TOLERANCE;
+                break;
+            }
+            if (iteration == maxIterations) {
+                status = OptimizerResult.Status.MAX_ITERATIONS;
+                break;
+            }
+            final double accepted = lineSearch.search(x, value, gradient, direction, step, Double.POSITIVE_INFINITY, trial, trialGradient);
+            if (Double.isNaN(accepted)) {
+                status = OptimizerResult.Status.LINE_SEARCH_FAILED;
+                break;
+            }
+            iteration++;
+
+            double previousSquare = 0.0;
+            double square = 0.0;
+            double cross = 0.0;
+            for (int i = 0; i < n; i++) {
+                previousSquare += gradient[i] * gradient[i];
+                square += trialGradient[i] * trialGradient[i];
+                cross += trialGradient[i] * gradient[i];
+            }
+            double beta = formula == Formula.FLETCHER_REEVES ? square / previousSquare : Math.max(0.0, (square - cross) / previousSquare);
+            if (iteration % n == 0 || !Double.isFinite(beta)) {
+                beta = 0.0;
+            }
+            for (int i = 0; i < n; i++) {
+                direction[i] = -trialGradient[i] + beta * direction[i];
+            }
+            double newSlope = StrongWolfeLineSearch.dot(trialGradient, direction);
+            if (!(newSlope < 0.0)) {
+                for (int i = 0; i < n; i++) {
+                    direction[i] = -trialGradient[i];
+                }
+                newSlope = -square;
+            }
+            // The next search starts from the step giving the same first order decrease as the accepted one
+            step = accepted * slope / newSlope;
+            slope = newSlope;
+
+            final double previousValue = value;
+            value = lineSearch.value;
+            System.arraycopy(trial, 0, x, 0, n);
+            System.arraycopy(trialGradient, 0, gradient, 0, n);
+            gradientNorm = infinityNorm(gradient);
+            if (callback != null) {
+                callback.onIteration(iteration, value, gradientNorm, accepted);
+            }
+            if (gradientNorm > gradientTolerance
+                    && previousValue - value <= functionTolerance * Math.max(1.0, Math.max(Math.abs(previousValue), Math.abs(value)))) {
+                status = OptimizerResult.Status.FUNCTION_TOLERANCE;
+                break;
+            }
+        }
+        evaluations += lineSearch.evaluations;
+        return new OptimizerResult(status, iteration, value, gradientNorm, evaluations, 0);
+    }
+
+    private static double infinityNorm(final double[] vector) {
+        double norm = 0.0;
+        for (final double component : vector) {
+            norm = Math.max(norm, Math.abs(component));
+        }
+        return norm;
+    }
+}
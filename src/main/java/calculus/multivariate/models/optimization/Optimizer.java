@@ -0,0 +1,15 @@
+package calculus.multivariate.models.optimization;
+
+/**
+ * Minimizer of an objective given by its value and gradient. Optimizers keep no state between runs,
+ * so one optimizer can run many minimizations at once.
+ */
+public interface Optimizer {
+
+    /**
+     * Minimizes the objective starting from x
+     * @param x -> the initial point, overwritten with the minimizer found
+     * @return the status of the run, the final value and gradient norm, and the work done
+     */
+    OptimizerResult minimize(GradientOracle objective, double[] x);
+}
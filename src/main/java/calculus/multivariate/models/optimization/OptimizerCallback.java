@@ -0,0 +1,16 @@
+package calculus.multivariate.models.optimization;
+
+/**
+ * Called by the optimizers after every iteration
+ */
+@FunctionalInterface
+public interface OptimizerCallback {
+
+    /**
+     * @param iteration -> number of iterations done so far
+     * @param value -> value of the objective at the current point
+     * @param gradientNorm -> largest component of the (projected) gradient at the current point
+     * @param step -> length of the step along the search direction taken by the line search
+     */
+    void onIteration(int iteration, double value, double gradientNorm, double step);
+}
@@ -0,0 +1,58 @@
+package calculus.multivariate.models.optimization;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a minimization. The minimizer itself is written into the given initial point.
+ */
+@Getter
+public class OptimizerResult {
+
+    public enum Status {
+        /**
+         * The largest component of the (projected) gradient fell under the gradient tolerance
+         */
+        GRADIENT_TOLERANCE,
+        /**
+         * The value decreased by less than the function tolerance, relative to the value
+         */
+        FUNCTION_TOLERANCE,
+        MAX_ITERATIONS,
+        /**
+         * No step along the search direction satisfied the Wolfe conditions, even after a restart
+         * along the steepest descent direction
+         */
+        LINE_SEARCH_FAILED
+    }
+
+    private final Status status;
+    private final int iterations;
+    private final double value;
+    private final double gradientNorm;
+    private final int evaluations;
+
+    /**
+     * Number of quasi-Newton updates skipped because the step and gradient change lacked positive curvature,
+     * such as steps cut short at a bound; always 0 for methods without updates
+     */
+    private final int skippedUpdates;
+
+    public OptimizerResult(final Status status, final int iterations, final double value, final double gradientNorm, final int evaluations,
+                           final int skippedUpdates) {
+        this.status = status;
+        this.iterations = iterations;
+        this.value = value;
+        this.gradientNorm = gradientNorm;
+        this.evaluations = evaluations;
+        this.skippedUpdates = skippedUpdates;
+    }
+
+    public boolean isConverged() {
+        return status == Status.GRADIENT_TOLERANCE || status == Status.FUNCTION_TOLERANCE;
+    }
+
+    public String toString() {
+        return status + " after " + iterations + " iterations and " + evaluations + " evaluations, value " + value
+                + ", gradient norm " + gradientNorm;
+    }
+}
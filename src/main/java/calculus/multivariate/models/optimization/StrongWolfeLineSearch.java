@@ -0,0 +1,157 @@
+package calculus.multivariate.models.optimization;
+
+/**
+ * Line search for a step along a descent direction satisfying the strong Wolfe conditions
+ * f(x + step * d) <= f(x) + c1 * step * g^T d and |g(x + step * d)^T d| <= c2 * |g^T d|
+ * (Nocedal and Wright, algorithms 3.5 and 3.6): steps grow until they bracket an acceptable one, the bracket
+ * then shrinking around the minimizer of the cubic interpolating both ends. Steps are capped by the largest
+ * one staying in the bounds, which is accepted when it decreases the objective enough while the slope is still
+ * negative. One instance serves one minimization, keeping the value at the accepted point and the evaluation count.
+ */
+final class StrongWolfeLineSearch {
+
+    private static final int MAX_EVALUATIONS = 50;
+
+    private final GradientOracle objective;
+    private final Bounds bounds;
+    private final double c1;
+    private final double c2;
+
+    /**
+     * Value at the last evaluated point
+     */
+    double value;
+    int evaluations;
+
+    private double[] x;
+    private double[] direction;
+    private double[] trial;
+    private double[] trialGradient;
+
+    StrongWolfeLineSearch(final GradientOracle objective, final Bounds bounds, final double c1, final double c2) {
+        if (!(0.0 < c1 && c1 < c2 && c2 < 1.0)) {
+            throw new IllegalArgumentException("The Wolfe constants must satisfy 0 < c1 < c2 < 1.");
+        }
+        this.objective = objective;
+        this.bounds = bounds;
+        this.c1 = c1;
+        this.c2 = c2;
+    }
+
+    /**
+     * Searches a step from x along the direction, which must be a descent direction at x
+     * @param trial -> receives the accepted point, its gradient going into trialGradient and its value into value
+     * @return the accepted step, or NaN when none was found
+     */
+    double search(final double[] x, final double value0, final double[] gradient, final double[] direction,
+                  final double initialStep, final double maxStep, final double[] trial, final double[] trialGradient) {
+        this.x = x;
+        this.direction = direction;
+        this.trial = trial;
+        this.trialGradient = trialGradient;
+        final double slope0 = dot(gradient, direction);
+        final int budget = evaluations + MAX_EVALUATIONS;
+
+        double previous = 0.0;
+        double previousValue = value0;
+        double previousSlope = slope0;
+        double step = Math.min(initialStep, maxStep);
+        for (int i = 0; evaluations < budget; i++) {
+            final double slope = evaluate(step);
+            if (!(value <= value0 + c1 * step * slope0) || (i > 0 && value >= previousValue)) {
+                return zoom(value0, slope0, previous, previousValue, previousSlope, step, value, slope, budget);
+            }
+            if (Math.abs(slope) <= -c2 * slope0) {
+                return step;
+            }
+            if (slope >= 0.0) {
+                return zoom(value0, slope0, step, value, slope, previous, previousValue, previousSlope, budget);
+            }
+            if (step >= maxStep) {
+                return step;
+            }
+            previous = step;
+            previousValue = value;
+            previousSlope = slope;
+            step = Math.min(4.0 * step, maxStep);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Shrinks the bracket [low, high] of steps, low satisfying the sufficient decrease condition with the lowest
+     * value so far and its slope pointing towards high
+     */
+    private double zoom(final double value0, final double slope0, double low, double lowValue, double lowSlope,
+                        double high, double highValue, double highSlope, final int budget) {
+        while (evaluations < budget && Math.abs(high - low) > 1e-16 * Math.max(1.0, Math.abs(low))) {
+            final double step = interpolate(low, lowValue, lowSlope, high, highValue, highSlope);
+            final double slope = evaluate(step);
+            if (!(value <= value0 + c1 * step * slope0) || value >= lowValue) {
+                high = step;
+                highValue = value;
+                highSlope = slope;
+            } else {
+                if (Math.abs(slope) <= -c2 * slope0) {
+                    return step;
+                }
+                if (slope * (high - low) >= 0.0) {
+                    high = low;
+                    highValue = lowValue;
+                    highSlope = lowSlope;
+                }
+                low = step;
+                lowValue = value;
+                lowSlope = slope;
+            }
+        }
+        // Settles for the best step found, which decreases the objective without meeting the curvature condition
+        if (low > 0.0) {
+            evaluate(low);
+            return low;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Minimizer of the cubic matching the values and slopes at both ends, kept away from the ends, or the
+     * midpoint when the cubic has none or the values are not finite
+     */
+    private static double interpolate(final double low, final double lowValue, final double lowSlope,
+                                      final double high, final double highValue, final double highSlope) {
+        final double d1 = lowSlope + highSlope - 3.0 * (lowValue - highValue) / (low - high);
+        final double discriminant = d1 * d1 - lowSlope * highSlope;
+        final double margin = 0.1 * Math.abs(high - low);
+        final double min = Math.min(low, high) + margin;
+        final double max = Math.max(low, high) - margin;
+        if (discriminant >= 0.0) {
+            final double d2 = Math.signum(high - low) * Math.sqrt(discriminant);
+            final double step = high - (high - low) * (highSlope + d2 - d1) / (highSlope - lowSlope + 2.0 * d2);
+            if (step >= min && step <= max) {
+                return step;
+            }
+        }
+        return 0.5 * (low + high);
+    }
+
+    /**
+     * Evaluates the objective at x + step * direction, moved into the bounds against rounding
+     * @return the slope along the direction there
+     */
+    private double evaluate(final double step) {
+        for (int i = 0; i < x.length; i++) {
+            trial[i] = bounds.clamp(i, x[i] + step * direction[i]);
+        }
+        value = objective.evaluate(trial, trialGradient);
+        evaluations++;
+        return dot(trialGradient, direction);
+    }
+
+    static double dot(final double[] a, final double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
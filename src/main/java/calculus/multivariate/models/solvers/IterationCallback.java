@@ -0,0 +1,15 @@
+package calculus.multivariate.models.solvers;
+
+/**
+ * Called by the nonlinear solvers after every iteration
+ */
+@FunctionalInterface
+public interface IterationCallback {
+
+    /**
+     * @param iteration -> number of iterations done so far
+     * @param residualNorm -> norm of F at the current point
+     * @param stepNorm -> norm of the last step tried
+     */
+    void onIteration(int iteration, double residualNorm, double stepNorm);
+}
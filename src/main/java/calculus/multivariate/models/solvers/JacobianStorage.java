@@ -0,0 +1,9 @@
+package calculus.multivariate.models.solvers;
+
+/**
+ * How the nonlinear solvers store the Jacobian and solve their linear systems: DENSE factors a Matrix,
+ * SPARSE keeps the sparse structure of the compiled Jacobian and solves iteratively
+ */
+public enum JacobianStorage {
+    DENSE, SPARSE
+}
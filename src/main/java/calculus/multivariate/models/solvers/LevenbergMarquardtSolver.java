@@ -0,0 +1,259 @@
+package calculus.multivariate.models.solvers;
+
+import calculus.multivariate.models.functions.CompiledJacobian;
+import calculus.univariate.models.linearAlgebra.CholeskyDecomposition;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import calculus.univariate.models.linearAlgebra.iterative.ConjugateGradient;
+import calculus.univariate.models.linearAlgebra.iterative.JacobiPreconditioner;
+import calculus.univariate.models.linearAlgebra.iterative.SolverResult;
+import calculus.univariate.models.linearAlgebra.iterative.Vectors;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Levenberg-Marquardt method, minimizing |F(x)|^2 / 2 for systems of any number of functions: a root when
+ * there is one, a least squares solution otherwise. Every iteration solves
+ * (J^T J + damping * D) * step = -J^T F, D being the diagonal of J^T J, by Cholesky decomposition of the dense
+ * normal matrix, or by Conjugate Gradient with the sparse Jacobian applied twice. A step is accepted when the
+ * cost decreases; the damping then shrinks by how well the quadratic model predicted the decrease, and grows
+ * otherwise (Nielsen's update), moving between Gauss-Newton and short gradient steps.
+ */
+@Getter
+@Builder
+public class LevenbergMarquardtSolver implements NonlinearSolver {
+
+    /**
+     * Norm of F under which the solve stops
+     */
+    @Builder.Default
+    private double functionTolerance = 1e-10;
+
+    /**
+     * Largest component of J^T F under which the solve stops at a least squares solution
+     */
+    @Builder.Default
+    private double gradientTolerance = 1e-12;
+
+    /**
+     * Norm of the step, relative to the norm of x, under which the solve stops
+     */
+    @Builder.Default
+    private double stepTolerance = 1e-14;
+
+    /**
+     * Maximum number of iterations, counting rejected steps
+     */
+    @Builder.Default
+    private int maxIterations = 200;
+
+    /**
+     * Starting damping, relative to the largest diagonal entry of J^T J at the initial guess. A small value
+     * suits initial guesses close to the solution, such as warm starts.
+     */
+    @Builder.Default
+    private double initialDamping = 1e-3;
+
+    @Builder.Default
+    private JacobianStorage storage = JacobianStorage.DENSE;
+
+    /**
+     * Relative residual of the Conjugate Gradient solves of sparse Jacobians
+     */
+    @Builder.Default
+    private double linearTolerance = 1e-12;
+
+    @Builder.Default
+    private int maxLinearIterations = 1000;
+
+    /**
+     * Called after every iteration, when set
+     */
+    private IterationCallback callback;
+
+    @Override
+    public NonlinearSolverResult solve(final CompiledJacobian system, final double[] x) {
+        final int m = system.getNumRows();
+        final int n = system.getNumCols();
+        if (x.length != n) {
+            throw new IllegalArgumentException("Initial guess must have a value for every variable of the layout.");
+        }
+        final Workspace workspace = new Workspace(system, m, n);
+        final double[] f = new double[m];
+        final double[] trialF = new double[m];
+        final double[] trial = new double[n];
+        final double[] step = new double[n];
+
+        system.evaluateFunctions(x, f);
+        int functionEvaluations = 1;
+        workspace.linearize(x, f);
+        int jacobianEvaluations = 1;
+        final double initialNorm = Vectors.norm(f);
+        double norm = initialNorm;
+        final double largestDiagonal = Arrays.stream(workspace.diagonal).max().orElse(0.0);
+        double damping = initialDamping * (largestDiagonal > 0.0 ? largestDiagonal : 1.0);
+        double growth = 2.0;
+        double stepNorm = Double.NaN;
+        int iteration = 0;
+        NonlinearSolverResult.Status status;
+        while (true) {
+            if (norm <= functionTolerance) {
+                status = NonlinearSolverResult.Status.FUNCTION_TOLERANCE;
+                break;
+            }
+            if (Arrays.stream(workspace.gradient).map(Math::abs).max().orElse(0.0) <= gradientTolerance) {
+                status = NonlinearSolverResult.Status.GRADIENT_TOLERANCE;
+                break;
+            }
+            if (iteration == maxIterations) {
+                status = NonlinearSolverResult.Status.MAX_ITERATIONS;
+                break;
+            }
+            iteration++;
+            final boolean solved = workspace.solve(damping, step);
+            stepNorm = solved ? Vectors.norm(step) : Double.NaN;
+            if (solved && stepNorm <= stepTolerance * (Vectors.norm(x) + stepTolerance)) {
+                status = NonlinearSolverResult.Status.STEP_TOLERANCE;
+                break;
+            }
+            double ratio = -1.0;
+            if (solved) {
+                Vectors.addScaled(x, 1.0, step, trial);
+                system.evaluateFunctions(trial, trialF);
+                functionEvaluations++;
+                final double trialNorm = Vectors.norm(trialF);
+                // Decrease of |F|^2 / 2 predicted by the quadratic model: step^T (damping * D * step - J^T F) / 2
+                double predicted = 0.0;
+                for (int j = 0; j < n; j++) {
+                    predicted += step[j] * (damping * workspace.scaling[j] * step[j] - workspace.gradient[j]);
+                }
+                ratio = (norm * norm - trialNorm * trialNorm) / predicted;
+                if (ratio > 0.0 && Double.isFinite(trialNorm)) {
+                    System.arraycopy(trial, 0, x, 0, n);
+                    System.arraycopy(trialF, 0, f, 0, m);
+                    norm = trialNorm;
+                    workspace.linearize(x, f);
+                    jacobianEvaluations++;
+                }
+            }
+            if (ratio > 0.0) {
+                damping *= Math.max(1.0 / 3.0, 1.0 - Math.pow(2.0 * ratio - 1.0, 3));
+                growth = 2.0;
+            } else {
+                damping *= growth;
+                growth *= 2.0;
+            }
+            if (callback != null) {
+                callback.onIteration(iteration, norm, stepNorm);
+            }
+        }
+        return new NonlinearSolverResult(status, iteration, initialNorm, norm, stepNorm, functionEvaluations, jacobianEvaluations,
+                workspace.unconvergedLinearSolves);
+    }
+
+    /**
+     * Jacobian, J^T J or its diagonal, and J^T F at the current point, with the storage of the linear solves
+     */
+    private final class Workspace {
+        private final CompiledJacobian system;
+        private final int n;
+        private final double[] gradient;
+        private final double[] diagonal;
+        private final double[] scaling;
+        private final double[] negativeGradient;
+        private final Matrix jacobian;
+        private final Matrix normal;
+        private final Matrix damped;
+        private final CholeskyDecomposition cholesky;
+        private final SparseMatrix sparseJacobian;
+        private final double[] product;
+        private int unconvergedLinearSolves;
+
+        private Workspace(final CompiledJacobian system, final int m, final int n) {
+            this.system = system;
+            this.n = n;
+            this.gradient = new double[n];
+            this.diagonal = new double[n];
+            this.scaling = new double[n];
+            this.negativeGradient = new double[n];
+            final boolean dense = storage == JacobianStorage.DENSE;
+            this.jacobian = dense ? new Matrix("J", m, n) : null;
+            this.normal = dense ? new Matrix("JtJ", n, n) : null;
+            this.damped = dense ? new Matrix("JtJ + damping D", n, n) : null;
+            this.cholesky = dense ? new CholeskyDecomposition() : null;
+            this.sparseJacobian = dense ? null : system.newSparseMatrix("J");
+            this.product = new double[m];
+        }
+
+        private void linearize(final double[] x, final double[] f) {
+            if (jacobian != null) {
+                system.evaluate(x, jacobian);
+                jacobian.transposeView().multiplyInto(jacobian, normal);
+                jacobian.transposeView().multiplyInto(f, gradient);
+                for (int j = 0; j < n; j++) {
+                    diagonal[j] = normal.get(j, j);
+                }
+            } else {
+                system.evaluate(x, sparseJacobian);
+                sparseJacobian.transposeMultiplyInto(f, gradient);
+                Arrays.fill(diagonal, 0.0);
+                final int[] indices = sparseJacobian.getIndices();
+                final double[] values = sparseJacobian.getValues();
+                for (int p = 0; p < values.length; p++) {
+                    diagonal[indices[p]] += values[p] * values[p];
+                }
+            }
+            // Variables the functions do not depend on at this point keep a small positive scaling
+            final double largest = Arrays.stream(diagonal).max().orElse(0.0);
+            final double floor = largest > 0.0 ? 1e-12 * largest : 1.0;
+            for (int j = 0; j < n; j++) {
+                scaling[j] = Math.max(diagonal[j], floor);
+                negativeGradient[j] = -gradient[j];
+            }
+        }
+
+        /**
+         * Solves (J^T J + damping * D) * step = -J^T F
+         * @return false if the system could not be solved
+         */
+        private boolean solve(final double damping, final double[] step) {
+            if (normal != null) {
+                normal.copyInto(damped);
+                for (int j = 0; j < n; j++) {
+                    damped.set(j, j, diagonal[j] + damping * scaling[j]);
+                }
+                try {
+                    cholesky.factor(damped).solveInto(new Matrix("-JtF", n, 1, negativeGradient), new Matrix("step", n, 1, step));
+                } catch (final IllegalArgumentException e) {
+                    // Not positive definite in floating point
+                    return false;
+                }
+            } else {
+                final double[] dampedDiagonal = new double[n];
+                for (int j = 0; j < n; j++) {
+                    dampedDiagonal[j] = diagonal[j] + damping * scaling[j];
+                }
+                Arrays.fill(step, 0.0);
+                final SolverResult result = ConjugateGradient.builder()
+                        .tolerance(linearTolerance)
+                        .maxIterations(maxLinearIterations)
+                        .preconditioner(new JacobiPreconditioner(dampedDiagonal))
+                        .build()
+                        .solve((v, y) -> {
+                            sparseJacobian.multiplyInto(v, product);
+                            sparseJacobian.transposeMultiplyInto(product, y);
+                            for (int j = 0; j < n; j++) {
+                                y[j] += damping * scaling[j] * v[j];
+                            }
+                        }, negativeGradient, step);
+                if (!result.isConverged()) {
+                    // The inexact step is still tried, a rejected one raising the damping
+                    unconvergedLinearSolves++;
+                }
+            }
+            return Arrays.stream(step).allMatch(Double::isFinite);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package calculus.multivariate.models.solvers;
+
+import calculus.multivariate.models.functions.CompiledJacobian;
+import calculus.univariate.models.linearAlgebra.LUDecomposition;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import calculus.univariate.models.linearAlgebra.iterative.GMRES;
+import calculus.univariate.models.linearAlgebra.iterative.ILU0Preconditioner;
+import calculus.univariate.models.linearAlgebra.iterative.LinearOperator;
+import calculus.univariate.models.linearAlgebra.iterative.Preconditioner;
+import calculus.univariate.models.linearAlgebra.iterative.SolverResult;
+import calculus.univariate.models.linearAlgebra.iterative.Vectors;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Damped Newton's method for square systems F(x) = 0. Every iteration solves J(x) * step = -F(x), with an LU
+ * decomposition of the dense Jacobian, or GMRES preconditioned by ILU(0) on the sparse one, then halves the
+ * step until the norm of F decreases enough (Armijo's condition on |F|^2 / 2). Convergence is quadratic near
+ * a root with a non singular Jacobian, the damping widening the set of starting points that reach it.
+ */
+@Getter
+@Builder
+public class NewtonSolver implements NonlinearSolver {
+
+    /**
+     * Fraction of the decrease predicted by the linear model required from a damped step
+     */
+    private static final double SUFFICIENT_DECREASE = 1e-4;
+
+    /**
+     * Norm of F under which the solve stops
+     */
+    @Builder.Default
+    private double functionTolerance = 1e-10;
+
+    /**
+     * Norm of the step, relative to the norm of x, under which the solve stops
+     */
+    @Builder.Default
+    private double stepTolerance = 1e-14;
+
+    @Builder.Default
+    private int maxIterations = 100;
+
+    /**
+     * Smallest fraction of the Newton step tried before giving up
+     */
+    @Builder.Default
+    private double minDamping = 1e-10;
+
+    @Builder.Default
+    private JacobianStorage storage = JacobianStorage.DENSE;
+
+    /**
+     * Relative residual of the GMRES solves of sparse Jacobians
+     */
+    @Builder.Default
+    private double linearTolerance = 1e-12;
+
+    @Builder.Default
+    private int maxLinearIterations = 1000;
+
+    /**
+     * Called after every iteration, when set
+     */
+    private IterationCallback callback;
+
+    @Override
+    public NonlinearSolverResult solve(final CompiledJacobian system, final double[] x) {
+        final int n = system.getNumCols();
+        if (system.getNumRows() != n) {
+            throw new IllegalArgumentException("Newton's method requires as many functions as variables.");
+        }
+        if (x.length != n) {
+            throw new IllegalArgumentException("Initial guess must have a value for every variable of the layout.");
+        }
+        final double[] f = new double[n];
+        final double[] trialF = new double[n];
+        final double[] trial = new double[n];
+        final double[] step = new double[n];
+        final double[] negativeF = new double[n];
+        final Matrix jacobian = storage == JacobianStorage.DENSE ? new Matrix("J", n, n) : null;
+        final LUDecomposition lu = storage == JacobianStorage.DENSE ? new LUDecomposition() : null;
+        final SparseMatrix sparseJacobian = storage == JacobianStorage.SPARSE ? system.newSparseMatrix("J") : null;
+
+        system.evaluateFunctions(x, f);
+        int functionEvaluations = 1;
+        int jacobianEvaluations = 0;
+        final double initialNorm = Vectors.norm(f);
+        double norm = initialNorm;
+        double stepNorm = Double.NaN;
+        int iteration = 0;
+        int unconvergedLinearSolves = 0;
+        NonlinearSolverResult.Status status;
+        while (true) {
+            if (norm <= functionTolerance) {
+                status = NonlinearSolverResult.Status.FUNCTION_TOLERANCE;
+                break;
+            }
+            if (iteration == maxIterations) {
+                status = NonlinearSolverResult.Status.MAX_ITERATIONS;
+                break;
+            }
+            iteration++;
+            for (int i = 0; i < n; i++) {
+                negativeF[i] = -f[i];
+            }
+            jacobianEvaluations++;
+            boolean solved = true;
+            boolean linearConverged = true;
+            if (storage == JacobianStorage.DENSE) {
+                solved = denseStep(system, x, jacobian, lu, negativeF, step);
+            } else {
+                // An inexact step is still tried, as it is often a descent direction
+                linearConverged = sparseStep(system, x, sparseJacobian, negativeF, step).isConverged();
+                if (!linearConverged) {
+                    unconvergedLinearSolves++;
+                }
+            }
+            if (!solved || !Arrays.stream(step).allMatch(Double::isFinite)) {
+                status = NonlinearSolverResult.Status.SINGULAR_JACOBIAN;
+                break;
+            }
+
+            // Halves the step until |F|^2 decreases by a fraction of the 2 * damping * |F|^2 the linear model predicts
+            double damping = 1.0;
+            double trialNorm;
+            boolean accepted;
+            do {
+                Vectors.addScaled(x, damping, step, trial);
+                system.evaluateFunctions(trial, trialF);
+                functionEvaluations++;
+                trialNorm = Vectors.norm(trialF);
+                accepted = trialNorm * trialNorm <= (1 - 2 * SUFFICIENT_DECREASE * damping) * norm * norm;
+                if (!accepted) {
+                    damping *= 0.5;
+                }
+            } while (!accepted && damping >= minDamping);
+            if (!accepted) {
+                status = linearConverged ? NonlinearSolverResult.Status.LINE_SEARCH_FAILED : NonlinearSolverResult.Status.LINEAR_SOLVE_FAILED;
+                break;
+            }
+            System.arraycopy(trial, 0, x, 0, n);
+            System.arraycopy(trialF, 0, f, 0, n);
+            norm = trialNorm;
+            stepNorm = damping * Vectors.norm(step);
+            if (callback != null) {
+                callback.onIteration(iteration, norm, stepNorm);
+            }
+            if (norm > functionTolerance && stepNorm <= stepTolerance * (Vectors.norm(x) + stepTolerance)) {
+                status = NonlinearSolverResult.Status.STEP_TOLERANCE;
+                break;
+            }
+        }
+        return new NonlinearSolverResult(status, iteration, initialNorm, norm, stepNorm, functionEvaluations, jacobianEvaluations,
+                unconvergedLinearSolves);
+    }
+
+    private static boolean denseStep(final CompiledJacobian system, final double[] x, final Matrix jacobian, final LUDecomposition lu,
+                                     final double[] negativeF, final double[] step) {
+        system.evaluate(x, jacobian);
+        if (lu.factor(jacobian).isSingular()) {
+            return false;
+        }
+        final int n = step.length;
+        lu.solveInto(new Matrix("-F", n, 1, negativeF), new Matrix("step", n, 1, step));
+        return true;
+    }
+
+    private SolverResult sparseStep(final CompiledJacobian system, final double[] x, final SparseMatrix jacobian,
+                                    final double[] negativeF, final double[] step) {
+        system.evaluate(x, jacobian);
+        Preconditioner preconditioner;
+        try {
+            preconditioner = new ILU0Preconditioner(jacobian);
+        } catch (final IllegalArgumentException e) {
+            // Missing diagonal entries or a zero pivot
+            preconditioner = Preconditioner.identity();
+        }
+        Arrays.fill(step, 0.0);
+        return GMRES.builder()
+                .tolerance(linearTolerance)
+                .maxIterations(maxLinearIterations)
+                .preconditioner(preconditioner)
+                .build()
+                .solve(LinearOperator.of(jacobian), negativeF, step);
+    }
+}
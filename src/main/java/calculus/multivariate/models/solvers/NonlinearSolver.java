@@ -0,0 +1,45 @@
+package calculus.multivariate.models.solvers;
+
+import calculus.multivariate.models.functions.CompiledJacobian;
+import calculus.univariate.models.linearAlgebra.Matrix;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solver of systems of nonlinear equations F(x) = 0, F being the functions of a CompiledJacobian and x
+ * a point laid out by its layout. Solvers keep no state between solves, so one solver can run many solves
+ * at once, and the initial guess is where a solve starts, so a previous solution warm starts the next one.
+ */
+public interface NonlinearSolver {
+
+    /**
+     * Solves F(x) = 0 starting from x
+     * @param x -> the initial guess, overwritten with the solution
+     * @return the status of the solve, the residual norms and the work done
+     */
+    NonlinearSolverResult solve(CompiledJacobian system, double[] x);
+
+    /**
+     * Solves independent systems in parallel on the pool, each starting from its guess
+     * @param guesses -> one initial guess per system, overwritten with its solution
+     */
+    default List<NonlinearSolverResult> solveAll(final List<CompiledJacobian> systems, final List<double[]> guesses,
+                                                 final ForkJoinPool pool) {
+        if (systems.size() != guesses.size()) {
+            throw new IllegalArgumentException("Every system needs one initial guess.");
+        }
+        final NonlinearSolverResult[] results = new NonlinearSolverResult[systems.size()];
+        if (!systems.isEmpty()) {
+            pool.invoke(new SolveTask(this, systems, guesses, results, 0, systems.size()));
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Solves independent systems in parallel on the default pool of Matrix
+     */
+    default List<NonlinearSolverResult> solveAll(final List<CompiledJacobian> systems, final List<double[]> guesses) {
+        return solveAll(systems, guesses, Matrix.getDefaultPool());
+    }
+}
@@ -0,0 +1,71 @@
+package calculus.multivariate.models.solvers;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a nonlinear solve. The solution itself is written into the given initial guess.
+ */
+@Getter
+public class NonlinearSolverResult {
+
+    public enum Status {
+        /**
+         * The norm of F fell under the function tolerance
+         */
+        FUNCTION_TOLERANCE,
+        /**
+         * The gradient of the least squares cost vanished: a local least squares solution, not necessarily a root
+         */
+        GRADIENT_TOLERANCE,
+        /**
+         * The step became negligible relative to the point
+         */
+        STEP_TOLERANCE,
+        MAX_ITERATIONS,
+        /**
+         * No damped step decreased the norm of F
+         */
+        LINE_SEARCH_FAILED,
+        /**
+         * The iterative linear solve of the last step did not converge, and its inexact step did not decrease the norm of F
+         */
+        LINEAR_SOLVE_FAILED,
+        SINGULAR_JACOBIAN
+    }
+
+    private final Status status;
+    private final int iterations;
+    private final double initialResidualNorm;
+    private final double residualNorm;
+    private final double stepNorm;
+    private final int functionEvaluations;
+    private final int jacobianEvaluations;
+
+    /**
+     * Number of iterative linear solves, on sparse Jacobians, that stopped before reaching their tolerance
+     */
+    private final int unconvergedLinearSolves;
+
+    public NonlinearSolverResult(final Status status, final int iterations, final double initialResidualNorm, final double residualNorm,
+                                 final double stepNorm, final int functionEvaluations, final int jacobianEvaluations,
+                                 final int unconvergedLinearSolves) {
+        this.status = status;
+        this.iterations = iterations;
+        this.initialResidualNorm = initialResidualNorm;
+        this.residualNorm = residualNorm;
+        this.stepNorm = stepNorm;
+        this.functionEvaluations = functionEvaluations;
+        this.jacobianEvaluations = jacobianEvaluations;
+        this.unconvergedLinearSolves = unconvergedLinearSolves;
+    }
+
+    public boolean isConverged() {
+        return status == Status.FUNCTION_TOLERANCE || status == Status.GRADIENT_TOLERANCE || status == Status.STEP_TOLERANCE;
+    }
+
+    public String toString() {
+        return status + " after " + iterations + " iterations, residual norm " + initialResidualNorm + " -> " + residualNorm
+                + ", " + functionEvaluations + " function and " + jacobianEvaluations + " Jacobian evaluations"
+                + (unconvergedLinearSolves > 0 ? ", " + unconvergedLinearSolves + " unconverged linear solves" : "");
+    }
+}
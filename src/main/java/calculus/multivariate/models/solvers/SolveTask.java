@@ -0,0 +1,41 @@
+package calculus.multivariate.models.solvers;
+
+import calculus.multivariate.models.functions.CompiledJacobian;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves the systems [from, to) of a batch, splitting the range in halves down to single systems
+ */
+@SuppressWarnings("serial")
+final class SolveTask extends RecursiveAction {
+
+    private final NonlinearSolver solver;
+    private final List<CompiledJacobian> systems;
+    private final List<double[]> guesses;
+    private final NonlinearSolverResult[] results;
+    private final int from;
+    private final int to;
+
+    SolveTask(final NonlinearSolver solver, final List<CompiledJacobian> systems, final List<double[]> guesses,
+              final NonlinearSolverResult[] results, final int from, final int to) {
+        this.solver = solver;
+        this.systems = systems;
+        this.guesses = guesses;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from == 1) {
+            results[from] = solver.solve(systems.get(from), guesses.get(from));
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        invokeAll(new SolveTask(solver, systems, guesses, results, from, middle),
+                new SolveTask(solver, systems, guesses, results, middle, to));
+    }
+}
@@ -49,6 +49,11 @@ public class ConstantFunction implements Function {
         return this.value;
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        return input == null ? null : Range.singleton(this.value);
+    }
+
     /**
      * Does nothing, since a ConstantFunction is already in its simplest form
      * @return the current function
@@ -2,6 +2,7 @@ package calculus.univariate.models.functions;
 
 //import com.google.common.collect.Range;// replacing with models.Range to keep external dependencies to a minimum
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.numberUtils.RangeSet;
 
 import java.util.List;
 
@@ -39,6 +40,13 @@ public interface Function {
      */
     List<Range> getDomain();
 
+    /**
+     * Returns the domain of the function as a sorted set of disjoint ranges
+     */
+    default RangeSet getDomainSet() {
+        return RangeSet.of(getDomain());
+    }
+
     /**
      * Returns the range of the function
      */
@@ -49,6 +57,13 @@ public interface Function {
      */
     double evaluate(final Double ...values);
 
+    /**
+     * Evaluates the function over a range of values, using interval arithmetic
+     * @return a closed range enclosing every value the function takes over the input range,
+     *         or null if the function is nowhere defined in the input range
+     */
+    Range evaluate(final Range input);
+
     /**
      * Simplifies / reduces the function
      * @return the simplified function
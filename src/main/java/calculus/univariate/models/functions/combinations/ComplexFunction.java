@@ -3,6 +3,7 @@ package calculus.univariate.models.functions.combinations;
 import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -59,6 +60,15 @@ public class ComplexFunction implements Function {
                 .sum();
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        Range value = input == null ? null : Range.singleton(0.0);
+        for (final CompositeFunction function : functions) {
+            value = IntervalUtils.add(value, function.evaluate(input));
+        }
+        return value;
+    }
+
     @Override
     public Function simplify() {
         return ComplexFunction.builder()
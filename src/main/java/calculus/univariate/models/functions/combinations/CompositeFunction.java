@@ -4,6 +4,7 @@ import calculus.univariate.models.functions.ConstantFunction;
 import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 import calculus.univariate.models.functions.polynomials.PolynomialFunction;
 import calculus.univariate.models.functions.polynomials.PolynomialTerm;
 import calculus.univariate.models.functions.radicals.RadicalFunction;
@@ -178,6 +179,20 @@ public class CompositeFunction implements Function {
                 .reduce(1, (a, b) -> a * b);
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        return Stream.of(
+                this.polynomialFactors,
+                this.radicalFactors,
+                this.rationalFunctions,
+                this.exponentialFunctions,
+                this.trigonometricFunctions
+                )
+                .flatMap(List::stream)
+                .map(func -> func.evaluate(input))
+                .reduce(input == null ? null : Range.singleton(1.0), IntervalUtils::multiply);
+    }
+
     @Override
     public Function simplify() {
         // TODO: Implement 'simplify' for CompositeFunction
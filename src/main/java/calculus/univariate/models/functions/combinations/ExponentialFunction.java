@@ -6,6 +6,7 @@ import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.functions.polynomials.PolynomialFunction;
 import calculus.univariate.models.functions.polynomials.PolynomialTerm;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 import calculus.univariate.utils.NumberUtils;
 
 import java.util.LinkedList;
@@ -58,6 +59,11 @@ public class ExponentialFunction implements Function {
         return Math.pow(base, exponent.evaluate(values));
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        return IntervalUtils.exp(base, exponent.evaluate(input));
+    }
+
     @Override
     public Function simplify() {
         if (this.exponent instanceof ConstantFunction) {
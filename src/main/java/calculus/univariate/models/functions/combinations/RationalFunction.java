@@ -1,26 +1,30 @@
 package calculus.univariate.models.functions.combinations;
 
-import calculus.univariate.models.equations.GeneralEquation;
 import calculus.univariate.models.functions.ConstantFunction;
 import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.functions.polynomials.PolynomialFunction;
+import calculus.univariate.models.functions.polynomials.PolynomialTerm;
+import calculus.univariate.models.inequalities.InequalityType;
+import calculus.univariate.models.inequalities.NumericInequality;
 import calculus.univariate.utils.DerivativeUtils;
 
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.numberUtils.RangeSet;
+import calculus.univariate.utils.IntervalUtils;
+import calculus.univariate.utils.RootUtils;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Class implementing a Rational function
  */
 @Getter
-@AllArgsConstructor
-@Builder
 public class RationalFunction implements Function {
 
     final Function numerator;
@@ -29,6 +33,21 @@ public class RationalFunction implements Function {
     final String varName;
     private boolean isIndefiniteIntegral;
 
+    /**
+     * Domain, located on first use
+     */
+    @Getter(AccessLevel.NONE) private volatile List<Range> domain;
+
+    @Builder
+    public RationalFunction(final Function numerator, final Function denominator, final String funcName,
+                            final String varName, final boolean isIndefiniteIntegral) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.funcName = funcName;
+        this.varName = varName;
+        this.isIndefiniteIntegral = isIndefiniteIntegral;
+    }
+
     public static Function defaultFunc() {
         return RationalFunction.builder()
                 .funcName("DefaultRationalFunction")
@@ -53,13 +72,60 @@ public class RationalFunction implements Function {
         return FunctionType.RATIONAL;
     }
 
+    /**
+     * The domain excludes the poles, i.e. the points where the denominator is zero. They are the exact real roots
+     * of a polynomial denominator, see {@link RootUtils#polynomialRoots}, and are otherwise located numerically,
+     * see {@link NumericInequality}. The domain is computed once; the numerator and denominator are not expected
+     * to change afterwards
+     */
     @Override
     public List<Range> getDomain() {
-        final GeneralEquation equation = GeneralEquation.builder()
-                .leftSide(this.denominator)
-                .rightSide(ConstantFunction.builder().value(0).build())
-                .build();
-        return equation.getSolutions().keySet().stream().toList();
+        List<Range> computed = this.domain;
+        if (computed == null) {
+            computed = computeDomain();
+            this.domain = computed;
+        }
+        return computed;
+    }
+
+    private List<Range> computeDomain() {
+        final double[] coefficients = this.denominator instanceof PolynomialFunction
+                ? coefficients((PolynomialFunction) this.denominator) : null;
+        final RangeSet nonZero;
+        if (coefficients != null && Arrays.stream(coefficients).allMatch(coefficient -> coefficient == 0.0)) {
+            nonZero = RangeSet.empty();
+        } else if (coefficients != null) {
+            nonZero = RangeSet.of(RootUtils.polynomialRoots(coefficients).stream().map(Range::singleton).toList()).complement();
+        } else {
+            final NumericInequality inequality = NumericInequality.builder()
+                    .type(InequalityType.NOT_EQUAL_TO)
+                    .leftSide(this.denominator)
+                    .rightSide(ConstantFunction.zeroFunction())
+                    .build();
+            inequality.solve();
+            nonZero = inequality.getSolutionSet();
+        }
+
+        try {
+            return List.copyOf(nonZero.intersection(this.numerator.getDomainSet()).toList());
+        } catch (UnsupportedOperationException e) {
+            return List.copyOf(nonZero.toList());
+        }
+    }
+
+    /**
+     * Coefficients of a polynomial, the one of x^i at index i, or null when it has negative exponents
+     */
+    private static double[] coefficients(final PolynomialFunction polynomial) {
+        if (polynomial.getTerms().stream().anyMatch(term -> term.getExponent() < 0)) {
+            return null;
+        }
+        final int degree = polynomial.getTerms().stream().mapToInt(PolynomialTerm::getExponent).max().orElse(0);
+        final double[] coefficients = new double[degree + 1];
+        for (final PolynomialTerm term : polynomial.getTerms()) {
+            coefficients[term.getExponent()] += term.getCoefficient();
+        }
+        return coefficients;
     }
 
     @Override
@@ -73,6 +139,11 @@ public class RationalFunction implements Function {
         return numerator.evaluate(values) / denominator.evaluate(values);
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        return IntervalUtils.divide(numerator.evaluate(input), denominator.evaluate(input));
+    }
+
     @Override
     public Function simplify() {
         // TODO: Implement 'simplify' for RationalFunction
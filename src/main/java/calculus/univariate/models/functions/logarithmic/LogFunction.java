@@ -9,6 +9,7 @@ import calculus.univariate.models.functions.polynomials.PolynomialFunction;
 import calculus.univariate.models.inequalities.GeneralInequality;
 import calculus.univariate.models.inequalities.InequalityType;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 
 import lombok.Builder;
 import lombok.Getter;
@@ -71,6 +72,11 @@ public class LogFunction implements Function {
         return Math.log(body.evaluate(values)) / Math.log(base);
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        return IntervalUtils.log(body.evaluate(input), base);
+    }
+
     @Override
     public Function simplify() {
         if (body instanceof ConstantFunction) {
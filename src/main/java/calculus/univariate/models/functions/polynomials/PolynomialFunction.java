@@ -4,6 +4,7 @@ import calculus.univariate.models.functions.ConstantFunction;
 import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -537,6 +538,18 @@ public class PolynomialFunction implements Function {
         return this.evaluateFunc(values[0]);
     }
 
+    /**
+     * Evaluates the polynomial over a range, term by term
+     */
+    @Override
+    public Range evaluate(final Range input) {
+        Range value = input == null ? null : Range.singleton(0.0);
+        for (final PolynomialTerm term : this.terms) {
+            value = IntervalUtils.add(value, term.evaluate(input));
+        }
+        return value;
+    }
+
     @Override
     public Function simplify() {
         if (this.terms.size() == 1 && this.terms.get(0).getExponent() == 0) {
@@ -1,5 +1,8 @@
 package calculus.univariate.models.functions.polynomials;
 
+import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
+
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.Comparator;
@@ -156,6 +159,13 @@ public class PolynomialTerm {
         return this.coefficient * Math.pow(input, this.exponent);
     }
 
+    /**
+     * Evaluates the term over a range of values
+     */
+    public Range evaluate(final Range input) {
+        return IntervalUtils.scale(IntervalUtils.pow(input, this.exponent), this.coefficient);
+    }
+
     /**
      * @return a String representation of the Term.
      */
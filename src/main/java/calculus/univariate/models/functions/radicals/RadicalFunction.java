@@ -8,6 +8,7 @@ import calculus.univariate.models.functions.polynomials.PolynomialFunction;
 import calculus.univariate.models.inequalities.InequalityType;
 import calculus.univariate.models.inequalities.PolynomialInequality;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -85,6 +86,11 @@ public class RadicalFunction implements Function {
         return Math.pow(body.evaluate(values), rootIndex);
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        return IntervalUtils.pow(body.evaluate(input), rootIndex);
+    }
+
     @Override
     public Function simplify() {
         if (this.body instanceof ConstantFunction) {
@@ -4,6 +4,7 @@ import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.functions.polynomials.PolynomialFunction;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -56,6 +57,11 @@ public final class AbsoluteValueFunction implements Function {
         return Math.abs(this.innerFunction.evaluate(values));
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        return IntervalUtils.abs(this.innerFunction.evaluate(input));
+    }
+
     @Override
     public Function simplify() {
         // TODO: Implement simplify for AbsoluteValueFunction
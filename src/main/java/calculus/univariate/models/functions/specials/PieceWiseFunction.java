@@ -5,7 +5,10 @@ import calculus.univariate.models.functions.ConstantFunction;
 import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
+import calculus.univariate.models.numberUtils.RangeSet;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +25,11 @@ public class PieceWiseFunction implements Function {
     final private Map<Function, Range> functionsToRangesMap;
     private final boolean isIndefiniteIntegral;
 
+    /**
+     * Domain of the function, computed on first use
+     */
+    private RangeSet domainSet;
+
     @Override
     public String getFuncName() {
         return this.funcName;
@@ -78,8 +86,26 @@ public class PieceWiseFunction implements Function {
 
     @Override
     public List<Range> getDomain() {
-        // TODO: Implement getDomain for PieceWiseFunction
-        throw new UnsupportedOperationException("Unimplemented method 'getDomain'");
+        return this.getDomainSet().toList();
+    }
+
+    /**
+     * The domain is the union of the pieces' ranges, each restricted to the domain of its function
+     */
+    @Override
+    public RangeSet getDomainSet() {
+        if (this.domainSet == null) {
+            final List<Range> pieces = new ArrayList<>();
+            this.functionsToRangesMap.forEach((function, range) -> {
+                try {
+                    pieces.addAll(function.getDomainSet().intersection(RangeSet.of(range)).toList());
+                } catch (UnsupportedOperationException e) {
+                    pieces.add(range);
+                }
+            });
+            this.domainSet = RangeSet.of(pieces);
+        }
+        return this.domainSet;
     }
 
     @Override
@@ -101,6 +127,24 @@ public class PieceWiseFunction implements Function {
         throw new IllegalArgumentException("This function is not defined for the provided value!");
     }
 
+    /**
+     * Evaluates each piece over the part of the input range it is defined on
+     */
+    @Override
+    public Range evaluate(final Range input) {
+        if (input == null) {
+            return null;
+        }
+        Range value = null;
+        for (final Map.Entry<Function, Range> entry : functionsToRangesMap.entrySet()) {
+            final Range piece = entry.getValue().intersection(input);
+            if (piece != null) {
+                value = IntervalUtils.hull(value, entry.getKey().evaluate(piece));
+            }
+        }
+        return value;
+    }
+
     @Override
     public Function simplify() {
         // TODO: Implement simplify for PieceWiseFunction
@@ -7,6 +7,7 @@ import calculus.univariate.models.functions.combinations.CompositeFunction;
 import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.functions.FunctionType;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
 import calculus.univariate.models.functions.polynomials.PolynomialFunction;
 import calculus.univariate.models.functions.polynomials.PolynomialTerm;
 
@@ -67,6 +68,28 @@ public class TrigonometricFunction implements Function {
         }
     }
 
+    @Override
+    public Range evaluate(final Range input) {
+        final Range inner = this.innerFunction.evaluate(input);
+        final Range one = Range.singleton(1.0);
+        switch (this.trigonometricFunctionType) {
+            case COSINE:
+                return IntervalUtils.cos(inner);
+            case SINE:
+                return IntervalUtils.sin(inner);
+            case TANGENT:
+                return IntervalUtils.tan(inner);
+            case SECANT:
+                return IntervalUtils.divide(one, IntervalUtils.cos(inner));
+            case COSECANT:
+                return IntervalUtils.divide(one, IntervalUtils.sin(inner));
+            case COTANGENT:
+                return IntervalUtils.divide(one, IntervalUtils.tan(inner));
+            default:
+                throw new IllegalArgumentException("No trigonometric function type with name " + this.trigonometricFunctionType);
+        }
+    }
+
     public static Function defaultFunc() {
         return TrigonometricFunction.builder()
                 .funcName("DefaultTrigonometricFunction")
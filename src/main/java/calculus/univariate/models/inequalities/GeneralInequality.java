@@ -26,6 +26,13 @@ public class GeneralInequality implements Inequality {
             this.solution = polynomialInequality.getSolution();
             return;
         }
-        throw new UnsupportedOperationException("Unimplemented solver for provided inputs: " + this.printInequality());
+        // Otherwise, fall back to the numeric solver
+        final NumericInequality numericInequality = NumericInequality.builder()
+                .type(type)
+                .leftSide(leftSide)
+                .rightSide(rightSide)
+                .build();
+        numericInequality.solve();
+        this.solution = numericInequality.getSolution();
     }
 }
@@ -2,6 +2,7 @@ package calculus.univariate.models.inequalities;
 
 import calculus.univariate.models.functions.Function;
 import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.numberUtils.RangeSet;
 
 import java.util.List;
 
@@ -18,6 +19,13 @@ public interface Inequality {
 
     List<Range> getSolution();
 
+    /**
+     * Returns the solution of the inequality as a sorted set of disjoint ranges
+     */
+    default RangeSet getSolutionSet() {
+        return RangeSet.of(getSolution());
+    }
+
     /**
      * Solves the inequality
      * @return the range of values that satisfy the inequality
@@ -108,23 +108,21 @@ public class LinearInequality implements Inequality {
             return;
         }
 
-        if (leftSideCopy.getTerms().get(0).getCoefficient() < 0.0) {
-            rightSideCopy.getTerms().get(0).setCoefficient(rightSideCopy.getTerms().get(0).getCoefficient() / leftSideCopy.getTerms().get(0).getCoefficient());
-            leftSideCopy.getTerms().get(0).setCoefficient(1.0);
+        // The right side may have been reduced to zero
+        final double leftCoefficient = leftSideCopy.getTerms().get(0).getCoefficient();
+        final double threshold = (rightSideCopy.getTerms().isEmpty() ? 0.0 : rightSideCopy.getTerms().get(0).getCoefficient()) / leftCoefficient;
+        if (leftCoefficient < 0.0) {
             linearInequality.type = InequalityType.reverse(linearInequality.type);
-        } else {
-            rightSideCopy.getTerms().get(0).setCoefficient(rightSideCopy.getTerms().get(0).getCoefficient() / leftSideCopy.getTerms().get(0).getCoefficient());
-            leftSideCopy.getTerms().get(0).setCoefficient(1.0);
         }
 
         if (linearInequality.type == InequalityType.LESS_THAN) {
-            this.solution = Collections.singletonList(Range.lessThan(rightSideCopy.getTerms().get(0).getCoefficient()));
+            this.solution = Collections.singletonList(Range.lessThan(threshold));
         } else if (linearInequality.type == InequalityType.LESS_THAN_OR_EQUAL_TO) {
-            this.solution = Collections.singletonList(Range.atMost(rightSideCopy.getTerms().get(0).getCoefficient()));
+            this.solution = Collections.singletonList(Range.atMost(threshold));
         } else if (linearInequality.type == InequalityType.GREATER_THAN) {
-            this.solution = Collections.singletonList(Range.greaterThan(rightSideCopy.getTerms().get(0).getCoefficient()));
+            this.solution = Collections.singletonList(Range.greaterThan(threshold));
         } else if (linearInequality.type == InequalityType.GREATER_THAN_OR_EQUAL_TO) {
-            this.solution = Collections.singletonList(Range.atLeast(rightSideCopy.getTerms().get(0).getCoefficient()));
+            this.solution = Collections.singletonList(Range.atLeast(threshold));
         } else if (linearInequality.type == InequalityType.EQUAL_TO) {
             throw new IllegalArgumentException("Inequality presented as equality.");
         }
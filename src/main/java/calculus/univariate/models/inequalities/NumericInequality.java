@@ -0,0 +1,234 @@
+package calculus.univariate.models.inequalities;
+
+import calculus.univariate.models.functions.Function;
+import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.numberUtils.RangeSet;
+import calculus.univariate.utils.NumberUtils;
+import calculus.univariate.utils.RootUtils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Inequality between any two univariate functions, solved numerically.
+ * The boundary points of the solution are the roots of (left - right), including those where it touches
+ * zero without changing sign, the poles of either side and the bounds of their domains. Every interval
+ * between two consecutive boundary points has a constant sign and is classified with a single test point.
+ * When a search window is set, the solution is limited to it. Otherwise, roots are searched for from
+ * [-1000, 1000] outward, doubling up to a magnitude of 1e9, and the unbounded intervals beyond are assumed
+ * to keep the sign they have there.
+ */
+@Getter
+@Builder
+public class NumericInequality implements Inequality {
+
+    /**
+     * Magnitude above which rounding a point to 9 decimal places would overflow
+     */
+    private static final double MAX_ROUNDED_MAGNITUDE = 1e9;
+
+    /**
+     * Window searched first when none is set
+     */
+    private static final Range DEFAULT_SEARCH_RANGE = Range.closed(-1000.0, 1000.0);
+
+    /**
+     * Magnitude up to which the default window is widened
+     */
+    private static final double MAX_SEARCH_MAGNITUDE = 1e9;
+
+    private Function leftSide;
+    private Function rightSide;
+    private InequalityType type;
+    private List<Range> solution;
+
+    /**
+     * Window the boundary points are searched for and the solution is limited to. When not set, [-1000, 1000]
+     * is searched and then widened outward one doubling at a time, so isolated roots far out are not missed
+     */
+    private Range searchRange;
+
+    /**
+     * Number of sub-intervals the search window is split into
+     */
+    @Builder.Default
+    private int samples = 20000;
+
+    /**
+     * Tolerance used when refining boundary points and comparing values to zero
+     */
+    @Builder.Default
+    private double tolerance = 1e-10;
+
+    @Override
+    public void solve() {
+        if (leftSide == null || rightSide == null || type == null) {
+            throw new IllegalArgumentException("Null argument(s) passed.");
+        }
+        final DoubleUnaryOperator difference = x -> leftSide.evaluate(x) - rightSide.evaluate(x);
+        final Range window = searchRange != null ? searchRange : DEFAULT_SEARCH_RANGE;
+        double lower = window.getLowerBound();
+        double upper = window.getUpperBound();
+        final List<Double> signChanges = new ArrayList<>(RootUtils.findBoundaryPoints(difference, lower, upper, samples, tolerance));
+        if (searchRange == null) {
+            // Each doubling is scanned at the same number of samples, i.e. at a resolution relative to its magnitude
+            final int blockSamples = Math.max(1, samples / 100);
+            for (; upper < MAX_SEARCH_MAGNITUDE; upper *= 2) {
+                signChanges.addAll(RootUtils.findBoundaryPoints(difference, upper, 2 * upper, blockSamples, tolerance));
+            }
+            for (; lower > -MAX_SEARCH_MAGNITUDE; lower *= 2) {
+                signChanges.addAll(RootUtils.findBoundaryPoints(difference, 2 * lower, lower, blockSamples, tolerance));
+            }
+        }
+        final double lowerBound = lower;
+        final double upperBound = upper;
+
+        final TreeSet<Double> boundaryPoints = new TreeSet<>();
+        addDomainBounds(leftSide, boundaryPoints);
+        addDomainBounds(rightSide, boundaryPoints);
+        for (final double point : signChanges) {
+            boundaryPoints.add(snap(point, difference, boundaryPoints));
+        }
+        final double[] points = boundaryPoints.stream().mapToDouble(Double::doubleValue).toArray();
+
+        // intervals[i] lies between points[i - 1] and points[i]
+        final boolean[] intervals = new boolean[points.length + 1];
+        IntStream.range(0, intervals.length).parallel().forEach(i -> {
+            final double testValue = testValue(points, i, lowerBound, upperBound);
+            intervals[i] = holds(difference.applyAsDouble(testValue), false);
+        });
+        final boolean[] atPoints = new boolean[points.length];
+        IntStream.range(0, atPoints.length).parallel().forEach(i -> atPoints[i] = holds(difference.applyAsDouble(points[i]), true));
+
+        final List<Range> collected = collect(points, intervals, atPoints);
+        // Nothing is known of the sign beyond an explicit window
+        this.solution = searchRange == null ? collected : RangeSet.of(collected).intersection(RangeSet.of(searchRange)).toList();
+    }
+
+    /**
+     * Adds the finite bounds of a function's domain to the set of boundary points
+     */
+    private void addDomainBounds(final Function function, final TreeSet<Double> boundaryPoints) {
+        final List<Range> domain;
+        try {
+            domain = function.getDomain();
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // Domain breaks are still picked up as definedness changes while scanning
+            return;
+        }
+        for (final Range range : domain) {
+            if (Double.isFinite(range.getLowerBound())) {
+                boundaryPoints.add(range.getLowerBound());
+            }
+            if (Double.isFinite(range.getUpperBound())) {
+                boundaryPoints.add(range.getUpperBound());
+            }
+        }
+    }
+
+    /**
+     * Snaps a numerically refined point onto a nearby domain bound, or onto its value rounded to the precision
+     * it was refined to when that is at least as close to a root, so exact boundaries are not duplicated or blurred
+     */
+    private double snap(final double point, final DoubleUnaryOperator difference, final TreeSet<Double> domainBounds) {
+        final double margin = 10 * tolerance * Math.max(1.0, Math.abs(point));
+        final Double floor = domainBounds.floor(point);
+        final Double ceiling = domainBounds.ceiling(point);
+        if (floor != null && point - floor <= margin) {
+            return floor;
+        } else if (ceiling != null && ceiling - point <= margin) {
+            return ceiling;
+        }
+
+        if (Math.abs(point) >= MAX_ROUNDED_MAGNITUDE) {
+            return point;
+        }
+        // Bisection brackets are relative to the magnitude, so far points are only resolved to fewer decimal places
+        final int places = Math.min(9, (int) Math.floor(-Math.log10(margin)));
+        final double rounded = NumberUtils.round(point, places);
+        final double roundedValue = Math.abs(difference.applyAsDouble(rounded));
+        return roundedValue <= Math.abs(difference.applyAsDouble(point)) ? rounded : point;
+    }
+
+    private static double testValue(final double[] points, final int interval, final double lowerBound, final double upperBound) {
+        if (points.length == 0) {
+            return 0.5 * (lowerBound + upperBound);
+        } else if (interval == 0) {
+            return points[0] > lowerBound ? 0.5 * (lowerBound + points[0]) : points[0] - 1.0;
+        } else if (interval == points.length) {
+            return points[interval - 1] < upperBound ? 0.5 * (points[interval - 1] + upperBound) : points[interval - 1] + 1.0;
+        }
+        return 0.5 * (points[interval - 1] + points[interval]);
+    }
+
+    /**
+     * Checks whether a value of (left - right) satisfies the inequality
+     * @param value -> value of left - right
+     * @param isBoundary -> whether the value is taken at a boundary point, where left and right may be equal
+     */
+    private boolean holds(final double value, final boolean isBoundary) {
+        if (!Double.isFinite(value)) {
+            return false;
+        }
+        final boolean isZero = isBoundary ? Math.abs(value) <= Math.sqrt(tolerance) : value == 0.0;
+        switch (type) {
+            case LESS_THAN:
+                return !isZero && value < 0;
+            case LESS_THAN_OR_EQUAL_TO:
+                return isZero || value < 0;
+            case GREATER_THAN:
+                return !isZero && value > 0;
+            case GREATER_THAN_OR_EQUAL_TO:
+                return isZero || value > 0;
+            case EQUAL_TO:
+                return isZero;
+            default:
+                return !isZero;
+        }
+    }
+
+    /**
+     * Sweeps the classified intervals and boundary points from left to right, merging contiguous pieces
+     */
+    private static List<Range> collect(final double[] points, final boolean[] intervals, final boolean[] atPoints) {
+        final List<Range> ranges = new ArrayList<>();
+        double start = 0.0;
+        double end = 0.0;
+        boolean includeStart = false;
+        boolean includeEnd = false;
+        boolean open = false;
+
+        // Pieces alternate between intervals (even indices) and boundary points (odd indices)
+        for (int piece = 0; piece <= 2 * points.length; piece++) {
+            final boolean isPoint = piece % 2 == 1;
+            final int i = piece / 2;
+            final boolean satisfied = isPoint ? atPoints[i] : intervals[i];
+
+            if (!satisfied) {
+                if (open) {
+                    ranges.add(new Range(start, end, includeStart, includeEnd));
+                    open = false;
+                }
+                continue;
+            }
+            final double lower = isPoint ? points[i] : (i == 0 ? Double.NEGATIVE_INFINITY : points[i - 1]);
+            end = isPoint ? points[i] : (i == points.length ? Double.POSITIVE_INFINITY : points[i]);
+            includeEnd = isPoint;
+            if (!open) {
+                start = lower;
+                includeStart = isPoint;
+                open = true;
+            }
+        }
+        if (open) {
+            ranges.add(new Range(start, end, includeStart, includeEnd));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,76 @@
+package calculus.univariate.models.linearAlgebra;
+
+/**
+ * Kernels over contiguous ranges of double arrays, used by the hot loops of Matrix.
+ * The implementation is chosen once, at class initialization: the Vector API one when it was built
+ * (with the vector Maven profile), the jdk.incubator.vector module is present (the JVM was started with
+ * --add-modules jdk.incubator.vector) and the hardware has vectors of at least 4 doubles, the scalar one otherwise.
+ */
+interface ArrayKernels {
+
+    /**
+     * Number of rows of the register tile of the GEMM micro kernel
+     */
+    int MR = 4;
+
+    /**
+     * Kernels in use in this JVM
+     */
+    ArrayKernels INSTANCE = Dispatch.load();
+
+    /**
+     * Computes out = alpha * x + beta * y over length elements. out may be x or y.
+     */
+    void combine(int length, double alpha, double[] x, int xOffset, double beta, double[] y, int yOffset, double[] out, int outOffset);
+
+    /**
+     * Computes out = alpha * x over length elements. out may be x.
+     */
+    void scale(int length, double alpha, double[] x, int xOffset, double[] out, int outOffset);
+
+    /**
+     * Computes y += alpha * x over length elements, with fused multiply-adds when they are available
+     */
+    void axpy(int length, double alpha, double[] x, int xOffset, double[] y, int yOffset);
+
+    /**
+     * Returns the dot product of x and y over length elements
+     */
+    double dot(int length, double[] x, int xOffset, double[] y, int yOffset);
+
+    /**
+     * Number of columns of the register tile of the GEMM micro kernel, which is the width of a packed panel of B
+     */
+    int panelWidth();
+
+    /**
+     * Multiplies an MR x kc panel of packed A by a kc x panelWidth() panel of packed B,
+     * and adds alpha times the top left mr x nr corner of the result to C.
+     * Partial tiles at the edges of C go through the tile buffer, of MR * panelWidth() elements.
+     */
+    void microKernel(int kc, double[] a, int aIndex, double[] b, int bIndex,
+                     double[] c, int cIndex, int cRowStride, int cColStride,
+                     int mr, int nr, double alpha, double[] tile);
+
+    final class Dispatch {
+
+        private static final String VECTOR_KERNELS = "calculus.univariate.models.linearAlgebra.VectorArrayKernels";
+
+        private Dispatch() {
+        }
+
+        private static ArrayKernels load() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    final ArrayKernels kernels = (ArrayKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+                    if (kernels.panelWidth() >= 4) {
+                        return kernels;
+                    }
+                } catch (final ReflectiveOperationException | LinkageError e) {
+                    // Fall back to the scalar kernels
+                }
+            }
+            return new ScalarArrayKernels();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package calculus.univariate.models.linearAlgebra;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Cholesky decomposition of a symmetric positive definite matrix: A = L * L^T.
+ * Only the lower triangle of A is read. The factorization is blocked and right-looking:
+ * a panel of columns of L is computed directly, and the lower part of the trailing matrix
+ * is then updated block row by block row with matrix products, which run on the pool
+ * for large matrices.
+ */
+public class CholeskyDecomposition implements MatrixDecomposition {
+
+    /**
+     * Number of columns factored directly before the trailing matrix is updated
+     */
+    private static final int BLOCK = 64;
+
+    /**
+     * Pool for the matrix products, or null to use the default pool of Matrix
+     */
+    private final ForkJoinPool pool;
+    private Matrix l;
+    private boolean factored;
+
+    public CholeskyDecomposition() {
+        this(null);
+    }
+
+    public CholeskyDecomposition(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Creates the decomposition of the given matrix
+     */
+    public static CholeskyDecomposition of(final Matrix matrix) {
+        return new CholeskyDecomposition().factor(matrix);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the matrix is not positive definite
+     */
+    @Override
+    public CholeskyDecomposition factor(final Matrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("Cholesky decomposition requires a square matrix.");
+        }
+        final int n = matrix.getNumRows();
+        if (l == null || l.getNumRows() != n) {
+            l = new Matrix("L", n, n);
+        }
+        factored = false;
+        matrix.copyInto(l);
+
+        final double[] a = l.getData();
+        final ForkJoinPool pool = pool();
+        for (int k0 = 0; k0 < n; k0 += BLOCK) {
+            final int nb = Math.min(BLOCK, n - k0);
+            factorPanel(a, n, k0, nb);
+            // A22 -= L21 * L21^T, only on and below the diagonal
+            for (int r0 = k0 + nb; r0 < n; r0 += BLOCK) {
+                final int rb = Math.min(BLOCK, n - r0);
+                final int width = r0 + rb - k0 - nb;
+                MatrixTasks.gemm(pool, -1.0, l.view(r0, k0, rb, nb), l.view(k0 + nb, k0, width, nb).transposeView(), l.view(r0, k0 + nb, rb, width));
+            }
+        }
+        factored = true;
+        return this;
+    }
+
+    /**
+     * Computes the columns [k0, k0 + nb) of L, on and below the diagonal.
+     * The contributions of the previous panels were already subtracted by the trailing updates.
+     */
+    private static void factorPanel(final double[] a, final int n, final int k0, final int nb) {
+        for (int j = k0; j < k0 + nb; j++) {
+            double diagonal = a[j * n + j];
+            for (int p = k0; p < j; p++) {
+                diagonal -= a[j * n + p] * a[j * n + p];
+            }
+            if (!(diagonal > 0.0)) {
+                throw new IllegalArgumentException("Matrix is not positive definite.");
+            }
+            final double ljj = Math.sqrt(diagonal);
+            a[j * n + j] = ljj;
+            for (int i = j + 1; i < n; i++) {
+                double sum = a[i * n + j];
+                for (int p = k0; p < j; p++) {
+                    sum -= a[i * n + p] * a[j * n + p];
+                }
+                a[i * n + j] = sum / ljj;
+            }
+        }
+    }
+
+    @Override
+    public Matrix solve(final Matrix rightHandSides) {
+        checkFactored();
+        return solveInto(rightHandSides, new Matrix("X", l.getNumRows(), rightHandSides.getNumCols()));
+    }
+
+    /**
+     * Solves A * X = B like solve, writing X into the destination, which may be B itself.
+     * @return the destination
+     */
+    @Override
+    public Matrix solveInto(final Matrix rightHandSides, final Matrix destination) {
+        checkFactored();
+        final int n = l.getNumRows();
+        if (rightHandSides.getNumRows() != n || destination.getNumRows() != n || destination.getNumCols() != rightHandSides.getNumCols()) {
+            throw new IllegalArgumentException("Right-hand sides and destination must have as many rows as the matrix, and the same number of columns.");
+        }
+        if (destination != rightHandSides) {
+            rightHandSides.copyInto(destination);
+        }
+        final ForkJoinPool pool = pool();
+        TriangularSolves.solveLower(l, false, destination, pool);
+        TriangularSolves.solveUpper(l.transposeView(), false, destination, pool);
+        return destination;
+    }
+
+    @Override
+    public double determinant() {
+        checkFactored();
+        double determinant = 1.0;
+        for (int i = 0; i < l.getNumRows(); i++) {
+            determinant *= l.get(i, i) * l.get(i, i);
+        }
+        return determinant;
+    }
+
+    @Override
+    public Matrix inverse() {
+        checkFactored();
+        final Matrix identity = Matrix.identity("I", l.getNumRows());
+        return solveInto(identity, identity);
+    }
+
+    /**
+     * Returns the lower triangular factor L
+     */
+    public Matrix getL() {
+        checkFactored();
+        final int n = l.getNumRows();
+        final Matrix result = new Matrix("L", n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                result.set(i, j, l.get(i, j));
+            }
+        }
+        return result;
+    }
+
+    private ForkJoinPool pool() {
+        return pool != null ? pool : Matrix.getDefaultPool();
+    }
+
+    private void checkFactored() {
+        if (!factored) {
+            throw new IllegalStateException("No matrix has been factored yet.");
+        }
+    }
+}
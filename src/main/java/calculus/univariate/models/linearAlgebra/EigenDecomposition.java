@@ -0,0 +1,504 @@
+package calculus.univariate.models.linearAlgebra;
+
+/**
+ * Eigen decomposition of a general real square matrix: A * V = V * D.
+ * The matrix is reduced to upper Hessenberg form with Householder reflections, then to real Schur
+ * form with Francis double shift QR iterations, and the eigenvectors are found by back substitution
+ * (the orthes and hqr2 routines of EISPACK).
+ * Complex eigenvalues come in conjugate pairs: when eigenvalue j is re[j] + i * im[j] with im[j] > 0,
+ * eigenvalue j + 1 is its conjugate, and columns j and j + 1 of V hold the real and imaginary parts
+ * of the eigenvector of eigenvalue j. D is then block diagonal, with 2x2 blocks for the pairs.
+ * Eigenvectors are not normalized.
+ */
+public class EigenDecomposition {
+
+    private static final double EPSILON = Math.ulp(1.0);
+
+    /**
+     * Number of QR sweeps per eigenvalue after which the iteration is considered stuck
+     */
+    private static final int MAX_SWEEPS = 100;
+
+    private final int n;
+    private final double[] re;
+    private final double[] im;
+    private final double[][] v;
+    private final double[][] h;
+    private double cdivr;
+    private double cdivi;
+
+    public EigenDecomposition(final Matrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("Eigen decomposition requires a square matrix.");
+        }
+        n = matrix.getNumRows();
+        re = new double[n];
+        im = new double[n];
+        v = new double[n][n];
+        h = matrix.getBody();
+        reduceToHessenberg();
+        reduceToSchur();
+    }
+
+    public static EigenDecomposition of(final Matrix matrix) {
+        return new EigenDecomposition(matrix);
+    }
+
+    public double[] getRealEigenvalues() {
+        return re.clone();
+    }
+
+    public double[] getImaginaryEigenvalues() {
+        return im.clone();
+    }
+
+    /**
+     * Returns the eigenvectors as the columns of a matrix, complex pairs split in real and imaginary parts
+     */
+    public Matrix getEigenvectors() {
+        return new Matrix("V", v);
+    }
+
+    /**
+     * Returns the real block diagonal matrix D
+     */
+    public Matrix getD() {
+        final Matrix d = new Matrix("D", n, n);
+        for (int i = 0; i < n; i++) {
+            d.set(i, i, re[i]);
+            if (im[i] > 0) {
+                d.set(i, i + 1, im[i]);
+            } else if (im[i] < 0) {
+                d.set(i, i - 1, im[i]);
+            }
+        }
+        return d;
+    }
+
+    private void reduceToHessenberg() {
+        final double[] ort = new double[n];
+        final int high = n - 1;
+        for (int m = 1; m <= high - 1; m++) {
+            double scale = 0.0;
+            for (int i = m; i <= high; i++) {
+                scale += Math.abs(h[i][m - 1]);
+            }
+            if (scale != 0.0) {
+                double hh = 0.0;
+                for (int i = high; i >= m; i--) {
+                    ort[i] = h[i][m - 1] / scale;
+                    hh += ort[i] * ort[i];
+                }
+                final double g = ort[m] > 0 ? -Math.sqrt(hh) : Math.sqrt(hh);
+                hh -= ort[m] * g;
+                ort[m] -= g;
+                for (int j = m; j < n; j++) {
+                    double f = 0.0;
+                    for (int i = high; i >= m; i--) {
+                        f += ort[i] * h[i][j];
+                    }
+                    f /= hh;
+                    for (int i = m; i <= high; i++) {
+                        h[i][j] -= f * ort[i];
+                    }
+                }
+                for (int i = 0; i <= high; i++) {
+                    double f = 0.0;
+                    for (int j = high; j >= m; j--) {
+                        f += ort[j] * h[i][j];
+                    }
+                    f /= hh;
+                    for (int j = m; j <= high; j++) {
+                        h[i][j] -= f * ort[j];
+                    }
+                }
+                ort[m] = scale * ort[m];
+                h[m][m - 1] = scale * g;
+            }
+        }
+
+        // Accumulate the transformations
+        for (int i = 0; i < n; i++) {
+            v[i][i] = 1.0;
+        }
+        for (int m = high - 1; m >= 1; m--) {
+            if (h[m][m - 1] != 0.0) {
+                for (int i = m + 1; i <= high; i++) {
+                    ort[i] = h[i][m - 1];
+                }
+                for (int j = m; j <= high; j++) {
+                    double g = 0.0;
+                    for (int i = m; i <= high; i++) {
+                        g += ort[i] * v[i][j];
+                    }
+                    // Double division avoids possible underflow
+                    g = (g / ort[m]) / h[m][m - 1];
+                    for (int i = m; i <= high; i++) {
+                        v[i][j] += g * ort[i];
+                    }
+                }
+            }
+        }
+    }
+
+    private void reduceToSchur() {
+        int last = n - 1;
+        double shift = 0.0;
+        double p = 0;
+        double q = 0;
+        double r = 0;
+        double s = 0;
+        double z = 0;
+        double t;
+        double w;
+        double x;
+        double y;
+
+        double norm = 0.0;
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(i - 1, 0); j < n; j++) {
+                norm += Math.abs(h[i][j]);
+            }
+        }
+
+        int iteration = 0;
+        while (last >= 0) {
+            // Look for a single small sub-diagonal element
+            int l = last;
+            while (l > 0) {
+                s = Math.abs(h[l - 1][l - 1]) + Math.abs(h[l][l]);
+                if (s == 0.0) {
+                    s = norm;
+                }
+                if (Math.abs(h[l][l - 1]) < EPSILON * s) {
+                    break;
+                }
+                l--;
+            }
+
+            if (l == last) {
+                // One root found
+                h[last][last] += shift;
+                re[last] = h[last][last];
+                im[last] = 0.0;
+                last--;
+                iteration = 0;
+            } else if (l == last - 1) {
+                // Two roots found
+                w = h[last][last - 1] * h[last - 1][last];
+                p = (h[last - 1][last - 1] - h[last][last]) / 2.0;
+                q = p * p + w;
+                z = Math.sqrt(Math.abs(q));
+                h[last][last] += shift;
+                h[last - 1][last - 1] += shift;
+                x = h[last][last];
+
+                if (q >= 0) {
+                    // Real pair
+                    z = p >= 0 ? p + z : p - z;
+                    re[last - 1] = x + z;
+                    re[last] = z != 0.0 ? x - w / z : re[last - 1];
+                    im[last - 1] = 0.0;
+                    im[last] = 0.0;
+                    x = h[last][last - 1];
+                    s = Math.abs(x) + Math.abs(z);
+                    p = x / s;
+                    q = z / s;
+                    r = Math.sqrt(p * p + q * q);
+                    p /= r;
+                    q /= r;
+                    for (int j = last - 1; j < n; j++) {
+                        z = h[last - 1][j];
+                        h[last - 1][j] = q * z + p * h[last][j];
+                        h[last][j] = q * h[last][j] - p * z;
+                    }
+                    for (int i = 0; i <= last; i++) {
+                        z = h[i][last - 1];
+                        h[i][last - 1] = q * z + p * h[i][last];
+                        h[i][last] = q * h[i][last] - p * z;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        z = v[i][last - 1];
+                        v[i][last - 1] = q * z + p * v[i][last];
+                        v[i][last] = q * v[i][last] - p * z;
+                    }
+                } else {
+                    // Complex pair
+                    re[last - 1] = x + p;
+                    re[last] = x + p;
+                    im[last - 1] = z;
+                    im[last] = -z;
+                }
+                last -= 2;
+                iteration = 0;
+            } else {
+                if (iteration >= MAX_SWEEPS) {
+                    throw new IllegalStateException("Eigenvalue iteration did not converge.");
+                }
+                // Form the shift
+                x = h[last][last];
+                y = 0.0;
+                w = 0.0;
+                if (l < last) {
+                    y = h[last - 1][last - 1];
+                    w = h[last][last - 1] * h[last - 1][last];
+                }
+
+                // Exceptional shifts, to break cycles
+                if (iteration == 10) {
+                    shift += x;
+                    for (int i = 0; i <= last; i++) {
+                        h[i][i] -= x;
+                    }
+                    s = Math.abs(h[last][last - 1]) + Math.abs(h[last - 1][last - 2]);
+                    x = 0.75 * s;
+                    y = x;
+                    w = -0.4375 * s * s;
+                }
+                if (iteration == 30) {
+                    s = (y - x) / 2.0;
+                    s = s * s + w;
+                    if (s > 0) {
+                        s = Math.sqrt(s);
+                        if (y < x) {
+                            s = -s;
+                        }
+                        s = x - w / ((y - x) / 2.0 + s);
+                        for (int i = 0; i <= last; i++) {
+                            h[i][i] -= s;
+                        }
+                        shift += s;
+                        x = 0.964;
+                        y = x;
+                        w = x;
+                    }
+                }
+                iteration++;
+
+                // Look for two consecutive small sub-diagonal elements
+                int m = last - 2;
+                while (m >= l) {
+                    z = h[m][m];
+                    r = x - z;
+                    s = y - z;
+                    p = (r * s - w) / h[m + 1][m] + h[m][m + 1];
+                    q = h[m + 1][m + 1] - z - r - s;
+                    r = h[m + 2][m + 1];
+                    s = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                    p /= s;
+                    q /= s;
+                    r /= s;
+                    if (m == l) {
+                        break;
+                    }
+                    if (Math.abs(h[m][m - 1]) * (Math.abs(q) + Math.abs(r))
+                            < EPSILON * (Math.abs(p) * (Math.abs(h[m - 1][m - 1]) + Math.abs(z) + Math.abs(h[m + 1][m + 1])))) {
+                        break;
+                    }
+                    m--;
+                }
+                for (int i = m + 2; i <= last; i++) {
+                    h[i][i - 2] = 0.0;
+                    if (i > m + 2) {
+                        h[i][i - 3] = 0.0;
+                    }
+                }
+
+                // Double QR step on rows l..last and columns m..last
+                for (int k = m; k <= last - 1; k++) {
+                    final boolean notLast = k != last - 1;
+                    if (k != m) {
+                        p = h[k][k - 1];
+                        q = h[k + 1][k - 1];
+                        r = notLast ? h[k + 2][k - 1] : 0.0;
+                        x = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                        if (x == 0.0) {
+                            continue;
+                        }
+                        p /= x;
+                        q /= x;
+                        r /= x;
+                    }
+                    s = Math.sqrt(p * p + q * q + r * r);
+                    if (p < 0) {
+                        s = -s;
+                    }
+                    if (s != 0) {
+                        if (k != m) {
+                            h[k][k - 1] = -s * x;
+                        } else if (l != m) {
+                            h[k][k - 1] = -h[k][k - 1];
+                        }
+                        p += s;
+                        x = p / s;
+                        y = q / s;
+                        z = r / s;
+                        q /= p;
+                        r /= p;
+                        for (int j = k; j < n; j++) {
+                            p = h[k][j] + q * h[k + 1][j];
+                            if (notLast) {
+                                p += r * h[k + 2][j];
+                                h[k + 2][j] -= p * z;
+                            }
+                            h[k][j] -= p * x;
+                            h[k + 1][j] -= p * y;
+                        }
+                        for (int i = 0; i <= Math.min(last, k + 3); i++) {
+                            p = x * h[i][k] + y * h[i][k + 1];
+                            if (notLast) {
+                                p += z * h[i][k + 2];
+                                h[i][k + 2] -= p * r;
+                            }
+                            h[i][k] -= p;
+                            h[i][k + 1] -= p * q;
+                        }
+                        for (int i = 0; i < n; i++) {
+                            p = x * v[i][k] + y * v[i][k + 1];
+                            if (notLast) {
+                                p += z * v[i][k + 2];
+                                v[i][k + 2] -= p * r;
+                            }
+                            v[i][k] -= p;
+                            v[i][k + 1] -= p * q;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (norm == 0.0) {
+            return;
+        }
+
+        // Back substitute to find the vectors of the upper triangular form
+        for (last = n - 1; last >= 0; last--) {
+            p = re[last];
+            q = im[last];
+            if (q == 0) {
+                // Real vector
+                int l = last;
+                h[last][last] = 1.0;
+                for (int i = last - 1; i >= 0; i--) {
+                    w = h[i][i] - p;
+                    r = 0.0;
+                    for (int j = l; j <= last; j++) {
+                        r += h[i][j] * h[j][last];
+                    }
+                    if (im[i] < 0.0) {
+                        z = w;
+                        s = r;
+                    } else {
+                        l = i;
+                        if (im[i] == 0.0) {
+                            h[i][last] = w != 0.0 ? -r / w : -r / (EPSILON * norm);
+                        } else {
+                            x = h[i][i + 1];
+                            y = h[i + 1][i];
+                            q = (re[i] - p) * (re[i] - p) + im[i] * im[i];
+                            t = (x * s - z * r) / q;
+                            h[i][last] = t;
+                            h[i + 1][last] = Math.abs(x) > Math.abs(z) ? (-r - w * t) / x : (-s - y * t) / z;
+                        }
+                        // Overflow control
+                        t = Math.abs(h[i][last]);
+                        if ((EPSILON * t) * t > 1) {
+                            for (int j = i; j <= last; j++) {
+                                h[j][last] /= t;
+                            }
+                        }
+                    }
+                }
+            } else if (q < 0) {
+                // Complex vector, last component imaginary so that the matrix is triangular
+                int l = last - 1;
+                if (Math.abs(h[last][last - 1]) > Math.abs(h[last - 1][last])) {
+                    h[last - 1][last - 1] = q / h[last][last - 1];
+                    h[last - 1][last] = -(h[last][last] - p) / h[last][last - 1];
+                } else {
+                    cdiv(0.0, -h[last - 1][last], h[last - 1][last - 1] - p, q);
+                    h[last - 1][last - 1] = cdivr;
+                    h[last - 1][last] = cdivi;
+                }
+                h[last][last - 1] = 0.0;
+                h[last][last] = 1.0;
+                for (int i = last - 2; i >= 0; i--) {
+                    double ra = 0.0;
+                    double sa = 0.0;
+                    for (int j = l; j <= last; j++) {
+                        ra += h[i][j] * h[j][last - 1];
+                        sa += h[i][j] * h[j][last];
+                    }
+                    w = h[i][i] - p;
+                    if (im[i] < 0.0) {
+                        z = w;
+                        r = ra;
+                        s = sa;
+                    } else {
+                        l = i;
+                        if (im[i] == 0) {
+                            cdiv(-ra, -sa, w, q);
+                            h[i][last - 1] = cdivr;
+                            h[i][last] = cdivi;
+                        } else {
+                            x = h[i][i + 1];
+                            y = h[i + 1][i];
+                            double vr = (re[i] - p) * (re[i] - p) + im[i] * im[i] - q * q;
+                            final double vi = (re[i] - p) * 2.0 * q;
+                            if (vr == 0.0 && vi == 0.0) {
+                                vr = EPSILON * norm * (Math.abs(w) + Math.abs(q) + Math.abs(x) + Math.abs(y) + Math.abs(z));
+                            }
+                            cdiv(x * r - z * ra + q * sa, x * s - z * sa - q * ra, vr, vi);
+                            h[i][last - 1] = cdivr;
+                            h[i][last] = cdivi;
+                            if (Math.abs(x) > Math.abs(z) + Math.abs(q)) {
+                                h[i + 1][last - 1] = (-ra - w * h[i][last - 1] + q * h[i][last]) / x;
+                                h[i + 1][last] = (-sa - w * h[i][last] - q * h[i][last - 1]) / x;
+                            } else {
+                                cdiv(-r - y * h[i][last - 1], -s - y * h[i][last], z, q);
+                                h[i + 1][last - 1] = cdivr;
+                                h[i + 1][last] = cdivi;
+                            }
+                        }
+                        // Overflow control
+                        t = Math.max(Math.abs(h[i][last - 1]), Math.abs(h[i][last]));
+                        if ((EPSILON * t) * t > 1) {
+                            for (int j = i; j <= last; j++) {
+                                h[j][last - 1] /= t;
+                                h[j][last] /= t;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // Back transformation to the eigenvectors of the original matrix
+        for (int j = n - 1; j >= 0; j--) {
+            for (int i = 0; i < n; i++) {
+                z = 0.0;
+                for (int k = 0; k <= j; k++) {
+                    z += v[i][k] * h[k][j];
+                }
+                v[i][j] = z;
+            }
+        }
+    }
+
+    /**
+     * Complex division (xr + i * xi) / (yr + i * yi), into cdivr and cdivi
+     */
+    private void cdiv(final double xr, final double xi, final double yr, final double yi) {
+        if (Math.abs(yr) > Math.abs(yi)) {
+            final double ratio = yi / yr;
+            final double denominator = yr + ratio * yi;
+            cdivr = (xr + ratio * xi) / denominator;
+            cdivi = (xi - ratio * xr) / denominator;
+        } else {
+            final double ratio = yr / yi;
+            final double denominator = yi + ratio * yr;
+            cdivr = (ratio * xr + xi) / denominator;
+            cdivi = (ratio * xi - xr) / denominator;
+        }
+    }
+}
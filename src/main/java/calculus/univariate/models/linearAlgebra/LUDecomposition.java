@@ -0,0 +1,230 @@
+package calculus.univariate.models.linearAlgebra;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * LU decomposition with partial pivoting of a square matrix: P * A = L * U.
+ * The factorization is blocked and right-looking: a panel of columns is factored directly,
+ * and the trailing matrix is then updated with a single matrix product, which runs on the pool
+ * for large matrices. L (unit diagonal) and U share one n x n matrix.
+ */
+public class LUDecomposition implements MatrixDecomposition {
+
+    /**
+     * Number of columns factored directly before the trailing matrix is updated
+     */
+    private static final int BLOCK = 64;
+
+    /**
+     * Pool for the matrix products, or null to use the default pool of Matrix
+     */
+    private final ForkJoinPool pool;
+    private Matrix lu;
+    private int[] pivots;
+    private int pivotSign;
+
+    public LUDecomposition() {
+        this(null);
+    }
+
+    public LUDecomposition(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Creates the decomposition of the given matrix
+     */
+    public static LUDecomposition of(final Matrix matrix) {
+        return new LUDecomposition().factor(matrix);
+    }
+
+    @Override
+    public LUDecomposition factor(final Matrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("LU decomposition requires a square matrix.");
+        }
+        final int n = matrix.getNumRows();
+        if (lu == null || lu.getNumRows() != n) {
+            lu = new Matrix("LU", n, n);
+            pivots = new int[n];
+        }
+        matrix.copyInto(lu);
+        for (int i = 0; i < n; i++) {
+            pivots[i] = i;
+        }
+        pivotSign = 1;
+
+        final double[] a = lu.getData();
+        for (int k0 = 0; k0 < n; k0 += BLOCK) {
+            final int nb = Math.min(BLOCK, n - k0);
+            factorPanel(a, n, k0, nb);
+            final int rest = n - k0 - nb;
+            if (rest > 0) {
+                // U12 = L11^-1 * A12
+                for (int j = k0; j < k0 + nb; j++) {
+                    for (int i = j + 1; i < k0 + nb; i++) {
+                        final double lij = a[i * n + j];
+                        if (lij != 0.0) {
+                            for (int c = k0 + nb; c < n; c++) {
+                                a[i * n + c] -= lij * a[j * n + c];
+                            }
+                        }
+                    }
+                }
+                // A22 -= L21 * U12
+                MatrixTasks.gemm(pool(), -1.0, lu.view(k0 + nb, k0, rest, nb), lu.view(k0, k0 + nb, nb, rest), lu.view(k0 + nb, k0 + nb, rest, rest));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Factors the columns [k0, k0 + nb) below the diagonal, swapping whole rows as pivots are chosen
+     */
+    private void factorPanel(final double[] a, final int n, final int k0, final int nb) {
+        for (int j = k0; j < k0 + nb; j++) {
+            int pivot = j;
+            for (int i = j + 1; i < n; i++) {
+                if (Math.abs(a[i * n + j]) > Math.abs(a[pivot * n + j])) {
+                    pivot = i;
+                }
+            }
+            if (pivot != j) {
+                for (int c = 0; c < n; c++) {
+                    final double tmp = a[j * n + c];
+                    a[j * n + c] = a[pivot * n + c];
+                    a[pivot * n + c] = tmp;
+                }
+                final int tmp = pivots[j];
+                pivots[j] = pivots[pivot];
+                pivots[pivot] = tmp;
+                pivotSign = -pivotSign;
+            }
+            final double diagonal = a[j * n + j];
+            if (diagonal == 0.0) {
+                // Singular: the column is already zero below the diagonal
+                continue;
+            }
+            for (int i = j + 1; i < n; i++) {
+                final double lij = a[i * n + j] / diagonal;
+                a[i * n + j] = lij;
+                for (int c = j + 1; c < k0 + nb; c++) {
+                    a[i * n + c] -= lij * a[j * n + c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the factored matrix is singular, that is whether U has a zero on its diagonal
+     */
+    public boolean isSingular() {
+        checkFactored();
+        final int n = lu.getNumRows();
+        for (int i = 0; i < n; i++) {
+            if (lu.get(i, i) == 0.0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Matrix solve(final Matrix rightHandSides) {
+        checkFactored();
+        return solveInto(rightHandSides, new Matrix("X", lu.getNumRows(), rightHandSides.getNumCols()));
+    }
+
+    /**
+     * Solves A * X = B like solve, writing X into the destination, which must not share its values with B.
+     * @return the destination
+     */
+    @Override
+    public Matrix solveInto(final Matrix rightHandSides, final Matrix destination) {
+        checkFactored();
+        final int n = lu.getNumRows();
+        final int k = rightHandSides.getNumCols();
+        if (rightHandSides.getNumRows() != n || destination.getNumRows() != n || destination.getNumCols() != k) {
+            throw new IllegalArgumentException("Right-hand sides and destination must have as many rows as the matrix, and the same number of columns.");
+        }
+        if (destination.getData() == rightHandSides.getData()) {
+            throw new IllegalArgumentException("Destination must not share its values with the right-hand sides.");
+        }
+        if (isSingular()) {
+            throw new IllegalArgumentException("Matrix is singular.");
+        }
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < k; c++) {
+                destination.set(i, c, rightHandSides.get(pivots[i], c));
+            }
+        }
+        final ForkJoinPool pool = pool();
+        TriangularSolves.solveLower(lu, true, destination, pool);
+        TriangularSolves.solveUpper(lu, false, destination, pool);
+        return destination;
+    }
+
+    @Override
+    public double determinant() {
+        checkFactored();
+        double determinant = pivotSign;
+        for (int i = 0; i < lu.getNumRows(); i++) {
+            determinant *= lu.get(i, i);
+        }
+        return determinant;
+    }
+
+    @Override
+    public Matrix inverse() {
+        checkFactored();
+        return solve(Matrix.identity("I", lu.getNumRows()));
+    }
+
+    /**
+     * Returns the unit lower triangular factor L
+     */
+    public Matrix getL() {
+        checkFactored();
+        final int n = lu.getNumRows();
+        final Matrix l = Matrix.identity("L", n);
+        for (int i = 1; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                l.set(i, j, lu.get(i, j));
+            }
+        }
+        return l;
+    }
+
+    /**
+     * Returns the upper triangular factor U
+     */
+    public Matrix getU() {
+        checkFactored();
+        final int n = lu.getNumRows();
+        final Matrix u = new Matrix("U", n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                u.set(i, j, lu.get(i, j));
+            }
+        }
+        return u;
+    }
+
+    /**
+     * Returns the row permutation: row i of P * A is row pivots[i] of A
+     */
+    public int[] getPivots() {
+        checkFactored();
+        return pivots.clone();
+    }
+
+    private ForkJoinPool pool() {
+        return pool != null ? pool : Matrix.getDefaultPool();
+    }
+
+    private void checkFactored() {
+        if (lu == null) {
+            throw new IllegalStateException("No matrix has been factored yet.");
+        }
+    }
+}
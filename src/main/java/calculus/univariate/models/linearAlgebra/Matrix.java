@@ -1,21 +1,166 @@
 package calculus.univariate.models.linearAlgebra;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Class representing a matrix.
+ * Values are stored in a flat row-major double array. A matrix may also be a view
+ * (a sub-matrix or a transpose) sharing the array of another matrix: element (i, j)
+ * lives at data[offset + i * rowStride + j * colStride].
+ * Operations on large matrices run in parallel on a ForkJoinPool, either given per call
+ * or the default pool, which is the common pool unless set otherwise.
+ * The ...Into and ...InPlace variants write into an existing matrix and allocate nothing
+ * when they run on the calling thread, for use in iterative algorithms.
+ * Loops over contiguous values use SIMD kernels on the incubator Vector API when they are built with the
+ * vector Maven profile and the JVM runs with --add-modules jdk.incubator.vector, and scalar loops otherwise.
  */
 @Getter
 public class Matrix {
 
-    private final String name;
+    /**
+     * Name of the matrix, only turned into a String when requested
+     */
+    @Getter(AccessLevel.NONE)
+    private final MatrixName name;
     private final Dimension dimension;
-    private final double[][] body;
+    private final double[] data;
+    private final int offset;
+    private final int rowStride;
+    private final int colStride;
+
+    /**
+     * Pool used by the operations that are not given one explicitly
+     */
+    private static volatile ForkJoinPool defaultPool = ForkJoinPool.commonPool();
 
     public Matrix(String name, double[][] body) {
+        this(name, body.length, body[0].length);
+        final int numCols = dimension.getNumCols();
+        for (int i = 0; i < body.length; i++) {
+            if (body[i].length != numCols) {
+                throw new IllegalArgumentException("All rows must have the same length.");
+            }
+            System.arraycopy(body[i], 0, data, i * numCols, numCols);
+        }
+    }
+
+    /**
+     * Creates a matrix of zeros
+     */
+    public Matrix(final String name, final int numRows, final int numCols) {
+        this(name, numRows, numCols, new double[Math.multiplyExact(numRows, numCols)]);
+    }
+
+    /**
+     * Creates a matrix backed by the given row-major array, without copying it
+     */
+    public Matrix(final String name, final int numRows, final int numCols, final double[] data) {
+        this(MatrixName.of(name), new Dimension(numRows, numCols), data, 0, numCols, 1);
+        if (numRows < 1 || numCols < 1 || data.length != numRows * numCols) {
+            throw new IllegalArgumentException("Data length must match the dimensions of the matrix.");
+        }
+    }
+
+    /**
+     * Creates the identity matrix of the given size
+     */
+    public static Matrix identity(final String name, final int size) {
+        final Matrix identity = new Matrix(name, size, size);
+        for (int i = 0; i < size; i++) {
+            identity.data[i * size + i] = 1.0;
+        }
+        return identity;
+    }
+
+    private Matrix(final MatrixName name, final Dimension dimension, final double[] data,
+                   final int offset, final int rowStride, final int colStride) {
         this.name = name;
-        this.body = body;
-        this.dimension = new Dimension(body.length, body[0].length);
+        this.dimension = dimension;
+        this.data = data;
+        this.offset = offset;
+        this.rowStride = rowStride;
+        this.colStride = colStride;
+    }
+
+    public String getName() {
+        return name.toString();
+    }
+
+    public int getNumRows() {
+        return this.dimension.getNumRows();
+    }
+
+    public int getNumCols() {
+        return this.dimension.getNumCols();
+    }
+
+    /**
+     * Returns a copy of the values of the matrix, as an array of rows
+     */
+    public double[][] getBody() {
+        final double[][] body = new double[getNumRows()][getNumCols()];
+        for (int i = 0; i < getNumRows(); i++) {
+            for (int j = 0; j < getNumCols(); j++) {
+                body[i][j] = get(i, j);
+            }
+        }
+        return body;
+    }
+
+    public double get(final int row, final int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(final int row, final int col, final double value) {
+        data[index(row, col)] = value;
+    }
+
+    private int index(final int row, final int col) {
+        if (row < 0 || row >= getNumRows() || col < 0 || col >= getNumCols()) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds for " + getNumRows() + "x" + getNumCols() + " matrix.");
+        }
+        return offset + row * rowStride + col * colStride;
+    }
+
+    /**
+     * Checks whether the values of the matrix are laid out contiguously, row after row.
+     */
+    public boolean isContiguous() {
+        return colStride == 1 && rowStride == getNumCols();
+    }
+
+    /**
+     * Returns a view of a block of this matrix. Changes to either are visible in both.
+     */
+    public Matrix view(final int firstRow, final int firstCol, final int numRows, final int numCols) {
+        if (firstRow < 0 || firstCol < 0 || numRows < 1 || numCols < 1
+                || firstRow + numRows > getNumRows() || firstCol + numCols > getNumCols()) {
+            throw new IndexOutOfBoundsException("View out of bounds of the matrix.");
+        }
+        return new Matrix(MatrixName.of(name, "[" + firstRow + ":" + (firstRow + numRows) + ", " + firstCol + ":" + (firstCol + numCols) + "]"),
+                new Dimension(numRows, numCols), data, index(firstRow, firstCol), rowStride, colStride);
+    }
+
+    /**
+     * Returns the transpose of this matrix as a view, without copying any value.
+     */
+    public Matrix transposeView() {
+        return new Matrix(MatrixName.of(name, "^T"), new Dimension(getNumCols(), getNumRows()), data, offset, colStride, rowStride);
+    }
+
+    /**
+     * Returns a contiguous copy of this matrix.
+     */
+    public Matrix copy() {
+        final Matrix result = new Matrix(name, new Dimension(getNumRows(), getNumCols()), new double[getNumRows() * getNumCols()], 0, getNumCols(), 1);
+        combine(null, 1.0, this, 0.0, null, result);
+        return result;
     }
 
     /**
@@ -42,67 +187,335 @@ public class Matrix {
         return this.dimension.getNumRows() == 1;
     }
 
+    /**
+     * Returns the pool used by the operations that are not given one explicitly
+     */
+    public static ForkJoinPool getDefaultPool() {
+        return defaultPool;
+    }
+
+    /**
+     * Sets the pool used by the operations that are not given one explicitly
+     * @param pool -> the pool to use, or null to run every operation on the calling thread
+     */
+    public static void setDefaultPool(final ForkJoinPool pool) {
+        defaultPool = pool;
+    }
+
     public Matrix negate() {
-        final double[][] result = new double[this.dimension.getNumRows()][this.dimension.getNumCols()];
-        for (int i = 0; i < this.dimension.getNumRows(); i++) {
-            final double[] row = body[i];
-            for (int j = 0; j < this.dimension.getNumCols(); j++) {
-                result[i][j] = -row[j];
+        return negate(defaultPool);
+    }
+
+    /**
+     * Returns the negation of this matrix, computed in parallel on the given pool for large matrices
+     */
+    public Matrix negate(final ForkJoinPool pool) {
+        final Matrix result = newResult(MatrixName.of("-", name, ""), getNumRows(), getNumCols());
+        combine(pool, -1.0, this, 0.0, null, result);
+        return result;
+    }
+
+    public Matrix add(final Matrix other) {
+        return add(other, defaultPool);
+    }
+
+    /**
+     * Returns the sum of this matrix and another one, computed in parallel on the given pool for large matrices
+     */
+    public Matrix add(final Matrix other, final ForkJoinPool pool) {
+        checkSameDimensions(other);
+        final Matrix result = newResult(MatrixName.of(name, " + ", other.name), getNumRows(), getNumCols());
+        combine(pool, 1.0, this, 1.0, other, result);
+        return result;
+    }
+
+    public Matrix subtract(final Matrix other) {
+        return subtract(other, defaultPool);
+    }
+
+    /**
+     * Returns the difference of this matrix and another one, computed in parallel on the given pool for large matrices
+     */
+    public Matrix subtract(final Matrix other, final ForkJoinPool pool) {
+        checkSameDimensions(other);
+        final Matrix result = newResult(MatrixName.of(name, " - ", other.name), getNumRows(), getNumCols());
+        combine(pool, 1.0, this, -1.0, other, result);
+        return result;
+    }
+
+    public Matrix multiply(final double scalar) {
+        return multiply(scalar, defaultPool);
+    }
+
+    /**
+     * Returns this matrix scaled by a number, computed in parallel on the given pool for large matrices
+     */
+    public Matrix multiply(final double scalar, final ForkJoinPool pool) {
+        final Matrix result = newResult(MatrixName.of(String.valueOf(scalar), name, ""), getNumRows(), getNumCols());
+        combine(pool, scalar, this, 0.0, null, result);
+        return result;
+    }
+
+    /**
+     * Returns the matrix product of this matrix and another one.
+     * Uses a cache-blocked kernel, and accepts views (such as transposeView()) without copying them.
+     */
+    public Matrix multiply(final Matrix other) {
+        return multiply(other, defaultPool);
+    }
+
+    /**
+     * Returns the matrix product of this matrix and another one.
+     * Large products are split into tiles of the result computed in parallel on the given pool.
+     */
+    public Matrix multiply(final Matrix other, final ForkJoinPool pool) {
+        checkProductDimensions(other);
+        final Matrix result = newResult(MatrixName.of(name, " * ", other.name), getNumRows(), other.getNumCols());
+        MatrixTasks.gemm(pool, 1.0, this, other, result);
+        return result;
+    }
+
+    public Matrix transpose() {
+        return transpose(defaultPool);
+    }
+
+    /**
+     * Returns a transposed copy of this matrix, using a blocked cache-oblivious traversal,
+     * in parallel on the given pool for large matrices
+     */
+    public Matrix transpose(final ForkJoinPool pool) {
+        final Matrix result = newResult(MatrixName.of(name, "^T"), getNumCols(), getNumRows());
+        MatrixTasks.transpose(pool, this, result);
+        return result;
+    }
+
+    /**
+     * Writes the sum of this matrix and another one into the destination, which may be either operand.
+     * @return the destination
+     */
+    public Matrix addInto(final Matrix other, final Matrix destination) {
+        checkSameDimensions(other);
+        checkSameDimensions(destination);
+        combine(defaultPool, 1.0, this, 1.0, other, destination);
+        return destination;
+    }
+
+    /**
+     * Writes the difference of this matrix and another one into the destination, which may be either operand.
+     * @return the destination
+     */
+    public Matrix subtractInto(final Matrix other, final Matrix destination) {
+        checkSameDimensions(other);
+        checkSameDimensions(destination);
+        combine(defaultPool, 1.0, this, -1.0, other, destination);
+        return destination;
+    }
+
+    /**
+     * Writes this matrix scaled by a number into the destination, which may be this matrix.
+     * @return the destination
+     */
+    public Matrix scaleInto(final double scalar, final Matrix destination) {
+        checkSameDimensions(destination);
+        combine(defaultPool, scalar, this, 0.0, null, destination);
+        return destination;
+    }
+
+    /**
+     * Multiplies every value of this matrix by a number.
+     * @return this matrix
+     */
+    public Matrix scaleInPlace(final double scalar) {
+        return scaleInto(scalar, this);
+    }
+
+    /**
+     * Sets every value of this matrix to the given one. Unlike scaling by zero, this also clears NaN and
+     * infinite values, so reused destinations and workspaces are cleared with it.
+     * @return this matrix
+     */
+    public Matrix fill(final double value) {
+        for (int i = 0; i < getNumRows(); i++) {
+            final int row = offset + i * rowStride;
+            if (colStride == 1) {
+                Arrays.fill(data, row, row + getNumCols(), value);
+                continue;
+            }
+            for (int j = 0; j < getNumCols(); j++) {
+                data[row + j * colStride] = value;
             }
         }
-        return new Matrix("-" + name, result);
+        return this;
     }
 
-    public Matrix add(final Matrix other) {
-        final int numRows = this.dimension.getNumRows();
-        final int numCols = this.dimension.getNumCols();
+    /**
+     * Adds alpha * x to this matrix, in place.
+     * @return this matrix
+     */
+    public Matrix axpy(final double alpha, final Matrix x) {
+        checkSameDimensions(x);
+        combine(defaultPool, alpha, x, 1.0, this, this);
+        return this;
+    }
 
-        if (numRows != other.dimension.getNumRows() || numCols != other.dimension.getNumCols()) {
-            throw new IllegalArgumentException("Matrices must have the same dimensions.");
+    /**
+     * Copies the values of this matrix into the destination.
+     * @return the destination
+     */
+    public Matrix copyInto(final Matrix destination) {
+        return scaleInto(1.0, destination);
+    }
+
+    /**
+     * Writes the matrix product of this matrix and another one into the destination,
+     * which must not share its values with either operand.
+     * @return the destination
+     */
+    public Matrix multiplyInto(final Matrix other, final Matrix destination) {
+        checkProductDimensions(other);
+        if (destination.getNumRows() != getNumRows() || destination.getNumCols() != other.getNumCols()) {
+            throw new IllegalArgumentException("Destination must have the dimensions of the product.");
         }
-        final double[][] result = new double[numRows][numCols];
-        for (int i = 0; i < numRows; i++) {
-            final double[] row = body[i];
-            final double[] otherRow = other.body[i];
-            for (int j = 0; j < numCols; j++) {
-                result[i][j] = row[j] + otherRow[j];
+        checkNoAliasing(destination, other);
+        destination.fill(0.0);
+        MatrixTasks.gemm(defaultPool, 1.0, this, other, destination);
+        return destination;
+    }
+
+    /**
+     * Writes the product of this matrix and the vector x into y, which must not be x.
+     * @return y
+     */
+    public double[] multiplyInto(final double[] x, final double[] y) {
+        if (x.length != getNumCols() || y.length != getNumRows()) {
+            throw new IllegalArgumentException("Vector lengths must match the dimensions of the matrix.");
+        }
+        if (x == y) {
+            throw new IllegalArgumentException("Result must not be written into the operand.");
+        }
+        final ForkJoinPool pool = defaultPool;
+        if (MatrixTasks.isParallel(pool, (long) getNumRows() * getNumCols())) {
+            MatrixTasks.forEachRowBlock(pool, getNumRows(), getNumCols(), (firstRow, lastRow) -> multiplyRows(x, y, firstRow, lastRow));
+        } else {
+            multiplyRows(x, y, 0, getNumRows());
+        }
+        return y;
+    }
+
+    private void multiplyRows(final double[] x, final double[] y, final int firstRow, final int lastRow) {
+        for (int i = firstRow; i < lastRow; i++) {
+            final int row = offset + i * rowStride;
+            if (colStride == 1) {
+                y[i] = ArrayKernels.INSTANCE.dot(x.length, data, row, x, 0);
+                continue;
             }
+            double sum = 0.0;
+            for (int j = 0; j < x.length; j++) {
+                sum += data[row + j * colStride] * x[j];
+            }
+            y[i] = sum;
         }
-        return new Matrix(name + " + " + other.name, result);
     }
 
-    public Matrix subtract(final Matrix other) {
-        return add(other.negate());
+    /**
+     * Writes the transpose of this matrix into the destination, which must not share its values with this matrix.
+     * @return the destination
+     */
+    public Matrix transposeInto(final Matrix destination) {
+        if (destination.getNumRows() != getNumCols() || destination.getNumCols() != getNumRows()) {
+            throw new IllegalArgumentException("Destination must have the dimensions of the transpose.");
+        }
+        checkNoAliasing(destination, this);
+        MatrixTasks.transpose(defaultPool, this, destination);
+        return destination;
     }
 
-    public Matrix multiply(final double scalar) {
-        final int numRows = this.dimension.getNumRows();
-        final int numCols = this.dimension.getNumCols();
+    private static Matrix newResult(final MatrixName name, final int numRows, final int numCols) {
+        return new Matrix(name, new Dimension(numRows, numCols), new double[numRows * numCols], 0, numCols, 1);
+    }
 
-        final double[][] result = new double[numRows][numCols];
-        for (int i = 0; i < numRows; i++) {
-            final double[] row = body[i];
-            for (int j = 0; j < numCols; j++) {
-                result[i][j] = scalar * row[j];
+    /**
+     * Computes destination = alpha * x + beta * y, where y may be null when beta is 0.
+     * The destination may be x or y, as every element only depends on the elements at the same position.
+     */
+    private static void combine(final ForkJoinPool pool, final double alpha, final Matrix x, final double beta, final Matrix y,
+                                final Matrix destination) {
+        final int numRows = destination.getNumRows();
+        final int numCols = destination.getNumCols();
+        if (MatrixTasks.isParallel(pool, (long) numRows * numCols)) {
+            MatrixTasks.forEachRowBlock(pool, numRows, numCols,
+                    (firstRow, lastRow) -> combineRows(alpha, x, beta, y, destination, firstRow, lastRow));
+        } else {
+            combineRows(alpha, x, beta, y, destination, 0, numRows);
+        }
+    }
+
+    private static void combineRows(final double alpha, final Matrix x, final double beta, final Matrix y, final Matrix destination,
+                                    final int firstRow, final int lastRow) {
+        final int numCols = destination.getNumCols();
+        if (destination.colStride == 1 && x.colStride == 1 && (y == null || y.colStride == 1)) {
+            if (destination.isContiguous() && x.isContiguous() && (y == null || y.isContiguous())) {
+                // The rows form a single range of every array
+                combineRange(alpha, x, beta, y, destination, firstRow, (lastRow - firstRow) * numCols);
+                return;
+            }
+            for (int i = firstRow; i < lastRow; i++) {
+                combineRange(alpha, x, beta, y, destination, i, numCols);
+            }
+            return;
+        }
+        final double[] out = destination.data;
+        final double[] xs = x.data;
+        for (int i = firstRow; i < lastRow; i++) {
+            final int outRow = destination.offset + i * destination.rowStride;
+            final int xRow = x.offset + i * x.rowStride;
+            if (y == null) {
+                for (int j = 0; j < numCols; j++) {
+                    out[outRow + j * destination.colStride] = alpha * xs[xRow + j * x.colStride];
+                }
+            } else {
+                final double[] ys = y.data;
+                final int yRow = y.offset + i * y.rowStride;
+                for (int j = 0; j < numCols; j++) {
+                    out[outRow + j * destination.colStride] = alpha * xs[xRow + j * x.colStride] + beta * ys[yRow + j * y.colStride];
+                }
             }
         }
-        return new Matrix(scalar + name, result);
     }
 
+    /**
+     * Combines length consecutive elements of operands with unit column strides, starting at the given row
+     */
+    private static void combineRange(final double alpha, final Matrix x, final double beta, final Matrix y, final Matrix destination,
+                                     final int row, final int length) {
+        final ArrayKernels kernels = ArrayKernels.INSTANCE;
+        final int xIndex = x.offset + row * x.rowStride;
+        final int outIndex = destination.offset + row * destination.rowStride;
+        if (y == null) {
+            kernels.scale(length, alpha, x.data, xIndex, destination.data, outIndex);
+        } else if (y == destination && beta == 1.0) {
+            kernels.axpy(length, alpha, x.data, xIndex, destination.data, outIndex);
+        } else {
+            kernels.combine(length, alpha, x.data, xIndex, beta, y.data, y.offset + row * y.rowStride, destination.data, outIndex);
+        }
+    }
 
+    private void checkSameDimensions(final Matrix other) {
+        if (getNumRows() != other.getNumRows() || getNumCols() != other.getNumCols()) {
+            throw new IllegalArgumentException("Matrices must have the same dimensions.");
+        }
+    }
 
-    public Matrix transpose() {
-        final int numRows = this.dimension.getNumRows();
-        final int numCols = this.dimension.getNumCols();
+    private void checkProductDimensions(final Matrix other) {
+        if (getNumCols() != other.getNumRows()) {
+            throw new IllegalArgumentException("Number of columns of the left matrix must match the number of rows of the right matrix.");
+        }
+    }
 
-        final double[][] result = new double[numCols][numRows];
-        for (int i = 0; i < numRows; i++) {
-            final double[] row = body[i];
-            for (int j = 0; j < numCols; j++) {
-                result[j][i] = row[j];
-            }
+    private void checkNoAliasing(final Matrix destination, final Matrix other) {
+        if (destination.data == this.data || destination.data == other.data) {
+            throw new IllegalArgumentException("Destination must not share its values with an operand.");
         }
-        return new Matrix(name + "^T", result);
     }
 
     public boolean equals(final Matrix other) {
@@ -113,10 +526,8 @@ public class Matrix {
             return false;
         }
         for (int i = 0; i < numRows; i++) {
-            final double[] row = body[i];
-            final double[] otherRow = other.body[i];
             for (int j = 0; j < numCols; j++) {
-                if (row[j] != otherRow[j]) {
+                if (get(i, j) != other.get(i, j)) {
                     return false;
                 }
             }
@@ -133,7 +544,7 @@ public class Matrix {
         for (int i = 0; i < numRows; i++) {
             sb.append("\t[");
             for (int j = 0; j < numCols; j++) {
-                sb.append(body[i][j]);
+                sb.append(get(i, j));
                 if (j != numCols - 1) {
                     sb.append(", ");
                 }
@@ -154,3 +565,95 @@ class Dimension {
         this.numCols = numCols;
     }
 }
+
+/**
+ * Name of a matrix, only concatenated from the names of its operands when first requested. Names more than
+ * MAX_DEPTH operations away from a rendered one are rendered on creation, so that chains of operations in loops
+ * keep a bounded number of pending names. Rendering walks the pending names with an explicit stack and only
+ * caches the requested name, dropping its operands.
+ */
+final class MatrixName {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final String prefix;
+    private final String infix;
+    private final int depth;
+    private volatile MatrixName left;
+    private volatile MatrixName right;
+    private volatile String value;
+
+    private MatrixName(final String prefix, final MatrixName left, final String infix, final MatrixName right) {
+        this.prefix = prefix;
+        this.left = left;
+        this.infix = infix;
+        this.right = right;
+        this.depth = 1 + Math.max(depthOf(left), depthOf(right));
+        if (depth > MAX_DEPTH) {
+            toString();
+        }
+    }
+
+    private static int depthOf(final MatrixName name) {
+        return name == null || name.value != null ? 0 : name.depth;
+    }
+
+    static MatrixName of(final String name) {
+        final MatrixName matrixName = new MatrixName(name, null, "", null);
+        matrixName.value = name;
+        return matrixName;
+    }
+
+    static MatrixName of(final MatrixName operand, final String suffix) {
+        return new MatrixName("", operand, suffix, null);
+    }
+
+    static MatrixName of(final String prefix, final MatrixName operand, final String suffix) {
+        return new MatrixName(prefix, operand, suffix, null);
+    }
+
+    static MatrixName of(final MatrixName left, final String operator, final MatrixName right) {
+        return new MatrixName("", left, operator, right);
+    }
+
+    @Override
+    public String toString() {
+        final String rendered = value;
+        if (rendered != null) {
+            return rendered;
+        }
+        final StringBuilder sb = new StringBuilder();
+        final Deque<Object> pending = new ArrayDeque<>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            final Object part = pending.pop();
+            if (part instanceof String) {
+                sb.append((String) part);
+                continue;
+            }
+            final MatrixName name = (MatrixName) part;
+            // The operands are read before the value: they are only dropped after the value is set
+            final MatrixName nameLeft = name.left;
+            final MatrixName nameRight = name.right;
+            final String nameValue = name.value;
+            if (nameValue != null) {
+                sb.append(nameValue);
+                continue;
+            }
+            if (nameRight != null) {
+                pending.push(nameRight);
+            }
+            pending.push(name.infix);
+            if (nameLeft != null) {
+                pending.push(nameLeft);
+            }
+            pending.push(name.prefix);
+        }
+        final String result = sb.toString();
+        value = result;
+        // The operand names are no longer needed
+        left = null;
+        right = null;
+        return result;
+    }
+}
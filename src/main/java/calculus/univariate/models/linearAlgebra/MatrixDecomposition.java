@@ -0,0 +1,39 @@
+package calculus.univariate.models.linearAlgebra;
+
+/**
+ * Factorization of a matrix, used to solve linear systems with it.
+ * A decomposition object keeps its factors between calls, so one matrix can be solved
+ * against any number of right-hand sides, and the object can be refactored with another
+ * matrix of the same dimensions without allocating new storage.
+ */
+public interface MatrixDecomposition {
+
+    /**
+     * Factors the given matrix, replacing the previous factors. The matrix itself is left unchanged.
+     * @return this decomposition
+     */
+    MatrixDecomposition factor(Matrix matrix);
+
+    /**
+     * Solves A * X = B for every column of B at once.
+     * @param rightHandSides -> B, with as many rows as A
+     * @return X, with as many rows as A has columns
+     */
+    Matrix solve(Matrix rightHandSides);
+
+    /**
+     * Solves A * X = B like solve, writing X into the destination.
+     * @return the destination
+     */
+    Matrix solveInto(Matrix rightHandSides, Matrix destination);
+
+    /**
+     * Computes the determinant of the factored matrix, which must be square
+     */
+    double determinant();
+
+    /**
+     * Computes the inverse of the factored matrix, which must be square and non singular
+     */
+    Matrix inverse();
+}
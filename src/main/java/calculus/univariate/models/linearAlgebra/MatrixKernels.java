@@ -0,0 +1,142 @@
+package calculus.univariate.models.linearAlgebra;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Low level kernels working on strided views of flat double arrays.
+ * Element (i, j) of a view lives at data[offset + i * rowStride + j * colStride],
+ * so transposed and sub-matrix views are handled without copying the operands.
+ */
+@UtilityClass
+class MatrixKernels {
+
+    private static final ArrayKernels KERNELS = ArrayKernels.INSTANCE;
+
+    /**
+     * Register tile: the micro kernel keeps an MR x NR block of C in registers,
+     * NR being the vector width when the Vector API kernels are in use
+     */
+    private static final int MR = ArrayKernels.MR;
+    private static final int NR = KERNELS.panelWidth();
+
+    /**
+     * Cache blocks: a KC x NR panel of B stays in L1, an MC x KC block of A in L2,
+     * and a KC x NC block of B in L3
+     */
+    private static final int MC = 96;
+    private static final int KC = 256;
+    private static final int NC = 2048;
+
+    /**
+     * Below this number of multiply-adds, packing costs more than it saves
+     */
+    private static final long SMALL_PRODUCT = 32L * 32 * 32;
+
+    /**
+     * Packing buffers, reused across calls by each thread
+     */
+    private static final ThreadLocal<double[]> PACKED_A = ThreadLocal.withInitial(() -> new double[MC * KC]);
+    private static final ThreadLocal<double[]> PACKED_B = ThreadLocal.withInitial(() -> new double[KC * NC]);
+    private static final ThreadLocal<double[]> EDGE_TILE = ThreadLocal.withInitial(() -> new double[MR * NR]);
+
+    /**
+     * Computes C += alpha * A * B, where A is m x k, B is k x n and C is m x n
+     */
+    static void gemm(final int m, final int n, final int k, final double alpha,
+                     final double[] a, final int aOffset, final int aRowStride, final int aColStride,
+                     final double[] b, final int bOffset, final int bRowStride, final int bColStride,
+                     final double[] c, final int cOffset, final int cRowStride, final int cColStride) {
+        if (m == 0 || n == 0 || k == 0) {
+            return;
+        }
+        if ((long) m * n * k <= SMALL_PRODUCT) {
+            naiveGemm(m, n, k, alpha, a, aOffset, aRowStride, aColStride, b, bOffset, bRowStride, bColStride, c, cOffset, cRowStride, cColStride);
+            return;
+        }
+
+        final double[] packedA = PACKED_A.get();
+        final double[] packedB = PACKED_B.get();
+        final double[] edgeTile = EDGE_TILE.get();
+        for (int jc = 0; jc < n; jc += NC) {
+            final int nc = Math.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                final int kc = Math.min(KC, k - pc);
+                packB(kc, nc, b, bOffset + pc * bRowStride + jc * bColStride, bRowStride, bColStride, packedB);
+                for (int ic = 0; ic < m; ic += MC) {
+                    final int mc = Math.min(MC, m - ic);
+                    packA(mc, kc, a, aOffset + ic * aRowStride + pc * aColStride, aRowStride, aColStride, packedA);
+                    for (int jr = 0; jr < nc; jr += NR) {
+                        final int nr = Math.min(NR, nc - jr);
+                        for (int ir = 0; ir < mc; ir += MR) {
+                            final int mr = Math.min(MR, mc - ir);
+                            KERNELS.microKernel(kc, packedA, ir * kc, packedB, jr * kc,
+                                    c, cOffset + (ic + ir) * cRowStride + (jc + jr) * cColStride, cRowStride, cColStride, mr, nr, alpha, edgeTile);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies an mc x kc block of A into panels of MR rows, each stored column by column, zero padded
+     */
+    private static void packA(final int mc, final int kc, final double[] a, final int offset, final int rowStride, final int colStride,
+                              final double[] packed) {
+        int index = 0;
+        for (int ir = 0; ir < mc; ir += MR) {
+            final int mr = Math.min(MR, mc - ir);
+            for (int p = 0; p < kc; p++) {
+                final int column = offset + ir * rowStride + p * colStride;
+                int i = 0;
+                for (; i < mr; i++) {
+                    packed[index++] = a[column + i * rowStride];
+                }
+                for (; i < MR; i++) {
+                    packed[index++] = 0.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies a kc x nc block of B into panels of NR columns, each stored row by row, zero padded
+     */
+    private static void packB(final int kc, final int nc, final double[] b, final int offset, final int rowStride, final int colStride,
+                              final double[] packed) {
+        int index = 0;
+        for (int jr = 0; jr < nc; jr += NR) {
+            final int nr = Math.min(NR, nc - jr);
+            for (int p = 0; p < kc; p++) {
+                final int row = offset + p * rowStride + jr * colStride;
+                int j = 0;
+                for (; j < nr; j++) {
+                    packed[index++] = b[row + j * colStride];
+                }
+                for (; j < NR; j++) {
+                    packed[index++] = 0.0;
+                }
+            }
+        }
+    }
+
+    private static void naiveGemm(final int m, final int n, final int k, final double alpha,
+                                  final double[] a, final int aOffset, final int aRowStride, final int aColStride,
+                                  final double[] b, final int bOffset, final int bRowStride, final int bColStride,
+                                  final double[] c, final int cOffset, final int cRowStride, final int cColStride) {
+        for (int i = 0; i < m; i++) {
+            for (int p = 0; p < k; p++) {
+                final double aip = alpha * a[aOffset + i * aRowStride + p * aColStride];
+                final int bRow = bOffset + p * bRowStride;
+                final int cRow = cOffset + i * cRowStride;
+                if (bColStride == 1 && cColStride == 1) {
+                    KERNELS.axpy(n, aip, b, bRow, c, cRow);
+                    continue;
+                }
+                for (int j = 0; j < n; j++) {
+                    c[cRow + j * cColStride] += aip * b[bRow + j * bColStride];
+                }
+            }
+        }
+    }
+}
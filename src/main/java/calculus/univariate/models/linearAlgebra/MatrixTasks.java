@@ -0,0 +1,264 @@
+package calculus.univariate.models.linearAlgebra;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join decomposition of the Matrix operations.
+ * Work is split in halves until the pieces fall under a grain size, and is only
+ * handed to a pool at all when it is larger than the parallel threshold.
+ */
+@UtilityClass
+class MatrixTasks {
+
+    /**
+     * Number of elements under which elementwise operations and transposes stay on the calling thread
+     */
+    static final long ELEMENTWISE_THRESHOLD = 1L << 16;
+
+    /**
+     * Number of multiply-adds under which products stay on the calling thread
+     */
+    static final long PRODUCT_THRESHOLD = 1L << 18;
+
+    /**
+     * Largest number of elements of C computed by a single product task
+     */
+    private static final long PRODUCT_GRAIN = 128L * 128;
+
+    /**
+     * Side of the blocks a transpose is carried out on directly
+     */
+    private static final int TRANSPOSE_BLOCK = 32;
+
+    /**
+     * Processes the rows [firstRow, lastRow)
+     */
+    @FunctionalInterface
+    interface RowKernel {
+        void apply(int firstRow, int lastRow);
+    }
+
+    /**
+     * Checks whether an elementwise operation over the given number of elements should run on the pool
+     */
+    static boolean isParallel(final ForkJoinPool pool, final long size) {
+        return pool != null && pool.getParallelism() > 1 && size > ELEMENTWISE_THRESHOLD;
+    }
+
+    /**
+     * Applies a kernel to blocks of rows covering the whole matrix, in parallel on the pool
+     */
+    static void forEachRowBlock(final ForkJoinPool pool, final int numRows, final int numCols, final RowKernel kernel) {
+        if (!isParallel(pool, (long) numRows * numCols)) {
+            kernel.apply(0, numRows);
+            return;
+        }
+        pool.invoke(new RowBlockTask(kernel, 0, numRows, numCols));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class RowBlockTask extends RecursiveAction {
+        private final RowKernel kernel;
+        private final int firstRow;
+        private final int lastRow;
+        private final int numCols;
+
+        private RowBlockTask(final RowKernel kernel, final int firstRow, final int lastRow, final int numCols) {
+            this.kernel = kernel;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.numCols = numCols;
+        }
+
+        @Override
+        protected void compute() {
+            final int numRows = lastRow - firstRow;
+            if (numRows < 2 || (long) numRows * numCols <= ELEMENTWISE_THRESHOLD) {
+                kernel.apply(firstRow, lastRow);
+                return;
+            }
+            final int mid = firstRow + numRows / 2;
+            invokeAll(new RowBlockTask(kernel, firstRow, mid, numCols), new RowBlockTask(kernel, mid, lastRow, numCols));
+        }
+    }
+
+    /**
+     * Applies a kernel to ranges covering [0, count), in parallel on the pool.
+     * Ranges are halved until they hold at most grain items.
+     */
+    static void forEachRange(final ForkJoinPool pool, final int count, final int grain, final RowKernel kernel) {
+        if (pool == null || pool.getParallelism() < 2 || count <= grain) {
+            kernel.apply(0, count);
+            return;
+        }
+        pool.invoke(new RangeTask(kernel, 0, count, Math.max(1, grain)));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class RangeTask extends RecursiveAction {
+        private final RowKernel kernel;
+        private final int first;
+        private final int last;
+        private final int grain;
+
+        private RangeTask(final RowKernel kernel, final int first, final int last, final int grain) {
+            this.kernel = kernel;
+            this.first = first;
+            this.last = last;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first <= grain) {
+                kernel.apply(first, last);
+                return;
+            }
+            final int mid = first + (last - first) / 2;
+            invokeAll(new RangeTask(kernel, first, mid, grain), new RangeTask(kernel, mid, last, grain));
+        }
+    }
+
+    /**
+     * Computes C += alpha * A * B, splitting C into tiles computed in parallel on the pool.
+     * C may share its array with A or B as long as the regions do not overlap.
+     */
+    static void gemm(final ForkJoinPool pool, final double alpha, final Matrix a, final Matrix b, final Matrix c) {
+        final long work = (long) a.getNumRows() * b.getNumCols() * a.getNumCols();
+        if (pool == null || pool.getParallelism() < 2 || work <= PRODUCT_THRESHOLD) {
+            gemmBlock(alpha, a, b, c, 0, a.getNumRows(), 0, b.getNumCols());
+            return;
+        }
+        pool.invoke(new ProductTask(alpha, a, b, c, 0, a.getNumRows(), 0, b.getNumCols()));
+    }
+
+    /**
+     * Computes the tile [firstRow, lastRow) x [firstCol, lastCol) of C += alpha * A * B
+     */
+    private static void gemmBlock(final double alpha, final Matrix a, final Matrix b, final Matrix c,
+                                  final int firstRow, final int lastRow, final int firstCol, final int lastCol) {
+        MatrixKernels.gemm(lastRow - firstRow, lastCol - firstCol, a.getNumCols(), alpha,
+                a.getData(), a.getOffset() + firstRow * a.getRowStride(), a.getRowStride(), a.getColStride(),
+                b.getData(), b.getOffset() + firstCol * b.getColStride(), b.getRowStride(), b.getColStride(),
+                c.getData(), c.getOffset() + firstRow * c.getRowStride() + firstCol * c.getColStride(), c.getRowStride(), c.getColStride());
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ProductTask extends RecursiveAction {
+        private final double alpha;
+        private final Matrix a;
+        private final Matrix b;
+        private final Matrix c;
+        private final int firstRow;
+        private final int lastRow;
+        private final int firstCol;
+        private final int lastCol;
+
+        private ProductTask(final double alpha, final Matrix a, final Matrix b, final Matrix c,
+                            final int firstRow, final int lastRow, final int firstCol, final int lastCol) {
+            this.alpha = alpha;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.firstCol = firstCol;
+            this.lastCol = lastCol;
+        }
+
+        @Override
+        protected void compute() {
+            final int numRows = lastRow - firstRow;
+            final int numCols = lastCol - firstCol;
+            if ((long) numRows * numCols <= PRODUCT_GRAIN || (numRows < 2 && numCols < 2)) {
+                gemmBlock(alpha, a, b, c, firstRow, lastRow, firstCol, lastCol);
+            } else if (numRows >= numCols) {
+                final int mid = firstRow + numRows / 2;
+                invokeAll(new ProductTask(alpha, a, b, c, firstRow, mid, firstCol, lastCol),
+                        new ProductTask(alpha, a, b, c, mid, lastRow, firstCol, lastCol));
+            } else {
+                final int mid = firstCol + numCols / 2;
+                invokeAll(new ProductTask(alpha, a, b, c, firstRow, lastRow, firstCol, mid),
+                        new ProductTask(alpha, a, b, c, firstRow, lastRow, mid, lastCol));
+            }
+        }
+    }
+
+    /**
+     * Writes the transpose of the source into the destination, which must have swapped dimensions.
+     * The matrix is recursively halved along its longer side, so that every level of the memory
+     * hierarchy ends up holding whole blocks of both the source and the destination.
+     */
+    static void transpose(final ForkJoinPool pool, final Matrix source, final Matrix destination) {
+        if (!isParallel(pool, (long) source.getNumRows() * source.getNumCols())) {
+            transposeBlock(source, destination, 0, source.getNumRows(), 0, source.getNumCols());
+            return;
+        }
+        pool.invoke(new TransposeTask(source, destination, 0, source.getNumRows(), 0, source.getNumCols()));
+    }
+
+    private static void transposeBlock(final Matrix source, final Matrix destination,
+                                       final int firstRow, final int lastRow, final int firstCol, final int lastCol) {
+        final int numRows = lastRow - firstRow;
+        final int numCols = lastCol - firstCol;
+        if (numRows <= TRANSPOSE_BLOCK && numCols <= TRANSPOSE_BLOCK) {
+            final double[] src = source.getData();
+            final double[] dst = destination.getData();
+            for (int i = firstRow; i < lastRow; i++) {
+                final int srcRow = source.getOffset() + i * source.getRowStride();
+                final int dstCol = destination.getOffset() + i * destination.getColStride();
+                for (int j = firstCol; j < lastCol; j++) {
+                    dst[dstCol + j * destination.getRowStride()] = src[srcRow + j * source.getColStride()];
+                }
+            }
+        } else if (numRows >= numCols) {
+            final int mid = firstRow + numRows / 2;
+            transposeBlock(source, destination, firstRow, mid, firstCol, lastCol);
+            transposeBlock(source, destination, mid, lastRow, firstCol, lastCol);
+        } else {
+            final int mid = firstCol + numCols / 2;
+            transposeBlock(source, destination, firstRow, lastRow, firstCol, mid);
+            transposeBlock(source, destination, firstRow, lastRow, mid, lastCol);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class TransposeTask extends RecursiveAction {
+        private final Matrix source;
+        private final Matrix destination;
+        private final int firstRow;
+        private final int lastRow;
+        private final int firstCol;
+        private final int lastCol;
+
+        private TransposeTask(final Matrix source, final Matrix destination,
+                              final int firstRow, final int lastRow, final int firstCol, final int lastCol) {
+            this.source = source;
+            this.destination = destination;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.firstCol = firstCol;
+            this.lastCol = lastCol;
+        }
+
+        @Override
+        protected void compute() {
+            final int numRows = lastRow - firstRow;
+            final int numCols = lastCol - firstCol;
+            if ((long) numRows * numCols <= ELEMENTWISE_THRESHOLD) {
+                transposeBlock(source, destination, firstRow, lastRow, firstCol, lastCol);
+            } else if (numRows >= numCols) {
+                final int mid = firstRow + numRows / 2;
+                invokeAll(new TransposeTask(source, destination, firstRow, mid, firstCol, lastCol),
+                        new TransposeTask(source, destination, mid, lastRow, firstCol, lastCol));
+            } else {
+                final int mid = firstCol + numCols / 2;
+                invokeAll(new TransposeTask(source, destination, firstRow, lastRow, firstCol, mid),
+                        new TransposeTask(source, destination, firstRow, lastRow, mid, lastCol));
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package calculus.univariate.models.linearAlgebra;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Householder QR decomposition of an m x n matrix with m >= n: A = Q * R.
+ * The factorization is blocked: the reflectors of a panel of columns are computed directly,
+ * then accumulated into the compact WY form I - V * T * V^T, so that they can be applied to
+ * the trailing matrix, and later to right-hand sides, with matrix products that run on the pool
+ * for large matrices. R and the reflectors share one m x n matrix.
+ * For non square matrices, solve returns the least squares solution.
+ * The decomposition reuses workspace between calls, so it must not be used from several threads at once.
+ */
+public class QRDecomposition implements MatrixDecomposition {
+
+    /**
+     * Number of columns factored directly before the trailing matrix is updated
+     */
+    private static final int BLOCK = 32;
+
+    /**
+     * Pool for the matrix products, or null to use the default pool of Matrix
+     */
+    private final ForkJoinPool pool;
+    private Matrix qr;
+    private double[] tau;
+    private Matrix[] triangularFactors;
+    private Matrix reflectors;
+    private Matrix work;
+    private Matrix scaledWork;
+
+    public QRDecomposition() {
+        this(null);
+    }
+
+    public QRDecomposition(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Creates the decomposition of the given matrix
+     */
+    public static QRDecomposition of(final Matrix matrix) {
+        return new QRDecomposition().factor(matrix);
+    }
+
+    @Override
+    public QRDecomposition factor(final Matrix matrix) {
+        final int m = matrix.getNumRows();
+        final int n = matrix.getNumCols();
+        if (m < n) {
+            throw new IllegalArgumentException("QR decomposition requires at least as many rows as columns.");
+        }
+        if (qr == null || qr.getNumRows() != m || qr.getNumCols() != n) {
+            qr = new Matrix("QR", m, n);
+            tau = new double[n];
+            triangularFactors = new Matrix[(n + BLOCK - 1) / BLOCK];
+            reflectors = new Matrix("V", m, Math.min(BLOCK, n));
+        }
+        matrix.copyInto(qr);
+
+        final double[] a = qr.getData();
+        for (int k0 = 0, panel = 0; k0 < n; k0 += BLOCK, panel++) {
+            final int nb = Math.min(BLOCK, n - k0);
+            factorPanel(a, m, n, k0, nb);
+            final Matrix v = loadReflectors(k0, nb);
+            triangularFactors[panel] = buildTriangularFactor(v, k0, nb, triangularFactors[panel]);
+            if (k0 + nb < n) {
+                applyReflectors(v, triangularFactors[panel], true, qr.view(k0, k0 + nb, m - k0, n - k0 - nb));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Computes the Householder reflectors of the columns [k0, k0 + nb) and applies them within the panel.
+     * Each reflector I - tau * v * v^T has v(j) = 1, and the rest of v stored below the diagonal.
+     */
+    private void factorPanel(final double[] a, final int m, final int n, final int k0, final int nb) {
+        for (int j = k0; j < k0 + nb; j++) {
+            double sumOfSquares = 0.0;
+            for (int i = j + 1; i < m; i++) {
+                sumOfSquares += a[i * n + j] * a[i * n + j];
+            }
+            final double alpha = a[j * n + j];
+            if (sumOfSquares == 0.0) {
+                tau[j] = 0.0;
+                continue;
+            }
+            final double beta = -Math.copySign(Math.hypot(alpha, Math.sqrt(sumOfSquares)), alpha);
+            tau[j] = (beta - alpha) / beta;
+            final double scale = 1.0 / (alpha - beta);
+            for (int i = j + 1; i < m; i++) {
+                a[i * n + j] *= scale;
+            }
+            a[j * n + j] = beta;
+
+            for (int c = j + 1; c < k0 + nb; c++) {
+                double w = a[j * n + c];
+                for (int i = j + 1; i < m; i++) {
+                    w += a[i * n + j] * a[i * n + c];
+                }
+                w *= tau[j];
+                a[j * n + c] -= w;
+                for (int i = j + 1; i < m; i++) {
+                    a[i * n + c] -= a[i * n + j] * w;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the reflectors of the columns [k0, k0 + nb) explicitly, unit diagonal and zeros included,
+     * and returns them as an (m - k0) x nb view
+     */
+    private Matrix loadReflectors(final int k0, final int nb) {
+        final int m = qr.getNumRows();
+        final Matrix v = reflectors.view(0, 0, m - k0, nb);
+        for (int r = 0; r < m - k0; r++) {
+            for (int c = 0; c < nb; c++) {
+                v.set(r, c, r < c ? 0.0 : r == c ? 1.0 : qr.get(k0 + r, k0 + c));
+            }
+        }
+        return v;
+    }
+
+    /**
+     * Computes the upper triangular T such that H(k0) * ... * H(k0 + nb - 1) = I - V * T * V^T
+     */
+    private Matrix buildTriangularFactor(final Matrix v, final int k0, final int nb, final Matrix previous) {
+        final Matrix t = previous != null && previous.getNumRows() == nb ? previous : new Matrix("T", nb, nb);
+        t.fill(0.0);
+        final int rows = v.getNumRows();
+        for (int i = 0; i < nb; i++) {
+            final double tauI = tau[k0 + i];
+            t.set(i, i, tauI);
+            // z = -tau * V(:, 0:i)^T * v(i)
+            for (int j = 0; j < i; j++) {
+                double dot = 0.0;
+                for (int r = i; r < rows; r++) {
+                    dot += v.get(r, j) * v.get(r, i);
+                }
+                t.set(j, i, -tauI * dot);
+            }
+            // T(0:i, i) = T(0:i, 0:i) * z, in place as T is upper triangular
+            for (int j = 0; j < i; j++) {
+                double sum = 0.0;
+                for (int p = j; p < i; p++) {
+                    sum += t.get(j, p) * t.get(p, i);
+                }
+                t.set(j, i, sum);
+            }
+        }
+        return t;
+    }
+
+    /**
+     * C = (I - V * T * V^T) * C, or (I - V * T^T * V^T) * C when transposed
+     */
+    private void applyReflectors(final Matrix v, final Matrix t, final boolean transposed, final Matrix c) {
+        final int nb = v.getNumCols();
+        final int numCols = c.getNumCols();
+        if (work == null || work.getNumCols() < numCols) {
+            work = new Matrix("W", BLOCK, numCols);
+            scaledWork = new Matrix("TW", BLOCK, numCols);
+        }
+        final ForkJoinPool pool = pool();
+        final Matrix w = work.view(0, 0, nb, numCols).fill(0.0);
+        final Matrix tw = scaledWork.view(0, 0, nb, numCols).fill(0.0);
+        MatrixTasks.gemm(pool, 1.0, v.transposeView(), c, w);
+        MatrixTasks.gemm(pool, 1.0, transposed ? t.transposeView() : t, w, tw);
+        MatrixTasks.gemm(pool, -1.0, v, tw, c);
+    }
+
+    /**
+     * Overwrites the m x k matrix B with Q^T * B
+     */
+    private void applyQTransposed(final Matrix b) {
+        final int m = qr.getNumRows();
+        final int n = qr.getNumCols();
+        for (int k0 = 0, panel = 0; k0 < n; k0 += BLOCK, panel++) {
+            final int nb = Math.min(BLOCK, n - k0);
+            applyReflectors(loadReflectors(k0, nb), triangularFactors[panel], true, b.view(k0, 0, m - k0, b.getNumCols()));
+        }
+    }
+
+    /**
+     * Checks whether the factored matrix has full column rank, that is whether R has no zero on its diagonal
+     */
+    public boolean isFullRank() {
+        checkFactored();
+        for (int i = 0; i < qr.getNumCols(); i++) {
+            if (qr.get(i, i) == 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Matrix solve(final Matrix rightHandSides) {
+        checkFactored();
+        return solveInto(rightHandSides, new Matrix("X", qr.getNumCols(), rightHandSides.getNumCols()));
+    }
+
+    /**
+     * Solves A * X = B like solve, in the least squares sense when A has more rows than columns.
+     * @return the destination
+     */
+    @Override
+    public Matrix solveInto(final Matrix rightHandSides, final Matrix destination) {
+        checkFactored();
+        final int n = qr.getNumCols();
+        final int k = rightHandSides.getNumCols();
+        if (rightHandSides.getNumRows() != qr.getNumRows() || destination.getNumRows() != n || destination.getNumCols() != k) {
+            throw new IllegalArgumentException("Right-hand sides must have as many rows as the matrix, and the destination as many rows as it has columns.");
+        }
+        if (!isFullRank()) {
+            throw new IllegalArgumentException("Matrix is rank deficient.");
+        }
+        final Matrix y = rightHandSides.copy();
+        applyQTransposed(y);
+        final Matrix top = y.view(0, 0, n, k);
+        TriangularSolves.solveUpper(qr.view(0, 0, n, n), false, top, pool());
+        return top.copyInto(destination);
+    }
+
+    @Override
+    public double determinant() {
+        checkFactored();
+        if (!qr.isSquare()) {
+            throw new IllegalArgumentException("Determinant requires a square matrix.");
+        }
+        double determinant = 1.0;
+        for (int i = 0; i < qr.getNumCols(); i++) {
+            // Every non trivial reflector has determinant -1
+            determinant *= tau[i] == 0.0 ? qr.get(i, i) : -qr.get(i, i);
+        }
+        return determinant;
+    }
+
+    @Override
+    public Matrix inverse() {
+        checkFactored();
+        if (!qr.isSquare()) {
+            throw new IllegalArgumentException("Inverse requires a square matrix.");
+        }
+        return solve(Matrix.identity("I", qr.getNumRows()));
+    }
+
+    /**
+     * Returns the m x n matrix Q with orthonormal columns
+     */
+    public Matrix getQ() {
+        checkFactored();
+        final int m = qr.getNumRows();
+        final int n = qr.getNumCols();
+        final Matrix q = new Matrix("Q", m, n);
+        for (int i = 0; i < n; i++) {
+            q.set(i, i, 1.0);
+        }
+        for (int panel = triangularFactors.length - 1; panel >= 0; panel--) {
+            final int k0 = panel * BLOCK;
+            final int nb = Math.min(BLOCK, n - k0);
+            applyReflectors(loadReflectors(k0, nb), triangularFactors[panel], false, q.view(k0, 0, m - k0, n));
+        }
+        return q;
+    }
+
+    /**
+     * Returns the n x n upper triangular factor R
+     */
+    public Matrix getR() {
+        checkFactored();
+        final int n = qr.getNumCols();
+        final Matrix r = new Matrix("R", n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                r.set(i, j, qr.get(i, j));
+            }
+        }
+        return r;
+    }
+
+    private ForkJoinPool pool() {
+        return pool != null ? pool : Matrix.getDefaultPool();
+    }
+
+    private void checkFactored() {
+        if (qr == null) {
+            throw new IllegalStateException("No matrix has been factored yet.");
+        }
+    }
+}
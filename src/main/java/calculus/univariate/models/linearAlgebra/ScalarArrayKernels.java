@@ -0,0 +1,96 @@
+package calculus.univariate.models.linearAlgebra;
+
+/**
+ * Plain Java kernels, with a 4 x 4 register tile for GEMM
+ */
+final class ScalarArrayKernels implements ArrayKernels {
+
+    private static final int NR = 4;
+
+    @Override
+    public void combine(final int length, final double alpha, final double[] x, final int xOffset, final double beta,
+                        final double[] y, final int yOffset, final double[] out, final int outOffset) {
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = alpha * x[xOffset + i] + beta * y[yOffset + i];
+        }
+    }
+
+    @Override
+    public void scale(final int length, final double alpha, final double[] x, final int xOffset, final double[] out, final int outOffset) {
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void axpy(final int length, final double alpha, final double[] x, final int xOffset, final double[] y, final int yOffset) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public double dot(final int length, final double[] x, final int xOffset, final double[] y, final int yOffset) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += x[xOffset + i] * y[yOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int panelWidth() {
+        return NR;
+    }
+
+    @Override
+    public void microKernel(final int kc, final double[] a, final int aIndex, final double[] b, final int bIndex,
+                            final double[] c, final int cIndex, final int cRowStride, final int cColStride,
+                            final int mr, final int nr, final double alpha, final double[] tile) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+        int ai = aIndex;
+        int bi = bIndex;
+        for (int p = 0; p < kc; p++, ai += MR, bi += NR) {
+            final double a0 = a[ai];
+            final double a1 = a[ai + 1];
+            final double a2 = a[ai + 2];
+            final double a3 = a[ai + 3];
+            final double b0 = b[bi];
+            final double b1 = b[bi + 1];
+            final double b2 = b[bi + 2];
+            final double b3 = b[bi + 3];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+
+        if (mr == MR && nr == NR) {
+            addRow(c, cIndex, cColStride, alpha, c00, c01, c02, c03);
+            addRow(c, cIndex + cRowStride, cColStride, alpha, c10, c11, c12, c13);
+            addRow(c, cIndex + 2 * cRowStride, cColStride, alpha, c20, c21, c22, c23);
+            addRow(c, cIndex + 3 * cRowStride, cColStride, alpha, c30, c31, c32, c33);
+            return;
+        }
+        tile[0] = c00; tile[1] = c01; tile[2] = c02; tile[3] = c03;
+        tile[4] = c10; tile[5] = c11; tile[6] = c12; tile[7] = c13;
+        tile[8] = c20; tile[9] = c21; tile[10] = c22; tile[11] = c23;
+        tile[12] = c30; tile[13] = c31; tile[14] = c32; tile[15] = c33;
+        for (int i = 0; i < mr; i++) {
+            for (int j = 0; j < nr; j++) {
+                c[cIndex + i * cRowStride + j * cColStride] += alpha * tile[i * NR + j];
+            }
+        }
+    }
+
+    private static void addRow(final double[] c, final int index, final int colStride, final double alpha,
+                               final double v0, final double v1, final double v2, final double v3) {
+        c[index] += alpha * v0;
+        c[index + colStride] += alpha * v1;
+        c[index + 2 * colStride] += alpha * v2;
+        c[index + 3 * colStride] += alpha * v3;
+    }
+}
@@ -0,0 +1,505 @@
+package calculus.univariate.models.linearAlgebra;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class representing a sparse matrix in compressed sparse row (CSR) or column (CSC) format.
+ * Only the non-zero entries are stored: for every row (CSR) or column (CSC), the "major" index,
+ * pointers[k] to pointers[k + 1] delimit its entries in indices (their column or row, ascending)
+ * and values. Memory use is proportional to the number of non-zeros.
+ * The CSC form of a matrix holds the same arrays as the CSR form of its transpose, so transposing
+ * is free. Matrix-vector products on large matrices run in parallel on a ForkJoinPool, either
+ * given per call or the default pool of Matrix.
+ * Sparse matrices are built entry by entry with a Builder, or converted from a dense Matrix.
+ */
+@Getter
+public final class SparseMatrix {
+
+    public enum Format {
+        CSR, CSC
+    }
+
+    private final String name;
+    private final int numRows;
+    private final int numCols;
+    private final Format format;
+    private final int[] pointers;
+    private final int[] indices;
+    private final double[] values;
+
+    /**
+     * Structure of the other format, built on first use by a parallel scatter or a conversion
+     */
+    @Getter(AccessLevel.NONE) private volatile Pattern otherPattern;
+
+    /**
+     * Pointers and indices of the other format, and for each of its entries the position of its value in values,
+     * so products still see values written after the pattern was built
+     */
+    private static final class Pattern {
+        private final int[] pointers;
+        private final int[] indices;
+        private final int[] positions;
+
+        private Pattern(final int[] pointers, final int[] indices, final int[] positions) {
+            this.pointers = pointers;
+            this.indices = indices;
+            this.positions = positions;
+        }
+    }
+
+    private SparseMatrix(final String name, final int numRows, final int numCols, final Format format,
+                         final int[] pointers, final int[] indices, final double[] values) {
+        this.name = name;
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.format = format;
+        this.pointers = pointers;
+        this.indices = indices;
+        this.values = values;
+    }
+
+    /**
+     * Creates a sparse matrix from its compressed arrays, without copying them.
+     * @throws IllegalArgumentException if the arrays do not describe a valid matrix of the given format,
+     *                                  with ascending indices within every row or column
+     */
+    public static SparseMatrix of(final String name, final int numRows, final int numCols, final Format format,
+                                  final int[] pointers, final int[] indices, final double[] values) {
+        if (numRows < 1 || numCols < 1) {
+            throw new IllegalArgumentException("Dimensions of the matrix must be positive.");
+        }
+        final int majorSize = format == Format.CSR ? numRows : numCols;
+        final int minorSize = format == Format.CSR ? numCols : numRows;
+        if (pointers.length != majorSize + 1 || pointers[0] != 0
+                || pointers[majorSize] != indices.length || indices.length != values.length) {
+            throw new IllegalArgumentException("Array lengths do not match the dimensions and the number of non-zeros.");
+        }
+        for (int k = 0; k < majorSize; k++) {
+            if (pointers[k] > pointers[k + 1]) {
+                throw new IllegalArgumentException("Pointers must be non decreasing.");
+            }
+            for (int p = pointers[k]; p < pointers[k + 1]; p++) {
+                if (indices[p] < 0 || indices[p] >= minorSize || (p > pointers[k] && indices[p] <= indices[p - 1])) {
+                    throw new IllegalArgumentException("Indices must be in bounds and ascending within every row or column.");
+                }
+            }
+        }
+        return new SparseMatrix(name, numRows, numCols, format, pointers, indices, values);
+    }
+
+    /**
+     * Starts building a sparse matrix of the given dimensions from (row, column, value) triplets
+     */
+    public static Builder builder(final String name, final int numRows, final int numCols) {
+        return new Builder(name, numRows, numCols);
+    }
+
+    /**
+     * Creates the sparse matrix holding the non-zero values of a dense matrix
+     */
+    public static SparseMatrix fromDense(final Matrix matrix, final Format format) {
+        // The CSC arrays of a matrix are the CSR arrays of its transpose
+        final Matrix source = format == Format.CSR ? matrix : matrix.transposeView();
+        final int majorSize = source.getNumRows();
+        final int minorSize = source.getNumCols();
+        final int[] pointers = new int[majorSize + 1];
+        for (int k = 0; k < majorSize; k++) {
+            int count = 0;
+            for (int j = 0; j < minorSize; j++) {
+                if (source.get(k, j) != 0.0) {
+                    count++;
+                }
+            }
+            pointers[k + 1] = pointers[k] + count;
+        }
+        final int[] indices = new int[pointers[majorSize]];
+        final double[] values = new double[pointers[majorSize]];
+        int p = 0;
+        for (int k = 0; k < majorSize; k++) {
+            for (int j = 0; j < minorSize; j++) {
+                final double value = source.get(k, j);
+                if (value != 0.0) {
+                    indices[p] = j;
+                    values[p++] = value;
+                }
+            }
+        }
+        return new SparseMatrix(matrix.getName(), matrix.getNumRows(), matrix.getNumCols(), format, pointers, indices, values);
+    }
+
+    /**
+     * Returns the dense Matrix holding the same values
+     */
+    public Matrix toDense() {
+        final Matrix dense = new Matrix(name, numRows, numCols);
+        final double[] data = dense.getData();
+        for (int k = 0; k < majorSize(); k++) {
+            for (int p = pointers[k]; p < pointers[k + 1]; p++) {
+                final int index = format == Format.CSR ? k * numCols + indices[p] : indices[p] * numCols + k;
+                data[index] += values[p];
+            }
+        }
+        return dense;
+    }
+
+    public int getNonZeroCount() {
+        return pointers[majorSize()];
+    }
+
+    public double get(final int row, final int col) {
+        if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds for " + numRows + "x" + numCols + " matrix.");
+        }
+        final int major = format == Format.CSR ? row : col;
+        final int minor = format == Format.CSR ? col : row;
+        final int p = Arrays.binarySearch(indices, pointers[major], pointers[major + 1], minor);
+        return p >= 0 ? values[p] : 0.0;
+    }
+
+    /**
+     * Returns the diagonal of the matrix, which must be square
+     */
+    public double[] getDiagonal() {
+        if (numRows != numCols) {
+            throw new IllegalArgumentException("Diagonal requires a square matrix.");
+        }
+        final double[] diagonal = new double[numRows];
+        for (int k = 0; k < numRows; k++) {
+            final int p = Arrays.binarySearch(indices, pointers[k], pointers[k + 1], k);
+            diagonal[k] = p >= 0 ? values[p] : 0.0;
+        }
+        return diagonal;
+    }
+
+    /**
+     * Returns the transpose of this matrix, sharing its arrays: the transpose of a CSR matrix is in CSC format and vice versa
+     */
+    public SparseMatrix transpose() {
+        return new SparseMatrix(name + "^T", numCols, numRows, format == Format.CSR ? Format.CSC : Format.CSR, pointers, indices, values);
+    }
+
+    /**
+     * Returns this matrix in the given format, converting it if needed
+     */
+    public SparseMatrix toFormat(final Format target) {
+        if (target == format) {
+            return this;
+        }
+        final Pattern pattern = otherPattern();
+        final double[] newValues = new double[pattern.positions.length];
+        for (int q = 0; q < newValues.length; q++) {
+            newValues[q] = values[pattern.positions[q]];
+        }
+        return new SparseMatrix(name, numRows, numCols, target, pattern.pointers, pattern.indices, newValues);
+    }
+
+    private Pattern otherPattern() {
+        Pattern pattern = this.otherPattern;
+        if (pattern == null) {
+            pattern = buildOtherPattern();
+            this.otherPattern = pattern;
+        }
+        return pattern;
+    }
+
+    private Pattern buildOtherPattern() {
+        final int majorSize = majorSize();
+        final int minorSize = format == Format.CSR ? numCols : numRows;
+        final int nnz = getNonZeroCount();
+        final int[] newPointers = new int[minorSize + 1];
+        for (int p = 0; p < nnz; p++) {
+            newPointers[indices[p] + 1]++;
+        }
+        for (int k = 0; k < minorSize; k++) {
+            newPointers[k + 1] += newPointers[k];
+        }
+        final int[] cursor = Arrays.copyOf(newPointers, minorSize);
+        final int[] newIndices = new int[nnz];
+        final int[] positions = new int[nnz];
+        // Going through the old major indices in order keeps the new indices ascending
+        for (int k = 0; k < majorSize; k++) {
+            for (int p = pointers[k]; p < pointers[k + 1]; p++) {
+                final int q = cursor[indices[p]]++;
+                newIndices[q] = k;
+                positions[q] = p;
+            }
+        }
+        return new Pattern(newPointers, newIndices, positions);
+    }
+
+    public SparseMatrix toCsr() {
+        return toFormat(Format.CSR);
+    }
+
+    public SparseMatrix toCsc() {
+        return toFormat(Format.CSC);
+    }
+
+    /**
+     * Computes the product A * x
+     */
+    public double[] multiply(final double[] x) {
+        return multiplyInto(x, new double[numRows], Matrix.getDefaultPool());
+    }
+
+    /**
+     * Computes the product A * x on the given pool
+     * @param pool -> the pool to run on, or null to run on the calling thread
+     */
+    public double[] multiply(final double[] x, final ForkJoinPool pool) {
+        return multiplyInto(x, new double[numRows], pool);
+    }
+
+    /**
+     * Writes the product A * x into y, which must not be x.
+     * @return y
+     */
+    public double[] multiplyInto(final double[] x, final double[] y) {
+        return multiplyInto(x, y, Matrix.getDefaultPool());
+    }
+
+    /**
+     * Writes the product A * x into y, which must not be x, on the given pool
+     * @param pool -> the pool to run on, or null to run on the calling thread
+     * @return y
+     */
+    public double[] multiplyInto(final double[] x, final double[] y, final ForkJoinPool pool) {
+        checkVectors(x, numCols, y, numRows);
+        if (format == Format.CSR) {
+            gather(pool, x, y);
+        } else {
+            scatter(pool, x, y);
+        }
+        return y;
+    }
+
+    /**
+     * Computes the product A^T * x
+     */
+    public double[] transposeMultiply(final double[] x) {
+        return transposeMultiplyInto(x, new double[numCols], Matrix.getDefaultPool());
+    }
+
+    /**
+     * Computes the product A^T * x on the given pool
+     * @param pool -> the pool to run on, or null to run on the calling thread
+     */
+    public double[] transposeMultiply(final double[] x, final ForkJoinPool pool) {
+        return transposeMultiplyInto(x, new double[numCols], pool);
+    }
+
+    /**
+     * Writes the product A^T * x into y, which must not be x.
+     * @return y
+     */
+    public double[] transposeMultiplyInto(final double[] x, final double[] y) {
+        return transposeMultiplyInto(x, y, Matrix.getDefaultPool());
+    }
+
+    /**
+     * Writes the product A^T * x into y, which must not be x, on the given pool
+     * @param pool -> the pool to run on, or null to run on the calling thread
+     * @return y
+     */
+    public double[] transposeMultiplyInto(final double[] x, final double[] y, final ForkJoinPool pool) {
+        checkVectors(x, numRows, y, numCols);
+        if (format == Format.CSC) {
+            gather(pool, x, y);
+        } else {
+            scatter(pool, x, y);
+        }
+        return y;
+    }
+
+    private int majorSize() {
+        return format == Format.CSR ? numRows : numCols;
+    }
+
+    /**
+     * Number of rows or columns holding about as many non-zeros as a parallel task should process
+     */
+    private int grain() {
+        return (int) Math.max(1, majorSize() * MatrixTasks.ELEMENTWISE_THRESHOLD / Math.max(1, getNonZeroCount()));
+    }
+
+    /**
+     * y[k] = sum of values[p] * x[indices[p]] over the entries of major index k.
+     * Every y[k] is written by a single task.
+     */
+    private void gather(final ForkJoinPool pool, final double[] x, final double[] y) {
+        if (MatrixTasks.isParallel(pool, getNonZeroCount())) {
+            MatrixTasks.forEachRange(pool, majorSize(), grain(), (first, last) -> gatherRange(x, y, first, last));
+        } else {
+            gatherRange(x, y, 0, majorSize());
+        }
+    }
+
+    private void gatherRange(final double[] x, final double[] y, final int first, final int last) {
+        for (int k = first; k < last; k++) {
+            double sum = 0.0;
+            for (int p = pointers[k]; p < pointers[k + 1]; p++) {
+                sum += values[p] * x[indices[p]];
+            }
+            y[k] = sum;
+        }
+    }
+
+    /**
+     * y[indices[p]] += values[p] * x[k] over the entries of every major index k.
+     * In parallel, every y[i] is instead gathered by a single task over the cached pattern of the other format,
+     * which allocates nothing per product.
+     */
+    private void scatter(final ForkJoinPool pool, final double[] x, final double[] y) {
+        if (!MatrixTasks.isParallel(pool, getNonZeroCount())) {
+            Arrays.fill(y, 0.0);
+            scatterRange(x, y, 0, majorSize());
+            return;
+        }
+        final Pattern pattern = otherPattern();
+        final int grain = (int) Math.max(1, y.length * MatrixTasks.ELEMENTWISE_THRESHOLD / Math.max(1, getNonZeroCount()));
+        MatrixTasks.forEachRange(pool, y.length, grain, (first, last) -> {
+            for (int i = first; i < last; i++) {
+                double sum = 0.0;
+                for (int q = pattern.pointers[i]; q < pattern.pointers[i + 1]; q++) {
+                    sum += values[pattern.positions[q]] * x[pattern.indices[q]];
+                }
+                y[i] = sum;
+            }
+        });
+    }
+
+    private void scatterRange(final double[] x, final double[] y, final int first, final int last) {
+        for (int k = first; k < last; k++) {
+            final double xk = x[k];
+            if (xk != 0.0) {
+                for (int p = pointers[k]; p < pointers[k + 1]; p++) {
+                    y[indices[p]] += values[p] * xk;
+                }
+            }
+        }
+    }
+
+    private static void checkVectors(final double[] x, final int xLength, final double[] y, final int yLength) {
+        if (x.length != xLength || y.length != yLength) {
+            throw new IllegalArgumentException("Vector lengths must match the dimensions of the matrix.");
+        }
+        if (x == y) {
+            throw new IllegalArgumentException("Result must not be written into the operand.");
+        }
+    }
+
+    public String toString() {
+        return name + " (" + numRows + "x" + numCols + ", " + getNonZeroCount() + " non-zeros, " + format + ")";
+    }
+
+    /**
+     * Collects (row, column, value) triplets, in any order, and compresses them into a sparse matrix.
+     * Values given several times for the same position are summed.
+     */
+    public static final class Builder {
+        private final String name;
+        private final int numRows;
+        private final int numCols;
+        private int[] rows = new int[16];
+        private int[] cols = new int[16];
+        private double[] entries = new double[16];
+        private int size;
+
+        private Builder(final String name, final int numRows, final int numCols) {
+            if (numRows < 1 || numCols < 1) {
+                throw new IllegalArgumentException("Dimensions of the matrix must be positive.");
+            }
+            this.name = name;
+            this.numRows = numRows;
+            this.numCols = numCols;
+        }
+
+        public Builder add(final int row, final int col, final double value) {
+            if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+                throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds for " + numRows + "x" + numCols + " matrix.");
+            }
+            if (size == entries.length) {
+                final int capacity = Math.max(16, size + (size >> 1));
+                rows = Arrays.copyOf(rows, capacity);
+                cols = Arrays.copyOf(cols, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            rows[size] = row;
+            cols[size] = col;
+            entries[size++] = value;
+            return this;
+        }
+
+        public SparseMatrix buildCsr() {
+            return build(Format.CSR);
+        }
+
+        public SparseMatrix buildCsc() {
+            return build(Format.CSC);
+        }
+
+        /**
+         * Compresses the triplets with two stable counting sorts, by minor then by major index,
+         * which leaves duplicates next to each other to be summed
+         */
+        public SparseMatrix build(final Format format) {
+            final int[] major = format == Format.CSR ? rows : cols;
+            final int[] minor = format == Format.CSR ? cols : rows;
+            final int majorSize = format == Format.CSR ? numRows : numCols;
+            final int minorSize = format == Format.CSR ? numCols : numRows;
+
+            final int[] byMinor = new int[size];
+            final int[] minorStart = new int[minorSize + 1];
+            for (int e = 0; e < size; e++) {
+                minorStart[minor[e] + 1]++;
+            }
+            for (int k = 0; k < minorSize; k++) {
+                minorStart[k + 1] += minorStart[k];
+            }
+            for (int e = 0; e < size; e++) {
+                byMinor[minorStart[minor[e]]++] = e;
+            }
+
+            final int[] majorStart = new int[majorSize + 1];
+            for (int e = 0; e < size; e++) {
+                majorStart[major[e] + 1]++;
+            }
+            for (int k = 0; k < majorSize; k++) {
+                majorStart[k + 1] += majorStart[k];
+            }
+            final int[] sorted = new int[size];
+            final int[] cursor = Arrays.copyOf(majorStart, majorSize);
+            for (final int e : byMinor) {
+                sorted[cursor[major[e]]++] = e;
+            }
+
+            final int[] pointers = new int[majorSize + 1];
+            int[] indices = new int[size];
+            double[] values = new double[size];
+            int nnz = 0;
+            for (int k = 0; k < majorSize; k++) {
+                pointers[k] = nnz;
+                for (int q = majorStart[k]; q < majorStart[k + 1]; q++) {
+                    final int e = sorted[q];
+                    if (nnz > pointers[k] && indices[nnz - 1] == minor[e]) {
+                        values[nnz - 1] += entries[e];
+                    } else {
+                        indices[nnz] = minor[e];
+                        values[nnz++] = entries[e];
+                    }
+                }
+            }
+            pointers[majorSize] = nnz;
+            if (nnz < size) {
+                indices = Arrays.copyOf(indices, nnz);
+                values = Arrays.copyOf(values, nnz);
+            }
+            return new SparseMatrix(name, numRows, numCols, format, pointers, indices, values);
+        }
+    }
+}
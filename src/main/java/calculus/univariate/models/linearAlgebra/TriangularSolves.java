@@ -0,0 +1,92 @@
+package calculus.univariate.models.linearAlgebra;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Blocked forward and back substitution with several right-hand sides at once.
+ * Each diagonal block is solved directly, and the rest of the right-hand sides is then
+ * updated with a single matrix product, which runs on the pool when it is large enough.
+ * Only the relevant triangle of the coefficient matrix is ever read, so the factors of
+ * a decomposition can be passed as they are stored.
+ */
+@UtilityClass
+class TriangularSolves {
+
+    /**
+     * Number of unknowns solved directly before the remaining right-hand sides are updated
+     */
+    static final int BLOCK = 64;
+
+    /**
+     * Overwrites B with the solution X of L * X = B, where L is the lower triangle of the given square matrix
+     * @param unitDiagonal -> whether the diagonal of L is taken to be all ones
+     */
+    static void solveLower(final Matrix l, final boolean unitDiagonal, final Matrix b, final ForkJoinPool pool) {
+        final int n = l.getNumRows();
+        final int k = b.getNumCols();
+        for (int k0 = 0; k0 < n; k0 += BLOCK) {
+            final int nb = Math.min(BLOCK, n - k0);
+            for (int i = k0; i < k0 + nb; i++) {
+                for (int j = k0; j < i; j++) {
+                    subtractRow(b, i, l.get(i, j), j, k);
+                }
+                if (!unitDiagonal) {
+                    scaleRow(b, i, 1.0 / l.get(i, i), k);
+                }
+            }
+            if (k0 + nb < n) {
+                MatrixTasks.gemm(pool, -1.0, l.view(k0 + nb, k0, n - k0 - nb, nb), b.view(k0, 0, nb, k), b.view(k0 + nb, 0, n - k0 - nb, k));
+            }
+        }
+    }
+
+    /**
+     * Overwrites B with the solution X of U * X = B, where U is the upper triangle of the given square matrix
+     * @param unitDiagonal -> whether the diagonal of U is taken to be all ones
+     */
+    static void solveUpper(final Matrix u, final boolean unitDiagonal, final Matrix b, final ForkJoinPool pool) {
+        final int n = u.getNumRows();
+        final int k = b.getNumCols();
+        for (int k0 = (n - 1) / BLOCK * BLOCK; k0 >= 0; k0 -= BLOCK) {
+            final int nb = Math.min(BLOCK, n - k0);
+            for (int i = k0 + nb - 1; i >= k0; i--) {
+                for (int j = i + 1; j < k0 + nb; j++) {
+                    subtractRow(b, i, u.get(i, j), j, k);
+                }
+                if (!unitDiagonal) {
+                    scaleRow(b, i, 1.0 / u.get(i, i), k);
+                }
+            }
+            if (k0 > 0) {
+                MatrixTasks.gemm(pool, -1.0, u.view(0, k0, k0, nb), b.view(k0, 0, nb, k), b.view(0, 0, k0, k));
+            }
+        }
+    }
+
+    /**
+     * Row i of B -= factor * row j of B
+     */
+    private static void subtractRow(final Matrix b, final int i, final double factor, final int j, final int numCols) {
+        if (factor == 0.0) {
+            return;
+        }
+        final double[] data = b.getData();
+        final int colStride = b.getColStride();
+        final int target = b.getOffset() + i * b.getRowStride();
+        final int source = b.getOffset() + j * b.getRowStride();
+        for (int c = 0; c < numCols; c++) {
+            data[target + c * colStride] -= factor * data[source + c * colStride];
+        }
+    }
+
+    private static void scaleRow(final Matrix b, final int i, final double factor, final int numCols) {
+        final double[] data = b.getData();
+        final int colStride = b.getColStride();
+        final int target = b.getOffset() + i * b.getRowStride();
+        for (int c = 0; c < numCols; c++) {
+            data[target + c * colStride] *= factor;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package calculus.univariate.models.linearAlgebra;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels on the incubator Vector API, using the widest vectors of the hardware up to 8 doubles
+ * (4 with AVX2, 8 with AVX-512). The GEMM register tile is MR rows by one vector.
+ * Only loaded through ArrayKernels, which checks that the module is present first.
+ */
+final class VectorArrayKernels implements ArrayKernels {
+
+    private static final VectorSpecies<Double> SPECIES =
+            DoubleVector.SPECIES_PREFERRED.length() > 8 ? DoubleVector.SPECIES_512 : DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Shorter ranges run through the scalar loops: they gain nothing from a few vectors
+     * followed by a scalar tail, and do not box vectors before the JIT has compiled the kernels
+     */
+    private static final int SHORT_RANGE = 64;
+    private static final ScalarArrayKernels SCALAR = new ScalarArrayKernels();
+
+    @Override
+    public void combine(final int length, final double alpha, final double[] x, final int xOffset, final double beta,
+                        final double[] y, final int yOffset, final double[] out, final int outOffset) {
+        if (length < SHORT_RANGE) {
+            SCALAR.combine(length, alpha, x, xOffset, beta, y, yOffset, out, outOffset);
+            return;
+        }
+        final DoubleVector alphas = DoubleVector.broadcast(SPECIES, alpha);
+        final DoubleVector betas = DoubleVector.broadcast(SPECIES, beta);
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            final DoubleVector xs = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            final DoubleVector ys = DoubleVector.fromArray(SPECIES, y, yOffset + i);
+            xs.mul(alphas).add(ys.mul(betas)).intoArray(out, outOffset + i);
+        }
+        for (; i < length; i++) {
+            out[outOffset + i] = alpha * x[xOffset + i] + beta * y[yOffset + i];
+        }
+    }
+
+    @Override
+    public void scale(final int length, final double alpha, final double[] x, final int xOffset, final double[] out, final int outOffset) {
+        if (length < SHORT_RANGE) {
+            SCALAR.scale(length, alpha, x, xOffset, out, outOffset);
+            return;
+        }
+        final DoubleVector alphas = DoubleVector.broadcast(SPECIES, alpha);
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, x, xOffset + i).mul(alphas).intoArray(out, outOffset + i);
+        }
+        for (; i < length; i++) {
+            out[outOffset + i] = alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void axpy(final int length, final double alpha, final double[] x, final int xOffset, final double[] y, final int yOffset) {
+        if (length < SHORT_RANGE) {
+            SCALAR.axpy(length, alpha, x, xOffset, y, yOffset);
+            return;
+        }
+        final DoubleVector alphas = DoubleVector.broadcast(SPECIES, alpha);
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            final DoubleVector ys = DoubleVector.fromArray(SPECIES, y, yOffset + i);
+            DoubleVector.fromArray(SPECIES, x, xOffset + i).fma(alphas, ys).intoArray(y, yOffset + i);
+        }
+        for (; i < length; i++) {
+            y[yOffset + i] = Math.fma(alpha, x[xOffset + i], y[yOffset + i]);
+        }
+    }
+
+    @Override
+    public double dot(final int length, final double[] x, final int xOffset, final double[] y, final int yOffset) {
+        if (length < SHORT_RANGE) {
+            return SCALAR.dot(length, x, xOffset, y, yOffset);
+        }
+        // Two accumulators, to overlap the latency of consecutive fused multiply-adds
+        DoubleVector sum0 = DoubleVector.zero(SPECIES);
+        DoubleVector sum1 = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i + 2 * LANES <= length; i += 2 * LANES) {
+            sum0 = DoubleVector.fromArray(SPECIES, x, xOffset + i).fma(DoubleVector.fromArray(SPECIES, y, yOffset + i), sum0);
+            sum1 = DoubleVector.fromArray(SPECIES, x, xOffset + i + LANES).fma(DoubleVector.fromArray(SPECIES, y, yOffset + i + LANES), sum1);
+        }
+        if (i + LANES <= length) {
+            sum0 = DoubleVector.fromArray(SPECIES, x, xOffset + i).fma(DoubleVector.fromArray(SPECIES, y, yOffset + i), sum0);
+            i += LANES;
+        }
+        double sum = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum = Math.fma(x[xOffset + i], y[yOffset + i], sum);
+        }
+        return sum;
+    }
+
+    @Override
+    public int panelWidth() {
+        return LANES;
+    }
+
+    @Override
+    public void microKernel(final int kc, final double[] a, final int aIndex, final double[] b, final int bIndex,
+                            final double[] c, final int cIndex, final int cRowStride, final int cColStride,
+                            final int mr, final int nr, final double alpha, final double[] tile) {
+        DoubleVector c0 = DoubleVector.zero(SPECIES);
+        DoubleVector c1 = DoubleVector.zero(SPECIES);
+        DoubleVector c2 = DoubleVector.zero(SPECIES);
+        DoubleVector c3 = DoubleVector.zero(SPECIES);
+        int ai = aIndex;
+        int bi = bIndex;
+        for (int p = 0; p < kc; p++, ai += MR, bi += LANES) {
+            final DoubleVector bs = DoubleVector.fromArray(SPECIES, b, bi);
+            c0 = bs.fma(DoubleVector.broadcast(SPECIES, a[ai]), c0);
+            c1 = bs.fma(DoubleVector.broadcast(SPECIES, a[ai + 1]), c1);
+            c2 = bs.fma(DoubleVector.broadcast(SPECIES, a[ai + 2]), c2);
+            c3 = bs.fma(DoubleVector.broadcast(SPECIES, a[ai + 3]), c3);
+        }
+
+        if (mr == MR && nr == LANES && cColStride == 1) {
+            final DoubleVector alphas = DoubleVector.broadcast(SPECIES, alpha);
+            addRow(c0, alphas, c, cIndex);
+            addRow(c1, alphas, c, cIndex + cRowStride);
+            addRow(c2, alphas, c, cIndex + 2 * cRowStride);
+            addRow(c3, alphas, c, cIndex + 3 * cRowStride);
+            return;
+        }
+        c0.intoArray(tile, 0);
+        c1.intoArray(tile, LANES);
+        c2.intoArray(tile, 2 * LANES);
+        c3.intoArray(tile, 3 * LANES);
+        for (int i = 0; i < mr; i++) {
+            for (int j = 0; j < nr; j++) {
+                c[cIndex + i * cRowStride + j * cColStride] += alpha * tile[i * LANES + j];
+            }
+        }
+    }
+
+    private static void addRow(final DoubleVector row, final DoubleVector alphas, final double[] c, final int index) {
+        row.fma(alphas, DoubleVector.fromArray(SPECIES, c, index)).intoArray(c, index);
+    }
+}
@@ -0,0 +1,320 @@
+package calculus.univariate.models.linearAlgebra.io;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Matrix stored in a binary file (see MatrixFileHeader) and accessed through memory mappings,
+ * for matrices larger than the heap. The file is mapped lazily, in segments of whole tiles
+ * of at most 1 GB, so only the parts in use take up memory.
+ * With the row-major layout, the tiles are bands of full rows of at most 64 MB.
+ * Tiles are views of the file, and blocks are copied to and from heap matrices a row at a time,
+ * so the streaming operations only hold a few blocks in memory at once.
+ * The checksum of the values is neither computed nor verified, and opening a file for writing clears it.
+ */
+@Getter
+public class MappedMatrix implements Closeable {
+
+    private static final long SEGMENT_BYTES = 1L << 30;
+    private static final long BAND_BYTES = 1L << 26;
+
+    /**
+     * Side of the blocks of the streaming operations, when the destination is not tiled
+     */
+    private static final int BLOCK = 1024;
+
+    private final MatrixFileHeader header;
+    private final int tileRows;
+    private final int tileCols;
+    private final boolean writable;
+
+    @Getter(AccessLevel.NONE)
+    private final FileChannel channel;
+    @Getter(AccessLevel.NONE)
+    private final int tilesAcross;
+    @Getter(AccessLevel.NONE)
+    private final long tileBytes;
+    @Getter(AccessLevel.NONE)
+    private final int tilesPerSegment;
+    @Getter(AccessLevel.NONE)
+    private final MappedByteBuffer[] segments;
+
+    private MappedMatrix(final FileChannel channel, final MatrixFileHeader header, final boolean writable) {
+        if (header.getDataType() != MatrixFileHeader.DataType.FLOAT64) {
+            throw new IllegalArgumentException("Only matrices of doubles can be mapped.");
+        }
+        this.channel = channel;
+        this.header = header;
+        this.writable = writable;
+        final long rowBytes = (long) header.getNumCols() * Double.BYTES;
+        if (header.getLayout() == MatrixFileHeader.Layout.ROW_MAJOR) {
+            if (rowBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Rows of more than 2 GB need the tiled layout.");
+            }
+            tileRows = (int) Math.max(1, Math.min(header.getNumRows(), BAND_BYTES / rowBytes));
+            tileCols = header.getNumCols();
+        } else {
+            tileRows = header.getTileRows();
+            tileCols = header.getTileCols();
+        }
+        tilesAcross = (header.getNumCols() + tileCols - 1) / tileCols;
+        tileBytes = (long) tileRows * tileCols * Double.BYTES;
+        tilesPerSegment = (int) Math.max(1, SEGMENT_BYTES / tileBytes);
+        final long tileCount = (long) getTilesDown() * tilesAcross;
+        segments = new MappedByteBuffer[(int) ((tileCount + tilesPerSegment - 1) / tilesPerSegment)];
+    }
+
+    /**
+     * Creates a file of zeros with the given header, replacing any existing file, and maps it for writing
+     */
+    public static MappedMatrix create(final Path path, final MatrixFileHeader header) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final ByteBuffer bytes = ByteBuffer.allocate(MatrixFileHeader.SIZE);
+            header.writeTo(bytes);
+            channel.write(bytes.flip(), 0);
+            // Extends the file, which the file system usually keeps sparse until values are written
+            channel.write(ByteBuffer.allocate(1), MatrixFileHeader.SIZE + header.getDataBytes() - 1);
+            return new MappedMatrix(channel, header, true);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing matrix file
+     * @param writable -> whether the matrix may be modified, which then modifies the file
+     */
+    public static MappedMatrix open(final Path path, final boolean writable) throws IOException {
+        final FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final ByteBuffer bytes = ByteBuffer.allocate(MatrixFileHeader.SIZE);
+            while (bytes.hasRemaining() && channel.read(bytes, bytes.position()) >= 0) {
+                // Reads the whole header
+            }
+            MatrixFileHeader header = MatrixFileHeader.readFrom(bytes.flip());
+            if (channel.size() < MatrixFileHeader.SIZE + header.getDataBytes()) {
+                throw new IOException("Matrix file is shorter than its header says.");
+            }
+            if (writable && header.isChecksummed()) {
+                header = header.withoutDataChecksum();
+                header.writeTo(bytes.clear());
+                channel.write(bytes.flip(), 0);
+            }
+            return new MappedMatrix(channel, header, writable);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getNumRows() {
+        return header.getNumRows();
+    }
+
+    public int getNumCols() {
+        return header.getNumCols();
+    }
+
+    public int getTilesDown() {
+        return (getNumRows() + tileRows - 1) / tileRows;
+    }
+
+    public int getTilesAcross() {
+        return tilesAcross;
+    }
+
+    public double get(final int row, final int col) {
+        checkIndex(row, col);
+        return tile(row / tileRows, col / tileCols).get(row % tileRows, col % tileCols);
+    }
+
+    public void set(final int row, final int col, final double value) {
+        checkIndex(row, col);
+        tile(row / tileRows, col / tileCols).set(row % tileRows, col % tileCols, value);
+    }
+
+    private void checkIndex(final int row, final int col) {
+        if (row < 0 || row >= getNumRows() || col < 0 || col >= getNumCols()) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds for " + getNumRows() + "x" + getNumCols() + " matrix.");
+        }
+    }
+
+    /**
+     * Returns a view of a tile, reading and writing the file without copying.
+     * Tiles at the edges are cut to the dimensions of the matrix.
+     */
+    public MatrixTile tile(final int tileRow, final int tileCol) {
+        if (tileRow < 0 || tileRow >= getTilesDown() || tileCol < 0 || tileCol >= tilesAcross) {
+            throw new IndexOutOfBoundsException("Tile (" + tileRow + ", " + tileCol + ") out of bounds.");
+        }
+        final long tileIndex = (long) tileRow * tilesAcross + tileCol;
+        final MappedByteBuffer segment = segment((int) (tileIndex / tilesPerSegment));
+        final int firstRow = tileRow * tileRows;
+        final int firstCol = tileCol * tileCols;
+        final int numRows = Math.min(tileRows, getNumRows() - firstRow);
+        final int numCols = Math.min(tileCols, getNumCols() - firstCol);
+        final int position = (int) ((tileIndex % tilesPerSegment) * tileBytes);
+        final int length = (int) Math.min(tileBytes, segment.capacity() - position);
+        return new MatrixTile(firstRow, firstCol, numRows, numCols, tileCols,
+                segment.slice(position, length).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer());
+    }
+
+    private synchronized MappedByteBuffer segment(final int index) {
+        if (segments[index] == null) {
+            if (!channel.isOpen()) {
+                throw new IllegalStateException("Matrix file is closed.");
+            }
+            final long start = (long) index * tilesPerSegment * tileBytes;
+            final long size = Math.min(tilesPerSegment * tileBytes, header.getDataBytes() - start);
+            try {
+                segments[index] = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                        MatrixFileHeader.SIZE + start, size);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return segments[index];
+    }
+
+    /**
+     * Copies the block of this matrix starting at the given position into the destination,
+     * which gives the dimensions of the block
+     * @return the destination
+     */
+    public Matrix readInto(final int firstRow, final int firstCol, final Matrix destination) {
+        copyBlock(firstRow, firstCol, destination, true);
+        return destination;
+    }
+
+    /**
+     * Copies the source into the block of this matrix starting at the given position
+     */
+    public void writeFrom(final int firstRow, final int firstCol, final Matrix source) {
+        if (!writable) {
+            throw new IllegalStateException("Matrix file was opened read only.");
+        }
+        copyBlock(firstRow, firstCol, source, false);
+    }
+
+    private void copyBlock(final int firstRow, final int firstCol, final Matrix matrix, final boolean intoMatrix) {
+        final int lastRow = firstRow + matrix.getNumRows();
+        final int lastCol = firstCol + matrix.getNumCols();
+        if (firstRow < 0 || firstCol < 0 || lastRow > getNumRows() || lastCol > getNumCols()) {
+            throw new IndexOutOfBoundsException("Block out of bounds of the matrix.");
+        }
+        for (int tileRow = firstRow / tileRows; tileRow * tileRows < lastRow; tileRow++) {
+            for (int tileCol = firstCol / tileCols; tileCol * tileCols < lastCol; tileCol++) {
+                final MatrixTile tile = tile(tileRow, tileCol);
+                final int top = Math.max(firstRow, tile.getFirstRow());
+                final int left = Math.max(firstCol, tile.getFirstCol());
+                final int bottom = Math.min(lastRow, tile.getFirstRow() + tile.getNumRows());
+                final int right = Math.min(lastCol, tile.getFirstCol() + tile.getNumCols());
+                tile.copy(top - tile.getFirstRow(), left - tile.getFirstCol(), bottom - top, right - left,
+                        matrix, top - firstRow, left - firstCol, intoMatrix);
+            }
+        }
+    }
+
+    /**
+     * Writes the product of a and b into the destination, one block of the destination at a time.
+     * Blocks follow the tiles of the destination when it is tiled.
+     * @return the destination
+     */
+    public static MappedMatrix multiplyInto(final MappedMatrix a, final MappedMatrix b, final MappedMatrix destination) {
+        if (a.getNumCols() != b.getNumRows()) {
+            throw new IllegalArgumentException("Number of columns of the left matrix must match the number of rows of the right matrix.");
+        }
+        if (destination.getNumRows() != a.getNumRows() || destination.getNumCols() != b.getNumCols()) {
+            throw new IllegalArgumentException("Destination must have the dimensions of the product.");
+        }
+        final int blockRows = destination.blockRows();
+        final int blockCols = destination.blockCols();
+        final int blockDepth = Math.min(a.getNumCols(), a.header.getLayout() == MatrixFileHeader.Layout.TILED ? a.tileCols : BLOCK);
+        final Matrix aBuffer = new Matrix("A", blockRows, blockDepth);
+        final Matrix bBuffer = new Matrix("B", blockDepth, blockCols);
+        final Matrix cBuffer = new Matrix("C", blockRows, blockCols);
+        final Matrix product = new Matrix("P", blockRows, blockCols);
+        for (int i = 0; i < destination.getNumRows(); i += blockRows) {
+            final int rows = Math.min(blockRows, destination.getNumRows() - i);
+            for (int j = 0; j < destination.getNumCols(); j += blockCols) {
+                final int cols = Math.min(blockCols, destination.getNumCols() - j);
+                final Matrix c = cBuffer.view(0, 0, rows, cols).fill(0.0);
+                for (int k = 0; k < a.getNumCols(); k += blockDepth) {
+                    final int depth = Math.min(blockDepth, a.getNumCols() - k);
+                    final Matrix aBlock = a.readInto(i, k, aBuffer.view(0, 0, rows, depth));
+                    final Matrix bBlock = b.readInto(k, j, bBuffer.view(0, 0, depth, cols));
+                    c.axpy(1.0, aBlock.multiplyInto(bBlock, product.view(0, 0, rows, cols)));
+                }
+                destination.writeFrom(i, j, c);
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Writes the transpose of the source into the destination, one block of the destination at a time
+     * @return the destination
+     */
+    public static MappedMatrix transposeInto(final MappedMatrix source, final MappedMatrix destination) {
+        if (destination.getNumRows() != source.getNumCols() || destination.getNumCols() != source.getNumRows()) {
+            throw new IllegalArgumentException("Destination must have the dimensions of the transpose.");
+        }
+        final int blockRows = destination.blockRows();
+        final int blockCols = destination.blockCols();
+        final Matrix sourceBuffer = new Matrix("S", blockCols, blockRows);
+        final Matrix buffer = new Matrix("T", blockRows, blockCols);
+        for (int i = 0; i < destination.getNumRows(); i += blockRows) {
+            final int rows = Math.min(blockRows, destination.getNumRows() - i);
+            for (int j = 0; j < destination.getNumCols(); j += blockCols) {
+                final int cols = Math.min(blockCols, destination.getNumCols() - j);
+                final Matrix block = source.readInto(j, i, sourceBuffer.view(0, 0, cols, rows));
+                destination.writeFrom(i, j, block.transposeInto(buffer.view(0, 0, rows, cols)));
+            }
+        }
+        return destination;
+    }
+
+    private int blockRows() {
+        return Math.min(getNumRows(), header.getLayout() == MatrixFileHeader.Layout.TILED ? tileRows : BLOCK);
+    }
+
+    private int blockCols() {
+        return Math.min(getNumCols(), header.getLayout() == MatrixFileHeader.Layout.TILED ? tileCols : BLOCK);
+    }
+
+    /**
+     * Writes the modified values of the mapped segments to the file
+     */
+    public synchronized void flush() {
+        for (final MappedByteBuffer segment : segments) {
+            if (segment != null && writable) {
+                segment.force();
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the file. Tiles obtained earlier stay valid until they are garbage collected.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
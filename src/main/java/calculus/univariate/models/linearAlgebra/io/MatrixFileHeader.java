@@ -0,0 +1,205 @@
+package calculus.univariate.models.linearAlgebra.io;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed size header at the start of a binary matrix file, followed by the values as little-endian numbers.
+ * Layout of the header, all little-endian:
+ * <pre>
+ *  0  magic "MTRX"           4 bytes
+ *  4  version                2 bytes
+ *  6  data type              1 byte
+ *  7  layout                 1 byte
+ *  8  number of rows         4 bytes
+ * 12  number of columns      4 bytes
+ * 16  tile rows              4 bytes  (the number of rows for the row-major layout)
+ * 20  tile columns           4 bytes  (the number of columns for the row-major layout)
+ * 24  flags                  4 bytes  (bit 0: the data checksum is set)
+ * 28  CRC32C of the values   4 bytes
+ * 32  reserved              28 bytes
+ * 60  CRC32C of bytes 0-59   4 bytes
+ * </pre>
+ * With the tiled layout, values are stored tile by tile, tiles in row-major order and values in
+ * row-major order within a tile. Tiles at the edges are padded with zeros to the full tile size.
+ */
+@Getter
+public class MatrixFileHeader {
+
+    /**
+     * Size of the header in bytes, a multiple of 8 so that values are aligned in the file
+     */
+    public static final int SIZE = 64;
+
+    private static final int MAGIC = 'M' | 'T' << 8 | 'R' << 16 | 'X' << 24;
+    private static final short VERSION = 1;
+    private static final int CHECKSUM_POSITION = 60;
+    private static final int HAS_DATA_CHECKSUM = 1;
+
+    public enum DataType {
+        FLOAT64(8);
+
+        @Getter
+        private final int bytes;
+
+        DataType(final int bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    public enum Layout {
+        ROW_MAJOR,
+        TILED
+    }
+
+    private final DataType dataType;
+    private final Layout layout;
+    private final int numRows;
+    private final int numCols;
+    private final int tileRows;
+    private final int tileCols;
+    private final boolean checksummed;
+    private final int dataChecksum;
+
+    public MatrixFileHeader(final DataType dataType, final Layout layout, final int numRows, final int numCols,
+                            final int tileRows, final int tileCols) {
+        this(dataType, layout, numRows, numCols, tileRows, tileCols, false, 0);
+    }
+
+    private MatrixFileHeader(final DataType dataType, final Layout layout, final int numRows, final int numCols,
+                             final int tileRows, final int tileCols, final boolean checksummed, final int dataChecksum) {
+        if (numRows < 1 || numCols < 1) {
+            throw new IllegalArgumentException("Matrix dimensions must be positive.");
+        }
+        if (layout == Layout.TILED && (tileRows < 1 || tileCols < 1 || (long) tileRows * tileCols * dataType.getBytes() > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Tile dimensions must be positive, and a tile must fit in 2 GB.");
+        }
+        this.dataType = dataType;
+        this.layout = layout;
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.tileRows = layout == Layout.TILED ? tileRows : numRows;
+        this.tileCols = layout == Layout.TILED ? tileCols : numCols;
+        this.checksummed = checksummed;
+        this.dataChecksum = dataChecksum;
+    }
+
+    /**
+     * Returns this header with the CRC32C of the values set
+     */
+    public MatrixFileHeader withDataChecksum(final int checksum) {
+        return new MatrixFileHeader(dataType, layout, numRows, numCols, tileRows, tileCols, true, checksum);
+    }
+
+    /**
+     * Returns this header without a checksum of the values, for files modified in place
+     */
+    public MatrixFileHeader withoutDataChecksum() {
+        return new MatrixFileHeader(dataType, layout, numRows, numCols, tileRows, tileCols, false, 0);
+    }
+
+    /**
+     * Creates the header of a row-major matrix of doubles
+     */
+    public static MatrixFileHeader rowMajor(final int numRows, final int numCols) {
+        return new MatrixFileHeader(DataType.FLOAT64, Layout.ROW_MAJOR, numRows, numCols, numRows, numCols);
+    }
+
+    /**
+     * Creates the header of a tiled matrix of doubles
+     */
+    public static MatrixFileHeader tiled(final int numRows, final int numCols, final int tileRows, final int tileCols) {
+        return new MatrixFileHeader(DataType.FLOAT64, Layout.TILED, numRows, numCols, tileRows, tileCols);
+    }
+
+    public int getTilesDown() {
+        return (numRows + tileRows - 1) / tileRows;
+    }
+
+    public int getTilesAcross() {
+        return (numCols + tileCols - 1) / tileCols;
+    }
+
+    /**
+     * Number of values stored after the header, including the padding of edge tiles
+     */
+    public long getStoredValues() {
+        return (long) getTilesDown() * getTilesAcross() * tileRows * tileCols;
+    }
+
+    /**
+     * Size of the values in bytes
+     */
+    public long getDataBytes() {
+        return getStoredValues() * dataType.getBytes();
+    }
+
+    /**
+     * Writes the header at the position of the buffer, and advances it
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        final ByteBuffer header = buffer.slice(buffer.position(), SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putShort(VERSION)
+                .put((byte) dataType.ordinal())
+                .put((byte) layout.ordinal())
+                .putInt(numRows)
+                .putInt(numCols)
+                .putInt(tileRows)
+                .putInt(tileCols)
+                .putInt(checksummed ? HAS_DATA_CHECKSUM : 0)
+                .putInt(dataChecksum);
+        while (header.position() < CHECKSUM_POSITION) {
+            header.put((byte) 0);
+        }
+        header.putInt(checksum(header));
+        buffer.position(buffer.position() + SIZE);
+    }
+
+    /**
+     * Reads a header at the position of the buffer, and advances it
+     * @throws IOException -> if the bytes are not a valid header
+     */
+    public static MatrixFileHeader readFrom(final ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < SIZE) {
+            throw new IOException("Matrix file is shorter than its header.");
+        }
+        final ByteBuffer header = buffer.slice(buffer.position(), SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a matrix file.");
+        }
+        if (header.getShort(4) != VERSION) {
+            throw new IOException("Unsupported matrix file version " + header.getShort(4) + ".");
+        }
+        if (header.getInt(CHECKSUM_POSITION) != checksum(header)) {
+            throw new IOException("Corrupted matrix file header.");
+        }
+        final int dataType = header.get(6);
+        final int layout = header.get(7);
+        if (dataType < 0 || dataType >= DataType.values().length || layout < 0 || layout >= Layout.values().length) {
+            throw new IOException("Unknown data type or layout in matrix file header.");
+        }
+        buffer.position(buffer.position() + SIZE);
+        try {
+            return new MatrixFileHeader(DataType.values()[dataType], Layout.values()[layout],
+                    header.getInt(8), header.getInt(12), header.getInt(16), header.getInt(20),
+                    (header.getInt(24) & HAS_DATA_CHECKSUM) != 0, header.getInt(28));
+        } catch (final IllegalArgumentException e) {
+            throw new IOException("Invalid matrix file header.", e);
+        }
+    }
+
+    private static int checksum(final ByteBuffer header) {
+        final CRC32C crc = new CRC32C();
+        crc.update(header.slice(0, CHECKSUM_POSITION));
+        return (int) crc.getValue();
+    }
+
+    public String toString() {
+        return numRows + "x" + numCols + " " + dataType + " " + layout + (layout == Layout.TILED ? " " + tileRows + "x" + tileCols : "");
+    }
+}
@@ -0,0 +1,234 @@
+package calculus.univariate.models.linearAlgebra.io;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes and reads matrices in the binary format described by MatrixFileHeader.
+ * Values are moved between the flat array of the matrix and the bytes with bulk copies,
+ * through a direct buffer kept by each thread for channels, and the values are checked against the CRC32C of the header.
+ * Matrices are written row-major; both layouts are read, so files of MappedMatrix can be loaded too.
+ */
+@UtilityClass
+public class MatrixIO {
+
+    /**
+     * Size of the buffer used to move values through a channel
+     */
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Direct buffer of every thread that moves values through a channel, allocated on its first use and kept after
+     */
+    private static final ThreadLocal<ByteBuffer> CHUNKS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN));
+
+    /**
+     * Writes the matrix to a file, replacing any existing file
+     */
+    public static void write(final Matrix matrix, final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            write(matrix, channel);
+        }
+    }
+
+    /**
+     * Writes the matrix at the position of the channel, and advances it.
+     * The header goes last, once the checksum of the values is known.
+     */
+    public static void write(final Matrix matrix, final FileChannel channel) throws IOException {
+        final long start = channel.position();
+        final MatrixFileHeader header = MatrixFileHeader.rowMajor(matrix.getNumRows(), matrix.getNumCols());
+        final ByteBuffer chunk = CHUNKS.get().clear();
+        final DoubleBuffer values = chunk.asDoubleBuffer();
+        final CRC32C crc = new CRC32C();
+        long position = start + MatrixFileHeader.SIZE;
+        for (long index = 0; index < header.getStoredValues(); ) {
+            final int count = (int) Math.min(values.capacity(), header.getStoredValues() - index);
+            copy(header, matrix, index, values.clear().limit(count), false);
+            chunk.clear().limit(count * Double.BYTES);
+            crc.update(chunk);
+            writeFully(channel, chunk.flip(), position);
+            position += (long) count * Double.BYTES;
+            index += count;
+        }
+        final ByteBuffer bytes = ByteBuffer.allocate(MatrixFileHeader.SIZE);
+        header.withDataChecksum((int) crc.getValue()).writeTo(bytes);
+        writeFully(channel, bytes.flip(), start);
+        channel.position(position);
+    }
+
+    /**
+     * Writes the matrix at the position of the buffer, and advances it
+     */
+    public static void write(final Matrix matrix, final ByteBuffer buffer) {
+        final MatrixFileHeader header = MatrixFileHeader.rowMajor(matrix.getNumRows(), matrix.getNumCols());
+        final int dataStart = buffer.position() + MatrixFileHeader.SIZE;
+        final ByteBuffer data = buffer.slice(dataStart, Math.toIntExact(header.getDataBytes())).order(ByteOrder.LITTLE_ENDIAN);
+        copy(header, matrix, 0, data.asDoubleBuffer(), false);
+        final CRC32C crc = new CRC32C();
+        crc.update(data);
+        header.withDataChecksum((int) crc.getValue()).writeTo(buffer);
+        buffer.position(dataStart + data.capacity());
+    }
+
+    /**
+     * Returns the number of bytes taken by the matrix once written
+     */
+    public static long serializedSize(final Matrix matrix) {
+        return MatrixFileHeader.SIZE + MatrixFileHeader.rowMajor(matrix.getNumRows(), matrix.getNumCols()).getDataBytes();
+    }
+
+    /**
+     * Reads a matrix from a file
+     */
+    public static Matrix read(final String name, final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(name, channel);
+        }
+    }
+
+    /**
+     * Reads a matrix at the position of the channel, and advances it
+     * @throws IOException -> if the header is invalid, the channel ends early or the checksum does not match
+     */
+    public static Matrix read(final String name, final FileChannel channel) throws IOException {
+        final long start = channel.position();
+        final ByteBuffer bytes = ByteBuffer.allocate(MatrixFileHeader.SIZE);
+        readFully(channel, bytes, start);
+        final MatrixFileHeader header = MatrixFileHeader.readFrom(bytes.flip());
+        final Matrix matrix = newMatrix(name, header);
+
+        final ByteBuffer chunk = CHUNKS.get().clear();
+        final DoubleBuffer values = chunk.asDoubleBuffer();
+        final CRC32C crc = new CRC32C();
+        long position = start + MatrixFileHeader.SIZE;
+        for (long index = 0; index < header.getStoredValues(); ) {
+            final int count = (int) Math.min(values.capacity(), header.getStoredValues() - index);
+            chunk.clear().limit(count * Double.BYTES);
+            readFully(channel, chunk, position);
+            crc.update(chunk.flip());
+            copy(header, matrix, index, values.clear().limit(count), true);
+            position += (long) count * Double.BYTES;
+            index += count;
+        }
+        checkDataChecksum(header, crc);
+        channel.position(position);
+        return matrix;
+    }
+
+    /**
+     * Reads a matrix at the position of the buffer, and advances it
+     * @throws IOException -> if the header is invalid, the buffer ends early or the checksum does not match
+     */
+    public static Matrix read(final String name, final ByteBuffer buffer) throws IOException {
+        final MatrixFileHeader header = MatrixFileHeader.readFrom(buffer);
+        if (buffer.remaining() < header.getDataBytes()) {
+            throw new IOException("Matrix data is shorter than its header says.");
+        }
+        final ByteBuffer data = buffer.slice(buffer.position(), (int) header.getDataBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        final Matrix matrix = newMatrix(name, header);
+        copy(header, matrix, 0, data.asDoubleBuffer(), true);
+        final CRC32C crc = new CRC32C();
+        crc.update(data);
+        checkDataChecksum(header, crc);
+        buffer.position(buffer.position() + data.capacity());
+        return matrix;
+    }
+
+    private static Matrix newMatrix(final String name, final MatrixFileHeader header) throws IOException {
+        if ((long) header.getNumRows() * header.getNumCols() > Integer.MAX_VALUE - 8) {
+            throw new IOException("Matrix of " + header + " does not fit in an array, use MappedMatrix instead.");
+        }
+        return new Matrix(name, header.getNumRows(), header.getNumCols());
+    }
+
+    private static void checkDataChecksum(final MatrixFileHeader header, final CRC32C crc) throws IOException {
+        if (header.isChecksummed() && header.getDataChecksum() != (int) crc.getValue()) {
+            throw new IOException("Matrix data does not match its checksum.");
+        }
+    }
+
+    /**
+     * Copies the stored values from index start on, as many as the buffer has remaining,
+     * between the buffer and the matrix. In the stored order, values come in runs of a row of a tile,
+     * runs being cut by the edges of the matrix and by the padding of the edge tiles.
+     * Padding is skipped when reading and written as zeros.
+     */
+    private static void copy(final MatrixFileHeader header, final Matrix matrix, final long start, final DoubleBuffer buffer,
+                             final boolean intoMatrix) {
+        final int tileRows = header.getTileRows();
+        final int tileCols = header.getTileCols();
+        final int tilesAcross = header.getTilesAcross();
+        final double[] data = matrix.getData();
+        final int count = buffer.remaining();
+        int position = buffer.position();
+        for (long index = start; index < start + count; ) {
+            final long run = index / tileCols;
+            final int inRun = (int) (index % tileCols);
+            final int length = (int) Math.min(tileCols - inRun, start + count - index);
+            final long tile = run / tileRows;
+            final int row = (int) (tile / tilesAcross) * tileRows + (int) (run % tileRows);
+            final int col = (int) (tile % tilesAcross) * tileCols + inRun;
+            final int valid = row < header.getNumRows() ? Math.max(0, Math.min(length, header.getNumCols() - col)) : 0;
+            if (valid > 0) {
+                copyRun(matrix, data, row, col, buffer, position, valid, intoMatrix);
+            }
+            if (!intoMatrix) {
+                for (int k = valid; k < length; k++) {
+                    buffer.put(position + k, 0.0);
+                }
+            }
+            position += length;
+            index += length;
+        }
+    }
+
+    private static void copyRun(final Matrix matrix, final double[] data, final int row, final int col,
+                                final DoubleBuffer buffer, final int position, final int length, final boolean intoMatrix) {
+        final int first = matrix.getOffset() + row * matrix.getRowStride() + col * matrix.getColStride();
+        if (matrix.getColStride() == 1) {
+            if (intoMatrix) {
+                buffer.get(position, data, first, length);
+            } else {
+                buffer.put(position, data, first, length);
+            }
+            return;
+        }
+        for (int j = 0; j < length; j++) {
+            if (intoMatrix) {
+                data[first + j * matrix.getColStride()] = buffer.get(position + j);
+            } else {
+                buffer.put(position + j, data[first + j * matrix.getColStride()]);
+            }
+        }
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Matrix file ended unexpectedly.");
+            }
+            offset += read;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package calculus.univariate.models.linearAlgebra.io;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import lombok.Getter;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * View of a block of a mapped matrix, reading and writing the mapped file directly.
+ * Element (i, j) of the tile lives at values.get(i * rowStride + j).
+ */
+@Getter
+public class MatrixTile {
+    private final int firstRow;
+    private final int firstCol;
+    private final int numRows;
+    private final int numCols;
+    private final int rowStride;
+    private final DoubleBuffer values;
+
+    MatrixTile(final int firstRow, final int firstCol, final int numRows, final int numCols, final int rowStride, final DoubleBuffer values) {
+        this.firstRow = firstRow;
+        this.firstCol = firstCol;
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.rowStride = rowStride;
+        this.values = values;
+    }
+
+    public double get(final int row, final int col) {
+        return values.get(index(row, col));
+    }
+
+    public void set(final int row, final int col, final double value) {
+        values.put(index(row, col), value);
+    }
+
+    private int index(final int row, final int col) {
+        if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds for " + numRows + "x" + numCols + " tile.");
+        }
+        return row * rowStride + col;
+    }
+
+    /**
+     * Copies the tile into a matrix of the same dimensions, a row at a time
+     * @return the destination
+     */
+    public Matrix copyInto(final Matrix destination) {
+        checkDimensions(destination);
+        copy(0, 0, numRows, numCols, destination, 0, 0, true);
+        return destination;
+    }
+
+    /**
+     * Copies a matrix of the same dimensions into the tile, a row at a time
+     */
+    public void copyFrom(final Matrix source) {
+        checkDimensions(source);
+        copy(0, 0, numRows, numCols, source, 0, 0, false);
+    }
+
+    /**
+     * Copies a block of the tile into a block of a matrix, or the other way around
+     */
+    void copy(final int row, final int col, final int rows, final int cols, final Matrix matrix, final int matrixRow, final int matrixCol,
+              final boolean intoMatrix) {
+        final double[] data = matrix.getData();
+        for (int i = 0; i < rows; i++) {
+            final int tileIndex = (row + i) * rowStride + col;
+            final int matrixIndex = matrix.getOffset() + (matrixRow + i) * matrix.getRowStride() + matrixCol * matrix.getColStride();
+            if (matrix.getColStride() == 1) {
+                if (intoMatrix) {
+                    values.get(tileIndex, data, matrixIndex, cols);
+                } else {
+                    values.put(tileIndex, data, matrixIndex, cols);
+                }
+                continue;
+            }
+            for (int j = 0; j < cols; j++) {
+                if (intoMatrix) {
+                    data[matrixIndex + j * matrix.getColStride()] = values.get(tileIndex + j);
+                } else {
+                    values.put(tileIndex + j, data[matrixIndex + j * matrix.getColStride()]);
+                }
+            }
+        }
+    }
+
+    private void checkDimensions(final Matrix matrix) {
+        if (matrix.getNumRows() != numRows || matrix.getNumCols() != numCols) {
+            throw new IllegalArgumentException("Matrix must have the dimensions of the tile.");
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import calculus.univariate.models.linearAlgebra.EigenDecomposition;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the eigenvalues of largest magnitude, and their eigenvectors, of a large general operator
+ * with thick-restarted Arnoldi. The eigenpairs of the projected Hessenberg matrix give Ritz
+ * approximations, and the basis is restarted from an orthonormal basis of the best Ritz vectors
+ * (real and imaginary parts of complex ones) until the wanted ones have converged.
+ * Memory use is subspaceSize + 1 vectors, and every step costs one operator application.
+ */
+@Getter
+@Builder
+public class ArnoldiEigenSolver {
+
+    @Builder.Default
+    private int numEigenvalues = 6;
+
+    /**
+     * Number of basis vectors, or 0 for twice the number of eigenvalues plus 20, capped to the size of the operator
+     */
+    @Builder.Default
+    private int subspaceSize = 0;
+
+    /**
+     * Residual norm of the Ritz pairs, relative to the largest Ritz value in magnitude, under which they have converged
+     */
+    @Builder.Default
+    private double tolerance = 1e-10;
+
+    @Builder.Default
+    private int maxRestarts = 300;
+
+    /**
+     * Seed of the random start vector
+     */
+    @Builder.Default
+    private long seed = 42;
+
+    /**
+     * Called after every restart with the largest relative residual of the wanted Ritz pairs, when set
+     */
+    private ResidualCallback callback;
+
+    /**
+     * @param operator -> a square operator
+     * @param size -> the dimension of the operator
+     */
+    public EigenResult solve(final LinearOperator operator, final int size) {
+        final int k = numEigenvalues;
+        final int m = Math.min(size, subspaceSize > 0 ? subspaceSize : 2 * k + 20);
+        if (k < 1 || k > size || (m <= k + 1 && m < size)) {
+            throw new IllegalArgumentException("Number of eigenvalues must be positive, and smaller than the subspace size minus one.");
+        }
+
+        final ArnoldiProcess process = new ArnoldiProcess(size, m, seed);
+        int kept = 0;
+        for (int restart = 0; ; restart++) {
+            process.expand(operator, kept);
+            final EigenDecomposition ritz = EigenDecomposition.of(process.projection());
+            final double[] re = ritz.getRealEigenvalues();
+            final double[] im = ritz.getImaginaryEigenvalues();
+            final double[][] y = ritz.getEigenvectors().getBody();
+            normalize(y, im);
+            final List<int[]> groups = wantedGroups(re, im);
+
+            double scale = 0.0;
+            for (int j = 0; j < m; j++) {
+                scale = Math.max(scale, Math.hypot(re[j], im[j]));
+            }
+            double worst = 0.0;
+            int counted = 0;
+            for (final int[] group : groups) {
+                if (counted >= k) {
+                    break;
+                }
+                final int j = group[0];
+                final double last = group.length == 2 ? Math.hypot(y[m - 1][j], y[m - 1][j + 1]) : Math.abs(y[m - 1][j]);
+                final double residual = Math.abs(process.residualNorm()) * last;
+                worst = Math.max(worst, scale == 0.0 ? residual : residual / scale);
+                counted += group.length;
+            }
+            if (callback != null) {
+                callback.onIteration(restart, worst);
+            }
+
+            if (worst <= tolerance || restart >= maxRestarts || m == size) {
+                return result(process, groups, re, im, y, size, k, worst <= tolerance, restart);
+            }
+            // Orthonormal basis of the real and imaginary parts of the best Ritz vectors
+            final int target = k + (m - k) / 2;
+            final double[][] q = new double[m][m];
+            kept = 0;
+            for (final int[] group : groups) {
+                if (kept + group.length > Math.min(target, m - 1)) {
+                    break;
+                }
+                for (final int j : group) {
+                    kept += orthonormalize(q, kept, y, j) ? 1 : 0;
+                }
+            }
+            process.restart(q, kept);
+        }
+    }
+
+    private static EigenResult result(final ArnoldiProcess process, final List<int[]> groups, final double[] re, final double[] im,
+                                      final double[][] y, final int size, final int k, final boolean converged, final int restarts) {
+        final double[] eigenvalues = new double[k];
+        final double[] imaginaryParts = new double[k];
+        final Matrix vectors = new Matrix("V", size, k);
+        final double[] vector = new double[size];
+        int c = 0;
+        for (final int[] group : groups) {
+            for (int g = 0; g < group.length && c < k; g++, c++) {
+                final int j = group[g];
+                eigenvalues[c] = re[j];
+                imaginaryParts[c] = im[j];
+                process.combine(y, j, vector);
+                for (int i = 0; i < size; i++) {
+                    vectors.set(i, c, vector[i]);
+                }
+            }
+            if (c >= k) {
+                break;
+            }
+        }
+        return new EigenResult(eigenvalues, imaginaryParts, vectors, converged, restarts, process.getOperatorApplications());
+    }
+
+    /**
+     * Groups the eigenvalues as real ones and conjugate pairs, by decreasing magnitude
+     */
+    private static List<int[]> wantedGroups(final double[] re, final double[] im) {
+        final List<int[]> groups = new ArrayList<>();
+        for (int j = 0; j < re.length; j++) {
+            if (im[j] > 0 && j + 1 < re.length) {
+                groups.add(new int[] {j, j + 1});
+                j++;
+            } else {
+                groups.add(new int[] {j});
+            }
+        }
+        groups.sort(Comparator.comparingDouble(group -> -Math.hypot(re[group[0]], im[group[0]])));
+        return groups;
+    }
+
+    /**
+     * Scales the eigenvectors, complex ones as pairs of columns, to unit norm
+     */
+    private static void normalize(final double[][] y, final double[] im) {
+        final int m = im.length;
+        for (int j = 0; j < m; j++) {
+            final int width = im[j] > 0 && j + 1 < m ? 2 : 1;
+            double sum = 0.0;
+            for (int i = 0; i < m; i++) {
+                for (int c = j; c < j + width; c++) {
+                    sum += y[i][c] * y[i][c];
+                }
+            }
+            final double norm = Math.sqrt(sum);
+            if (norm > 0.0) {
+                for (int i = 0; i < m; i++) {
+                    for (int c = j; c < j + width; c++) {
+                        y[i][c] /= norm;
+                    }
+                }
+            }
+            j += width - 1;
+        }
+    }
+
+    /**
+     * Orthonormalizes column j of y against the first `count` columns of q, and stores it as column count
+     * @return whether the column was independent of the previous ones
+     */
+    private static boolean orthonormalize(final double[][] q, final int count, final double[][] y, final int j) {
+        final int m = q.length;
+        for (int i = 0; i < m; i++) {
+            q[i][count] = y[i][j];
+        }
+        for (int pass = 0; pass < 2; pass++) {
+            for (int c = 0; c < count; c++) {
+                double dot = 0.0;
+                for (int i = 0; i < m; i++) {
+                    dot += q[i][c] * q[i][count];
+                }
+                for (int i = 0; i < m; i++) {
+                    q[i][count] -= dot * q[i][c];
+                }
+            }
+        }
+        double norm = 0.0;
+        for (int i = 0; i < m; i++) {
+            norm += q[i][count] * q[i][count];
+        }
+        norm = Math.sqrt(norm);
+        if (norm < 1e-10) {
+            return false;
+        }
+        for (int i = 0; i < m; i++) {
+            q[i][count] /= norm;
+        }
+        return true;
+    }
+}
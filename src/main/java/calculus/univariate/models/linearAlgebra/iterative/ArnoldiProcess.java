@@ -0,0 +1,168 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Orthonormal Krylov basis V of up to m + 1 vectors, with the projection H such that
+ * A * V(0:m) = V(0:m+1) * H. Every new vector is orthogonalized twice against the whole basis
+ * (classical Gram-Schmidt with reorthogonalization), so the basis stays orthogonal to working
+ * precision, and for symmetric operators H is the symmetric tridiagonal matrix of Lanczos.
+ * The basis can be restarted from any orthonormal combination Q of its columns spanning an
+ * invariant subspace of H, which keeps the Krylov relation (thick restart).
+ */
+final class ArnoldiProcess {
+
+    /**
+     * Residual, relative to the norm of the new vector before orthogonalization,
+     * under which the Krylov subspace is considered invariant
+     */
+    private static final double BREAKDOWN = 1e-12;
+
+    private final int n;
+    private final int m;
+    private final double[][] basis;
+    private final double[][] h;
+    private final double[] w;
+    private final double[] row;
+    private final Random random;
+    private int operatorApplications;
+
+    ArnoldiProcess(final int n, final int m, final long seed) {
+        this.n = n;
+        this.m = m;
+        basis = new double[m + 1][n];
+        h = new double[m + 1][m];
+        w = new double[n];
+        row = new double[m];
+        random = new Random(seed);
+        randomOrthogonalVector(0);
+    }
+
+    int getOperatorApplications() {
+        return operatorApplications;
+    }
+
+    /**
+     * Extends the basis from `from` vectors to m
+     */
+    void expand(final LinearOperator operator, final int from) {
+        for (int j = from; j < m; j++) {
+            operator.applyInto(basis[j], w);
+            operatorApplications++;
+            final double before = Vectors.norm(w);
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i <= j; i++) {
+                    final double coefficient = Vectors.dot(basis[i], w);
+                    h[i][j] += coefficient;
+                    Vectors.axpy(-coefficient, basis[i], w);
+                }
+            }
+            final double beta = Vectors.norm(w);
+            if (beta <= BREAKDOWN * before) {
+                // Invariant subspace: continue with any vector orthogonal to it
+                h[j + 1][j] = 0.0;
+                randomOrthogonalVector(j + 1);
+            } else {
+                h[j + 1][j] = beta;
+                for (int i = 0; i < n; i++) {
+                    basis[j + 1][i] = w[i] / beta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Norm of the part of A * V(0:m) outside the basis
+     */
+    double residualNorm() {
+        return h[m][m - 1];
+    }
+
+    /**
+     * Returns the m x m projection of the operator on the basis
+     */
+    Matrix projection() {
+        final Matrix projection = new Matrix("H", m, m);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < m; j++) {
+                projection.set(i, j, h[i][j]);
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * Restarts from V * Q, where Q (m x p, p < m) has orthonormal columns spanning an invariant subspace of H.
+     * The next call to expand should start from p.
+     */
+    void restart(final double[][] q, final int p) {
+        final double beta = residualNorm();
+        // V(0:p) = V(0:m) * Q in place, one coordinate at a time, so no second basis is needed
+        for (int i = 0; i < n; i++) {
+            for (int l = 0; l < m; l++) {
+                row[l] = basis[l][i];
+            }
+            for (int c = 0; c < p; c++) {
+                double sum = 0.0;
+                for (int l = 0; l < m; l++) {
+                    sum += row[l] * q[l][c];
+                }
+                basis[c][i] = sum;
+            }
+        }
+        final double[][] hq = new double[m][p];
+        for (int i = 0; i < m; i++) {
+            for (int c = 0; c < p; c++) {
+                double sum = 0.0;
+                for (int l = 0; l < m; l++) {
+                    sum += h[i][l] * q[l][c];
+                }
+                hq[i][c] = sum;
+            }
+        }
+        for (final double[] row : h) {
+            Arrays.fill(row, 0.0);
+        }
+        for (int r = 0; r < p; r++) {
+            for (int c = 0; c < p; c++) {
+                double sum = 0.0;
+                for (int l = 0; l < m; l++) {
+                    sum += q[l][r] * hq[l][c];
+                }
+                h[r][c] = sum;
+            }
+            h[p][r] = beta * q[m - 1][r];
+        }
+        System.arraycopy(basis[m], 0, basis[p], 0, n);
+    }
+
+    /**
+     * Writes V(0:m) * q(:, column) into the target
+     */
+    void combine(final double[][] q, final int column, final double[] target) {
+        Arrays.fill(target, 0.0);
+        for (int l = 0; l < m; l++) {
+            Vectors.axpy(q[l][column], basis[l], target);
+        }
+    }
+
+    private void randomOrthogonalVector(final int index) {
+        final double[] v = basis[index];
+        for (int i = 0; i < n; i++) {
+            v[i] = random.nextGaussian();
+        }
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < index; i++) {
+                Vectors.axpy(-Vectors.dot(basis[i], v), basis[i], v);
+            }
+        }
+        final double norm = Vectors.norm(v);
+        for (int i = 0; i < n; i++) {
+            // A zero vector only happens once the basis spans the whole space
+            v[i] = norm > BREAKDOWN ? v[i] / norm : 0.0;
+        }
+    }
+}
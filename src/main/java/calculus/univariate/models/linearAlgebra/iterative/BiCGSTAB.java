@@ -0,0 +1,91 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Right preconditioned BiCGSTAB, for general non symmetric systems.
+ * Each iteration applies the operator and the preconditioner twice.
+ */
+@Getter
+@Builder
+public class BiCGSTAB implements IterativeSolver {
+
+    /**
+     * Norm of the residual, relative to the norm of b, under which the solve stops
+     */
+    @Builder.Default
+    private double tolerance = 1e-10;
+
+    @Builder.Default
+    private int maxIterations = 1000;
+
+    @Builder.Default
+    private Preconditioner preconditioner = Preconditioner.identity();
+
+    /**
+     * Called after every iteration, when set
+     */
+    private ResidualCallback callback;
+
+    @Override
+    public SolverResult solve(final LinearOperator operator, final double[] b, final double[] x) {
+        Vectors.checkSystem(b, x);
+        final double bNorm = Vectors.norm(b);
+        if (bNorm == 0.0) {
+            Arrays.fill(x, 0.0);
+            return new SolverResult(true, 0, 0.0);
+        }
+        final int n = b.length;
+        final double[] r = new double[n];
+        final double[] shadow = new double[n];
+        final double[] p = new double[n];
+        final double[] v = new double[n];
+        final double[] preconditioned = new double[n];
+        final double[] t = new double[n];
+
+        Vectors.residual(operator, b, x, v, r);
+        System.arraycopy(r, 0, shadow, 0, n);
+        Arrays.fill(v, 0.0);
+        double residual = Vectors.norm(r) / bNorm;
+        double rho = 1.0;
+        double alpha = 1.0;
+        double omega = 1.0;
+        int iteration = 0;
+        while (residual > tolerance && iteration < maxIterations) {
+            final double rhoNext = Vectors.dot(shadow, r);
+            if (rhoNext == 0.0 || omega == 0.0) {
+                // Breakdown: the shadow residual became orthogonal to the residual
+                break;
+            }
+            final double beta = (rhoNext / rho) * (alpha / omega);
+            rho = rhoNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            }
+            preconditioner.applyInto(p, preconditioned);
+            operator.applyInto(preconditioned, v);
+            alpha = rho / Vectors.dot(shadow, v);
+            Vectors.axpy(alpha, preconditioned, x);
+            // r now holds s = r - alpha * v
+            Vectors.axpy(-alpha, v, r);
+            iteration++;
+            residual = Vectors.norm(r) / bNorm;
+            if (residual > tolerance) {
+                preconditioner.applyInto(r, preconditioned);
+                operator.applyInto(preconditioned, t);
+                final double tt = Vectors.dot(t, t);
+                omega = tt == 0.0 ? 0.0 : Vectors.dot(t, r) / tt;
+                Vectors.axpy(omega, preconditioned, x);
+                Vectors.axpy(-omega, t, r);
+                residual = Vectors.norm(r) / bNorm;
+            }
+            if (callback != null) {
+                callback.onIteration(iteration, residual);
+            }
+        }
+        return new SolverResult(residual <= tolerance, iteration, residual);
+    }
+}
@@ -0,0 +1,76 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Preconditioned Conjugate Gradient, for symmetric positive definite systems.
+ * The preconditioner must be symmetric positive definite as well.
+ */
+@Getter
+@Builder
+public class ConjugateGradient implements IterativeSolver {
+
+    /**
+     * Norm of the residual, relative to the norm of b, under which the solve stops
+     */
+    @Builder.Default
+    private double tolerance = 1e-10;
+
+    @Builder.Default
+    private int maxIterations = 1000;
+
+    @Builder.Default
+    private Preconditioner preconditioner = Preconditioner.identity();
+
+    /**
+     * Called after every iteration, when set
+     */
+    private ResidualCallback callback;
+
+    @Override
+    public SolverResult solve(final LinearOperator operator, final double[] b, final double[] x) {
+        Vectors.checkSystem(b, x);
+        final double bNorm = Vectors.norm(b);
+        if (bNorm == 0.0) {
+            Arrays.fill(x, 0.0);
+            return new SolverResult(true, 0, 0.0);
+        }
+        final int n = b.length;
+        final double[] r = new double[n];
+        final double[] z = new double[n];
+        final double[] p = new double[n];
+        final double[] ap = new double[n];
+
+        Vectors.residual(operator, b, x, ap, r);
+        double residual = Vectors.norm(r) / bNorm;
+        preconditioner.applyInto(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rz = Vectors.dot(r, z);
+        int iteration = 0;
+        while (residual > tolerance && iteration < maxIterations) {
+            operator.applyInto(p, ap);
+            final double alpha = rz / Vectors.dot(p, ap);
+            Vectors.axpy(alpha, p, x);
+            Vectors.axpy(-alpha, ap, r);
+            residual = Vectors.norm(r) / bNorm;
+            iteration++;
+            if (callback != null) {
+                callback.onIteration(iteration, residual);
+            }
+            if (residual <= tolerance) {
+                break;
+            }
+            preconditioner.applyInto(r, z);
+            final double rzNext = Vectors.dot(r, z);
+            final double beta = rzNext / rz;
+            rz = rzNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+        return new SolverResult(residual <= tolerance, iteration, residual);
+    }
+}
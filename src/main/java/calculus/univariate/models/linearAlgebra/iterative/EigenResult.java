@@ -0,0 +1,29 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import lombok.Getter;
+
+/**
+ * Eigenpairs found by a Krylov eigensolver, wanted ones first.
+ * For complex eigenvalues, which come in conjugate pairs, the eigenvector columns hold the real
+ * and imaginary parts of the eigenvector of the eigenvalue with a positive imaginary part.
+ */
+@Getter
+public class EigenResult {
+    private final double[] eigenvalues;
+    private final double[] imaginaryParts;
+    private final Matrix eigenvectors;
+    private final boolean converged;
+    private final int restarts;
+    private final int operatorApplications;
+
+    public EigenResult(final double[] eigenvalues, final double[] imaginaryParts, final Matrix eigenvectors,
+                       final boolean converged, final int restarts, final int operatorApplications) {
+        this.eigenvalues = eigenvalues;
+        this.imaginaryParts = imaginaryParts;
+        this.eigenvectors = eigenvectors;
+        this.converged = converged;
+        this.restarts = restarts;
+        this.operatorApplications = operatorApplications;
+    }
+}
@@ -0,0 +1,143 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Restarted, right preconditioned GMRES, for general non symmetric systems.
+ * A Krylov basis of up to restart vectors is built by Arnoldi iteration with modified Gram-Schmidt,
+ * and the least squares problem is kept triangular with Givens rotations, so that the residual
+ * norm is known at every iteration without forming x. The basis takes restart + 1 vectors of memory.
+ */
+@Getter
+@Builder
+public class GMRES implements IterativeSolver {
+
+    /**
+     * Norm of the residual, relative to the norm of b, under which the solve stops
+     */
+    @Builder.Default
+    private double tolerance = 1e-10;
+
+    /**
+     * Maximum total number of iterations, over all restarts
+     */
+    @Builder.Default
+    private int maxIterations = 1000;
+
+    /**
+     * Number of iterations after which the basis is discarded and the solve restarted from the current x
+     */
+    @Builder.Default
+    private int restart = 30;
+
+    @Builder.Default
+    private Preconditioner preconditioner = Preconditioner.identity();
+
+    /**
+     * Called after every iteration, when set
+     */
+    private ResidualCallback callback;
+
+    @Override
+    public SolverResult solve(final LinearOperator operator, final double[] b, final double[] x) {
+        Vectors.checkSystem(b, x);
+        if (restart < 1) {
+            throw new IllegalArgumentException("Restart length must be positive.");
+        }
+        final double bNorm = Vectors.norm(b);
+        if (bNorm == 0.0) {
+            Arrays.fill(x, 0.0);
+            return new SolverResult(true, 0, 0.0);
+        }
+        final int n = b.length;
+        final int m = restart;
+        final double[][] basis = new double[m + 1][n];
+        final double[][] hessenberg = new double[m + 1][m];
+        final double[] cosines = new double[m];
+        final double[] sines = new double[m];
+        final double[] g = new double[m + 1];
+        final double[] y = new double[m];
+        final double[] w = new double[n];
+        final double[] z = new double[n];
+
+        int iteration = 0;
+        double residual;
+        while (true) {
+            Vectors.residual(operator, b, x, w, basis[0]);
+            final double beta = Vectors.norm(basis[0]);
+            residual = beta / bNorm;
+            if (residual <= tolerance || iteration >= maxIterations) {
+                break;
+            }
+            scale(1.0 / beta, basis[0]);
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+
+            int size = 0;
+            while (size < m && iteration < maxIterations) {
+                final int j = size++;
+                preconditioner.applyInto(basis[j], z);
+                operator.applyInto(z, w);
+                for (int i = 0; i <= j; i++) {
+                    final double h = Vectors.dot(w, basis[i]);
+                    hessenberg[i][j] = h;
+                    Vectors.axpy(-h, basis[i], w);
+                }
+                final double norm = Vectors.norm(w);
+                hessenberg[j + 1][j] = norm;
+                if (norm != 0.0) {
+                    System.arraycopy(w, 0, basis[j + 1], 0, n);
+                    scale(1.0 / norm, basis[j + 1]);
+                }
+
+                for (int i = 0; i < j; i++) {
+                    final double upper = hessenberg[i][j];
+                    final double lower = hessenberg[i + 1][j];
+                    hessenberg[i][j] = cosines[i] * upper + sines[i] * lower;
+                    hessenberg[i + 1][j] = -sines[i] * upper + cosines[i] * lower;
+                }
+                final double radius = Math.hypot(hessenberg[j][j], hessenberg[j + 1][j]);
+                cosines[j] = radius == 0.0 ? 1.0 : hessenberg[j][j] / radius;
+                sines[j] = radius == 0.0 ? 0.0 : hessenberg[j + 1][j] / radius;
+                hessenberg[j][j] = radius;
+                hessenberg[j + 1][j] = 0.0;
+                g[j + 1] = -sines[j] * g[j];
+                g[j] = cosines[j] * g[j];
+
+                iteration++;
+                residual = Math.abs(g[j + 1]) / bNorm;
+                if (callback != null) {
+                    callback.onIteration(iteration, residual);
+                }
+                if (residual <= tolerance || norm == 0.0) {
+                    break;
+                }
+            }
+
+            // x += M^-1 * V * y, where H * y = g
+            for (int i = size - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int k = i + 1; k < size; k++) {
+                    sum -= hessenberg[i][k] * y[k];
+                }
+                y[i] = hessenberg[i][i] == 0.0 ? 0.0 : sum / hessenberg[i][i];
+            }
+            Arrays.fill(w, 0.0);
+            for (int i = 0; i < size; i++) {
+                Vectors.axpy(y[i], basis[i], w);
+            }
+            preconditioner.applyInto(w, z);
+            Vectors.axpy(1.0, z, x);
+        }
+        return new SolverResult(residual <= tolerance, iteration, residual);
+    }
+
+    private static void scale(final double alpha, final double[] x) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] *= alpha;
+        }
+    }
+}
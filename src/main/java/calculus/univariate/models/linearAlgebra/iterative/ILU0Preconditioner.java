@@ -0,0 +1,86 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Incomplete LU preconditioner with zero fill-in: M = L * U, where L (unit diagonal) and U
+ * are restricted to the non-zero pattern of A. Both factors are kept in one copy of the
+ * values of A in CSR format, so M takes as much memory as A.
+ */
+public class ILU0Preconditioner implements Preconditioner {
+
+    private final int[] pointers;
+    private final int[] indices;
+    private final double[] factors;
+    private final int[] diagonal;
+
+    /**
+     * Factors a square sparse matrix, which must have non-zeros on its whole diagonal
+     */
+    public ILU0Preconditioner(final SparseMatrix matrix) {
+        if (matrix.getNumRows() != matrix.getNumCols()) {
+            throw new IllegalArgumentException("ILU(0) requires a square matrix.");
+        }
+        final SparseMatrix csr = matrix.toCsr();
+        final int n = csr.getNumRows();
+        pointers = csr.getPointers();
+        indices = csr.getIndices();
+        factors = csr.getValues().clone();
+        diagonal = new int[n];
+        for (int i = 0; i < n; i++) {
+            diagonal[i] = Arrays.binarySearch(indices, pointers[i], pointers[i + 1], i);
+            if (diagonal[i] < 0) {
+                throw new IllegalArgumentException("ILU(0) requires every diagonal entry to be stored.");
+            }
+        }
+
+        // Position of every column in the current row, or -1
+        final int[] positions = new int[n];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < n; i++) {
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                positions[indices[p]] = p;
+            }
+            for (int p = pointers[i]; p < diagonal[i]; p++) {
+                final int k = indices[p];
+                final double lik = factors[p] / factors[diagonal[k]];
+                factors[p] = lik;
+                for (int q = diagonal[k] + 1; q < pointers[k + 1]; q++) {
+                    final int position = positions[indices[q]];
+                    if (position >= 0) {
+                        factors[position] -= lik * factors[q];
+                    }
+                }
+            }
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                positions[indices[p]] = -1;
+            }
+            if (factors[diagonal[i]] == 0.0) {
+                throw new IllegalArgumentException("ILU(0) broke down on a zero pivot.");
+            }
+        }
+    }
+
+    @Override
+    public void applyInto(final double[] r, final double[] z) {
+        final int n = diagonal.length;
+        // L * y = r, with y stored in z
+        for (int i = 0; i < n; i++) {
+            double sum = r[i];
+            for (int p = pointers[i]; p < diagonal[i]; p++) {
+                sum -= factors[p] * z[indices[p]];
+            }
+            z[i] = sum;
+        }
+        // U * z = y
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = z[i];
+            for (int p = diagonal[i] + 1; p < pointers[i + 1]; p++) {
+                sum -= factors[p] * z[indices[p]];
+            }
+            z[i] = sum / factors[diagonal[i]];
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+/**
+ * Iterative solver of square linear systems A * x = b.
+ * Work vectors are allocated once per solve, so iterations allocate nothing beyond
+ * what the operator and the preconditioner do.
+ */
+public interface IterativeSolver {
+
+    /**
+     * Solves A * x = b until the residual norm, relative to the norm of b, is under the tolerance
+     * @param x -> the initial guess, overwritten with the solution
+     * @return whether the solve converged, after how many iterations, and the final relative residual
+     */
+    SolverResult solve(LinearOperator operator, double[] b, double[] x);
+}
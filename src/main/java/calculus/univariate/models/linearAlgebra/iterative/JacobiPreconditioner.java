@@ -0,0 +1,47 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+
+/**
+ * Jacobi preconditioner: M is the diagonal of A
+ */
+public class JacobiPreconditioner implements Preconditioner {
+
+    private final double[] inverseDiagonal;
+
+    /**
+     * @param diagonal -> the diagonal of A, without zeros
+     */
+    public JacobiPreconditioner(final double[] diagonal) {
+        inverseDiagonal = new double[diagonal.length];
+        for (int i = 0; i < diagonal.length; i++) {
+            if (diagonal[i] == 0.0) {
+                throw new IllegalArgumentException("Jacobi preconditioner requires a diagonal without zeros.");
+            }
+            inverseDiagonal[i] = 1.0 / diagonal[i];
+        }
+    }
+
+    public static JacobiPreconditioner of(final SparseMatrix matrix) {
+        return new JacobiPreconditioner(matrix.getDiagonal());
+    }
+
+    public static JacobiPreconditioner of(final Matrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("Diagonal requires a square matrix.");
+        }
+        final double[] diagonal = new double[matrix.getNumRows()];
+        for (int i = 0; i < diagonal.length; i++) {
+            diagonal[i] = matrix.get(i, i);
+        }
+        return new JacobiPreconditioner(diagonal);
+    }
+
+    @Override
+    public void applyInto(final double[] r, final double[] z) {
+        for (int i = 0; i < r.length; i++) {
+            z[i] = inverseDiagonal[i] * r[i];
+        }
+    }
+}
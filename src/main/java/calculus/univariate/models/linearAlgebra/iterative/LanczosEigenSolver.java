@@ -0,0 +1,133 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SymmetricEigenDecomposition;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Finds a few eigenpairs of a large symmetric operator with thick-restarted Lanczos.
+ * A Krylov basis of subspaceSize vectors is built (with full reorthogonalization), the eigenpairs of
+ * the projected tridiagonal matrix give Ritz approximations, and the basis is restarted from the best
+ * half of the Ritz vectors until the wanted ones have converged, in place. Memory use is the
+ * subspaceSize + 1 basis vectors and one work vector, and every step costs one operator application.
+ */
+@Getter
+@Builder
+public class LanczosEigenSolver {
+
+    public enum Target {
+        LARGEST, SMALLEST, LARGEST_MAGNITUDE
+    }
+
+    @Builder.Default
+    private int numEigenvalues = 6;
+
+    /**
+     * Number of basis vectors, or 0 for twice the number of eigenvalues plus 20, capped to the size of the operator
+     */
+    @Builder.Default
+    private int subspaceSize = 0;
+
+    /**
+     * Residual norm of the Ritz pairs, relative to the largest Ritz value, under which they have converged
+     */
+    @Builder.Default
+    private double tolerance = 1e-10;
+
+    @Builder.Default
+    private int maxRestarts = 300;
+
+    @Builder.Default
+    private Target target = Target.LARGEST;
+
+    /**
+     * Seed of the random start vector
+     */
+    @Builder.Default
+    private long seed = 42;
+
+    /**
+     * Called after every restart with the largest relative residual of the wanted Ritz pairs, when set
+     */
+    private ResidualCallback callback;
+
+    /**
+     * @param operator -> a symmetric operator
+     * @param size -> the dimension of the operator
+     */
+    public EigenResult solve(final LinearOperator operator, final int size) {
+        final int k = numEigenvalues;
+        final int m = Math.min(size, subspaceSize > 0 ? subspaceSize : 2 * k + 20);
+        if (k < 1 || k > size || (m <= k && m < size)) {
+            throw new IllegalArgumentException("Number of eigenvalues must be positive, and smaller than the subspace size.");
+        }
+
+        final ArnoldiProcess process = new ArnoldiProcess(size, m, seed);
+        int kept = 0;
+        for (int restart = 0; ; restart++) {
+            process.expand(operator, kept);
+            final Matrix projection = process.projection();
+            final SymmetricEigenDecomposition ritz = SymmetricEigenDecomposition.of(projection.add(projection.transposeView()).multiply(0.5));
+            final double[] theta = ritz.getEigenvalues();
+            final double[][] s = ritz.getEigenvectors().getBody();
+            final int[] order = wantedOrder(theta);
+
+            double scale = 0.0;
+            for (final double value : theta) {
+                scale = Math.max(scale, Math.abs(value));
+            }
+            double worst = 0.0;
+            for (int c = 0; c < k; c++) {
+                final double residual = Math.abs(process.residualNorm() * s[m - 1][order[c]]);
+                worst = Math.max(worst, scale == 0.0 ? residual : residual / scale);
+            }
+            if (callback != null) {
+                callback.onIteration(restart, worst);
+            }
+
+            final double[][] q = new double[m][];
+            for (int l = 0; l < m; l++) {
+                q[l] = new double[m];
+                for (int c = 0; c < m; c++) {
+                    q[l][c] = s[l][order[c]];
+                }
+            }
+            if (worst <= tolerance || restart >= maxRestarts || m == size) {
+                final Matrix vectors = new Matrix("V", size, k);
+                final double[] eigenvalues = new double[k];
+                final double[] vector = new double[size];
+                for (int c = 0; c < k; c++) {
+                    eigenvalues[c] = theta[order[c]];
+                    process.combine(q, c, vector);
+                    for (int i = 0; i < size; i++) {
+                        vectors.set(i, c, vector[i]);
+                    }
+                }
+                return new EigenResult(eigenvalues, new double[k], vectors, worst <= tolerance, restart, process.getOperatorApplications());
+            }
+            kept = Math.min(m - 1, k + (m - k) / 2);
+            process.restart(q, kept);
+        }
+    }
+
+    private int[] wantedOrder(final double[] ascending) {
+        final int m = ascending.length;
+        switch (target) {
+            case SMALLEST:
+                return IntStream.range(0, m).toArray();
+            case LARGEST_MAGNITUDE:
+                return IntStream.range(0, m).boxed()
+                        .sorted(Comparator.comparingDouble(i -> -Math.abs(ascending[i])))
+                        .mapToInt(Integer::intValue).toArray();
+            default:
+                final int[] order = new int[m];
+                Arrays.setAll(order, i -> m - 1 - i);
+                return order;
+        }
+    }
+}
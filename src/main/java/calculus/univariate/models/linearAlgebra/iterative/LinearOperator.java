@@ -0,0 +1,33 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+
+/**
+ * Square linear map y = A * x, given by a dense or sparse matrix, or by any function
+ * computing the product without storing A (matrix-free).
+ * Implementations write into y, which is never x, and should not allocate,
+ * as they are called once or twice per iteration of the iterative solvers.
+ */
+@FunctionalInterface
+public interface LinearOperator {
+
+    /**
+     * Writes A * x into y
+     */
+    void applyInto(double[] x, double[] y);
+
+    static LinearOperator of(final Matrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("Linear operator requires a square matrix.");
+        }
+        return matrix::multiplyInto;
+    }
+
+    static LinearOperator of(final SparseMatrix matrix) {
+        if (matrix.getNumRows() != matrix.getNumCols()) {
+            throw new IllegalArgumentException("Linear operator requires a square matrix.");
+        }
+        return matrix::multiplyInto;
+    }
+}
@@ -0,0 +1,21 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+/**
+ * Approximation M of the matrix A of a system, cheap to invert,
+ * used to speed up the convergence of the iterative solvers
+ */
+@FunctionalInterface
+public interface Preconditioner {
+
+    /**
+     * Writes M^-1 * r into z, which is never r
+     */
+    void applyInto(double[] r, double[] z);
+
+    /**
+     * Returns the preconditioner M = I, that is no preconditioning
+     */
+    static Preconditioner identity() {
+        return (r, z) -> System.arraycopy(r, 0, z, 0, r.length);
+    }
+}
@@ -0,0 +1,14 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+/**
+ * Called by the iterative solvers after every iteration
+ */
+@FunctionalInterface
+public interface ResidualCallback {
+
+    /**
+     * @param iteration -> number of iterations done so far
+     * @param relativeResidual -> norm of the residual b - A * x, relative to the norm of b
+     */
+    void onIteration(int iteration, double relativeResidual);
+}
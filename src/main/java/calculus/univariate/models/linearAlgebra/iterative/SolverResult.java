@@ -0,0 +1,23 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import lombok.Getter;
+
+/**
+ * Outcome of an iterative solve. The solution itself is written into the given initial guess.
+ */
+@Getter
+public class SolverResult {
+    private final boolean converged;
+    private final int iterations;
+    private final double relativeResidual;
+
+    public SolverResult(final boolean converged, final int iterations, final double relativeResidual) {
+        this.converged = converged;
+        this.iterations = iterations;
+        this.relativeResidual = relativeResidual;
+    }
+
+    public String toString() {
+        return (converged ? "Converged" : "Did not converge") + " after " + iterations + " iterations, relative residual " + relativeResidual;
+    }
+}
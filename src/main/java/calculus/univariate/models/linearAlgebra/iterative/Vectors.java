@@ -0,0 +1,56 @@
+package calculus.univariate.models.linearAlgebra.iterative;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Level one operations on dense vectors, in place, shared by the iterative linear solvers and the nonlinear solvers
+ */
+@UtilityClass
+public class Vectors {
+
+    public static double dot(final double[] x, final double[] y) {
+        double sum = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    public static double norm(final double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    /**
+     * y += alpha * x
+     */
+    public static void axpy(final double alpha, final double[] x, final double[] y) {
+        for (int i = 0; i < x.length; i++) {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    /**
+     * result = x + alpha * y
+     */
+    public static void addScaled(final double[] x, final double alpha, final double[] y, final double[] result) {
+        for (int i = 0; i < x.length; i++) {
+            result[i] = x[i] + alpha * y[i];
+        }
+    }
+
+    /**
+     * r = b - A * x, using Ax as scratch for the product
+     */
+    static void residual(final LinearOperator operator, final double[] b, final double[] x, final double[] ax, final double[] r) {
+        operator.applyInto(x, ax);
+        for (int i = 0; i < b.length; i++) {
+            r[i] = b[i] - ax[i];
+        }
+    }
+
+    static void checkSystem(final double[] b, final double[] x) {
+        if (b.length != x.length || b.length == 0) {
+            throw new IllegalArgumentException("Right-hand side and initial guess must have the same, non zero, length.");
+        }
+    }
+}
@@ -2,8 +2,9 @@ package calculus.univariate.models.numberUtils;
 
 import lombok.Getter;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 
 /**
  * A class representing a range of numbers
@@ -246,20 +247,23 @@ public class Range implements Comparable {
      * @param precision - difference between two consecutive values
      */
     public List<Double> toList(final double precision) {
-        final List<Double> list = new ArrayList<>();
-        if (includeLowerBound) {
-            list.add(lowerBound);
-        }
-
-        for (double i = lowerBound + precision; i < upperBound; i += precision) {
-            list.add(i);
-        }
+        return stream(precision).boxed().collect(Collectors.toList());
+    }
 
-        if (includeUpperBound) {
-            list.add(upperBound);
-        }
+    /**
+     * @return a lazy sampler of the values in this range, see {@link RangeSampler}
+     * @param precision - difference between two consecutive values
+     */
+    public RangeSampler sampler(final double precision) {
+        return new RangeSampler(this, precision);
+    }
 
-        return list;
+    /**
+     * @return a lazy stream of the same values as {@link #toList(double)}
+     * @param precision - difference between two consecutive values
+     */
+    public DoubleStream stream(final double precision) {
+        return sampler(precision).stream();
     }
 
     /**
@@ -0,0 +1,194 @@
+package calculus.univariate.models.numberUtils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy sequence of evenly spaced samples of a bounded Range.
+ * The k-th sample is computed directly as lowerBound + k * step, so values do not drift
+ * and no sample is stored: the sequence can hold billions of values.
+ * The bounds are only part of the sequence when the range includes them,
+ * in which case the upper bound is always the last sample.
+ */
+public final class RangeSampler {
+
+    private final double lowerBound;
+    private final double upperBound;
+    private final double step;
+
+    /**
+     * Indices of the first and last samples. Index k maps to lowerBound + k * step,
+     * except for the index after lastInterior which maps to the upper bound.
+     */
+    private final long firstIndex;
+    private final long lastIndex;
+    private final long lastInterior;
+
+    /**
+     * Creates a sampler over a range
+     * @param range - the range to sample, which must be bounded
+     * @param step - difference between two consecutive samples
+     */
+    public RangeSampler(final Range range, final double step) {
+        if (Double.isInfinite(range.getLowerBound()) || Double.isInfinite(range.getUpperBound())) {
+            throw new IllegalArgumentException("Cannot sample an unbounded range!");
+        }
+        if (!(step > 0) || Double.isInfinite(step)) {
+            throw new IllegalArgumentException("Sampling step must be positive and finite!");
+        }
+        this.lowerBound = range.getLowerBound();
+        this.upperBound = range.getUpperBound();
+        this.step = step;
+        this.lastInterior = lastInteriorIndex();
+        this.firstIndex = range.isIncludeLowerBound() ? 0 : 1;
+        this.lastIndex = lastInterior + (range.isIncludeUpperBound() && upperBound > lowerBound ? 1 : 0);
+    }
+
+    /**
+     * Returns the largest k such that lowerBound + k * step is strictly below the upper bound
+     */
+    private long lastInteriorIndex() {
+        final double estimate = Math.ceil((upperBound - lowerBound) / step) - 1;
+        if (estimate >= Long.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Too many samples requested!");
+        }
+        long k = Math.max(0, (long) estimate);
+        // Correct the rounding error of the estimate
+        while (lowerBound + (k + 1) * step < upperBound) {
+            k++;
+        }
+        while (k > 0 && lowerBound + k * step >= upperBound) {
+            k--;
+        }
+        return k;
+    }
+
+    /**
+     * Returns the number of samples
+     */
+    public long size() {
+        return Math.max(0, lastIndex - firstIndex + 1);
+    }
+
+    /**
+     * Returns the i-th sample
+     */
+    public double get(final long i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Sample index out of range: " + i);
+        }
+        return valueAt(firstIndex + i);
+    }
+
+    private double valueAt(final long k) {
+        return k > lastInterior ? upperBound : lowerBound + k * step;
+    }
+
+    /**
+     * Returns a sequential stream of the samples
+     */
+    public DoubleStream stream() {
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream of the samples
+     */
+    public DoubleStream parallelStream() {
+        return StreamSupport.doubleStream(spliterator(), true);
+    }
+
+    /**
+     * Returns a spliterator over the samples, which splits in halves by index
+     */
+    public Spliterator.OfDouble spliterator() {
+        return new SampleSpliterator(firstIndex, lastIndex + 1);
+    }
+
+    /**
+     * Returns an iterator over consecutive blocks of samples.
+     * The last block may be shorter than the others.
+     * @param chunkSize - number of samples per block
+     */
+    public Iterator<double[]> chunks(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        }
+        return new Iterator<>() {
+            private long next = firstIndex;
+
+            @Override
+            public boolean hasNext() {
+                return next <= lastIndex;
+            }
+
+            @Override
+            public double[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final double[] chunk = new double[(int) Math.min(chunkSize, lastIndex - next + 1)];
+                for (int i = 0; i < chunk.length; i++) {
+                    chunk[i] = valueAt(next + i);
+                }
+                next += chunk.length;
+                return chunk;
+            }
+        };
+    }
+
+    /**
+     * Spliterator over the sample indices [from, to)
+     */
+    private final class SampleSpliterator implements Spliterator.OfDouble {
+        private long from;
+        private final long to;
+
+        private SampleSpliterator(final long from, final long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            final long mid = (from + to) >>> 1;
+            if (mid <= from) {
+                return null;
+            }
+            final SampleSpliterator prefix = new SampleSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(valueAt(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final DoubleConsumer action) {
+            for (long k = from; k < to; k++) {
+                action.accept(valueAt(k));
+            }
+            from = to;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.max(0, to - from);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package calculus.univariate.models.numberUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable set of real numbers, stored as a sorted list of disjoint ranges.
+ * Bounds are kept in primitive arrays, and ranges that overlap or touch are always coalesced,
+ * so membership tests are O(log n) and union, intersection and complement are linear.
+ */
+public final class RangeSet {
+
+    private static final RangeSet EMPTY = new RangeSet(new double[0], new double[0], new boolean[0], new boolean[0]);
+
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final boolean[] includeLowerBounds;
+    private final boolean[] includeUpperBounds;
+
+    private RangeSet(final double[] lowerBounds, final double[] upperBounds,
+                     final boolean[] includeLowerBounds, final boolean[] includeUpperBounds) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.includeLowerBounds = includeLowerBounds;
+        this.includeUpperBounds = includeUpperBounds;
+    }
+
+    /**
+     * Returns the empty set
+     */
+    public static RangeSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the set of all Double values
+     */
+    public static RangeSet all() {
+        return of(Range.all());
+    }
+
+    /**
+     * Returns the set of all values in the given ranges
+     * @param ranges - the ranges to include, in any order, possibly overlapping
+     */
+    public static RangeSet of(final Range... ranges) {
+        return of(Arrays.asList(ranges));
+    }
+
+    /**
+     * Returns the set of all values in the given ranges
+     * @param ranges - the ranges to include, in any order, possibly overlapping; null ranges are skipped
+     */
+    public static RangeSet of(final Collection<Range> ranges) {
+        final Range[] sorted = ranges.stream().filter(Objects::nonNull).toArray(Range[]::new);
+        Arrays.sort(sorted);
+        final Builder builder = new Builder(sorted.length);
+        for (final Range range : sorted) {
+            builder.add(range.getLowerBound(), range.getUpperBound(), range.isIncludeLowerBound(), range.isIncludeUpperBound());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of disjoint ranges in this set
+     */
+    public int size() {
+        return lowerBounds.length;
+    }
+
+    /**
+     * Returns whether this set contains no value
+     */
+    public boolean isEmpty() {
+        return lowerBounds.length == 0;
+    }
+
+    /**
+     * Returns the i-th range of this set, in ascending order
+     */
+    public Range getRange(final int i) {
+        return new Range(lowerBounds[i], upperBounds[i], includeLowerBounds[i], includeUpperBounds[i]);
+    }
+
+    /**
+     * Returns the disjoint ranges of this set, in ascending order
+     */
+    public List<Range> toList() {
+        final List<Range> ranges = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            ranges.add(getRange(i));
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns whether this set includes a value
+     * @param value - the value to check
+     * @return true when the value is included in this set
+     *       false otherwise
+     */
+    public boolean includes(final double value) {
+        if (isEmpty() || Double.isNaN(value)) {
+            return false;
+        } else if (value == Double.POSITIVE_INFINITY) {
+            return upperBounds[size() - 1] == Double.POSITIVE_INFINITY;
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            return lowerBounds[0] == Double.NEGATIVE_INFINITY;
+        }
+
+        final int i = lastLowerBoundAtMost(value);
+        return i >= 0 && contains(i, value);
+    }
+
+    /**
+     * Returns whether this set includes all the values in a range
+     * @param range - the range to check
+     */
+    public boolean includes(final Range range) {
+        final int i = lastLowerBoundAtMost(range.getLowerBound());
+        if (i < 0) {
+            return false;
+        }
+        final boolean lowerIncluded = lowerBounds[i] < range.getLowerBound() || includeLowerBounds[i] || !range.isIncludeLowerBound();
+        final boolean upperIncluded = range.getUpperBound() < upperBounds[i]
+                || (range.getUpperBound() == upperBounds[i] && (includeUpperBounds[i] || !range.isIncludeUpperBound()));
+        return lowerIncluded && upperIncluded;
+    }
+
+    /**
+     * Returns the set of values in this set or in the other set
+     */
+    public RangeSet union(final RangeSet other) {
+        final Builder builder = new Builder(this.size() + other.size());
+        int i = 0;
+        int j = 0;
+        while (i < this.size() || j < other.size()) {
+            // Pick the range starting first, an included bound starting before an excluded one
+            final boolean takeThis = j == other.size() || (i < this.size() && startsBefore(this, i, other, j));
+            if (takeThis) {
+                builder.add(lowerBounds[i], upperBounds[i], includeLowerBounds[i], includeUpperBounds[i]);
+                i++;
+            } else {
+                builder.add(other.lowerBounds[j], other.upperBounds[j], other.includeLowerBounds[j], other.includeUpperBounds[j]);
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the set of values both in this set and in the other set
+     */
+    public RangeSet intersection(final RangeSet other) {
+        final Builder builder = new Builder(Math.max(this.size(), other.size()));
+        int i = 0;
+        int j = 0;
+        while (i < this.size() && j < other.size()) {
+            final double lower;
+            final boolean includeLower;
+            if (lowerBounds[i] == other.lowerBounds[j]) {
+                lower = lowerBounds[i];
+                includeLower = includeLowerBounds[i] && other.includeLowerBounds[j];
+            } else if (lowerBounds[i] > other.lowerBounds[j]) {
+                lower = lowerBounds[i];
+                includeLower = includeLowerBounds[i];
+            } else {
+                lower = other.lowerBounds[j];
+                includeLower = other.includeLowerBounds[j];
+            }
+
+            final int upperComparison = compareUpperBounds(this, i, other, j);
+            if (upperComparison <= 0) {
+                builder.add(lower, upperBounds[i], includeLower, includeUpperBounds[i]);
+            } else {
+                builder.add(lower, other.upperBounds[j], includeLower, other.includeUpperBounds[j]);
+            }
+            if (upperComparison <= 0) {
+                i++;
+            }
+            if (upperComparison >= 0) {
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the set of all values not in this set
+     */
+    public RangeSet complement() {
+        final Builder builder = new Builder(size() + 1);
+        double lower = Double.NEGATIVE_INFINITY;
+        boolean includeLower = false;
+        for (int i = 0; i < size(); i++) {
+            builder.add(lower, lowerBounds[i], includeLower, !includeLowerBounds[i]);
+            lower = upperBounds[i];
+            includeLower = !includeUpperBounds[i];
+        }
+        builder.add(lower, Double.POSITIVE_INFINITY, includeLower, false);
+        return builder.build();
+    }
+
+    /**
+     * Returns the set of values in this set but not in the other set
+     */
+    public RangeSet difference(final RangeSet other) {
+        return this.intersection(other.complement());
+    }
+
+    /**
+     * Returns the index of the last range whose lower bound is lower than or equal to the value, -1 if there is none
+     */
+    private int lastLowerBoundAtMost(final double value) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (lowerBounds[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private boolean contains(final int i, final double value) {
+        return (includeLowerBounds[i] ? value >= lowerBounds[i] : value > lowerBounds[i])
+                && (includeUpperBounds[i] ? value <= upperBounds[i] : value < upperBounds[i]);
+    }
+
+    private static boolean startsBefore(final RangeSet a, final int i, final RangeSet b, final int j) {
+        return a.lowerBounds[i] < b.lowerBounds[j]
+                || (a.lowerBounds[i] == b.lowerBounds[j] && a.includeLowerBounds[i]);
+    }
+
+    /**
+     * Compares the upper bounds of two ranges, an excluded bound being lower than an included one
+     */
+    private static int compareUpperBounds(final RangeSet a, final int i, final RangeSet b, final int j) {
+        if (a.upperBounds[i] != b.upperBounds[j]) {
+            return a.upperBounds[i] < b.upperBounds[j] ? -1 : 1;
+        } else if (a.includeUpperBounds[i] == b.includeUpperBounds[j]) {
+            return 0;
+        }
+        return a.includeUpperBounds[i] ? 1 : -1;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RangeSet otherSet)) {
+            return false;
+        }
+        return Arrays.equals(lowerBounds, otherSet.lowerBounds) && Arrays.equals(upperBounds, otherSet.upperBounds)
+                && Arrays.equals(includeLowerBounds, otherSet.includeLowerBounds)
+                && Arrays.equals(includeUpperBounds, otherSet.includeUpperBounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(lowerBounds) + Arrays.hashCode(upperBounds);
+    }
+
+    /**
+     * Returns a string representation of this set
+     * @return a string of the form `RangeSet::{Range::[a --> b], Range::(c --> d)}`
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("RangeSet::{");
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getRange(i));
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Accumulates ranges sorted by lower bound, coalescing the ones that overlap or touch
+     */
+    private static final class Builder {
+        private double[] lowers;
+        private double[] uppers;
+        private boolean[] includeLowers;
+        private boolean[] includeUppers;
+        private int size;
+
+        private Builder(final int capacity) {
+            final int initialCapacity = Math.max(capacity, 1);
+            this.lowers = new double[initialCapacity];
+            this.uppers = new double[initialCapacity];
+            this.includeLowers = new boolean[initialCapacity];
+            this.includeUppers = new boolean[initialCapacity];
+        }
+
+        private void add(final double lower, final double upper, final boolean includeLower, final boolean includeUpper) {
+            // Skip empty ranges
+            if (lower > upper || (lower == upper && !(includeLower && includeUpper))) {
+                return;
+            }
+
+            if (size > 0) {
+                final int last = size - 1;
+                final boolean touches = lower < uppers[last] || (lower == uppers[last] && (includeLower || includeUppers[last]));
+                if (touches) {
+                    if (upper > uppers[last]) {
+                        uppers[last] = upper;
+                        includeUppers[last] = includeUpper;
+                    } else if (upper == uppers[last]) {
+                        includeUppers[last] |= includeUpper;
+                    }
+                    return;
+                }
+            }
+
+            if (size == lowers.length) {
+                final int capacity = 2 * size;
+                lowers = Arrays.copyOf(lowers, capacity);
+                uppers = Arrays.copyOf(uppers, capacity);
+                includeLowers = Arrays.copyOf(includeLowers, capacity);
+                includeUppers = Arrays.copyOf(includeUppers, capacity);
+            }
+            lowers[size] = lower;
+            uppers[size] = upper;
+            includeLowers[size] = includeLower;
+            includeUppers[size] = includeUpper;
+            size++;
+        }
+
+        private RangeSet build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new RangeSet(Arrays.copyOf(lowers, size), Arrays.copyOf(uppers, size),
+                    Arrays.copyOf(includeLowers, size), Arrays.copyOf(includeUppers, size));
+        }
+    }
+}
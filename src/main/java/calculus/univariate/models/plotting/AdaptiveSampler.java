@@ -0,0 +1,301 @@
+package calculus.univariate.models.plotting;
+
+import calculus.univariate.models.functions.Function;
+import calculus.univariate.models.functions.specials.PieceWiseFunction;
+import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.numberUtils.RangeSet;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Samples a univariate function over a bounded range for plotting.
+ * The range is first split at the known breaks of the function (domain bounds, such as
+ * the poles of a RationalFunction or the boundary of a LogFunction, and the bounds of the
+ * pieces of a PieceWiseFunction), and each part is sampled on a coarse uniform grid.
+ * The sub-interval where a linear fit is worst, measured at its midpoint, is then split
+ * repeatedly until every fit is within the tolerance or the point budget is spent.
+ * Sub-intervals that stay badly fitted down to the minimum width, with a midpoint value
+ * sticking to one side, are treated as jumps.
+ */
+@Getter
+@Builder
+public class AdaptiveSampler {
+
+    /**
+     * Offset, relative to the width of the range, at which breaks are approached
+     */
+    private static final double NUDGE = 1e-9;
+
+    /**
+     * Width, relative to the width of the range, under which a sub-interval is never split
+     */
+    private static final double MIN_WIDTH = 1e-9;
+
+    private Function function;
+    private Range range;
+
+    /**
+     * Maximum number of points evaluated and returned, breaks excluded
+     */
+    @Builder.Default
+    private int maxPoints = 1000;
+
+    /**
+     * Number of points of the initial uniform grid
+     */
+    @Builder.Default
+    private int initialPoints = 64;
+
+    /**
+     * Largest acceptable linear fit error, relative to the vertical extent of the curve
+     */
+    @Builder.Default
+    private double tolerance = 1e-3;
+
+    /**
+     * Samples the function
+     * @return the sampled curve, with NaN y values at discontinuities
+     */
+    public SampledCurve sample() {
+        if (function == null || range == null) {
+            throw new IllegalArgumentException("Null argument(s) passed.");
+        }
+        final double lower = range.getLowerBound();
+        final double upper = range.getUpperBound();
+        if (!Double.isFinite(lower) || !Double.isFinite(upper) || !(lower < upper)) {
+            throw new IllegalArgumentException("Cannot sample an unbounded or empty range!");
+        }
+        if (initialPoints < 2 || maxPoints < initialPoints) {
+            throw new IllegalArgumentException("At least two initial points, and no more than maxPoints, are required!");
+        }
+
+        final double width = upper - lower;
+        final RangeSet domain = domainOrNull();
+        final double[] breaks = breakPoints(lower, upper, domain);
+        final Points points = new Points(Math.max(maxPoints, 2 * breaks.length));
+
+        // Uniform grid over each part of the range where the function is defined
+        int previousEnd = -1;
+        for (int s = 0; s + 1 < breaks.length; s++) {
+            final double a = breaks[s];
+            final double b = breaks[s + 1];
+            if (domain != null && !domain.includes(0.5 * (a + b))) {
+                continue;
+            }
+            final double start = a == lower ? endpoint(a, a + NUDGE * width) : a + NUDGE * width;
+            final double end = b == upper ? endpoint(b, b - NUDGE * width) : b - NUDGE * width;
+            final int count = (int) Math.max(2, Math.round(initialPoints * (b - a) / width));
+            for (int i = 0; i < count && points.size < points.capacity(); i++) {
+                final double x = i == count - 1 ? end : start + i * (end - start) / (count - 1);
+                final int index = points.add(x, evaluate(x));
+                if (i == 0 && previousEnd >= 0) {
+                    points.link(previousEnd, index);
+                    points.gapAfter[previousEnd] = true;
+                } else if (i > 0) {
+                    points.link(index - 1, index);
+                }
+                previousEnd = index;
+            }
+        }
+        final double yScale = verticalScale(points);
+        final double threshold = tolerance * yScale;
+
+        // Parts of the range join up again where the function is continuous across a break
+        for (int i = 0; i < points.size; i++) {
+            final int next = points.next[i];
+            if (points.gapAfter[i] && next >= 0 && Math.abs(points.ys[next] - points.ys[i]) <= threshold) {
+                points.gapAfter[i] = false;
+            }
+        }
+
+        final PriorityQueue<Interval> intervals = new PriorityQueue<>();
+        for (int i = 0; i < points.size; i++) {
+            if (points.next[i] >= 0 && !points.gapAfter[i]) {
+                intervals.add(interval(points, i, points.next[i], yScale));
+            }
+        }
+        final double minWidth = MIN_WIDTH * width;
+        while (!intervals.isEmpty() && points.size < points.capacity() && intervals.peek().error > tolerance) {
+            final Interval interval = intervals.poll();
+            if (points.xs[interval.right] - points.xs[interval.left] <= minWidth) {
+                points.gapAfter[interval.left] = isJump(points.ys[interval.left], interval.midY, points.ys[interval.right], threshold);
+                continue;
+            }
+            final int mid = points.add(interval.midX, interval.midY);
+            points.link(interval.left, mid);
+            points.link(mid, interval.right);
+            intervals.add(interval(points, interval.left, mid, yScale));
+            intervals.add(interval(points, mid, interval.right, yScale));
+        }
+        return points.toCurve();
+    }
+
+    private RangeSet domainOrNull() {
+        try {
+            return function.getDomainSet();
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the sorted points within the range where the function may break, range bounds included
+     */
+    private double[] breakPoints(final double lower, final double upper, final RangeSet domain) {
+        final TreeSet<Double> breaks = new TreeSet<>();
+        breaks.add(lower);
+        breaks.add(upper);
+        if (domain != null) {
+            for (int i = 0; i < domain.size(); i++) {
+                breaks.add(domain.getRange(i).getLowerBound());
+                breaks.add(domain.getRange(i).getUpperBound());
+            }
+        }
+        if (function instanceof PieceWiseFunction) {
+            for (final Range piece : ((PieceWiseFunction) function).getFunctionsToRangesMap().values()) {
+                breaks.add(piece.getLowerBound());
+                breaks.add(piece.getUpperBound());
+            }
+        }
+        return breaks.subSet(lower, true, upper, true).stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * Returns the bound itself if the function is defined there, the nudged point otherwise
+     */
+    private double endpoint(final double bound, final double nudged) {
+        return Double.isFinite(evaluate(bound)) ? bound : nudged;
+    }
+
+    private double evaluate(final double x) {
+        try {
+            return function.evaluate(x);
+        } catch (IllegalArgumentException e) {
+            // Undefined at this point
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Returns the vertical extent of the initial samples, ignoring the top and bottom tenth
+     * so that values close to a pole do not flatten the rest of the curve
+     */
+    private static double verticalScale(final Points points) {
+        final double[] finite = Arrays.stream(points.ys, 0, points.size).filter(Double::isFinite).sorted().toArray();
+        if (finite.length == 0) {
+            return 1.0;
+        }
+        final double spread = finite[(int) (0.9 * (finite.length - 1))] - finite[(int) (0.1 * (finite.length - 1))];
+        return spread > 0 ? spread : Math.max(1.0, Math.abs(finite[finite.length / 2]));
+    }
+
+    /**
+     * Checks whether a sub-interval of minimum width holds a jump rather than a steep slope:
+     * across a jump the midpoint value sticks to one side instead of lying in between
+     */
+    private static boolean isJump(final double left, final double mid, final double right, final double threshold) {
+        if (!Double.isFinite(left) || !Double.isFinite(mid) || !Double.isFinite(right)) {
+            return true;
+        }
+        final double jump = Math.abs(right - left);
+        return jump > threshold && Math.abs(mid - 0.5 * (left + right)) > 0.25 * jump;
+    }
+
+    private Interval interval(final Points points, final int left, final int right, final double yScale) {
+        final double midX = 0.5 * (points.xs[left] + points.xs[right]);
+        final double midY = evaluate(midX);
+        final double yLeft = points.ys[left];
+        final double yRight = points.ys[right];
+        final double error;
+        if (Double.isFinite(yLeft) && Double.isFinite(yRight) && Double.isFinite(midY)) {
+            error = Math.abs(midY - 0.5 * (yLeft + yRight)) / yScale;
+        } else if (Double.isFinite(yLeft) || Double.isFinite(yRight) || Double.isFinite(midY)) {
+            // The function is only partly defined on this interval: locate the boundary
+            error = Double.POSITIVE_INFINITY;
+        } else {
+            error = 0.0;
+        }
+        return new Interval(left, right, midX, midY, error);
+    }
+
+    /**
+     * A sub-interval between two consecutive points, ordered by decreasing fit error
+     */
+    private static final class Interval implements Comparable<Interval> {
+        private final int left;
+        private final int right;
+        private final double midX;
+        private final double midY;
+        private final double error;
+
+        private Interval(final int left, final int right, final double midX, final double midY, final double error) {
+            this.left = left;
+            this.right = right;
+            this.midX = midX;
+            this.midY = midY;
+            this.error = error;
+        }
+
+        @Override
+        public int compareTo(final Interval other) {
+            return Double.compare(other.error, this.error);
+        }
+    }
+
+    /**
+     * Sampled points, in insertion order, linked in ascending x order
+     */
+    private static final class Points {
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] next;
+        private final boolean[] gapAfter;
+        private int size;
+
+        private Points(final int capacity) {
+            this.xs = new double[capacity];
+            this.ys = new double[capacity];
+            this.next = new int[capacity];
+            this.gapAfter = new boolean[capacity];
+            Arrays.fill(next, -1);
+        }
+
+        private int capacity() {
+            return xs.length;
+        }
+
+        private int add(final double x, final double y) {
+            xs[size] = x;
+            ys[size] = y;
+            return size++;
+        }
+
+        private void link(final int from, final int to) {
+            next[from] = to;
+        }
+
+        private SampledCurve toCurve() {
+            final double[] curveXs = new double[2 * size];
+            final double[] curveYs = new double[2 * size];
+            int length = 0;
+            // The first point added is always the leftmost one
+            for (int i = size > 0 ? 0 : -1; i >= 0; i = next[i]) {
+                final double y = Double.isFinite(ys[i]) ? ys[i] : Double.NaN;
+                if (!Double.isNaN(y) || length == 0 || !Double.isNaN(curveYs[length - 1])) {
+                    curveXs[length] = xs[i];
+                    curveYs[length++] = y;
+                }
+                if (gapAfter[i] && next[i] >= 0 && !Double.isNaN(curveYs[length - 1])) {
+                    curveXs[length] = 0.5 * (xs[i] + xs[next[i]]);
+                    curveYs[length++] = Double.NaN;
+                }
+            }
+            return new SampledCurve(Arrays.copyOf(curveXs, length), Arrays.copyOf(curveYs, length));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package calculus.univariate.models.plotting;
+
+import lombok.Getter;
+
+/**
+ * Points of a sampled curve, ordered by x, stored in two parallel primitive arrays.
+ * A point with a NaN y value marks a break: the curve must not be drawn through it.
+ */
+@Getter
+public final class SampledCurve {
+
+    private final double[] xs;
+    private final double[] ys;
+
+    public SampledCurve(final double[] xs, final double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have the same length!");
+        }
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Returns the number of points, breaks included
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * Returns the number of continuous pieces of the curve
+     */
+    public int segmentCount() {
+        int segments = 0;
+        boolean inSegment = false;
+        for (final double y : ys) {
+            if (Double.isNaN(y)) {
+                inSegment = false;
+            } else if (!inSegment) {
+                inSegment = true;
+                segments++;
+            }
+        }
+        return segments;
+    }
+}
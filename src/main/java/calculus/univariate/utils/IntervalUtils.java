@@ -0,0 +1,398 @@
+package calculus.univariate.utils;
+
+import calculus.univariate.models.functions.Function;
+import calculus.univariate.models.numberUtils.Range;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Utility class for interval arithmetic.
+ * Every operation returns a closed Range guaranteed to enclose all the values the exact operation
+ * can take over its input ranges: finite bounds are rounded outwards by one ulp, which covers
+ * the rounding error of basic arithmetic and of the java.lang.Math functions used.
+ * The open / closed flags of input ranges are ignored, and a null Range stands for the empty set.
+ */
+@UtilityClass
+public class IntervalUtils {
+
+    private static final double TWO_PI = 2 * Math.PI;
+
+    /**
+     * Maximum number of boxes processed by the branch and bound routines
+     */
+    private static final int MAX_BOXES = 100000;
+
+    /**
+     * Returns the closed range [lowerBound, upperBound], rounded outwards
+     */
+    public static Range enclose(final double lowerBound, final double upperBound) {
+        if (Double.isNaN(lowerBound) || Double.isNaN(upperBound)) {
+            return Range.all();
+        }
+        final double lower = Double.isFinite(lowerBound) ? Math.nextDown(lowerBound) : lowerBound;
+        final double upper = Double.isFinite(upperBound) ? Math.nextUp(upperBound) : upperBound;
+        return exact(lower, upper);
+    }
+
+    /**
+     * Returns the closed range [lowerBound, upperBound], without rounding
+     */
+    public static Range exact(final double lowerBound, final double upperBound) {
+        return new Range(lowerBound, upperBound, Double.isFinite(lowerBound), Double.isFinite(upperBound));
+    }
+
+    /**
+     * Returns the smallest range enclosing both ranges
+     */
+    public static Range hull(final Range a, final Range b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        }
+        return exact(Math.min(a.getLowerBound(), b.getLowerBound()), Math.max(a.getUpperBound(), b.getUpperBound()));
+    }
+
+    public static Range add(final Range a, final Range b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        return enclose(a.getLowerBound() + b.getLowerBound(), a.getUpperBound() + b.getUpperBound());
+    }
+
+    public static Range subtract(final Range a, final Range b) {
+        return add(a, negate(b));
+    }
+
+    public static Range negate(final Range a) {
+        if (a == null) {
+            return null;
+        }
+        return exact(-a.getUpperBound(), -a.getLowerBound());
+    }
+
+    public static Range multiply(final Range a, final Range b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        final double p1 = product(a.getLowerBound(), b.getLowerBound());
+        final double p2 = product(a.getLowerBound(), b.getUpperBound());
+        final double p3 = product(a.getUpperBound(), b.getLowerBound());
+        final double p4 = product(a.getUpperBound(), b.getUpperBound());
+        return enclose(Math.min(Math.min(p1, p2), Math.min(p3, p4)), Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+
+    public static Range scale(final Range a, final double factor) {
+        return multiply(a, Range.singleton(factor));
+    }
+
+    /**
+     * Divides two ranges. The result is unbounded whenever the divisor contains zero
+     */
+    public static Range divide(final Range a, final Range b) {
+        if (a == null || b == null) {
+            return null;
+        } else if (b.getLowerBound() <= 0 && b.getUpperBound() >= 0) {
+            return Range.all();
+        }
+        return multiply(a, enclose(1 / b.getUpperBound(), 1 / b.getLowerBound()));
+    }
+
+    public static Range abs(final Range a) {
+        if (a == null) {
+            return null;
+        } else if (a.getLowerBound() >= 0) {
+            return a;
+        } else if (a.getUpperBound() <= 0) {
+            return negate(a);
+        }
+        return exact(0.0, Math.max(-a.getLowerBound(), a.getUpperBound()));
+    }
+
+    /**
+     * Raises a range to a non-negative integer power
+     */
+    public static Range pow(final Range a, final int exponent) {
+        if (a == null) {
+            return null;
+        } else if (exponent == 0) {
+            return Range.singleton(1.0);
+        } else if (exponent % 2 == 1) {
+            return enclose(Math.pow(a.getLowerBound(), exponent), Math.pow(a.getUpperBound(), exponent));
+        }
+        final Range magnitude = abs(a);
+        return enclose(Math.pow(magnitude.getLowerBound(), exponent), Math.pow(magnitude.getUpperBound(), exponent));
+    }
+
+    /**
+     * Raises a range to a real power, following Math.pow: integer powers are defined for negative values,
+     * other powers only over the non-negative part of the range
+     */
+    public static Range pow(final Range a, final double exponent) {
+        if (exponent == Math.rint(exponent) && Math.abs(exponent) <= Integer.MAX_VALUE) {
+            if (exponent >= 0) {
+                return pow(a, (int) exponent);
+            }
+            return divide(Range.singleton(1.0), pow(a, (int) -exponent));
+        }
+        final Range nonNegative = clampBelow(a, 0.0);
+        if (nonNegative == null) {
+            return null;
+        }
+        return monotonic(nonNegative, x -> Math.pow(x, exponent), exponent > 0);
+    }
+
+    /**
+     * Logarithm of a range in the given base, over the positive part of the range
+     */
+    public static Range log(final Range a, final double base) {
+        final Range positive = clampBelow(a, 0.0);
+        if (positive == null || positive.getUpperBound() <= 0) {
+            return null;
+        }
+        final Range naturalLog = monotonic(positive, Math::log, true);
+        return base == Math.E ? naturalLog : divide(naturalLog, enclose(Math.log(base), Math.log(base)));
+    }
+
+    /**
+     * Exponential of a range in the given (positive) base
+     */
+    public static Range exp(final double base, final Range a) {
+        if (a == null) {
+            return null;
+        } else if (base == 1.0) {
+            return Range.singleton(1.0);
+        }
+        return monotonic(a, x -> Math.pow(base, x), base > 1.0);
+    }
+
+    public static Range cos(final Range a) {
+        return periodic(a, Math::cos, 0.0, Math.PI);
+    }
+
+    public static Range sin(final Range a) {
+        return periodic(a, Math::sin, Math.PI / 2, -Math.PI / 2);
+    }
+
+    public static Range tan(final Range a) {
+        if (a == null) {
+            return null;
+        }
+        // tan is increasing between two consecutive poles at π/2 + kπ
+        if (!Double.isFinite(a.getLowerBound()) || !Double.isFinite(a.getUpperBound())
+                || containsPeriodicPoint(a, Math.PI / 2, Math.PI)) {
+            return Range.all();
+        }
+        return monotonic(a, Math::tan, true);
+    }
+
+    /**
+     * Applies a monotonic function to a range
+     * @param increasing -> whether the function is increasing (otherwise decreasing) over the range
+     */
+    public static Range monotonic(final Range a, final DoubleUnaryOperator f, final boolean increasing) {
+        if (a == null) {
+            return null;
+        }
+        final double atLower = f.applyAsDouble(a.getLowerBound());
+        final double atUpper = f.applyAsDouble(a.getUpperBound());
+        return increasing ? enclose(atLower, atUpper) : enclose(atUpper, atLower);
+    }
+
+    /**
+     * Encloses a function over a range by bisecting the range until each piece's enclosure
+     * is narrower than the tolerance, then taking the hull of the pieces.
+     * This counters the overestimation interval arithmetic suffers from when a variable appears more than once.
+     * @param maxPieces -> maximum number of pieces the range may be split into
+     */
+    public static Range refine(final Function function, final Range input, final double tolerance, final int maxPieces) {
+        // The widest enclosure is split first, so the budget is spread where the overestimation is largest
+        final PriorityQueue<Box> pieces = new PriorityQueue<>(Comparator.comparingDouble((Box box) -> width(box.enclosure)).reversed());
+        final Range first = function.evaluate(input);
+        if (first == null) {
+            return null;
+        }
+        pieces.add(new Box(input, first));
+        while (pieces.size() < maxPieces && width(pieces.peek().enclosure) > tolerance && isSplittable(pieces.peek().range)) {
+            final Box box = pieces.poll();
+            for (final Range half : bisect(box.range)) {
+                final Range enclosure = function.evaluate(half);
+                if (enclosure != null) {
+                    pieces.add(new Box(half, enclosure));
+                }
+            }
+            if (pieces.isEmpty()) {
+                return null;
+            }
+        }
+        Range result = null;
+        for (final Box box : pieces) {
+            result = hull(result, box.enclosure);
+        }
+        return result;
+    }
+
+    /**
+     * Branch and bound search for the global minimum of a function over a bounded range.
+     * Boxes whose enclosure lies entirely above the best known value are pruned without further evaluation.
+     * @return a range enclosing the global minimum, or null if the function is nowhere defined in the range
+     */
+    public static Range minimum(final Function function, final Range range, final double tolerance) {
+        return minimum(function::evaluate, x -> function.evaluate(x), range, tolerance);
+    }
+
+    /**
+     * Branch and bound search for the global maximum of a function over a bounded range.
+     * @return a range enclosing the global maximum, or null if the function is nowhere defined in the range
+     */
+    public static Range maximum(final Function function, final Range range, final double tolerance) {
+        return negate(minimum(box -> negate(function.evaluate(box)), x -> -function.evaluate(x), range, tolerance));
+    }
+
+    /**
+     * Splits a bounded range into boxes no wider than the given width, and discards every box
+     * over which the function provably does not vanish.
+     * @return the boxes that may contain a root, in ascending order
+     */
+    public static List<Range> rootCandidates(final Function function, final Range range, final double width) {
+        final List<Range> candidates = new ArrayList<>();
+        final List<Range> pending = new ArrayList<>(List.of(range));
+        while (!pending.isEmpty() && candidates.size() + pending.size() < MAX_BOXES) {
+            final Range box = pending.remove(pending.size() - 1);
+            final Range enclosure = function.evaluate(box);
+            if (enclosure == null || enclosure.getLowerBound() > 0 || enclosure.getUpperBound() < 0) {
+                continue;
+            }
+            if (width(box) <= width || !isSplittable(box)) {
+                candidates.add(box);
+            } else {
+                final List<Range> halves = bisect(box);
+                // Keep the lower half on top of the stack so candidates come out sorted
+                pending.add(halves.get(1));
+                pending.add(halves.get(0));
+            }
+        }
+        candidates.addAll(pending);
+        candidates.sort(Range::compareTo);
+        return candidates;
+    }
+
+    private static Range minimum(final UnaryOperator<Range> enclosureOf, final DoubleUnaryOperator valueAt,
+                                 final Range range, final double tolerance) {
+        final PriorityQueue<Box> boxes = new PriorityQueue<>();
+        final Range first = enclosureOf.apply(range);
+        if (first == null) {
+            return null;
+        }
+        boxes.add(new Box(range, first));
+        double bestUpperBound = Math.min(first.getUpperBound(), pointValue(valueAt, midpoint(range)));
+
+        for (int processed = 0; !boxes.isEmpty() && processed < MAX_BOXES; processed++) {
+            final Box box = boxes.peek();
+            if (bestUpperBound - box.enclosure.getLowerBound() <= tolerance || !isSplittable(box.range)) {
+                return enclose(box.enclosure.getLowerBound(), bestUpperBound);
+            }
+            boxes.poll();
+            for (final Range half : bisect(box.range)) {
+                final Range enclosure = enclosureOf.apply(half);
+                if (enclosure == null || enclosure.getLowerBound() > bestUpperBound) {
+                    continue;
+                }
+                bestUpperBound = Math.min(bestUpperBound, Math.min(enclosure.getUpperBound(), pointValue(valueAt, midpoint(half))));
+                boxes.add(new Box(half, enclosure));
+            }
+        }
+        return boxes.isEmpty() ? null : enclose(boxes.peek().enclosure.getLowerBound(), bestUpperBound);
+    }
+
+    private static double product(final double a, final double b) {
+        // 0 * ∞ is taken to be 0: the bound at infinity is never attained
+        return (a == 0.0 || b == 0.0) ? 0.0 : a * b;
+    }
+
+    private static Range clampBelow(final Range a, final double lowerBound) {
+        if (a == null || a.getUpperBound() < lowerBound) {
+            return null;
+        }
+        return exact(Math.max(a.getLowerBound(), lowerBound), a.getUpperBound());
+    }
+
+    /**
+     * Encloses a 2π-periodic function, given the phases at which it reaches its maximum (1) and minimum (-1)
+     */
+    private static Range periodic(final Range a, final DoubleUnaryOperator f, final double maxPhase, final double minPhase) {
+        if (a == null) {
+            return null;
+        } else if (!Double.isFinite(a.getLowerBound()) || !Double.isFinite(a.getUpperBound()) || width(a) >= TWO_PI) {
+            return exact(-1.0, 1.0);
+        }
+        final double atLower = f.applyAsDouble(a.getLowerBound());
+        final double atUpper = f.applyAsDouble(a.getUpperBound());
+        final double upper = containsPeriodicPoint(a, maxPhase, TWO_PI) ? 1.0 : Math.min(1.0, Math.nextUp(Math.max(atLower, atUpper)));
+        final double lower = containsPeriodicPoint(a, minPhase, TWO_PI) ? -1.0 : Math.max(-1.0, Math.nextDown(Math.min(atLower, atUpper)));
+        return exact(lower, upper);
+    }
+
+    /**
+     * Checks whether a range contains a point of the form phase + k * period.
+     * The check is widened by one ulp so that boundary cases err on the safe side.
+     */
+    private static boolean containsPeriodicPoint(final Range a, final double phase, final double period) {
+        final double first = Math.ceil(Math.nextDown((a.getLowerBound() - phase) / period));
+        final double last = Math.floor(Math.nextUp((a.getUpperBound() - phase) / period));
+        return first <= last;
+    }
+
+    private static double width(final Range a) {
+        return a.getUpperBound() - a.getLowerBound();
+    }
+
+    private static double midpoint(final Range a) {
+        return 0.5 * (a.getLowerBound() + a.getUpperBound());
+    }
+
+    private static boolean isSplittable(final Range a) {
+        final double mid = midpoint(a);
+        return Double.isFinite(mid) && mid > a.getLowerBound() && mid < a.getUpperBound();
+    }
+
+    private static List<Range> bisect(final Range a) {
+        final double mid = midpoint(a);
+        return List.of(exact(a.getLowerBound(), mid), exact(mid, a.getUpperBound()));
+    }
+
+    private static double pointValue(final DoubleUnaryOperator valueAt, final double x) {
+        try {
+            final double value = valueAt.applyAsDouble(x);
+            return Double.isNaN(value) ? Double.POSITIVE_INFINITY : value;
+        } catch (IllegalArgumentException e) {
+            // The function is not defined at this point
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * A box of the branch and bound search, ordered by the lower bound of its enclosure
+     */
+    private static final class Box implements Comparable<Box> {
+        private final Range range;
+        private final Range enclosure;
+
+        private Box(final Range range, final Range enclosure) {
+            this.range = range;
+            this.enclosure = enclosure;
+        }
+
+        @Override
+        public int compareTo(final Box other) {
+            return Double.compare(this.enclosure.getLowerBound(), other.enclosure.getLowerBound());
+        }
+    }
+}
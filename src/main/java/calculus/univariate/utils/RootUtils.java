@@ -0,0 +1,294 @@
+package calculus.univariate.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Utility class for numerically locating roots and sign changes of real functions.
+ */
+@UtilityClass
+public class RootUtils {
+
+    /**
+     * Maximum number of bisection steps used to refine a bracket
+     */
+    private static final int MAX_BISECTIONS = 200;
+
+    /**
+     * Value of a polynomial at a critical point, relative to the sum of the magnitudes of its terms,
+     * under which the critical point is taken as a root
+     */
+    private static final double TANGENT_TOLERANCE = 1e-14;
+
+    /**
+     * Ratio by which golden section search shrinks its bracket at every step
+     */
+    private static final double GOLDEN_RATIO = (Math.sqrt(5.0) - 1.0) / 2.0;
+
+    /**
+     * Finds the roots of a function within the given bounds
+     * Only roots at which the function changes sign, or which fall exactly on a sample point, are found.
+     * @param f -> function to find the roots of
+     * @param lowerBound -> lower bound of the search window
+     * @param upperBound -> upper bound of the search window
+     * @param samples -> number of sub-intervals the window is split into
+     * @param tolerance -> relative width at which a bracket is considered converged
+     * @return the sorted list of roots
+     */
+    public static List<Double> findRoots(final DoubleUnaryOperator f, final double lowerBound, final double upperBound,
+                                         final int samples, final double tolerance) {
+        return scan(f, lowerBound, upperBound, samples, tolerance, false, false);
+    }
+
+    /**
+     * Finds all the points within the given bounds where a function changes sign or definedness.
+     * On top of the roots, this includes poles (where the sign flips through infinity)
+     * and the boundaries of the regions where the function evaluates to NaN.
+     * @param f -> function to inspect
+     * @param lowerBound -> lower bound of the search window
+     * @param upperBound -> upper bound of the search window
+     * @param samples -> number of sub-intervals the window is split into
+     * @param tolerance -> relative width at which a bracket is considered converged
+     * @return the sorted list of critical points
+     */
+    public static List<Double> findSignChanges(final DoubleUnaryOperator f, final double lowerBound, final double upperBound,
+                                               final int samples, final double tolerance) {
+        return scan(f, lowerBound, upperBound, samples, tolerance, true, false);
+    }
+
+    /**
+     * Finds all the points within the given bounds where a function changes sign or definedness, as
+     * findSignChanges, together with the points where it touches zero without changing sign,
+     * i.e. the local minima of |f| between samples whose value is under sqrt(tolerance).
+     * @return the sorted list of critical points
+     */
+    public static List<Double> findBoundaryPoints(final DoubleUnaryOperator f, final double lowerBound, final double upperBound,
+                                                  final int samples, final double tolerance) {
+        return scan(f, lowerBound, upperBound, samples, tolerance, true, true);
+    }
+
+    /**
+     * Finds the distinct real roots of a polynomial, whatever their multiplicity.
+     * Between consecutive critical points, the roots of the derivative found recursively, the polynomial is monotonic,
+     * so it has at most one root there, refined by bisection; a critical point where the polynomial vanishes
+     * is a root of even multiplicity. All the roots lie within the Cauchy bound 1 + max |a_i / a_n|.
+     * @param coefficients -> coefficients[i] multiplies x^i
+     * @return the sorted list of roots, empty for a constant polynomial
+     */
+    public static List<Double> polynomialRoots(final double[] coefficients) {
+        int leading = coefficients.length - 1;
+        while (leading >= 0 && coefficients[leading] == 0.0) {
+            leading--;
+        }
+        final int degree = leading;
+        final List<Double> roots = new ArrayList<>();
+        if (degree < 1) {
+            return roots;
+        } else if (degree == 1) {
+            roots.add(-coefficients[0] / coefficients[1]);
+            return roots;
+        }
+        final double[] derivative = new double[degree];
+        double ratio = 0.0;
+        for (int i = 0; i < degree; i++) {
+            derivative[i] = (i + 1) * coefficients[i + 1];
+            ratio = Math.max(ratio, Math.abs(coefficients[i] / coefficients[degree]));
+        }
+        final double bound = 1.0 + ratio;
+
+        final List<Double> points = new ArrayList<>();
+        points.add(-bound);
+        for (final double critical : polynomialRoots(derivative)) {
+            if (critical > -bound && critical < bound) {
+                points.add(critical);
+            }
+        }
+        points.add(bound);
+        final double[] values = new double[points.size()];
+        for (int k = 0; k < values.length; k++) {
+            final double x = points.get(k);
+            values[k] = evaluatePolynomial(coefficients, degree, x);
+            if (k > 0 && k < values.length - 1 && Math.abs(values[k]) <= TANGENT_TOLERANCE * magnitude(coefficients, degree, x)) {
+                values[k] = 0.0;
+            }
+        }
+        for (int k = 0; k < values.length; k++) {
+            if (values[k] == 0.0) {
+                roots.add(points.get(k));
+            } else if (k + 1 < values.length && values[k + 1] != 0.0 && Math.signum(values[k]) != Math.signum(values[k + 1])) {
+                final double sign = Math.signum(values[k]);
+                roots.add(bisect(x -> Math.signum(evaluatePolynomial(coefficients, degree, x)) == sign,
+                        points.get(k), points.get(k + 1), 0.0));
+            }
+        }
+        return roots;
+    }
+
+    private static double evaluatePolynomial(final double[] coefficients, final int degree, final double x) {
+        double value = coefficients[degree];
+        for (int i = degree - 1; i >= 0; i--) {
+            value = value * x + coefficients[i];
+        }
+        return value;
+    }
+
+    /**
+     * Sum of the magnitudes of the terms of a polynomial at x, the scale of its rounding errors there
+     */
+    private static double magnitude(final double[] coefficients, final int degree, final double x) {
+        final double absX = Math.abs(x);
+        double value = Math.abs(coefficients[degree]);
+        for (int i = degree - 1; i >= 0; i--) {
+            value = value * absX + Math.abs(coefficients[i]);
+        }
+        return value;
+    }
+
+    /**
+     * Refines a bracket [a, b] until its width falls under the tolerance.
+     * @param predicate -> predicate that holds at a and does not hold at b
+     * @return the midpoint of the converged bracket
+     */
+    public static double bisect(final DoublePredicate predicate, final double a, final double b, final double tolerance) {
+        double holds = a;
+        double fails = b;
+        for (int i = 0; i < MAX_BISECTIONS && !converged(holds, fails, tolerance); i++) {
+            final double mid = 0.5 * (holds + fails);
+            if (predicate.test(mid)) {
+                holds = mid;
+            } else {
+                fails = mid;
+            }
+        }
+        return 0.5 * (holds + fails);
+    }
+
+    private static boolean converged(final double a, final double b, final double tolerance) {
+        return Math.abs(b - a) <= tolerance * Math.max(1.0, Math.abs(a));
+    }
+
+    private static List<Double> scan(final DoubleUnaryOperator f, final double lowerBound, final double upperBound,
+                                     final int samples, final double tolerance, final boolean includePoles,
+                                     final boolean includeTangents) {
+        if (!(lowerBound < upperBound) || Double.isInfinite(lowerBound) || Double.isInfinite(upperBound)) {
+            throw new IllegalArgumentException("Search window must be finite and non empty!");
+        }
+        if (samples < 1) {
+            throw new IllegalArgumentException("At least one sample interval is required!");
+        }
+
+        final double step = (upperBound - lowerBound) / samples;
+        final double[] xs = IntStream.rangeClosed(0, samples)
+                .mapToDouble(i -> i == samples ? upperBound : lowerBound + i * step)
+                .toArray();
+        final double[] ys = IntStream.rangeClosed(0, samples)
+                .parallel()
+                .mapToDouble(i -> f.applyAsDouble(xs[i]))
+                .toArray();
+
+        // Each sub-interval is refined independently, in parallel
+        final double[] found = IntStream.range(0, samples)
+                .parallel()
+                .mapToDouble(i -> refine(f, xs[i], ys[i], xs[i + 1], ys[i + 1], tolerance, includePoles))
+                .toArray();
+
+        if (includeTangents) {
+            // Sample i is where |f| is smallest among its neighbours, so nothing was found in the sub-intervals around it
+            final double[] tangents = IntStream.range(1, samples)
+                    .parallel()
+                    .mapToDouble(i -> isTangentCandidate(ys[i - 1], ys[i], ys[i + 1])
+                            ? touch(f, xs[i - 1], xs[i + 1], tolerance) : Double.NaN)
+                    .toArray();
+            for (int i = 1; i < samples; i++) {
+                if (!Double.isNaN(tangents[i - 1])) {
+                    found[i] = tangents[i - 1];
+                }
+            }
+        }
+
+        final List<Double> points = new ArrayList<>();
+        if (ys[0] == 0.0) {
+            points.add(xs[0]);
+        }
+        for (final double point : found) {
+            if (!Double.isNaN(point) && (points.isEmpty() || point - points.get(points.size() - 1) > tolerance * Math.max(1.0, Math.abs(point)))) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    private static boolean isTangentCandidate(final double previous, final double value, final double next) {
+        return Double.isFinite(previous) && Double.isFinite(value) && Double.isFinite(next) && value != 0.0
+                && Math.signum(previous) == Math.signum(value) && Math.signum(next) == Math.signum(value)
+                && Math.abs(value) <= Math.abs(previous) && Math.abs(value) <= Math.abs(next);
+    }
+
+    /**
+     * Locates the minimum of |f| within [a, b] by golden section search
+     * @return the point of the minimum if f vanishes there up to sqrt(tolerance), NaN otherwise
+     */
+    private static double touch(final DoubleUnaryOperator f, final double a, final double b, final double tolerance) {
+        double low = a;
+        double high = b;
+        double left = high - GOLDEN_RATIO * (high - low);
+        double right = low + GOLDEN_RATIO * (high - low);
+        double leftValue = Math.abs(f.applyAsDouble(left));
+        double rightValue = Math.abs(f.applyAsDouble(right));
+        for (int i = 0; i < MAX_BISECTIONS && !converged(low, high, tolerance); i++) {
+            if (leftValue <= rightValue) {
+                high = right;
+                right = left;
+                rightValue = leftValue;
+                left = high - GOLDEN_RATIO * (high - low);
+                leftValue = Math.abs(f.applyAsDouble(left));
+            } else {
+                low = left;
+                left = right;
+                leftValue = rightValue;
+                right = low + GOLDEN_RATIO * (high - low);
+                rightValue = Math.abs(f.applyAsDouble(right));
+            }
+        }
+        final double point = leftValue <= rightValue ? left : right;
+        return Math.min(leftValue, rightValue) <= Math.sqrt(tolerance) ? point : Double.NaN;
+    }
+
+    /**
+     * Inspects the sub-interval (a, b]
+     * @return the critical point found in the sub-interval, or NaN if there is none
+     */
+    private static double refine(final DoubleUnaryOperator f, final double a, final double fa, final double b, final double fb,
+                                 final double tolerance, final boolean includePoles) {
+        if (fb == 0.0) {
+            return b;
+        }
+        final boolean definedA = Double.isFinite(fa);
+        final boolean definedB = Double.isFinite(fb);
+
+        if (definedA != definedB) {
+            if (!includePoles) {
+                return Double.NaN;
+            }
+            final DoublePredicate defined = x -> Double.isFinite(f.applyAsDouble(x));
+            return definedA ? bisect(defined, a, b, tolerance) : bisect(defined, b, a, tolerance);
+        }
+        if (!definedA || fa == 0.0 || Math.signum(fa) == Math.signum(fb)) {
+            return Double.NaN;
+        }
+
+        final double signA = Math.signum(fa);
+        final double point = bisect(x -> Math.signum(f.applyAsDouble(x)) == signA, a, b, tolerance);
+        if (includePoles) {
+            return point;
+        }
+        // Through a pole the function grows beyond the values seen at the bracket ends
+        final double value = Math.abs(f.applyAsDouble(point));
+        return value <= Math.max(Math.abs(fa), Math.abs(fb)) ? point : Double.NaN;
+    }
+}
@@ -0,0 +1,141 @@
+package multivariate.models;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.CompiledHessian;
+import calculus.multivariate.models.functions.CompiledJacobian;
+import calculus.multivariate.models.functions.ConstantFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledDerivativeTests {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final Variable Z = new Variable("z");
+
+    @Test
+    public void jacobianTests() {
+        // F = (x^2 y + 3 z, y z^2 - x, 2 x) at (1, 2, 3)
+        final PolynomialFunction f1 = new PolynomialFunction("F1", List.of(X, Y, Z), false, List.of(
+                new PolynomialTerm(Map.of(X, 2.0, Y, 1.0), 1.0), new PolynomialTerm(Map.of(Z, 1.0), 3.0)));
+        final PolynomialFunction f2 = new PolynomialFunction("F2", List.of(X, Y, Z), false, List.of(
+                new PolynomialTerm(Map.of(Y, 1.0, Z, 2.0), 1.0), new PolynomialTerm(Map.of(X, 1.0), -1.0)));
+        final PolynomialFunction f3 = new PolynomialFunction("F3", List.of(X), false, List.of(
+                new PolynomialTerm(Map.of(X, 1.0), 2.0)));
+        final CompiledJacobian jacobian = CompiledJacobian.of(List.of(f1, f2, f3));
+        assertEquals(VariableLayout.of(X, Y, Z), jacobian.getLayout());
+        assertEquals(7, jacobian.getNonZeroCount());
+
+        final double[] point = {1, 2, 3};
+        assertArrayEquals(new double[] {11, 17, 2}, jacobian.evaluateFunctions(point, new double[3]), 1e-12);
+        final double[] expected = {
+                4, 1, 3,
+                -1, 9, 12,
+                2, 0, 0};
+        assertArrayEquals(expected, jacobian.evaluate(point, new double[9]), 1e-12);
+        final Matrix dense = jacobian.evaluate(point, new Matrix("J", 3, 3));
+        assertEquals(12.0, dense.get(1, 2), 1e-12);
+        assertEquals(0.0, dense.get(2, 1));
+
+        // The sparse matrix shares the structure, only its values being written
+        final SparseMatrix sparse = jacobian.newSparseMatrix("J");
+        assertTrue(sparse == jacobian.evaluate(point, sparse));
+        assertArrayEquals(expected, sparse.toDense().getData(), 1e-12);
+        assertArrayEquals(new double[] {4, 1, 3, -1, 9, 12, 2}, jacobian.evaluateNonZeros(point, new double[7]), 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> jacobian.evaluate(point, new Matrix("J", 3, 2)));
+        assertThrows(IllegalArgumentException.class, () -> jacobian.evaluate(new double[] {1, 2}, new double[9]));
+        assertThrows(IllegalArgumentException.class, () -> jacobian.evaluate(point, SparseMatrix.fromDense(dense, SparseMatrix.Format.CSR)));
+        assertThrows(IllegalArgumentException.class, () -> CompiledJacobian.of(List.of(f1), VariableLayout.of(X, Y)));
+
+        // Derivatives with respect to absent variables vanish
+        assertTrue(f3.partialDerivative(Y).isConstant());
+        assertEquals(0.0, f3.partialDerivative(Y).evaluate(Map.of(X, 5.0)));
+        assertEquals(0, CompiledJacobian.of(List.of(new ConstantFunction(1.0, "C", false)), VariableLayout.of(X)).getNonZeroCount());
+    }
+
+    @Test
+    public void hessianTests() {
+        // f = x^3 y + y^2 z + 4 z, Hessian at (1, 2, 3): [[12, 3, 0], [3, 6, 4], [0, 4, 0]]
+        final PolynomialFunction f = new PolynomialFunction("F", List.of(X, Y, Z), false, List.of(
+                new PolynomialTerm(Map.of(X, 3.0, Y, 1.0), 1.0),
+                new PolynomialTerm(Map.of(Y, 2.0, Z, 1.0), 1.0),
+                new PolynomialTerm(Map.of(Z, 1.0), 4.0)));
+        final CompiledHessian hessian = CompiledHessian.of(f);
+        assertEquals(3, hessian.getSize());
+        // No term has x and z or z^2, so (x, z), (z, x) and (z, z) are structural zeros
+        assertEquals(6, hessian.getNonZeroCount());
+
+        final double[] point = {1, 2, 3};
+        final double[] expected = {
+                12, 3, 0,
+                3, 6, 4,
+                0, 4, 0};
+        assertArrayEquals(expected, hessian.evaluate(point, new double[9]), 1e-12);
+        assertArrayEquals(expected, hessian.evaluate(point, new Matrix("H", 3, 3)).getData(), 1e-12);
+        final SparseMatrix sparse = hessian.evaluate(point, hessian.newSparseMatrix("H"));
+        assertArrayEquals(expected, sparse.toDense().getData(), 1e-12);
+        assertArrayEquals(new int[] {0, 2, 5, 6}, sparse.getPointers());
+        assertArrayEquals(new int[] {0, 1, 0, 1, 2, 1}, sparse.getIndices());
+    }
+
+    @Test
+    public void largeHessianTests() {
+        // Chain 100 variables: sum of x_i^2 x_{i+1}, tridiagonal Hessian
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            variables.add(new Variable("x" + i));
+        }
+        final List<PolynomialTerm> terms = new ArrayList<>();
+        for (int i = 0; i < 99; i++) {
+            terms.add(new PolynomialTerm(Map.of(variables.get(i), 2.0, variables.get(i + 1), 1.0), 1.0));
+        }
+        final PolynomialFunction f = new PolynomialFunction("F", variables, false, terms);
+        final VariableLayout layout = VariableLayout.of(variables);
+        final CompiledHessian hessian = CompiledHessian.of(f, layout);
+        // x99 is linear, so the last diagonal entry is a structural zero
+        assertEquals(99 + 2 * 99, hessian.getNonZeroCount());
+
+        final double[] point = new double[100];
+        for (int i = 0; i < 100; i++) {
+            point[i] = 0.01 * i;
+        }
+        final SparseMatrix sparse = hessian.newSparseMatrix("H");
+        hessian.evaluate(point, sparse);
+        // d2f / dx_i^2 = 2 x_{i+1} and d2f / dx_i dx_{i+1} = 2 x_i
+        assertEquals(2 * point[51], sparse.get(50, 50), 1e-12);
+        assertEquals(2 * point[50], sparse.get(50, 51), 1e-12);
+        assertEquals(2 * point[50], sparse.get(51, 50), 1e-12);
+        assertEquals(0.0, sparse.get(50, 52));
+
+        // Repeated evaluations allocate nothing once warm
+        final CompiledJacobian gradient = CompiledJacobian.of(List.of(f), layout);
+        final double[] gradientValues = new double[100];
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int warmUp = 0; warmUp < 3; warmUp++) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            for (int repeat = 0; repeat < 100; repeat++) {
+                hessian.evaluate(point, sparse);
+                gradient.evaluate(point, gradientValues);
+            }
+            if (warmUp == 2) {
+                assertTrue(threads.getCurrentThreadAllocatedBytes() - before < 1024);
+            }
+        }
+        assertEquals(point[49] * point[49] + 2 * point[50] * point[51], gradientValues[50], 1e-12);
+    }
+}
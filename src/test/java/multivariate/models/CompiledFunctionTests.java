@@ -0,0 +1,149 @@
+package multivariate.models;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.CompiledFunction;
+import calculus.multivariate.models.functions.ConstantFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialSpecialization;
+import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
+import calculus.univariate.models.Variable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledFunctionTests {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final Variable Z = new Variable("z");
+
+    @Test
+    public void layoutTests() {
+        final VariableLayout layout = VariableLayout.of(Z, X);
+        assertEquals(2, layout.size());
+        assertEquals(0, layout.slotOf(Z));
+        assertEquals(X, layout.getVariable(1));
+        assertTrue(layout.contains(X));
+        assertEquals("[z, x]", layout.toString());
+        assertEquals(List.of(X, Y, Z), VariableLayout.sorted(List.of(Z, Y, X)).getVariables());
+        assertEquals(2.0, layout.toPoint(Map.of(X, 2.0, Z, 3.0, Y, 4.0))[1]);
+        assertEquals(Map.of(Z, 1.0, X, 2.0), layout.toMap(new double[] {9, 1, 2}, 1));
+        assertThrows(IllegalArgumentException.class, () -> layout.slotOf(Y));
+        assertThrows(IllegalArgumentException.class, () -> layout.toPoint(Map.of(X, 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> VariableLayout.of(X, Y, X));
+    }
+
+    @Test
+    public void polynomialTests() {
+        // P(x, y, z) = 3 x^2 y + 2 x z^3 - 5 + y^0.5
+        final PolynomialFunction polynomial = new PolynomialFunction("P", List.of(X, Y, Z), false, List.of(
+                new PolynomialTerm(Map.of(X, 2.0, Y, 1.0), 3.0),
+                new PolynomialTerm(Map.of(X, 1.0, Z, 3.0), 2.0),
+                new PolynomialTerm(Map.of(), -5.0),
+                new PolynomialTerm(Map.of(Y, 0.5), 1.0)));
+
+        final CompiledFunction compiled = polynomial.compile();
+        assertEquals(VariableLayout.of(X, Y, Z), compiled.getLayout());
+        assertEquals(3 * 4 * 9 + 2 * 2 * 8 - 5 + 3, compiled.evaluate(new double[] {2, 9, 2}), 1e-12);
+
+        // Any layout containing the variables works, and points can be packed in one array
+        final CompiledFunction reordered = polynomial.compile(VariableLayout.of(new Variable("w"), Z, Y, X));
+        final double[] points = {0, 2, 9, 2, 7, -1, 4, 0.5};
+        final double[] values = reordered.evaluateAll(points, new double[2]);
+        assertEquals(compiled.evaluate(new double[] {2, 9, 2}), values[0], 1e-12);
+        assertEquals(polynomial.evaluate(Map.of(X, 0.5, Y, 4.0, Z, -1.0)), values[1], 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> polynomial.compile(VariableLayout.of(X, Y)));
+        assertThrows(IllegalArgumentException.class, () -> compiled.evaluate(new double[] {1, 2}));
+        assertEquals(4.0, new ConstantFunction(4.0, "C", false).compile(VariableLayout.of(X)).evaluate(new double[] {1}));
+    }
+
+    @Test
+    public void largePolynomialTests() {
+        // 30 variables, 500 terms of up to 6 factors with exponents up to 7
+        final Random random = new Random(3);
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            variables.add(new Variable("x" + i));
+        }
+        final List<PolynomialTerm> terms = new ArrayList<>();
+        for (int t = 0; t < 500; t++) {
+            final Map<Variable, Double> exponents = new HashMap<>();
+            for (int k = 0; k < 1 + random.nextInt(6); k++) {
+                exponents.put(variables.get(random.nextInt(30)), (double) (1 + random.nextInt(7)));
+            }
+            terms.add(new PolynomialTerm(exponents, random.nextGaussian()));
+        }
+        final PolynomialFunction polynomial = new PolynomialFunction("P", variables, false, terms);
+        final VariableLayout layout = VariableLayout.of(variables);
+        final CompiledFunction compiled = polynomial.compile(layout);
+
+        final int count = 2000;
+        final double[] points = random.doubles(count * 30L, -1.5, 1.5).toArray();
+        final double[] values = new double[count];
+        compiled.evaluateAll(points, values);
+        for (int i = 0; i < count; i += 97) {
+            final double expected = polynomial.evaluate(layout.toMap(points, i * 30));
+            assertEquals(expected, values[i], 1e-9 * Math.max(1.0, Math.abs(expected)));
+        }
+
+        // Evaluation allocates nothing once warm
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int warmUp = 0; warmUp < 3; warmUp++) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            compiled.evaluateAll(points, values);
+            if (warmUp == 2) {
+                assertTrue(threads.getCurrentThreadAllocatedBytes() - before < 1024);
+            }
+        }
+    }
+
+    @Test
+    public void specializeTests() {
+        // P(x, y, z) = 3 x^2 y + 2 x z^3 - 5 + y^0.5 + x^2 y z^2 - x z^3
+        final PolynomialFunction polynomial = new PolynomialFunction("P", List.of(X, Y, Z), false, List.of(
+                new PolynomialTerm(Map.of(X, 2.0, Y, 1.0), 3.0),
+                new PolynomialTerm(Map.of(X, 1.0, Z, 3.0), 2.0),
+                new PolynomialTerm(Map.of(), -5.0),
+                new PolynomialTerm(Map.of(Y, 0.5), 1.0),
+                new PolynomialTerm(Map.of(X, 2.0, Y, 1.0, Z, 2.0), 1.0),
+                new PolynomialTerm(Map.of(Z, 3.0), -1.0)));
+
+        // Fixing z leaves the monomials x^2 y, x, 1, y^0.5 and 1 again in x and y: four terms once merged
+        final PolynomialSpecialization specialization = polynomial.specialize(VariableLayout.of(Z), VariableLayout.of(X, Y));
+        assertEquals(4, specialization.getTermCount());
+        final Random random = new Random(11);
+        for (int repeat = 0; repeat < 20; repeat++) {
+            final double z = random.nextDouble() * 4 - 2;
+            final CompiledFunction slice = specialization.at(new double[] {z});
+            assertEquals(VariableLayout.of(X, Y), slice.getLayout());
+            final double x = random.nextDouble() * 4 - 2;
+            final double y = random.nextDouble() * 4;
+            final double expected = polynomial.evaluate(Map.of(X, x, Y, y, Z, z));
+            assertEquals(expected, slice.evaluate(new double[] {x, y}), 1e-10);
+            assertEquals(expected, polynomial.partialEvaluate(Map.of(Z, z)).evaluate(Map.of(X, x, Y, y)), 1e-10);
+        }
+
+        // Through Function, the remaining variables get a sorted layout unless one is given
+        final CompiledFunction slice = polynomial.specialize(Map.of(X, 2.0, Y, 9.0));
+        assertEquals(VariableLayout.of(Z), slice.getLayout());
+        assertEquals(polynomial.evaluate(Map.of(X, 2.0, Y, 9.0, Z, -1.5)), slice.evaluate(new double[] {-1.5}), 1e-10);
+        final CompiledFunction constant = new ConstantFunction(4.0, "C", false).specialize(Map.of(X, 1.0), VariableLayout.of(Y));
+        assertEquals(4.0, constant.evaluate(new double[] {7}));
+        assertEquals(polynomial.evaluate(Map.of(X, 1.0, Y, 4.0, Z, 2.0)),
+                polynomial.specialize(Map.of(Y, 4.0), VariableLayout.of(Z, new Variable("w"), X)).evaluate(new double[] {2, 0, 1}), 1e-10);
+
+        assertThrows(IllegalArgumentException.class, () -> polynomial.specialize(VariableLayout.of(Z), VariableLayout.of(X)));
+        assertThrows(IllegalArgumentException.class, () -> specialization.at(new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> specialization.at(Map.of(X, 1.0)));
+    }
+}
@@ -0,0 +1,177 @@
+package multivariate.models;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.ConstantFunction;
+import calculus.multivariate.models.functions.polynomials.DivisionResult;
+import calculus.multivariate.models.functions.polynomials.GroebnerBasis;
+import calculus.multivariate.models.functions.polynomials.MonomialOrder;
+import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
+import calculus.multivariate.models.functions.polynomials.SparsePolynomial;
+import calculus.univariate.models.Variable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroebnerBasisTests {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final Variable Z = new Variable("z");
+
+    @Test
+    public void divisionTests() {
+        // x^2 y + x y^2 + y^2 divided by (x y - 1, y^2 - 1) in lex order: quotients x + y and 1, remainder x + y + 1
+        final VariableLayout layout = VariableLayout.of(X, Y);
+        final SparsePolynomial f = SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 2, 1).add(1, 1, 2).add(1, 0, 2).build();
+        final SparsePolynomial g1 = SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 1, 1).add(-1).build();
+        final SparsePolynomial g2 = SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 0, 2).add(-1).build();
+        final DivisionResult division = f.divide(List.of(g1, g2));
+        assertEquals(SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 1).add(1, 0, 1).build(), division.getQuotients().get(0));
+        assertEquals(SparsePolynomial.constant(1, layout, MonomialOrder.LEX), division.getQuotients().get(1));
+        assertEquals(SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 1).add(1, 0, 1).add(1).build(), division.getRemainder());
+        assertTrue(f.subtract(division.getQuotients().get(0).multiply(g1)).subtract(g2).subtract(division.getRemainder()).isZero());
+
+        // (x^2 - y^2) / (x - y) = x + y, while x^2 + y^2 is not divisible by x - y
+        final PolynomialFunction difference = new PolynomialFunction("D", List.of(X, Y), false, List.of(
+                new PolynomialTerm(Map.of(X, 2.0), 1.0), new PolynomialTerm(Map.of(Y, 2.0), -1.0)));
+        final PolynomialFunction sum = new PolynomialFunction("S", List.of(X, Y), false, List.of(
+                new PolynomialTerm(Map.of(X, 2.0), 1.0), new PolynomialTerm(Map.of(Y, 2.0), 1.0)));
+        final PolynomialFunction divisor = new PolynomialFunction("G", List.of(X, Y), false, List.of(
+                new PolynomialTerm(Map.of(X, 1.0), 1.0), new PolynomialTerm(Map.of(Y, 1.0), -1.0)));
+        final PolynomialFunction quotient = (PolynomialFunction) difference.divide(divisor);
+        assertEquals(2, quotient.getTerms().size());
+        assertEquals(5.0, quotient.evaluate(Map.of(X, 2.0, Y, 3.0)), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> sum.divide(divisor));
+        assertEquals(7.5, difference.divide(new ConstantFunction(2.0, "C", false)).evaluate(Map.of(X, 4.0, Y, 1.0)), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> f.divide(List.of(SparsePolynomial.zero(layout, MonomialOrder.LEX))));
+    }
+
+    @Test
+    public void basisTests() {
+        // x^2 + y^2 + z^2 - 1, x^2 + z^2 - y, x - z in lex order: x - z, y - 2 z^2, z^4 + z^2 / 2 - 1 / 4
+        final VariableLayout layout = VariableLayout.of(X, Y, Z);
+        final List<SparsePolynomial> generators = List.of(
+                SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 2).add(1, 0, 2).add(1, 0, 0, 2).add(-1).build(),
+                SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 2).add(1, 0, 0, 2).add(-1, 0, 1).build(),
+                SparsePolynomial.builder(layout, MonomialOrder.LEX).add(1, 1).add(-1, 0, 0, 1).build());
+        for (final GroebnerBasis.Algorithm algorithm : GroebnerBasis.Algorithm.values()) {
+            final List<SparsePolynomial> basis = GroebnerBasis.builder().algorithm(algorithm).build().compute(generators);
+            assertEquals(3, basis.size());
+            assertArrayEquals(new int[] {0, 0, 4}, basis.get(0).getLeadingExponents());
+            assertArrayEquals(new double[] {1, 0.5, -0.25}, coefficients(basis.get(0)), 1e-12);
+            assertArrayEquals(new int[] {0, 1, 0}, basis.get(1).getLeadingExponents());
+            assertArrayEquals(new double[] {1, -2}, coefficients(basis.get(1)), 1e-12);
+            assertArrayEquals(new int[] {1, 0, 0}, basis.get(2).getLeadingExponents());
+            assertArrayEquals(new double[] {1, -1}, coefficients(basis.get(2)), 1e-12);
+        }
+
+        // No common zero: x y - 1, x
+        final List<SparsePolynomial> inconsistent = GroebnerBasis.builder().build().compute(List.of(
+                SparsePolynomial.builder(layout, MonomialOrder.GREVLEX).add(1, 1, 1).add(-1).build(),
+                SparsePolynomial.builder(layout, MonomialOrder.GREVLEX).add(1, 1).build()));
+        assertEquals(List.of(SparsePolynomial.constant(1, layout, MonomialOrder.GREVLEX)), inconsistent);
+        assertTrue(GroebnerBasis.builder().build().compute(List.of(SparsePolynomial.zero(layout, MonomialOrder.LEX))).isEmpty());
+
+        // Decimal coefficients are read as fractions, 0.1 x - 0.3 y giving x - 3 y exactly
+        final List<SparsePolynomial> decimal = GroebnerBasis.builder().build().compute(List.of(
+                SparsePolynomial.builder(layout, MonomialOrder.GREVLEX).add(0.1, 1).add(-0.3, 0, 1).build()));
+        assertArrayEquals(new double[] {1, -3}, coefficients(decimal.get(0)), 0.0);
+    }
+
+    @Test
+    public void systemTests() {
+        for (final List<SparsePolynomial> system : List.of(katsura(5), cyclic(4))) {
+            final List<SparsePolynomial> f4 = GroebnerBasis.builder().build().compute(system);
+            final List<SparsePolynomial> buchberger = GroebnerBasis.builder().algorithm(GroebnerBasis.Algorithm.BUCHBERGER).build().compute(system);
+
+            // The reduced basis is unique
+            assertEquals(buchberger.size(), f4.size());
+            for (int i = 0; i < f4.size(); i++) {
+                assertEquals(buchberger.get(i).size(), f4.get(i).size());
+                for (int t = 0; t < f4.get(i).size(); t++) {
+                    assertArrayEquals(buchberger.get(i).getExponents(t), f4.get(i).getExponents(t));
+                    assertEquals(buchberger.get(i).getCoefficient(t), f4.get(i).getCoefficient(t), 1e-7);
+                }
+            }
+            // The generators lie in the ideal of the basis
+            for (final SparsePolynomial generator : system) {
+                assertTrue(generator.remainder(f4, 1e-9).isZero());
+            }
+        }
+        // The cyclic 4 ideal has a reduced grevlex basis of 7 polynomials
+        assertEquals(7, GroebnerBasis.builder().build().compute(cyclic(4)).size());
+    }
+
+    private static double[] coefficients(final SparsePolynomial polynomial) {
+        final double[] coefficients = new double[polynomial.size()];
+        for (int t = 0; t < coefficients.length; t++) {
+            coefficients[t] = polynomial.getCoefficient(t);
+        }
+        return coefficients;
+    }
+
+    private static VariableLayout layout(final int numVars) {
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < numVars; i++) {
+            variables.add(new Variable("u" + i));
+        }
+        return VariableLayout.of(variables);
+    }
+
+    private static SparsePolynomial variable(final VariableLayout layout, final int slot) {
+        final int[] exponents = new int[layout.size()];
+        exponents[slot] = 1;
+        return SparsePolynomial.builder(layout, MonomialOrder.GREVLEX).add(1, exponents).build();
+    }
+
+    /**
+     * u0 + 2 (u1 + ... + un) - 1, and sum over l from -n to n of u|l| u|m - l| - um for m < n
+     */
+    private static List<SparsePolynomial> katsura(final int n) {
+        final VariableLayout layout = layout(n + 1);
+        final List<SparsePolynomial> system = new ArrayList<>();
+        SparsePolynomial linear = variable(layout, 0).subtract(SparsePolynomial.constant(1, layout, MonomialOrder.GREVLEX));
+        for (int i = 1; i <= n; i++) {
+            linear = linear.add(variable(layout, i).scale(2));
+        }
+        system.add(linear);
+        for (int m = 0; m < n; m++) {
+            SparsePolynomial equation = variable(layout, m).negate();
+            for (int l = -n; l <= n; l++) {
+                if (Math.abs(m - l) <= n) {
+                    equation = equation.add(variable(layout, Math.abs(l)).multiply(variable(layout, Math.abs(m - l))));
+                }
+            }
+            system.add(equation);
+        }
+        return system;
+    }
+
+    /**
+     * Sums of the products of k cyclically consecutive variables, for k < n, and the product of all minus 1
+     */
+    private static List<SparsePolynomial> cyclic(final int n) {
+        final VariableLayout layout = layout(n);
+        final List<SparsePolynomial> system = new ArrayList<>();
+        for (int k = 1; k <= n; k++) {
+            SparsePolynomial sum = SparsePolynomial.zero(layout, MonomialOrder.GREVLEX);
+            for (int start = 0; start < (k == n ? 1 : n); start++) {
+                SparsePolynomial product = SparsePolynomial.constant(1, layout, MonomialOrder.GREVLEX);
+                for (int j = 0; j < k; j++) {
+                    product = product.multiply(variable(layout, (start + j) % n));
+                }
+                sum = sum.add(product);
+            }
+            system.add(k == n ? sum.subtract(SparsePolynomial.constant(1, layout, MonomialOrder.GREVLEX)) : sum);
+        }
+        return system;
+    }
+}
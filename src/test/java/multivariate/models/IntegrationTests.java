@@ -0,0 +1,157 @@
+package multivariate.models;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.ConstantFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
+import calculus.multivariate.models.integration.Box;
+import calculus.multivariate.models.integration.CubatureIntegrator;
+import calculus.multivariate.models.integration.ExactIntegrator;
+import calculus.multivariate.models.integration.IntegrationResult;
+import calculus.multivariate.models.integration.QuasiMonteCarloIntegrator;
+import calculus.multivariate.models.integration.SobolSequence;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.numberUtils.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntegrationTests {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final Variable Z = new Variable("z");
+
+    // P(x, y, z) = 3 x^2 y + 2 x z^3 - 5, whose integral over [0, 1] x [-1, 2] x [0, 2] is 3 + 12 - 30 = -15
+    private static final PolynomialFunction P = new PolynomialFunction("P", List.of(X, Y, Z), false, List.of(
+            new PolynomialTerm(Map.of(X, 2.0, Y, 1.0), 3.0),
+            new PolynomialTerm(Map.of(X, 1.0, Z, 3.0), 2.0),
+            new PolynomialTerm(Map.of(), -5.0)));
+    private static final Map<Variable, Range> BOX = Map.of(X, Range.closed(0.0, 1.0), Y, Range.closed(-1.0, 2.0), Z, Range.closed(0.0, 2.0));
+
+    @Test
+    public void exactTests() {
+        final IntegrationResult result = new ExactIntegrator().integrate(P, BOX);
+        assertEquals(-15.0, result.getValue(), 1e-12);
+        assertEquals(0.0, result.getErrorEstimate());
+        assertEquals(6.0, Box.of(BOX).getVolume());
+
+        // Antiderivatives: d/dx of the antiderivative in x gives P back, and variables P lacks are added
+        final PolynomialFunction antiderivative = P.antiderivative(X);
+        assertTrue(antiderivative.getIsIndefiniteIntegral());
+        final Map<Variable, Double> point = Map.of(X, 0.7, Y, -1.3, Z, 2.1);
+        assertEquals(P.evaluate(point), antiderivative.partialDerivative(X).evaluate(point), 1e-12);
+        final Variable w = new Variable("w");
+        assertTrue(P.antiderivative(w).containsVariable(w));
+
+        // Variables of the box missing from the integrand multiply by their widths, x^-1 integrates to a logarithm
+        final PolynomialFunction inverse = new PolynomialFunction("Q", List.of(X), false, List.of(new PolynomialTerm(Map.of(X, -1.0), 1.0)));
+        final Map<Variable, Range> positive = Map.of(X, Range.closed(1.0, Math.E), Y, Range.closed(0.0, 2.0));
+        assertEquals(2.0, new ExactIntegrator().integrate(inverse, positive).getValue(), 1e-12);
+        assertEquals(12.0, new ExactIntegrator().integrate(new ConstantFunction(2.0, "C", false), BOX).getValue());
+        assertThrows(UnsupportedOperationException.class, () -> inverse.antiderivative(X));
+
+        assertThrows(IllegalArgumentException.class, () -> new ExactIntegrator().integrate(inverse, Map.of(X, Range.closed(-1.0, 1.0))));
+        assertThrows(IllegalArgumentException.class, () -> new ExactIntegrator().integrate(P, Map.of(X, Range.closed(0.0, 1.0))));
+        final PolynomialFunction undeclared = new PolynomialFunction("R", List.of(X), false, List.of(new PolynomialTerm(Map.of(X, 1.0, Y, 1.0), 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> new ExactIntegrator().integrate(undeclared, Map.of(X, Range.closed(0.0, 1.0))));
+        assertThrows(IllegalArgumentException.class, () -> Box.of(Map.of(X, Range.all())));
+        assertThrows(IllegalArgumentException.class, () -> Box.of(Map.of(X, Range.closed(0.0, 1.0)), VariableLayout.of(X, Y)));
+    }
+
+    @Test
+    public void cubatureTests() {
+        final IntegrationResult result = CubatureIntegrator.builder().points(4).build().integrate(P, BOX);
+        assertEquals(-15.0, result.getValue(), 1e-12);
+        assertEquals(64 + 27, result.getEvaluations());
+        // Degree 3 in z is exact for both rules
+        assertTrue(result.getErrorEstimate() < 1e-12);
+
+        // x^0.5 y^1.5 over [0, 1]^2 is 2 / 3 * 2 / 5, the singular derivatives at 0 slowing convergence
+        final PolynomialFunction roots = new PolynomialFunction("R", List.of(X, Y), false, List.of(new PolynomialTerm(Map.of(X, 0.5, Y, 1.5), 1.0)));
+        final IntegrationResult rootsResult = CubatureIntegrator.builder().build()
+                .integrate(roots, Map.of(X, Range.closed(0.0, 1.0), Y, Range.closed(0.0, 1.0)));
+        assertEquals(4.0 / 15, rootsResult.getValue(), 1e-4);
+        assertTrue(rootsResult.getErrorEstimate() > 0.0);
+        assertTrue(Math.abs(rootsResult.getValue() - 4.0 / 15) < 10 * rootsResult.getErrorEstimate());
+
+        assertThrows(IllegalArgumentException.class, () -> CubatureIntegrator.builder().points(10).maxEvaluations(1000).build().integrate(P, BOX));
+        assertThrows(IllegalArgumentException.class, () -> CubatureIntegrator.builder().points(1).build().integrate(P, BOX));
+    }
+
+    @Test
+    public void quasiMonteCarloTests() {
+        // Sum of x_i^2 + x_i x_{i+1} over [0, 1]^30: 30 / 3 + 29 / 4
+        final List<Variable> variables = new ArrayList<>();
+        final Map<Variable, Range> ranges = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            variables.add(new Variable("x" + i));
+            ranges.put(variables.get(i), Range.closed(0.0, 1.0));
+        }
+        final List<PolynomialTerm> terms = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            terms.add(new PolynomialTerm(Map.of(variables.get(i), 2.0), 1.0));
+            if (i < 29) {
+                terms.add(new PolynomialTerm(Map.of(variables.get(i), 1.0, variables.get(i + 1), 1.0), 1.0));
+            }
+        }
+        final PolynomialFunction sum = new PolynomialFunction("S", variables, false, terms);
+        final double exact = 10.0 + 29.0 / 4;
+        assertEquals(exact, new ExactIntegrator().integrate(sum, ranges).getValue(), 1e-12);
+
+        final QuasiMonteCarloIntegrator integrator = QuasiMonteCarloIntegrator.builder().points(1 << 12).replicates(8).seed(7).build();
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            final IntegrationResult result = integrator.integrate(sum, Box.of(ranges), four);
+            assertEquals(8L << 12, result.getEvaluations());
+            assertTrue(result.getErrorEstimate() > 0.0 && result.getErrorEstimate() < 1e-2, result.toString());
+            assertTrue(Math.abs(result.getValue() - exact) < 5 * result.getErrorEstimate(), result.toString());
+
+            // Equal seeds give the same value on any pool, other seeds another estimate
+            assertEquals(result.getValue(), integrator.integrate(sum, Box.of(ranges), single).getValue());
+            assertTrue(result.getValue() != QuasiMonteCarloIntegrator.builder().points(1 << 12).replicates(8).seed(8).build()
+                    .integrate(sum, Box.of(ranges), four).getValue());
+        } finally {
+            single.shutdown();
+            four.shutdown();
+        }
+        final IntegrationResult small = QuasiMonteCarloIntegrator.builder().build().integrate(P, BOX);
+        assertEquals(-15.0, small.getValue(), 5 * small.getErrorEstimate() + 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> QuasiMonteCarloIntegrator.builder().replicates(1).build().integrate(P, BOX));
+    }
+
+    @Test
+    public void sobolTests() {
+        final SobolSequence sequence = SobolSequence.of(100);
+        final double[] point = new double[100];
+        assertEquals(0.0, sequence.point(0, point)[7]);
+        sequence.point(1, point);
+        assertEquals(0.5, point[0]);
+        assertEquals(0.5, point[1]);
+        final double[] plane = new double[2];
+        assertArrayEquals(new double[] {0.75, 0.25}, SobolSequence.of(2).point(2, plane));
+        assertArrayEquals(new double[] {0.25, 0.75}, SobolSequence.of(2).point(3, plane));
+
+        // Each coordinate of the first 1024 points has one point per interval of width 1 / 1024
+        for (final int coordinate : new int[] {0, 1, 5, 20, 21, 40, 99}) {
+            final boolean[] hit = new boolean[1024];
+            for (int i = 0; i < 1024; i++) {
+                final int cell = (int) (sequence.point(i, point)[coordinate] * 1024);
+                assertTrue(!hit[cell]);
+                hit[cell] = true;
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> SobolSequence.of(0));
+        assertThrows(IllegalArgumentException.class, () -> sequence.point(-1, point));
+    }
+}
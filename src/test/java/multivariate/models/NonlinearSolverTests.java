@@ -0,0 +1,170 @@
+package multivariate.models;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.CompiledJacobian;
+import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
+import calculus.multivariate.models.solvers.JacobianStorage;
+import calculus.multivariate.models.solvers.LevenbergMarquardtSolver;
+import calculus.multivariate.models.solvers.NewtonSolver;
+import calculus.multivariate.models.solvers.NonlinearSolver;
+import calculus.multivariate.models.solvers.NonlinearSolverResult;
+import calculus.univariate.models.Variable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NonlinearSolverTests {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final VariableLayout XY = VariableLayout.of(X, Y);
+
+    @Test
+    public void newtonTests() {
+        // x^2 + y^2 - 4 = 0, x - y = 0
+        final CompiledJacobian circle = CompiledJacobian.of(List.of(
+                polynomial(Map.of(X, 2.0), 1.0, Map.of(Y, 2.0), 1.0, Map.of(), -4.0),
+                polynomial(Map.of(X, 1.0), 1.0, Map.of(Y, 1.0), -1.0)), XY);
+        for (final JacobianStorage storage : JacobianStorage.values()) {
+            final double[] x = {1, 3};
+            final NonlinearSolverResult result = NewtonSolver.builder().storage(storage).build().solve(circle, x);
+            assertEquals(NonlinearSolverResult.Status.FUNCTION_TOLERANCE, result.getStatus());
+            assertTrue(result.isConverged());
+            assertTrue(result.getIterations() < 10);
+            assertEquals(0, result.getUnconvergedLinearSolves());
+            assertArrayEquals(new double[] {Math.sqrt(2), Math.sqrt(2)}, x, 1e-10);
+        }
+
+        // x^2 + y + z - 3 = 0, x + y^2 - 2 = 0, x + z^2 - 2 = 0: ILU(0) drops the fill-in of the Jacobian, so GMRES
+        // stopped after a single iteration leaves inexact steps, which are counted but still taken
+        final Variable z = new Variable("z");
+        final List<Variable> xyz = List.of(X, Y, z);
+        final CompiledJacobian arrow = CompiledJacobian.of(List.of(
+                new PolynomialFunction("F", xyz, false, List.of(new PolynomialTerm(Map.of(X, 2.0), 1.0),
+                        new PolynomialTerm(Map.of(Y, 1.0), 1.0), new PolynomialTerm(Map.of(z, 1.0), 1.0), new PolynomialTerm(Map.of(), -3.0))),
+                new PolynomialFunction("G", xyz, false, List.of(new PolynomialTerm(Map.of(X, 1.0), 1.0),
+                        new PolynomialTerm(Map.of(Y, 2.0), 1.0), new PolynomialTerm(Map.of(), -2.0))),
+                new PolynomialFunction("H", xyz, false, List.of(new PolynomialTerm(Map.of(X, 1.0), 1.0),
+                        new PolynomialTerm(Map.of(z, 2.0), 1.0), new PolynomialTerm(Map.of(), -2.0)))), VariableLayout.of(X, Y, z));
+        final double[] inexact = {1.3, 0.8, 1.2};
+        final NonlinearSolverResult truncated = NewtonSolver.builder()
+                .storage(JacobianStorage.SPARSE)
+                .maxLinearIterations(1)
+                .build()
+                .solve(arrow, inexact);
+        assertTrue(truncated.getUnconvergedLinearSolves() > 0);
+        assertTrue(truncated.isConverged());
+        assertArrayEquals(new double[] {1, 1, 1}, inexact, 1e-9);
+
+        // Rosenbrock: 10 (y - x^2) = 0, 1 - x = 0 from (-1.2, 1), with a full step overshooting
+        final List<Integer> iterations = new ArrayList<>();
+        final double[] x = {-1.2, 1};
+        final NonlinearSolverResult rosenbrock = NewtonSolver.builder()
+                .callback((iteration, residualNorm, stepNorm) -> iterations.add(iteration))
+                .build()
+                .solve(rosenbrock(), x);
+        assertTrue(rosenbrock.isConverged());
+        assertArrayEquals(new double[] {1, 1}, x, 1e-10);
+        assertEquals(rosenbrock.getIterations(), iterations.size());
+        assertTrue(rosenbrock.getFunctionEvaluations() > rosenbrock.getIterations());
+
+        // x + y - 1 = 0, 2 x + 2 y - 3 = 0 has no solution, its Jacobian being singular
+        final CompiledJacobian parallel = CompiledJacobian.of(List.of(
+                polynomial(Map.of(X, 1.0), 1.0, Map.of(Y, 1.0), 1.0, Map.of(), -1.0),
+                polynomial(Map.of(X, 1.0), 2.0, Map.of(Y, 1.0), 2.0, Map.of(), -3.0)), XY);
+        final NonlinearSolverResult singular = NewtonSolver.builder().build().solve(parallel, new double[] {0, 0});
+        assertEquals(NonlinearSolverResult.Status.SINGULAR_JACOBIAN, singular.getStatus());
+        assertTrue(!singular.isConverged());
+
+        final CompiledJacobian overdetermined = overdetermined();
+        assertThrows(IllegalArgumentException.class, () -> NewtonSolver.builder().build().solve(overdetermined, new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> NewtonSolver.builder().build().solve(circle, new double[3]));
+    }
+
+    @Test
+    public void levenbergMarquardtTests() {
+        for (final JacobianStorage storage : JacobianStorage.values()) {
+            final LevenbergMarquardtSolver solver = LevenbergMarquardtSolver.builder().storage(storage).build();
+            final double[] x = {-1.2, 1};
+            final NonlinearSolverResult result = solver.solve(rosenbrock(), x);
+            assertEquals(NonlinearSolverResult.Status.FUNCTION_TOLERANCE, result.getStatus());
+            assertArrayEquals(new double[] {1, 1}, x, 1e-9);
+
+            // x - 1, y - 2, x + y - 4 have the least squares solution (4 / 3, 7 / 3)
+            final double[] leastSquares = {0, 0};
+            final NonlinearSolverResult fit = solver.solve(overdetermined(), leastSquares);
+            assertTrue(fit.isConverged());
+            assertTrue(fit.getStatus() != NonlinearSolverResult.Status.FUNCTION_TOLERANCE);
+            assertArrayEquals(new double[] {4.0 / 3, 7.0 / 3}, leastSquares, 1e-8);
+            assertEquals(1 / Math.sqrt(3), fit.getResidualNorm(), 1e-8);
+        }
+    }
+
+    @Test
+    public void batchTests() {
+        // x^2 - a = 0, y - b x = 0, solved by x = sqrt(a), y = b sqrt(a)
+        final List<CompiledJacobian> systems = new ArrayList<>();
+        final List<double[]> guesses = new ArrayList<>();
+        for (int k = 0; k < 300; k++) {
+            final double a = 1 + 0.1 * k;
+            final double b = -1 + 0.01 * k;
+            systems.add(CompiledJacobian.of(List.of(
+                    polynomial(Map.of(X, 2.0), 1.0, Map.of(), -a),
+                    polynomial(Map.of(Y, 1.0), 1.0, Map.of(X, 1.0), -b)), XY));
+            guesses.add(new double[] {1, 1});
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final NonlinearSolver solver : List.of(NewtonSolver.builder().build(), LevenbergMarquardtSolver.builder().build())) {
+                final List<double[]> starts = guesses.stream().map(double[]::clone).toList();
+                final List<NonlinearSolverResult> results = solver.solveAll(systems, starts, pool);
+                assertEquals(300, results.size());
+                for (int k = 0; k < 300; k++) {
+                    assertTrue(results.get(k).isConverged());
+                    final double root = Math.sqrt(1 + 0.1 * k);
+                    assertArrayEquals(new double[] {root, (-1 + 0.01 * k) * root}, starts.get(k), 1e-9);
+                }
+
+                // Warm starts: a system close to a solved one takes fewer iterations from its solution
+                final double[] warm = starts.get(150).clone();
+                final int cold = solver.solve(systems.get(151), guesses.get(151).clone()).getIterations();
+                assertTrue(solver.solve(systems.get(151), warm).getIterations() < cold);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> NewtonSolver.builder().build().solveAll(systems, List.of()));
+    }
+
+    private static CompiledJacobian rosenbrock() {
+        return CompiledJacobian.of(List.of(
+                polynomial(Map.of(Y, 1.0), 10.0, Map.of(X, 2.0), -10.0),
+                polynomial(Map.of(), 1.0, Map.of(X, 1.0), -1.0)), XY);
+    }
+
+    private static CompiledJacobian overdetermined() {
+        return CompiledJacobian.of(List.of(
+                polynomial(Map.of(X, 1.0), 1.0, Map.of(), -1.0),
+                polynomial(Map.of(Y, 1.0), 1.0, Map.of(), -2.0),
+                polynomial(Map.of(X, 1.0), 1.0, Map.of(Y, 1.0), 1.0, Map.of(), -4.0)), XY);
+    }
+
+    private static PolynomialFunction polynomial(final Map<Variable, Double> e1, final double c1, final Map<Variable, Double> e2, final double c2) {
+        return new PolynomialFunction("F", List.of(X, Y), false, List.of(new PolynomialTerm(e1, c1), new PolynomialTerm(e2, c2)));
+    }
+
+    private static PolynomialFunction polynomial(final Map<Variable, Double> e1, final double c1, final Map<Variable, Double> e2, final double c2,
+                                                 final Map<Variable, Double> e3, final double c3) {
+        return new PolynomialFunction("F", List.of(X, Y), false,
+                List.of(new PolynomialTerm(e1, c1), new PolynomialTerm(e2, c2), new PolynomialTerm(e3, c3)));
+    }
+}
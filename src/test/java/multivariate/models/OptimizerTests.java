@@ -0,0 +1,173 @@
+package multivariate.models;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
+import calculus.multivariate.models.optimization.Bounds;
+import calculus.multivariate.models.optimization.GradientOracle;
+import calculus.multivariate.models.optimization.LBFGS;
+import calculus.multivariate.models.optimization.NonlinearConjugateGradient;
+import calculus.multivariate.models.optimization.Optimizer;
+import calculus.multivariate.models.optimization.OptimizerResult;
+import calculus.univariate.models.Variable;
+import calculus.univariate.models.numberUtils.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OptimizerTests {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+
+    @Test
+    public void unconstrainedTests() {
+        // Rosenbrock: (1 - x)^2 + 100 (y - x^2)^2 = 1 - 2 x + x^2 + 100 y^2 - 200 x^2 y + 100 x^4
+        final GradientOracle rosenbrock = GradientOracle.of(rosenbrock(X, Y));
+        assertEquals(2, rosenbrock.getDimension());
+        final double[] gradient = new double[2];
+        assertEquals(24.2, rosenbrock.evaluate(new double[] {-1.2, 1}, gradient), 1e-12);
+        assertArrayEquals(new double[] {-215.6, -88}, gradient, 1e-9);
+
+        final List<Optimizer> optimizers = List.of(LBFGS.builder().build(),
+                NonlinearConjugateGradient.builder().build(),
+                NonlinearConjugateGradient.builder().formula(NonlinearConjugateGradient.Formula.FLETCHER_REEVES).maxIterations(20000).build());
+        for (final Optimizer optimizer : optimizers) {
+            final double[] x = {-1.2, 1};
+            final OptimizerResult result = optimizer.minimize(rosenbrock, x);
+            assertTrue(result.isConverged(), result.toString());
+            assertArrayEquals(new double[] {1, 1}, x, 1e-5);
+            assertTrue(result.getGradientNorm() <= 1e-6);
+            assertEquals(0.0, result.getValue(), 1e-10);
+            assertTrue(result.getEvaluations() > result.getIterations());
+        }
+
+        final List<Double> values = new ArrayList<>();
+        final OptimizerResult logged = LBFGS.builder()
+                .callback((iteration, value, gradientNorm, step) -> values.add(value))
+                .build()
+                .minimize(rosenbrock, new double[] {-1.2, 1});
+        assertEquals(logged.getIterations(), values.size());
+        for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i) <= values.get(i - 1));
+        }
+        assertThrows(IllegalArgumentException.class, () -> LBFGS.builder().build().minimize(rosenbrock, new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> LBFGS.builder().c1(0.5).c2(0.1).build().minimize(rosenbrock, new double[2]));
+    }
+
+    @Test
+    public void largeTests() {
+        // Extended Rosenbrock in 200 variables, pairs (x_2i, x_2i+1) being independent
+        final List<Variable> variables = new ArrayList<>();
+        final List<PolynomialTerm> terms = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Variable a = new Variable("a" + i);
+            final Variable b = new Variable("b" + i);
+            variables.add(a);
+            variables.add(b);
+            terms.addAll(rosenbrock(a, b).getTerms());
+        }
+        final GradientOracle objective = GradientOracle.of(new PolynomialFunction("F", variables, false, terms), VariableLayout.of(variables));
+        // Rounding in the value of the sum limits the attainable gradient norm
+        for (final Optimizer optimizer : List.of(LBFGS.builder().gradientTolerance(1e-5).build(),
+                NonlinearConjugateGradient.builder().gradientTolerance(1e-5).build())) {
+            final double[] x = new double[200];
+            for (int i = 0; i < 100; i++) {
+                x[2 * i] = -1.2;
+                x[2 * i + 1] = 1;
+            }
+            final OptimizerResult result = optimizer.minimize(objective, x);
+            assertTrue(result.isConverged(), result.toString());
+            for (final double component : x) {
+                assertEquals(1.0, component, 1e-5);
+            }
+        }
+    }
+
+    @Test
+    public void boundedTests() {
+        // With x <= 0.5, the Rosenbrock minimum is at (0.5, 0.25), the gradient pushing x against its bound
+        final GradientOracle rosenbrock = GradientOracle.of(rosenbrock(X, Y), VariableLayout.of(X, Y));
+        final Bounds bounds = Bounds.of(Map.of(X, new Range(Double.NEGATIVE_INFINITY, 0.5, false, true)), VariableLayout.of(X, Y));
+        assertEquals(Double.NEGATIVE_INFINITY, bounds.getLower(0));
+        assertEquals(Double.POSITIVE_INFINITY, bounds.getUpper(1));
+        final double[] x = {-1.2, 1};
+        final OptimizerResult result = LBFGS.builder().bounds(bounds).build().minimize(rosenbrock, x);
+        assertEquals(OptimizerResult.Status.GRADIENT_TOLERANCE, result.getStatus());
+        assertArrayEquals(new double[] {0.5, 0.25}, x, 1e-8);
+        assertEquals(0.25, result.getValue(), 1e-12);
+
+        // Starting outside the box, the point is first moved into it
+        final double[] outside = {3, -2};
+        LBFGS.builder().bounds(Bounds.of(new double[] {0, 0}, new double[] {0.5, 0.1})).build().minimize(rosenbrock, outside);
+        assertTrue(outside[0] <= 0.5 && outside[1] <= 0.1 && outside[1] >= 0);
+        assertEquals(0.1, outside[1], 1e-8);
+
+        // Separable quadratic sum (x_i - 2)^2 in 50 variables, half of them bounded above by 1
+        final List<Variable> variables = new ArrayList<>();
+        final List<PolynomialTerm> terms = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final Variable v = new Variable("v" + i);
+            variables.add(v);
+            terms.add(new PolynomialTerm(Map.of(v, 2.0), 1.0));
+            terms.add(new PolynomialTerm(Map.of(v, 1.0), -4.0));
+            terms.add(new PolynomialTerm(Map.of(), 4.0));
+        }
+        final GradientOracle quadratic = GradientOracle.of(new PolynomialFunction("Q", variables, false, terms), VariableLayout.of(variables));
+        final double[] lower = new double[50];
+        final double[] upper = new double[50];
+        Arrays.fill(lower, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < 50; i++) {
+            upper[i] = i % 2 == 0 ? 1.0 : Double.POSITIVE_INFINITY;
+        }
+        final double[] point = new double[50];
+        final OptimizerResult bounded = LBFGS.builder().bounds(Bounds.of(lower, upper)).build().minimize(quadratic, point);
+        assertTrue(bounded.isConverged());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i % 2 == 0 ? 1.0 : 2.0, point[i], 1e-8);
+        }
+        assertEquals(25.0, bounded.getValue(), 1e-10);
+
+        // -x^2 + (y - 1)^2 on [0, 1] x R: the step to the bound x = 1 has negative curvature along x, so its pair
+        // is skipped while the memory of one pair is full, and the kept pair must stay consistent
+        final GradientOracle saddle = GradientOracle.of(new PolynomialFunction("S", List.of(X, Y), false, List.of(
+                new PolynomialTerm(Map.of(X, 2.0), -1.0),
+                new PolynomialTerm(Map.of(Y, 2.0), 1.0),
+                new PolynomialTerm(Map.of(Y, 1.0), -2.0),
+                new PolynomialTerm(Map.of(), 1.0))), VariableLayout.of(X, Y));
+        final double[] start = {0.1, 5};
+        final OptimizerResult skipped = LBFGS.builder()
+                .memory(1)
+                .maxIterations(50)
+                .bounds(Bounds.of(new double[] {0, Double.NEGATIVE_INFINITY}, new double[] {1, Double.POSITIVE_INFINITY}))
+                .build()
+                .minimize(saddle, start);
+        assertTrue(skipped.getSkippedUpdates() > 0);
+        assertEquals(OptimizerResult.Status.GRADIENT_TOLERANCE, skipped.getStatus());
+        assertArrayEquals(new double[] {1, 1}, start, 1e-8);
+        assertEquals(-1.0, skipped.getValue(), 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> Bounds.of(new double[] {1}, new double[] {0}));
+        assertThrows(IllegalArgumentException.class, () -> Bounds.of(new double[] {0, 0}, new double[] {1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> LBFGS.builder().bounds(Bounds.of(new double[] {0}, new double[] {1})).build().minimize(rosenbrock, new double[2]));
+    }
+
+    private static PolynomialFunction rosenbrock(final Variable x, final Variable y) {
+        return new PolynomialFunction("R", List.of(x, y), false, List.of(
+                new PolynomialTerm(Map.of(), 1.0),
+                new PolynomialTerm(Map.of(x, 1.0), -2.0),
+                new PolynomialTerm(Map.of(x, 2.0), 1.0),
+                new PolynomialTerm(Map.of(y, 2.0), 100.0),
+                new PolynomialTerm(Map.of(x, 2.0, y, 1.0), -200.0),
+                new PolynomialTerm(Map.of(x, 4.0), 100.0)));
+    }
+}
@@ -4,11 +4,18 @@ import calculus.multivariate.models.functions.Function;
 import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
 import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
 import calculus.univariate.models.Variable;
+import calculus.univariate.models.numberUtils.Range;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PolynomialFunctionTests {
 
@@ -37,4 +44,44 @@ public class PolynomialFunctionTests {
         final Function evaluatedFunction = polynomialFunction.partialEvaluate(Map.of(new Variable("z"), 10.0));
         System.out.println(evaluatedFunction);
     }
+
+    @Test
+    public void testLazyMetadata() {
+        final Variable x = new Variable("x");
+        final Variable y = new Variable("y");
+        final int[] domainComputations = {0};
+        final PolynomialFunction polynomial = new PolynomialFunction("P", List.of(x, y, x), false, List.of(
+                new PolynomialTerm(Map.of(x, 2.0, y, 1.0), 1.0),
+                new PolynomialTerm(Map.of(y, 1.0), 3.0))) {
+            @Override
+            public Map<Variable, Range> computeDomain() {
+                domainComputations[0]++;
+                return super.computeDomain();
+            }
+        };
+
+        // The domain is only computed when asked for, once
+        assertEquals(0, domainComputations[0]);
+        polynomial.getDomain();
+        polynomial.getDomain();
+        assertEquals(1, domainComputations[0]);
+
+        // The variable set drops duplicates, cannot be changed, and is shared by results over the same variables
+        assertEquals(Set.of(x, y), polynomial.getVariableSet());
+        assertThrows(UnsupportedOperationException.class, () -> polynomial.getVariableSet().add(new Variable("z")));
+        final Function derivative = polynomial.partialDerivative(x);
+        assertTrue(derivative.getVariableSet() == polynomial.getVariableSet());
+        assertEquals(Set.of(x, y), polynomial.add(derivative).getVariableSet());
+
+        // Functions built through the public constructors keep their own copy of the variables
+        final List<Variable> variables = new ArrayList<>(List.of(x));
+        final PolynomialFunction square = new PolynomialFunction("S", variables, false, List.of(new PolynomialTerm(Map.of(x, 2.0), 1.0)));
+        variables.add(y);
+        assertEquals(Set.of(x), square.getVariableSet());
+        assertEquals(List.of(), derivative.getRange());
+
+        // d/dx (x^2 y + 3 y) = 2 x y, the derivative of 3 y vanishing
+        assertEquals(1, ((PolynomialFunction) derivative).getTerms().size());
+        assertEquals(12.0, derivative.evaluate(Map.of(x, 2.0, y, 3.0)));
+    }
 }
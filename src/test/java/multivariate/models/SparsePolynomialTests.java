@@ -0,0 +1,208 @@
+package multivariate.models;
+
+import calculus.multivariate.models.VariableLayout;
+import calculus.multivariate.models.functions.polynomials.MonomialOrder;
+import calculus.multivariate.models.functions.polynomials.PolynomialFunction;
+import calculus.multivariate.models.functions.polynomials.PolynomialTerm;
+import calculus.multivariate.models.functions.polynomials.SparsePolynomial;
+import calculus.univariate.models.Variable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SparsePolynomialTests {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final Variable Z = new Variable("z");
+    private static final VariableLayout XYZ = VariableLayout.of(X, Y, Z);
+
+    @Test
+    public void orderTests() {
+        // x^2 z, x y^2, x y z, y^3, x^2, z
+        final SparsePolynomial lex = SparsePolynomial.builder(XYZ, MonomialOrder.LEX)
+                .add(1, 0, 0, 1).add(1, 0, 3).add(1, 1, 1, 1).add(1, 1, 2).add(1, 2, 0, 1).add(1, 2)
+                .build();
+        assertArrayEquals(new int[] {2, 0, 1}, lex.getExponents(0));
+        assertArrayEquals(new int[] {2, 0, 0}, lex.getExponents(1));
+        assertArrayEquals(new int[] {1, 2, 0}, lex.getExponents(2));
+        assertArrayEquals(new int[] {1, 1, 1}, lex.getExponents(3));
+        assertArrayEquals(new int[] {0, 3, 0}, lex.getExponents(4));
+        assertArrayEquals(new int[] {0, 0, 1}, lex.getExponents(5));
+
+        // Degree 3 first, smaller powers of the last variables being larger: x y^2 > y^3 > x^2 z > x y z
+        final SparsePolynomial grevlex = lex.withOrder(MonomialOrder.GREVLEX);
+        assertArrayEquals(new int[] {1, 2, 0}, grevlex.getExponents(0));
+        assertArrayEquals(new int[] {0, 3, 0}, grevlex.getExponents(1));
+        assertArrayEquals(new int[] {2, 0, 1}, grevlex.getExponents(2));
+        assertArrayEquals(new int[] {1, 1, 1}, grevlex.getExponents(3));
+        assertArrayEquals(new int[] {2, 0, 0}, grevlex.getExponents(4));
+        assertArrayEquals(new int[] {0, 0, 1}, grevlex.getExponents(5));
+        assertEquals(3, grevlex.degree());
+        assertEquals(-1, SparsePolynomial.zero(XYZ, MonomialOrder.LEX).degree());
+    }
+
+    @Test
+    public void arithmeticTests() {
+        // p = x^2 y - 3 z + 1, q = x^2 y + 3 z
+        final SparsePolynomial p = SparsePolynomial.builder(XYZ, MonomialOrder.GREVLEX).add(1, 2, 1).add(-3, 0, 0, 1).add(1).build();
+        final SparsePolynomial q = SparsePolynomial.builder(XYZ, MonomialOrder.GREVLEX).add(1, 2, 1).add(3, 0, 0, 1).build();
+
+        final SparsePolynomial sum = p.add(q);
+        assertEquals(2, sum.size());
+        assertEquals(2.0, sum.getCoefficient(0));
+        assertEquals(1.0, sum.getCoefficient(1));
+        assertTrue(p.subtract(p).isZero());
+        assertEquals(p.negate().add(q), q.subtract(p));
+
+        // (x^2 y)^2 - 9 z^2 + x^2 y + 3 z
+        final SparsePolynomial product = p.multiply(q);
+        assertEquals(4, product.size());
+        final double[] point = {1.5, -2, 0.25};
+        assertEquals(p.evaluate(point) * q.evaluate(point), product.evaluate(point), 1e-12);
+
+        // d/dx = 2 x y (2 x^2 y) + 2 x y
+        final SparsePolynomial derivative = product.partialDerivative(0);
+        assertEquals(2, derivative.size());
+        assertEquals(4.0 * 1.5 * 1.5 * 1.5 * 4 + 2 * 1.5 * -2, derivative.evaluate(point), 1e-12);
+
+        // Duplicated terms are merged and cancelled terms dropped
+        assertEquals(q, SparsePolynomial.builder(XYZ, MonomialOrder.GREVLEX).add(1, 2, 1).add(5, 1).add(3, 0, 0, 1).add(-5, 1).build());
+
+        // Different layouts are unified
+        final SparsePolynomial w = SparsePolynomial.builder(VariableLayout.of(new Variable("w"), X), MonomialOrder.GREVLEX).add(2, 1, 1).build();
+        final SparsePolynomial pw = p.multiply(w);
+        assertEquals(VariableLayout.of(X, Y, Z, new Variable("w")), pw.getLayout());
+        assertEquals(p.evaluate(point) * 2 * 3 * 1.5, pw.evaluate(new double[] {1.5, -2, 0.25, 3}), 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> p.add(q.withOrder(MonomialOrder.LEX)));
+        assertThrows(IllegalArgumentException.class, () -> SparsePolynomial.builder(XYZ, MonomialOrder.LEX).add(1, -1));
+        final SparsePolynomial high = SparsePolynomial.builder(XYZ, MonomialOrder.LEX).add(1, 20000).build();
+        assertThrows(ArithmeticException.class, () -> high.multiply(high));
+    }
+
+    @Test
+    public void conversionTests() {
+        final PolynomialFunction function = new PolynomialFunction("P", List.of(X, Y, Z), false, List.of(
+                new PolynomialTerm(Map.of(X, 2.0, Y, 1.0), 3.0),
+                new PolynomialTerm(Map.of(X, 1.0, Z, 3.0), 2.0),
+                new PolynomialTerm(Map.of(Y, 1.0, X, 2.0), 1.0),
+                new PolynomialTerm(Map.of(), -5.0)));
+        // Like terms are merged by the function itself
+        assertEquals(3, function.getTerms().size());
+
+        final SparsePolynomial sparse = SparsePolynomial.of(function, MonomialOrder.LEX);
+        assertEquals(XYZ, sparse.getLayout());
+        assertEquals("4.0 * x^2 * y + 2.0 * x * z^3 + -5.0", sparse.toString());
+        final Map<Variable, Double> values = Map.of(X, 1.5, Y, -0.5, Z, 2.0);
+        assertEquals(function.evaluate(values), sparse.evaluate(XYZ.toPoint(values)), 1e-12);
+        assertEquals(function.evaluate(values), sparse.toPolynomialFunction("Q").evaluate(values), 1e-12);
+
+        final PolynomialFunction root = new PolynomialFunction("R", List.of(X), false, List.of(new PolynomialTerm(Map.of(X, 0.5), 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> SparsePolynomial.of(root, MonomialOrder.LEX));
+    }
+
+    @Test
+    public void largePolynomialTests() {
+        // 12 variables, two polynomials of 2000 terms, with many like terms among their products
+        final Random random = new Random(11);
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            variables.add(new Variable("x" + i));
+        }
+        final VariableLayout layout = VariableLayout.of(variables);
+        final SparsePolynomial p = randomPolynomial(random, layout, 2000);
+        final SparsePolynomial q = randomPolynomial(random, layout, 2000);
+
+        final SparsePolynomial product = p.multiply(q);
+        for (int t = 1; t < product.size(); t++) {
+            assertTrue(product.totalDegree(t - 1) >= product.totalDegree(t));
+        }
+        final double[] point = random.doubles(12, -1, 1).toArray();
+        final double expected = p.evaluate(point) * q.evaluate(point);
+        assertEquals(expected, product.evaluate(point), 1e-9 * Math.max(1, Math.abs(expected)));
+        assertEquals(p.evaluate(point) - q.evaluate(point), p.subtract(q).evaluate(point), 1e-9);
+
+        // The function form agrees, merging its 90000 products without comparing terms pairwise
+        final SparsePolynomial smallP = randomPolynomial(random, layout, 300);
+        final SparsePolynomial smallQ = randomPolynomial(random, layout, 300);
+        final PolynomialFunction functionProduct = (PolynomialFunction) smallP.toPolynomialFunction("P").multiply(smallQ.toPolynomialFunction("Q"));
+        assertEquals(smallP.multiply(smallQ).size(), functionProduct.getTerms().size());
+    }
+
+    @Test
+    public void heapProductTests() {
+        final Random random = new Random(5);
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            variables.add(new Variable("x" + i));
+        }
+        final VariableLayout layout = VariableLayout.of(variables);
+        final SparsePolynomial p = randomPolynomial(random, layout, 700);
+        final SparsePolynomial q = randomPolynomial(random, layout, 400);
+
+        // Reference: every product added to a builder, which merges them by hashing
+        final SparsePolynomial.Builder builder = SparsePolynomial.builder(layout, MonomialOrder.GREVLEX);
+        for (int i = 0; i < p.size(); i++) {
+            for (int j = 0; j < q.size(); j++) {
+                final int[] exponents = p.getExponents(i);
+                final int[] other = q.getExponents(j);
+                for (int k = 0; k < exponents.length; k++) {
+                    exponents[k] += other[k];
+                }
+                builder.add(p.getCoefficient(i) * q.getCoefficient(j), exponents);
+            }
+        }
+        final SparsePolynomial expected = builder.build();
+        assertSameTerms(expected, p.multiply(q));
+        assertSameTerms(expected, q.multiply(p));
+
+        // Chunks of the left operand multiplied on a pool, then merged
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSameTerms(expected, p.multiply(q, pool));
+            assertSameTerms(expected, q.withOrder(MonomialOrder.LEX).multiply(p.withOrder(MonomialOrder.LEX), pool).withOrder(MonomialOrder.GREVLEX));
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(p.multiply(SparsePolynomial.zero(layout, MonomialOrder.GREVLEX)).isZero());
+
+        // Real exponents go through the map of like terms: (x^0.5 + y)(x^0.5 - y) = x - y^2
+        final PolynomialFunction f = new PolynomialFunction("F", List.of(X, Y), false, List.of(
+                new PolynomialTerm(Map.of(X, 0.5), 1.0), new PolynomialTerm(Map.of(Y, 1.0), 1.0)));
+        final PolynomialFunction g = new PolynomialFunction("G", List.of(X, Y), false, List.of(
+                new PolynomialTerm(Map.of(X, 0.5), 1.0), new PolynomialTerm(Map.of(Y, 1.0), -1.0)));
+        final PolynomialFunction fg = (PolynomialFunction) f.multiply(g);
+        assertEquals(2, fg.getTerms().size());
+        assertEquals(4.0 - 9.0, fg.evaluate(Map.of(X, 4.0, Y, 3.0)), 1e-12);
+    }
+
+    private static void assertSameTerms(final SparsePolynomial expected, final SparsePolynomial actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int t = 0; t < expected.size(); t++) {
+            assertArrayEquals(expected.getExponents(t), actual.getExponents(t));
+            assertEquals(expected.getCoefficient(t), actual.getCoefficient(t), 1e-12 * Math.max(1, Math.abs(expected.getCoefficient(t))));
+        }
+    }
+
+    private static SparsePolynomial randomPolynomial(final Random random, final VariableLayout layout, final int terms) {
+        final SparsePolynomial.Builder builder = SparsePolynomial.builder(layout, MonomialOrder.GREVLEX);
+        for (int t = 0; t < terms; t++) {
+            final int[] exponents = new int[layout.size()];
+            for (int k = 0; k < 3; k++) {
+                exponents[random.nextInt(layout.size())] += 1 + random.nextInt(3);
+            }
+            builder.add(random.nextGaussian(), exponents);
+        }
+        return builder.build();
+    }
+}
@@ -10,9 +10,11 @@ import calculus.univariate.models.numberUtils.Range;
 import org.junit.jupiter.api.Test;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -35,14 +37,13 @@ public class PieceWiseFunctionTests {
     @Test
     public void domainTests() {
         final PieceWiseFunction func = new PieceWiseFunction("f", "x", this.funcToRangeSample());
-//        final Range funcDomain = func.getDomain().get(0);
-//        assertEquals(Range.all(), funcDomain);
+        assertEquals(1, func.getDomain().size());
+        assertEquals(Range.all(), func.getDomain().get(0));
 
         final PieceWiseFunction func2 = new PieceWiseFunction("f", "x", this.funcToRangeSample2());
-
-//        final Range funcDomain2 = func2.getDomain().get(0);
-        // The following test should not succeed. We need to rethink the domain method for PieceWiseFunction
-//        assertEquals(Range.all(), funcDomain2);
+        assertEquals(List.of(Range.atMost(-1.0), Range.greaterThan(0.0)), func2.getDomain());
+        assertTrue(func2.getDomainSet().includes(-1.0));
+        assertFalse(func2.getDomainSet().includes(-0.5));
     }
 
     @Test
@@ -194,7 +194,7 @@ public class PolynomialFunctionTests {
             add(new PolynomialTerm(1.0, "x", 1));
             add(new PolynomialTerm(1.0, "x", 2));
         }}, "P", "x");
-        assertThrows(IllegalArgumentException.class, () -> func4.evaluate(null));
+        assertThrows(IllegalArgumentException.class, () -> func4.evaluate((Double[]) null));
         assertThrows(IllegalArgumentException.class, func4::evaluate);
         assertThrows(IllegalArgumentException.class, () -> func4.evaluate(1.0, 2.0));
     }
@@ -1,12 +1,15 @@
 package univariate.models.inequalities;
 
 import calculus.univariate.models.functions.ConstantFunction;
+import calculus.univariate.models.functions.combinations.RationalFunction;
+import calculus.univariate.models.functions.logarithmic.NaturalLogFunction;
 import calculus.univariate.models.functions.polynomials.PolynomialFunction;
 import calculus.univariate.models.functions.polynomials.PolynomialTerm;
 import calculus.univariate.models.functions.trigonometric.TrigonometricFunction;
 import calculus.univariate.models.functions.trigonometric.TrigonometricFunctionType;
 import calculus.univariate.models.inequalities.GeneralInequality;
 import calculus.univariate.models.inequalities.InequalityType;
+import calculus.univariate.models.inequalities.NumericInequality;
 import calculus.univariate.models.numberUtils.Range;
 import org.junit.jupiter.api.Test;
 
@@ -14,8 +17,9 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GeneralInequalityTests {
 
@@ -46,7 +50,7 @@ public class GeneralInequalityTests {
     }
 
     @Test
-    public void exceptionsTests() {
+    public void solve_constant_trigonometric_inequality_test() {
         final GeneralInequality generalInequality = GeneralInequality.builder()
                 .leftSide(TrigonometricFunction.builder()
                         .trigonometricFunctionType(TrigonometricFunctionType.COSINE)
@@ -56,6 +60,162 @@ public class GeneralInequalityTests {
                 .type(InequalityType.LESS_THAN)
                 .build();
 
-        assertThrows(UnsupportedOperationException.class, () -> generalInequality.solve());
+        // cos(0) = 1 is never less than 0
+        generalInequality.solve();
+        assertTrue(generalInequality.getSolution().isEmpty());
+    }
+
+    @Test
+    public void solve_rational_inequality_test() {
+        // (x - 1) / (x + 2) >= 0
+        final RationalFunction rationalFunction = RationalFunction.builder()
+                .funcName("f")
+                .varName("x")
+                .numerator(PolynomialFunction.from("x - 1", "num", "x"))
+                .denominator(PolynomialFunction.from("x + 2", "den", "x"))
+                .build();
+        final GeneralInequality generalInequality = GeneralInequality.builder()
+                .leftSide(rationalFunction)
+                .rightSide(ConstantFunction.zeroFunction())
+                .type(InequalityType.GREATER_THAN_OR_EQUAL_TO)
+                .build();
+
+        generalInequality.solve();
+        final List<Range> solution = generalInequality.getSolution();
+        assertEquals(2, solution.size());
+        assertEquals(Range.lessThan(-2.0), solution.get(0));
+        assertEquals(Range.atLeast(1.0), solution.get(1));
+    }
+
+    @Test
+    public void solve_numeric_inequality_beyond_default_window_test() {
+        // ln(x) > ln(5000), whose boundary lies outside of the window searched first
+        final NumericInequality inequality = NumericInequality.builder()
+                .leftSide(new NaturalLogFunction("f", "x", PolynomialFunction.from("x", "inner", "x")))
+                .rightSide(ConstantFunction.builder().value(Math.log(5000.0)).funcName("c").build())
+                .type(InequalityType.GREATER_THAN)
+                .build();
+
+        inequality.solve();
+        final List<Range> solution = inequality.getSolution();
+        assertEquals(1, solution.size());
+        assertEquals(5000.0, solution.get(0).getLowerBound(), 1e-6);
+        assertFalse(solution.get(0).isIncludeLowerBound());
+        assertEquals(Double.POSITIVE_INFINITY, solution.get(0).getUpperBound());
+    }
+
+    @Test
+    public void rational_function_domain_excludes_far_poles_test() {
+        // 1 / ((x - 3000) (x + 2)), with a pole beyond the default search window
+        final RationalFunction rationalFunction = RationalFunction.builder()
+                .funcName("f")
+                .varName("x")
+                .numerator(ConstantFunction.defaultFunc())
+                .denominator(PolynomialFunction.from("x^2 - 2998x - 6000", "den", "x"))
+                .build();
+
+        final List<Range> domain = rationalFunction.getDomain();
+        assertEquals(3, domain.size());
+        assertEquals(-2.0, domain.get(0).getUpperBound(), 1e-9);
+        assertEquals(3000.0, domain.get(2).getLowerBound(), 1e-9);
+        assertTrue(domain == rationalFunction.getDomain());
+    }
+
+    @Test
+    public void solve_log_inequality_test() {
+        // ln(x) < 1
+        final NaturalLogFunction logFunction = new NaturalLogFunction("f", "x", PolynomialFunction.from("x", "body", "x"));
+        final GeneralInequality generalInequality = GeneralInequality.builder()
+                .leftSide(logFunction)
+                .rightSide(ConstantFunction.defaultFunc())
+                .type(InequalityType.LESS_THAN)
+                .build();
+
+        generalInequality.solve();
+        final List<Range> solution = generalInequality.getSolution();
+        assertEquals(1, solution.size());
+        assertEquals(0.0, solution.get(0).getLowerBound(), 0.0);
+        assertFalse(solution.get(0).isIncludeLowerBound());
+        assertEquals(Math.E, solution.get(0).getUpperBound(), 1e-9);
+        assertFalse(solution.get(0).isIncludeUpperBound());
+    }
+
+    @Test
+    public void solve_numeric_inequality_within_search_range_test() {
+        // sin(x) >= 0, with roots searched for in [-1, 7]
+        final NumericInequality inequality = NumericInequality.builder()
+                .leftSide(TrigonometricFunction.builder()
+                        .trigonometricFunctionType(TrigonometricFunctionType.SINE)
+                        .innerFunction(PolynomialFunction.from("x", "inner", "x"))
+                        .varName("x")
+                        .build())
+                .rightSide(ConstantFunction.zeroFunction())
+                .type(InequalityType.GREATER_THAN_OR_EQUAL_TO)
+                .searchRange(Range.closed(-1.0, 7.0))
+                .build();
+
+        inequality.solve();
+        final List<Range> solution = inequality.getSolution();
+        assertEquals(2, solution.size());
+        assertEquals(0.0, solution.get(0).getLowerBound(), 1e-9);
+        assertTrue(solution.get(0).isIncludeLowerBound());
+        assertEquals(Math.PI, solution.get(0).getUpperBound(), 1e-9);
+        assertTrue(solution.get(0).isIncludeUpperBound());
+        assertEquals(2 * Math.PI, solution.get(1).getLowerBound(), 1e-9);
+        assertEquals(7.0, solution.get(1).getUpperBound(), 0.0);
+        assertTrue(solution.get(1).isIncludeUpperBound());
+    }
+
+    @Test
+    public void solve_numeric_inequality_clipped_to_search_range_test() {
+        // x^2 + 1 > 0 holds everywhere, but only [-3, 3] is searched
+        final NumericInequality inequality = NumericInequality.builder()
+                .leftSide(PolynomialFunction.from("x^2 + 1", "f", "x"))
+                .rightSide(ConstantFunction.zeroFunction())
+                .type(InequalityType.GREATER_THAN)
+                .searchRange(Range.closed(-3.0, 3.0))
+                .build();
+
+        inequality.solve();
+        final List<Range> solution = inequality.getSolution();
+        assertEquals(1, solution.size());
+        assertEquals(-3.0, solution.get(0).getLowerBound(), 0.0);
+        assertEquals(3.0, solution.get(0).getUpperBound(), 0.0);
+    }
+
+    @Test
+    public void rational_function_domain_excludes_double_pole_test() {
+        // 1 / (x - 1)^2 never changes sign around its pole
+        final RationalFunction rationalFunction = RationalFunction.builder()
+                .funcName("f")
+                .varName("x")
+                .numerator(ConstantFunction.defaultFunc())
+                .denominator(PolynomialFunction.from("x^2 - 2x + 1", "den", "x"))
+                .build();
+
+        final List<Range> domain = rationalFunction.getDomain();
+        assertEquals(2, domain.size());
+        assertEquals(1.0, domain.get(0).getUpperBound(), 0.0);
+        assertFalse(domain.get(0).isIncludeUpperBound());
+        assertEquals(1.0, domain.get(1).getLowerBound(), 0.0);
+        assertFalse(domain.get(1).isIncludeLowerBound());
+    }
+
+    @Test
+    public void solve_numeric_inequality_with_touching_root_test() {
+        // (x - 3)^2 > 0 everywhere except the double root at 3
+        final NumericInequality inequality = NumericInequality.builder()
+                .leftSide(PolynomialFunction.from("x^2 - 6x + 9", "f", "x"))
+                .rightSide(ConstantFunction.zeroFunction())
+                .type(InequalityType.GREATER_THAN)
+                .build();
+
+        inequality.solve();
+        final List<Range> solution = inequality.getSolution();
+        assertEquals(2, solution.size());
+        assertEquals(3.0, solution.get(0).getUpperBound(), 1e-6);
+        assertFalse(solution.get(0).isIncludeUpperBound());
+        assertEquals(3.0, solution.get(1).getLowerBound(), 1e-6);
+        assertFalse(solution.get(1).isIncludeLowerBound());
     }
 }
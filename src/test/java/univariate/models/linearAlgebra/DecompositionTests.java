@@ -0,0 +1,178 @@
+package univariate.models.linearAlgebra;
+
+import calculus.univariate.models.linearAlgebra.CholeskyDecomposition;
+import calculus.univariate.models.linearAlgebra.LUDecomposition;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.MatrixDecomposition;
+import calculus.univariate.models.linearAlgebra.QRDecomposition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DecompositionTests {
+
+    // Sizes straddle the panel widths of the blocked factorizations
+    private static final int[] SIZES = {1, 3, 31, 65, 150};
+
+    @Test
+    public void luTests() {
+        final Matrix a = new Matrix("A", new double[][] {{0, 2, 1}, {1, 1, 1}, {2, 1, 0}});
+        final LUDecomposition lu = LUDecomposition.of(a);
+
+        assertEquals(3.0, lu.determinant(), 1e-12);
+        final Matrix permuted = new Matrix("PA", 3, 3);
+        final int[] pivots = lu.getPivots();
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                permuted.set(i, j, a.get(pivots[i], j));
+            }
+        }
+        assertClose(permuted, lu.getL().multiply(lu.getU()), 1e-12);
+        assertClose(Matrix.identity("I", 3), a.multiply(lu.inverse()), 1e-12);
+
+        final Random random = new Random(1);
+        final LUDecomposition reused = new LUDecomposition();
+        for (final int n : SIZES) {
+            final Matrix m = random(random, n, n);
+            final Matrix b = random(random, n, 4);
+            assertClose(b, m.multiply(reused.factor(m).solve(b)), 1e-9);
+        }
+
+        final Matrix singular = new Matrix("S", new double[][] {{1, 2}, {2, 4}});
+        assertEquals(0.0, LUDecomposition.of(singular).determinant(), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> LUDecomposition.of(singular).solve(singular));
+        assertThrows(IllegalArgumentException.class, () -> LUDecomposition.of(new Matrix("R", 2, 3)));
+        assertThrows(IllegalStateException.class, () -> new LUDecomposition().determinant());
+    }
+
+    @Test
+    public void choleskyTests() {
+        final Matrix a = new Matrix("A", new double[][] {{4, 12, -16}, {12, 37, -43}, {-16, -43, 98}});
+        final CholeskyDecomposition cholesky = CholeskyDecomposition.of(a);
+
+        assertClose(new Matrix("L", new double[][] {{2, 0, 0}, {6, 1, 0}, {-8, 5, 3}}), cholesky.getL(), 1e-12);
+        assertEquals(36.0, cholesky.determinant(), 1e-9);
+        assertClose(Matrix.identity("I", 3), a.multiply(cholesky.inverse()), 1e-9);
+
+        final Random random = new Random(2);
+        final CholeskyDecomposition reused = new CholeskyDecomposition();
+        for (final int n : SIZES) {
+            final Matrix m = symmetricPositiveDefinite(random, n);
+            final Matrix b = random(random, n, 3);
+            assertClose(b, m.multiply(reused.factor(m).solve(b)), 1e-9);
+
+            // The right-hand sides may be overwritten with the solution
+            final Matrix x = b.copy();
+            assertSame(x, reused.solveInto(x, x));
+            assertClose(b, m.multiply(x), 1e-9);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> CholeskyDecomposition.of(new Matrix("N", new double[][] {{1, 2}, {2, 1}})));
+    }
+
+    @Test
+    public void qrTests() {
+        final Random random = new Random(3);
+        final QRDecomposition reused = new QRDecomposition();
+        for (final int n : SIZES) {
+            final Matrix m = random(random, n, n);
+            final QRDecomposition qr = reused.factor(m);
+            assertClose(m, qr.getQ().multiply(qr.getR()), 1e-10);
+            assertClose(Matrix.identity("I", n), qr.getQ().transposeView().multiply(qr.getQ()), 1e-10);
+            assertEquals(LUDecomposition.of(m).determinant(), qr.determinant(), 1e-9 * Math.max(1.0, Math.abs(qr.determinant())));
+
+            final Matrix b = random(random, n, 2);
+            assertClose(b, m.multiply(qr.solve(b)), 1e-9);
+        }
+
+        // A NaN in one factorization does not stay in the reused workspaces
+        final Matrix poisoned = random(random, 80, 80);
+        poisoned.set(40, 40, Double.NaN);
+        reused.factor(poisoned);
+        final Matrix m = random(random, 80, 80);
+        final Matrix b = random(random, 80, 2);
+        assertClose(b, m.multiply(reused.factor(m).solve(b)), 1e-9);
+    }
+
+    @Test
+    public void leastSquaresTests() {
+        // Least squares line through four points: y = 1.3 + 1.8x
+        final Matrix a = new Matrix("A", new double[][] {{1, 0}, {1, 1}, {1, 2}, {1, 3}});
+        final Matrix y = new Matrix("y", new double[][] {{1.5}, {2.5}, {5.5}, {6.5}});
+        final Matrix x = QRDecomposition.of(a).solve(y);
+        assertEquals(1.3, x.get(0, 0), 1e-12);
+        assertEquals(1.8, x.get(1, 0), 1e-12);
+
+        // The residual is orthogonal to the columns of A
+        final Random random = new Random(4);
+        final Matrix tall = random(random, 200, 70);
+        final Matrix b = random(random, 200, 3);
+        final Matrix residual = b.subtract(tall.multiply(QRDecomposition.of(tall).solve(b)));
+        assertClose(new Matrix("0", 70, 3), tall.transposeView().multiply(residual), 1e-10);
+
+        assertFalse(QRDecomposition.of(new Matrix("Z", 3, 2)).isFullRank());
+        assertThrows(IllegalArgumentException.class, () -> QRDecomposition.of(new Matrix("W", 2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> QRDecomposition.of(tall).determinant());
+    }
+
+    @Test
+    public void parallelTests() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Random random = new Random(5);
+            final int n = 300;
+            final Matrix general = random(random, n, n);
+            final Matrix spd = symmetricPositiveDefinite(random, n);
+            final Matrix b = random(random, n, 20);
+
+            final MatrixDecomposition[] decompositions = {
+                    new LUDecomposition(pool).factor(general),
+                    new QRDecomposition(pool).factor(general),
+                    new CholeskyDecomposition(pool).factor(spd)
+            };
+            final Matrix[] matrices = {general, general, spd};
+            for (int i = 0; i < decompositions.length; i++) {
+                assertClose(b, matrices[i].multiply(decompositions[i].solve(b)), 1e-8);
+            }
+            assertEquals(new LUDecomposition(null).factor(general).determinant(), decompositions[0].determinant(),
+                    1e-9 * Math.abs(decompositions[0].determinant()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Matrix random(final Random random, final int numRows, final int numCols) {
+        final Matrix matrix = new Matrix("R", numRows, numCols);
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                matrix.set(i, j, random.nextDouble() - 0.5);
+            }
+        }
+        return matrix;
+    }
+
+    private static Matrix symmetricPositiveDefinite(final Random random, final int n) {
+        final Matrix r = random(random, n, n);
+        final Matrix spd = r.multiply(r.transposeView());
+        for (int i = 0; i < n; i++) {
+            spd.set(i, i, spd.get(i, i) + n);
+        }
+        return spd;
+    }
+
+    private static void assertClose(final Matrix expected, final Matrix actual, final double tolerance) {
+        assertEquals(expected.getNumRows(), actual.getNumRows());
+        assertEquals(expected.getNumCols(), actual.getNumCols());
+        for (int i = 0; i < expected.getNumRows(); i++) {
+            for (int j = 0; j < expected.getNumCols(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package univariate.models.linearAlgebra;
+
+import calculus.univariate.models.linearAlgebra.EigenDecomposition;
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import calculus.univariate.models.linearAlgebra.SymmetricEigenDecomposition;
+import calculus.univariate.models.linearAlgebra.iterative.ArnoldiEigenSolver;
+import calculus.univariate.models.linearAlgebra.iterative.EigenResult;
+import calculus.univariate.models.linearAlgebra.iterative.LanczosEigenSolver;
+import calculus.univariate.models.linearAlgebra.iterative.LinearOperator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EigenTests {
+
+    @Test
+    public void symmetricTests() {
+        final SymmetricEigenDecomposition small = SymmetricEigenDecomposition.of(new Matrix("A", new double[][] {{2, 1}, {1, 2}}));
+        assertArrayEquals(new double[] {1, 3}, small.getEigenvalues(), 1e-12);
+
+        final Matrix a = randomSymmetric(new Random(1), 60);
+        final SymmetricEigenDecomposition eigen = SymmetricEigenDecomposition.of(a);
+        final double[] values = eigen.getEigenvalues();
+        final Matrix v = eigen.getEigenvectors();
+        for (int i = 1; i < values.length; i++) {
+            assertTrue(values[i - 1] <= values[i]);
+        }
+        assertClose(Matrix.identity("I", 60), v.transposeView().multiply(v), 1e-12);
+        assertClose(a.multiply(v), v.multiply(diagonal(values)), 1e-10);
+    }
+
+    @Test
+    public void generalTests() {
+        final EigenDecomposition rotation = EigenDecomposition.of(new Matrix("R", new double[][] {{0, -1}, {1, 0}}));
+        assertArrayEquals(new double[] {0, 0}, rotation.getRealEigenvalues(), 1e-12);
+        assertArrayEquals(new double[] {1, -1}, rotation.getImaginaryEigenvalues(), 1e-12);
+
+        final EigenDecomposition triangular = EigenDecomposition.of(new Matrix("T", new double[][] {{1, 5, 7}, {0, 3, 2}, {0, 0, -2}}));
+        final double[] sorted = triangular.getRealEigenvalues();
+        java.util.Arrays.sort(sorted);
+        assertArrayEquals(new double[] {-2, 1, 3}, sorted, 1e-12);
+
+        final Random random = new Random(2);
+        final Matrix a = new Matrix("A", 40, 40);
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 40; j++) {
+                a.set(i, j, random.nextGaussian());
+            }
+        }
+        final EigenDecomposition eigen = EigenDecomposition.of(a);
+        final Matrix v = eigen.getEigenvectors();
+        assertClose(a.multiply(v), v.multiply(eigen.getD()), 1e-9);
+        assertTrue(java.util.Arrays.stream(eigen.getImaginaryEigenvalues()).anyMatch(value -> value != 0.0));
+    }
+
+    @Test
+    public void lanczosTests() {
+        // Diagonal operator with eigenvalues 1, 2, ..., n
+        final int n = 2000;
+        final LinearOperator diagonal = (x, y) -> {
+            for (int i = 0; i < n; i++) {
+                y[i] = (i + 1) * x[i];
+            }
+        };
+        final EigenResult largest = LanczosEigenSolver.builder().numEigenvalues(5).build().solve(diagonal, n);
+        assertTrue(largest.isConverged());
+        assertArrayEquals(new double[] {2000, 1999, 1998, 1997, 1996}, largest.getEigenvalues(), 1e-6);
+        final EigenResult smallest = LanczosEigenSolver.builder().numEigenvalues(3).target(LanczosEigenSolver.Target.SMALLEST)
+                .tolerance(1e-12).maxRestarts(2000).build().solve(diagonal, n);
+        assertArrayEquals(new double[] {1, 2, 3}, smallest.getEigenvalues(), 1e-6);
+
+        // Against the dense decomposition
+        final Matrix a = randomSymmetric(new Random(3), 300);
+        final double[] all = SymmetricEigenDecomposition.of(a).getEigenvalues();
+        final EigenResult top = LanczosEigenSolver.builder().numEigenvalues(4).target(LanczosEigenSolver.Target.LARGEST_MAGNITUDE)
+                .build().solve(LinearOperator.of(a), 300);
+        assertTrue(top.isConverged());
+        final double[] magnitudes = java.util.Arrays.stream(all).map(Math::abs).sorted().toArray();
+        for (int c = 0; c < 4; c++) {
+            assertEquals(magnitudes[299 - c], Math.abs(top.getEigenvalues()[c]), 1e-8);
+            assertEigenpair(a, top.getEigenvalues()[c], top.getEigenvectors(), c);
+        }
+    }
+
+    @Test
+    public void arnoldiTests() {
+        // Upper triangular, so non normal, with eigenvalues 1, 2, ..., n on the diagonal
+        final int n = 300;
+        final Random random = new Random(4);
+        final SparseMatrix.Builder builder = SparseMatrix.builder("U", n, n);
+        for (int i = 0; i < n; i++) {
+            builder.add(i, i, i + 1);
+            for (int k = 0; k < 4 && i < n - 1; k++) {
+                builder.add(i, i + 1 + random.nextInt(n - i - 1), random.nextDouble() - 0.5);
+            }
+        }
+        final SparseMatrix u = builder.buildCsr();
+        final EigenResult result = ArnoldiEigenSolver.builder().numEigenvalues(3).build().solve(LinearOperator.of(u), n);
+        assertTrue(result.isConverged());
+        for (int j = 0; j < 3; j++) {
+            assertEquals(n - j, result.getEigenvalues()[j], 1e-8);
+            assertEquals(0.0, result.getImaginaryParts()[j]);
+        }
+
+        // Blocks of rotations, the largest one with eigenvalues 3 +- 4i
+        final int size = 500;
+        final SparseMatrix.Builder blocks = SparseMatrix.builder("B", size, size);
+        for (int i = 0; i < size; i += 2) {
+            final double re = i == 200 ? 3 : 1 + i / (double) size;
+            final double im = i == 200 ? 4 : 0.5;
+            blocks.add(i, i, re).add(i, i + 1, -im).add(i + 1, i, im).add(i + 1, i + 1, re);
+        }
+        final SparseMatrix b = blocks.buildCsr();
+        final EigenResult complex = ArnoldiEigenSolver.builder().numEigenvalues(2).build().solve(LinearOperator.of(b), size);
+        assertTrue(complex.isConverged());
+        assertEquals(3.0, complex.getEigenvalues()[0], 1e-9);
+        assertEquals(4.0, complex.getImaginaryParts()[0], 1e-9);
+        assertEquals(-4.0, complex.getImaginaryParts()[1], 1e-9);
+
+        // B (x + iy) = (3 + 4i)(x + iy)
+        final double[] x = column(complex.getEigenvectors(), 0);
+        final double[] y = column(complex.getEigenvectors(), 1);
+        final double[] bx = b.multiply(x);
+        final double[] by = b.multiply(y);
+        for (int i = 0; i < size; i++) {
+            assertEquals(3 * x[i] - 4 * y[i], bx[i], 1e-8);
+            assertEquals(4 * x[i] + 3 * y[i], by[i], 1e-8);
+        }
+    }
+
+    private static void assertEigenpair(final Matrix a, final double value, final Matrix vectors, final int column) {
+        final double[] v = column(vectors, column);
+        final double[] av = a.multiplyInto(v, new double[v.length]);
+        for (int i = 0; i < v.length; i++) {
+            assertEquals(value * v[i], av[i], 1e-7);
+        }
+    }
+
+    private static double[] column(final Matrix matrix, final int column) {
+        final double[] values = new double[matrix.getNumRows()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = matrix.get(i, column);
+        }
+        return values;
+    }
+
+    private static Matrix diagonal(final double[] values) {
+        final Matrix d = new Matrix("D", values.length, values.length);
+        for (int i = 0; i < values.length; i++) {
+            d.set(i, i, values[i]);
+        }
+        return d;
+    }
+
+    private static Matrix randomSymmetric(final Random random, final int n) {
+        final Matrix a = new Matrix("A", n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                final double value = random.nextGaussian();
+                a.set(i, j, value);
+                a.set(j, i, value);
+            }
+        }
+        return a;
+    }
+
+    private static void assertClose(final Matrix expected, final Matrix actual, final double tolerance) {
+        assertEquals(expected.getNumRows(), actual.getNumRows());
+        assertEquals(expected.getNumCols(), actual.getNumCols());
+        for (int i = 0; i < expected.getNumRows(); i++) {
+            for (int j = 0; j < expected.getNumCols(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package univariate.models.linearAlgebra;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import calculus.univariate.models.linearAlgebra.iterative.BiCGSTAB;
+import calculus.univariate.models.linearAlgebra.iterative.ConjugateGradient;
+import calculus.univariate.models.linearAlgebra.iterative.GMRES;
+import calculus.univariate.models.linearAlgebra.iterative.ILU0Preconditioner;
+import calculus.univariate.models.linearAlgebra.iterative.IterativeSolver;
+import calculus.univariate.models.linearAlgebra.iterative.JacobiPreconditioner;
+import calculus.univariate.models.linearAlgebra.iterative.LinearOperator;
+import calculus.univariate.models.linearAlgebra.iterative.ResidualCallback;
+import calculus.univariate.models.linearAlgebra.iterative.SolverResult;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IterativeSolverTests {
+
+    @Test
+    public void conjugateGradientTests() {
+        final SparseMatrix laplacian = laplacian2D(30);
+        final double[] b = new Random(1).doubles(900).toArray();
+        final List<Double> residuals = new ArrayList<>();
+
+        final double[] x = new double[900];
+        final SolverResult result = ConjugateGradient.builder()
+                .tolerance(1e-10)
+                .callback((iteration, residual) -> residuals.add(residual))
+                .build()
+                .solve(LinearOperator.of(laplacian), b, x);
+        assertTrue(result.isConverged());
+        assertEquals(result.getIterations(), residuals.size());
+        assertEquals(result.getRelativeResidual(), residuals.get(residuals.size() - 1));
+        assertSolved(laplacian, b, x, 1e-9);
+
+        // Incomplete factorization cuts the number of iterations
+        final SolverResult preconditioned = ConjugateGradient.builder()
+                .preconditioner(new ILU0Preconditioner(laplacian))
+                .build()
+                .solve(LinearOperator.of(laplacian), b, new double[900]);
+        assertTrue(preconditioned.isConverged());
+        assertTrue(preconditioned.getIterations() < result.getIterations() / 2);
+    }
+
+    @Test
+    public void nonSymmetricTests() {
+        final SparseMatrix a = convectionDiffusion(2000);
+        final double[] b = new Random(2).doubles(2000).toArray();
+        final IterativeSolver[] solvers = {
+                BiCGSTAB.builder().build(),
+                BiCGSTAB.builder().preconditioner(JacobiPreconditioner.of(a)).build(),
+                GMRES.builder().restart(20).maxIterations(5000).build(),
+                GMRES.builder().preconditioner(JacobiPreconditioner.of(a)).maxIterations(5000).build()
+        };
+        for (final IterativeSolver solver : solvers) {
+            final double[] x = new double[2000];
+            assertTrue(solver.solve(LinearOperator.of(a), b, x).isConverged());
+            assertSolved(a, b, x, 1e-8);
+        }
+
+        // ILU(0) of a tridiagonal matrix is its exact LU decomposition
+        final double[] x = new double[2000];
+        final SolverResult result = GMRES.builder().preconditioner(new ILU0Preconditioner(a)).build().solve(LinearOperator.of(a), b, x);
+        assertEquals(1, result.getIterations());
+        assertSolved(a, b, x, 1e-10);
+    }
+
+    @Test
+    public void operatorTests() {
+        // Dense matrix and matrix-free operator for the same system
+        final int n = 50;
+        final Matrix dense = new Matrix("A", n, n);
+        for (int i = 0; i < n; i++) {
+            dense.set(i, i, 3);
+            if (i > 0) {
+                dense.set(i, i - 1, -1);
+                dense.set(i - 1, i, -1);
+            }
+        }
+        final LinearOperator matrixFree = (x, y) -> {
+            for (int i = 0; i < n; i++) {
+                y[i] = 3 * x[i] - (i > 0 ? x[i - 1] : 0) - (i < n - 1 ? x[i + 1] : 0);
+            }
+        };
+        final double[] b = new Random(3).doubles(n).toArray();
+        final double[] fromDense = new double[n];
+        final double[] fromLambda = new double[n];
+        ConjugateGradient.builder().preconditioner(JacobiPreconditioner.of(dense)).build().solve(LinearOperator.of(dense), b, fromDense);
+        GMRES.builder().build().solve(matrixFree, b, fromLambda);
+        for (int i = 0; i < n; i++) {
+            assertEquals(fromDense[i], fromLambda[i], 1e-9);
+        }
+        final double[] ax = dense.multiplyInto(fromDense, new double[n]);
+        for (int i = 0; i < n; i++) {
+            assertEquals(b[i], ax[i], 1e-9);
+        }
+
+        final SolverResult capped = BiCGSTAB.builder().maxIterations(2).build().solve(matrixFree, b, new double[n]);
+        assertFalse(capped.isConverged());
+        assertEquals(2, capped.getIterations());
+        assertThrows(IllegalArgumentException.class, () -> GMRES.builder().build().solve(matrixFree, b, new double[n + 1]));
+        assertThrows(IllegalArgumentException.class, () -> LinearOperator.of(new Matrix("R", 2, 3)));
+    }
+
+    @Test
+    public void iterationAllocationTests() {
+        final SparseMatrix laplacian = laplacian2D(40);
+        final double[] b = new Random(4).doubles(1600).toArray();
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int kind = 0; kind < 3; kind++) {
+            // Bytes allocated between the fifth and the twenty fifth iteration
+            final long[] allocated = new long[2];
+            final ResidualCallback callback = (iteration, residual) -> {
+                if (iteration == 5 || iteration == 25) {
+                    allocated[iteration == 5 ? 0 : 1] = threads.getCurrentThreadAllocatedBytes();
+                }
+            };
+            final IterativeSolver solver = kind == 0 ? ConjugateGradient.builder().tolerance(1e-12).callback(callback).build()
+                    : kind == 1 ? BiCGSTAB.builder().tolerance(1e-12).preconditioner(JacobiPreconditioner.of(laplacian)).callback(callback).build()
+                    : GMRES.builder().tolerance(1e-12).restart(10).preconditioner(new ILU0Preconditioner(laplacian)).callback(callback).build();
+            final SolverResult result = solver.solve(LinearOperator.of(laplacian), b, new double[1600]);
+            assertTrue(result.isConverged() && result.getIterations() > 25);
+            assertTrue(allocated[1] - allocated[0] < 1024);
+        }
+    }
+
+    private static void assertSolved(final SparseMatrix a, final double[] b, final double[] x, final double tolerance) {
+        final double[] ax = a.multiply(x);
+        for (int i = 0; i < b.length; i++) {
+            assertEquals(b[i], ax[i], tolerance);
+        }
+    }
+
+    /**
+     * Five point Laplacian on a k x k grid
+     */
+    private static SparseMatrix laplacian2D(final int k) {
+        final SparseMatrix.Builder builder = SparseMatrix.builder("L", k * k, k * k);
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                final int row = i * k + j;
+                builder.add(row, row, 4);
+                if (i > 0) {
+                    builder.add(row, row - k, -1);
+                }
+                if (i < k - 1) {
+                    builder.add(row, row + k, -1);
+                }
+                if (j > 0) {
+                    builder.add(row, row - 1, -1);
+                }
+                if (j < k - 1) {
+                    builder.add(row, row + 1, -1);
+                }
+            }
+        }
+        return builder.buildCsr();
+    }
+
+    /**
+     * Upwinded one dimensional convection-diffusion, tridiagonal and non symmetric
+     */
+    private static SparseMatrix convectionDiffusion(final int n) {
+        final SparseMatrix.Builder builder = SparseMatrix.builder("C", n, n);
+        for (int i = 0; i < n; i++) {
+            builder.add(i, i, 2.5);
+            if (i > 0) {
+                builder.add(i, i - 1, -1.5);
+            }
+            if (i < n - 1) {
+                builder.add(i, i + 1, -0.5);
+            }
+        }
+        return builder.buildCsr();
+    }
+}
@@ -0,0 +1,128 @@
+package univariate.models.linearAlgebra;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.io.MappedMatrix;
+import calculus.univariate.models.linearAlgebra.io.MatrixFileHeader;
+import calculus.univariate.models.linearAlgebra.io.MatrixTile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedMatrixTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void headerTests() throws IOException {
+        final MatrixFileHeader header = MatrixFileHeader.tiled(37, 53, 8, 16);
+        assertEquals(5, header.getTilesDown());
+        assertEquals(4, header.getTilesAcross());
+        assertEquals(5L * 4 * 8 * 16 * 8, header.getDataBytes());
+
+        final ByteBuffer bytes = ByteBuffer.allocate(MatrixFileHeader.SIZE + 8);
+        header.writeTo(bytes);
+        assertEquals(MatrixFileHeader.SIZE, bytes.position());
+        final MatrixFileHeader read = MatrixFileHeader.readFrom(bytes.flip());
+        assertEquals(MatrixFileHeader.Layout.TILED, read.getLayout());
+        assertEquals(37, read.getNumRows());
+        assertEquals(16, read.getTileCols());
+        assertEquals("37x53 FLOAT64 TILED 8x16", read.toString());
+
+        // A flipped bit is caught by the checksum
+        bytes.put(9, (byte) (bytes.get(9) ^ 4));
+        assertThrows(IOException.class, () -> MatrixFileHeader.readFrom(bytes.rewind()));
+        assertThrows(IOException.class, () -> MatrixFileHeader.readFrom(ByteBuffer.allocate(MatrixFileHeader.SIZE)));
+        assertThrows(IllegalArgumentException.class, () -> MatrixFileHeader.tiled(3, 3, 0, 2));
+    }
+
+    @Test
+    public void mappedTests() throws IOException {
+        final Matrix values = random(new Random(1), 37, 53);
+        for (final MatrixFileHeader header : new MatrixFileHeader[] {MatrixFileHeader.tiled(37, 53, 8, 16), MatrixFileHeader.rowMajor(37, 53)}) {
+            final Path path = directory.resolve(header.getLayout() + ".mtx");
+            try (MappedMatrix matrix = MappedMatrix.create(path, header)) {
+                assertEquals(0.0, matrix.get(36, 52));
+                matrix.writeFrom(0, 0, values);
+                matrix.set(36, 52, 7.0);
+            }
+            values.set(36, 52, 7.0);
+            assertEquals(MatrixFileHeader.SIZE + header.getDataBytes(), Files.size(path));
+
+            try (MappedMatrix matrix = MappedMatrix.open(path, false)) {
+                assertFalse(matrix.isWritable());
+                assertTrue(values.equals(matrix.readInto(0, 0, new Matrix("M", 37, 53))));
+                assertTrue(values.view(5, 9, 20, 30).equals(matrix.readInto(5, 9, new Matrix("M", 20, 30))));
+                // Into a strided destination
+                assertTrue(values.view(3, 4, 10, 11).equals(matrix.readInto(3, 4, new Matrix("M", 11, 10).transposeView())));
+
+                // Tiles are views of the file, cut at the edges
+                final MatrixTile tile = matrix.tile(matrix.getTilesDown() - 1, matrix.getTilesAcross() - 1);
+                assertEquals(36 - tile.getFirstRow(), tile.getNumRows() - 1);
+                assertEquals(7.0, tile.get(tile.getNumRows() - 1, tile.getNumCols() - 1));
+                assertTrue(values.view(tile.getFirstRow(), tile.getFirstCol(), tile.getNumRows(), tile.getNumCols())
+                        .equals(tile.copyInto(new Matrix("T", tile.getNumRows(), tile.getNumCols()))));
+                assertThrows(IndexOutOfBoundsException.class, () -> tile.get(tile.getNumRows(), 0));
+                assertThrows(IllegalStateException.class, () -> matrix.writeFrom(0, 0, values));
+                assertThrows(IndexOutOfBoundsException.class, () -> matrix.readInto(30, 0, new Matrix("M", 8, 1)));
+            }
+        }
+        final Path truncated = directory.resolve("truncated.mtx");
+        Files.write(truncated, Arrays.copyOf(Files.readAllBytes(directory.resolve("TILED.mtx")), 100));
+        assertThrows(IOException.class, () -> MappedMatrix.open(truncated, false));
+    }
+
+    @Test
+    public void streamingTests() throws IOException {
+        final Random random = new Random(2);
+        final Matrix a = random(random, 45, 70);
+        final Matrix b = random(random, 70, 33);
+        try (MappedMatrix mappedA = MappedMatrix.create(directory.resolve("a.mtx"), MatrixFileHeader.tiled(45, 70, 16, 16));
+             MappedMatrix mappedB = MappedMatrix.create(directory.resolve("b.mtx"), MatrixFileHeader.rowMajor(70, 33));
+             MappedMatrix product = MappedMatrix.create(directory.resolve("c.mtx"), MatrixFileHeader.tiled(45, 33, 16, 8));
+             MappedMatrix rowMajorProduct = MappedMatrix.create(directory.resolve("d.mtx"), MatrixFileHeader.rowMajor(45, 33));
+             MappedMatrix transposed = MappedMatrix.create(directory.resolve("t.mtx"), MatrixFileHeader.tiled(70, 45, 32, 7))) {
+            mappedA.writeFrom(0, 0, a);
+            mappedB.writeFrom(0, 0, b);
+
+            final Matrix expected = a.multiply(b);
+            MappedMatrix.multiplyInto(mappedA, mappedB, product);
+            MappedMatrix.multiplyInto(mappedA, mappedB, rowMajorProduct);
+            assertClose(expected, product.readInto(0, 0, new Matrix("C", 45, 33)));
+            assertClose(expected, rowMajorProduct.readInto(0, 0, new Matrix("C", 45, 33)));
+
+            MappedMatrix.transposeInto(mappedA, transposed);
+            assertTrue(a.transpose().equals(transposed.readInto(0, 0, new Matrix("T", 70, 45))));
+            assertThrows(IllegalArgumentException.class, () -> MappedMatrix.multiplyInto(mappedB, mappedA, product));
+        }
+    }
+
+    private static Matrix random(final Random random, final int numRows, final int numCols) {
+        final Matrix matrix = new Matrix("R", numRows, numCols);
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                matrix.set(i, j, random.nextDouble() - 0.5);
+            }
+        }
+        return matrix;
+    }
+
+    private static void assertClose(final Matrix expected, final Matrix actual) {
+        for (int i = 0; i < expected.getNumRows(); i++) {
+            for (int j = 0; j < expected.getNumCols(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), 1e-12);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package univariate.models.linearAlgebra;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.io.MappedMatrix;
+import calculus.univariate.models.linearAlgebra.io.MatrixFileHeader;
+import calculus.univariate.models.linearAlgebra.io.MatrixIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MatrixIOTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void bufferTests() throws IOException {
+        final Matrix a = new Matrix("A", new double[][] {{1, 2, 3}, {4, 5, -0.0}});
+        final ByteBuffer buffer = ByteBuffer.allocate((int) (2 * MatrixIO.serializedSize(a)));
+        MatrixIO.write(a, buffer);
+        MatrixIO.write(a.transposeView(), buffer);
+        assertEquals(2 * MatrixIO.serializedSize(a), buffer.position());
+
+        buffer.flip();
+        final Matrix read = MatrixIO.read("B", buffer);
+        assertEquals("B", read.getName());
+        assertTrue(a.equals(read));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(read.get(1, 2)));
+        assertTrue(a.transpose().equals(MatrixIO.read("T", buffer)));
+        assertEquals(buffer.limit(), buffer.position());
+
+        // Values are little-endian right after the header
+        assertEquals(3.0, buffer.order(java.nio.ByteOrder.LITTLE_ENDIAN).getDouble(MatrixFileHeader.SIZE + 2 * Double.BYTES));
+
+        // A corrupted value is caught by the checksum
+        buffer.putDouble(MatrixFileHeader.SIZE, 1.5);
+        assertThrows(IOException.class, () -> MatrixIO.read("C", buffer.rewind()));
+        assertThrows(IOException.class, () -> MatrixIO.read("C", ByteBuffer.allocate(MatrixFileHeader.SIZE + 8)));
+    }
+
+    @Test
+    public void channelTests() throws IOException {
+        // Larger than the chunk of the channel path, from a strided view
+        final Random random = new Random(5);
+        final Matrix large = new Matrix("L", 700, 260);
+        for (int i = 0; i < 700; i++) {
+            for (int j = 0; j < 260; j++) {
+                large.set(i, j, random.nextGaussian());
+            }
+        }
+        final Matrix view = large.view(3, 7, 600, 250);
+        final Path path = directory.resolve("large.mtx");
+        MatrixIO.write(view, path);
+        assertEquals(MatrixIO.serializedSize(view), Files.size(path));
+        assertTrue(view.equals(MatrixIO.read("V", path)));
+
+        // Several matrices one after the other in a channel
+        final Matrix small = new Matrix("S", new double[][] {{1, 2}, {3, 4}});
+        final Path both = directory.resolve("both.mtx");
+        try (FileChannel channel = FileChannel.open(both, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            MatrixIO.write(small, channel);
+            MatrixIO.write(view, channel);
+        }
+        try (FileChannel channel = FileChannel.open(both, StandardOpenOption.READ)) {
+            assertTrue(small.equals(MatrixIO.read("S", channel)));
+            assertTrue(view.equals(MatrixIO.read("V", channel)));
+            assertEquals(channel.size(), channel.position());
+        }
+
+        final byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> MatrixIO.read("V", path));
+        Files.write(path, java.util.Arrays.copyOf(bytes, 1000));
+        assertThrows(IOException.class, () -> MatrixIO.read("V", path));
+    }
+
+    @Test
+    public void mappedFileTests() throws IOException {
+        final Matrix a = new Matrix("A", 11, 13);
+        for (int i = 0; i < 11; i++) {
+            for (int j = 0; j < 13; j++) {
+                a.set(i, j, i * 13 + j);
+            }
+        }
+        // Tiled files of MappedMatrix load too
+        final Path tiled = directory.resolve("tiled.mtx");
+        try (MappedMatrix mapped = MappedMatrix.create(tiled, MatrixFileHeader.tiled(11, 13, 4, 5))) {
+            mapped.writeFrom(0, 0, a);
+        }
+        assertTrue(a.equals(MatrixIO.read("T", tiled)));
+
+        // Written files can be mapped, and mapping them for writing clears the checksum
+        final Path written = directory.resolve("written.mtx");
+        MatrixIO.write(a, written);
+        try (MappedMatrix mapped = MappedMatrix.open(written, true)) {
+            assertEquals(27.0, mapped.get(2, 1));
+            mapped.set(2, 1, -1);
+        }
+        a.set(2, 1, -1);
+        assertTrue(a.equals(MatrixIO.read("W", written)));
+    }
+}
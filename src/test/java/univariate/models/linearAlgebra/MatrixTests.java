@@ -0,0 +1,274 @@
+package univariate.models.linearAlgebra;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class MatrixTests {
+
+    @Test
+    public void elementwiseTests() {
+        final Matrix a = new Matrix("A", new double[][] {{1, 2, 3}, {4, 5, 6}});
+        final Matrix b = new Matrix("B", new double[][] {{6, 5, 4}, {3, 2, 1}});
+
+        assertArrayEquals(new double[][] {{7, 7, 7}, {7, 7, 7}}, a.add(b).getBody());
+        assertArrayEquals(new double[][] {{-5, -3, -1}, {1, 3, 5}}, a.subtract(b).getBody());
+        assertArrayEquals(new double[][] {{-1, -2, -3}, {-4, -5, -6}}, a.negate().getBody());
+        assertArrayEquals(new double[][] {{2, 4, 6}, {8, 10, 12}}, a.multiply(2.0).getBody());
+        assertArrayEquals(new double[][] {{1, 4}, {2, 5}, {3, 6}}, a.transpose().getBody());
+        assertEquals("A + B", a.add(b).getName());
+        assertEquals("-A", a.negate().getName());
+        assertEquals("A^T", a.transpose().getName());
+        assertThrows(IllegalArgumentException.class, () -> a.add(a.transpose()));
+    }
+
+    @Test
+    public void viewsTests() {
+        final Matrix a = new Matrix("A", new double[][] {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+        final Matrix block = a.view(1, 1, 2, 2);
+        final Matrix transposed = a.transposeView();
+
+        assertArrayEquals(new double[][] {{5, 6}, {8, 9}}, block.getBody());
+        assertTrue(a.transpose().equals(transposed));
+        assertFalse(transposed.isContiguous());
+
+        // Views share the storage of the matrix
+        block.set(0, 0, 50);
+        assertEquals(50, a.get(1, 1));
+        assertEquals(50, transposed.get(1, 1));
+        assertEquals(8, transposed.get(1, 2));
+        assertArrayEquals(new double[][] {{50, 8}, {6, 9}}, block.transpose().getBody());
+        assertThrows(IndexOutOfBoundsException.class, () -> a.view(2, 2, 2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> block.get(2, 0));
+    }
+
+    @Test
+    public void multiplyTests() {
+        final Matrix a = new Matrix("A", new double[][] {{1, 2, 3}, {4, 5, 6}});
+        final Matrix b = new Matrix("B", new double[][] {{7, 8}, {9, 10}, {11, 12}});
+
+        assertArrayEquals(new double[][] {{58, 64}, {139, 154}}, a.multiply(b).getBody());
+        assertEquals("A * B", a.multiply(b).getName());
+        assertArrayEquals(new double[][] {{14, 32}, {32, 77}}, a.multiply(a.transposeView()).getBody());
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(a));
+    }
+
+    @Test
+    public void blockedMultiplyTests() {
+        final Random random = new Random(42);
+        // Sizes straddle the register tile and cache block boundaries of the kernel
+        final int[][] shapes = {{1, 1, 1}, {5, 7, 3}, {33, 65, 17}, {130, 300, 70}, {97, 513, 258}};
+        for (final int[] shape : shapes) {
+            final Matrix a = random(random, shape[0], shape[1]);
+            final Matrix b = random(random, shape[1], shape[2]);
+            assertClose(naiveProduct(a, b), a.multiply(b));
+
+            // Transposed and strided operands are read in place
+            final Matrix bT = random(random, shape[2] + 2, shape[1] + 3).view(1, 2, shape[2], shape[1]);
+            final Matrix aT = random(random, shape[1], shape[0]);
+            assertClose(naiveProduct(aT.transpose(), bT.transpose()), aT.transposeView().multiply(bT.transposeView()));
+        }
+    }
+
+    @Test
+    public void parallelTests() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Random random = new Random(7);
+            final Matrix a = random(random, 301, 517);
+            final Matrix b = random(random, 301, 517);
+            final Matrix c = random(random, 517, 263);
+
+            assertTrue(a.add(b, null).equals(a.add(b, pool)));
+            assertTrue(a.subtract(b, null).equals(a.subtract(b, pool)));
+            assertTrue(a.negate(null).equals(a.negate(pool)));
+            assertTrue(a.multiply(3.0, null).equals(a.multiply(3.0, pool)));
+            assertTrue(a.transpose(null).equals(a.transpose(pool)));
+            assertTrue(a.transposeView().equals(a.transpose(pool)));
+            assertTrue(a.view(3, 5, 200, 300).transpose(pool).equals(a.view(3, 5, 200, 300).transposeView()));
+            assertClose(naiveProduct(a, c), a.multiply(c, pool));
+            assertClose(naiveProduct(a, b.transpose()), a.multiply(b.transposeView(), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void defaultPoolTests() {
+        final ForkJoinPool previous = Matrix.getDefaultPool();
+        try {
+            Matrix.setDefaultPool(null);
+            final Matrix a = random(new Random(3), 400, 300);
+            assertClose(naiveProduct(a, a.transposeView()), a.multiply(a.transposeView()));
+            assertTrue(a.transposeView().equals(a.transpose()));
+        } finally {
+            Matrix.setDefaultPool(previous);
+        }
+    }
+
+    @Test
+    public void inPlaceTests() {
+        final Matrix a = new Matrix("A", new double[][] {{1, 2}, {3, 4}});
+        final Matrix b = new Matrix("B", new double[][] {{4, 3}, {2, 1}});
+        final Matrix destination = new Matrix("D", 2, 2);
+
+        assertArrayEquals(new double[][] {{5, 5}, {5, 5}}, a.addInto(b, destination).getBody());
+        assertArrayEquals(new double[][] {{-3, -1}, {1, 3}}, a.subtractInto(b, destination).getBody());
+        assertArrayEquals(new double[][] {{8, 5}, {20, 13}}, a.multiplyInto(b, destination).getBody());
+        assertArrayEquals(new double[][] {{1, 3}, {2, 4}}, a.transposeInto(destination).getBody());
+        assertEquals("D", destination.getName());
+
+        // Operands may double as the destination of elementwise operations
+        a.subtractInto(b, a);
+        assertArrayEquals(new double[][] {{-3, -1}, {1, 3}}, a.getBody());
+        a.axpy(2.0, b);
+        assertArrayEquals(new double[][] {{5, 5}, {5, 5}}, a.getBody());
+        a.scaleInPlace(0.5);
+        assertArrayEquals(new double[][] {{2.5, 2.5}, {2.5, 2.5}}, a.getBody());
+        b.transposeView().copyInto(a);
+        assertArrayEquals(new double[][] {{4, 2}, {3, 1}}, a.getBody());
+
+        // Values left in a reused destination, NaN included, do not leak into the product
+        final Matrix poisoned = new Matrix("P", new double[][] {{Double.NaN, Double.NaN}, {Double.POSITIVE_INFINITY, Double.NaN}});
+        assertArrayEquals(new double[][] {{4, 2}, {3, 1}}, a.multiplyInto(Matrix.identity("I", 2), poisoned).getBody());
+        poisoned.fill(Double.NaN).transposeView().fill(1.0);
+        assertArrayEquals(new double[][] {{1, 1}, {1, 1}}, poisoned.getBody());
+
+        assertThrows(IllegalArgumentException.class, () -> a.multiplyInto(b, a));
+        assertThrows(IllegalArgumentException.class, () -> a.transposeInto(a.transposeView()));
+        assertThrows(IllegalArgumentException.class, () -> a.addInto(b, new Matrix("E", 3, 2)));
+    }
+
+    @Test
+    public void lazyNameTests() {
+        final Matrix a = new Matrix("A", new double[][] {{1, 2}, {3, 4}});
+        final Matrix b = new Matrix("B", new double[][] {{4, 3}, {2, 1}});
+
+        assertEquals("A - B", a.subtract(b).getName());
+        assertEquals("2.0A * B^T", a.multiply(2.0).multiply(b.transposeView()).getName());
+        assertEquals("-A[0:1, 0:1] + B[0:1, 1:2]", a.view(0, 0, 1, 1).negate().add(b.view(0, 1, 1, 1)).getName());
+    }
+
+    @Test
+    public void longNameChainTests() {
+        // Names of long chains of operations render without deep recursion
+        final Matrix b = new Matrix("B", new double[][] {{1}});
+        Matrix m = new Matrix("M", new double[][] {{0}});
+        for (int i = 0; i < 100_000; i++) {
+            m = m.add(b);
+        }
+        assertEquals(100_000.0, m.get(0, 0));
+        final String name = m.getName();
+        assertEquals("M" + " + B".repeat(100_000), name);
+        assertTrue(m.toString().startsWith(name));
+        assertEquals("-" + name, m.negate().getName());
+    }
+
+    @Test
+    public void vectorKernelsSelectedTests() throws ReflectiveOperationException {
+        // Only the vector profile runs the JVM with the incubator module
+        assumeTrue(Boolean.getBoolean("vector.kernels"));
+        final Field instance = Class.forName("calculus.univariate.models.linearAlgebra.ArrayKernels").getField("INSTANCE");
+        instance.setAccessible(true);
+        assertEquals("calculus.univariate.models.linearAlgebra.VectorArrayKernels", instance.get(null).getClass().getName());
+    }
+
+    @Test
+    public void unitStrideKernelTests() {
+        final Random random = new Random(21);
+        // Lengths around the vector width and the short range threshold, on contiguous matrices and on row-strided views
+        for (final int numCols : new int[] {1, 7, 63, 64, 65, 203}) {
+            final Matrix a = random(random, 5, numCols + 3).view(1, 2, 3, numCols);
+            final Matrix b = random(random, 3, numCols);
+            final Matrix expectedSum = new Matrix("S", 3, numCols);
+            final Matrix expectedAxpy = new Matrix("S", 3, numCols);
+            final double[] x = random.doubles(numCols).toArray();
+            final double[] expectedProduct = new double[3];
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < numCols; j++) {
+                    expectedSum.set(i, j, a.get(i, j) - 2 * b.get(i, j));
+                    expectedAxpy.set(i, j, b.get(i, j) + 0.25 * a.get(i, j));
+                    expectedProduct[i] += a.get(i, j) * x[j];
+                }
+            }
+            assertClose(expectedSum, a.subtract(b.multiply(2.0)));
+            assertClose(expectedAxpy, b.copy().axpy(0.25, a));
+            assertClose(expectedAxpy, b.axpy(0.25, a.copy()));
+            assertArrayEquals(expectedProduct, a.multiplyInto(x, new double[3]), 1e-12);
+            assertArrayEquals(expectedProduct, a.copy().multiplyInto(x, new double[3]), 1e-12);
+        }
+    }
+
+    @Test
+    public void iterationAllocationTests() {
+        // Gradient iteration x <- x + w (b - A x) on a diagonally dominant system
+        final int n = 50;
+        final Matrix a = random(new Random(11), n, n);
+        for (int i = 0; i < n; i++) {
+            a.set(i, i, n);
+        }
+        final Matrix b = random(new Random(12), n, 1);
+        final Matrix x = new Matrix("x", n, 1);
+        final Matrix residual = new Matrix("r", n, 1);
+        final double w = 1.0 / (2 * n);
+
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int warmUp = 0; warmUp < 2; warmUp++) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            for (int iteration = 0; iteration < 2000; iteration++) {
+                a.multiplyInto(x, residual);
+                b.subtractInto(residual, residual);
+                x.axpy(w, residual);
+            }
+            if (warmUp == 1) {
+                assertTrue(threads.getCurrentThreadAllocatedBytes() - before < 1024);
+            }
+        }
+        assertClose(b, a.multiply(x));
+    }
+
+    private static Matrix random(final Random random, final int numRows, final int numCols) {
+        final Matrix matrix = new Matrix("R", numRows, numCols);
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                matrix.set(i, j, random.nextDouble() - 0.5);
+            }
+        }
+        return matrix;
+    }
+
+    private static Matrix naiveProduct(final Matrix a, final Matrix b) {
+        final Matrix result = new Matrix("P", a.getNumRows(), b.getNumCols());
+        for (int i = 0; i < a.getNumRows(); i++) {
+            for (int j = 0; j < b.getNumCols(); j++) {
+                double sum = 0;
+                for (int k = 0; k < a.getNumCols(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                result.set(i, j, sum);
+            }
+        }
+        return result;
+    }
+
+    private static void assertClose(final Matrix expected, final Matrix actual) {
+        assertEquals(expected.getNumRows(), actual.getNumRows());
+        assertEquals(expected.getNumCols(), actual.getNumCols());
+        for (int i = 0; i < expected.getNumRows(); i++) {
+            for (int j = 0; j < expected.getNumCols(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), 1e-10);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package univariate.models.linearAlgebra;
+
+import calculus.univariate.models.linearAlgebra.Matrix;
+import calculus.univariate.models.linearAlgebra.SparseMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SparseMatrixTests {
+
+    private static final double[][] DENSE = {
+            {4, 0, 0, 1},
+            {0, 0, 2, 0},
+            {3, 0, 5, 0}
+    };
+
+    @Test
+    public void builderTests() {
+        // Triplets in any order, with a duplicate that is summed
+        final SparseMatrix a = SparseMatrix.builder("A", 3, 4)
+                .add(2, 2, 5).add(0, 3, 1).add(0, 0, 1).add(1, 2, 2).add(2, 0, 3).add(0, 0, 3)
+                .buildCsr();
+
+        assertEquals(5, a.getNonZeroCount());
+        assertArrayEquals(new int[] {0, 2, 3, 5}, a.getPointers());
+        assertArrayEquals(new int[] {0, 3, 2, 0, 2}, a.getIndices());
+        assertArrayEquals(new double[] {4, 1, 2, 3, 5}, a.getValues());
+        assertEquals(4.0, a.get(0, 0));
+        assertEquals(0.0, a.get(1, 1));
+        assertArrayEquals(DENSE, a.toDense().getBody());
+
+        final SparseMatrix csc = SparseMatrix.builder("A", 3, 4).add(2, 2, 5).add(0, 3, 1).add(0, 0, 4).add(1, 2, 2).add(2, 0, 3).buildCsc();
+        assertArrayEquals(new int[] {0, 2, 2, 4, 5}, csc.getPointers());
+        assertArrayEquals(new int[] {0, 2, 1, 2, 0}, csc.getIndices());
+        assertArrayEquals(DENSE, csc.toDense().getBody());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> SparseMatrix.builder("A", 3, 4).add(3, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SparseMatrix.of("B", 2, 2, SparseMatrix.Format.CSR, new int[] {0, 2, 2}, new int[] {1, 0}, new double[] {1, 2}));
+    }
+
+    @Test
+    public void conversionTests() {
+        final Matrix dense = new Matrix("A", DENSE);
+        final SparseMatrix csr = SparseMatrix.fromDense(dense, SparseMatrix.Format.CSR);
+        final SparseMatrix csc = SparseMatrix.fromDense(dense, SparseMatrix.Format.CSC);
+
+        assertTrue(dense.equals(csr.toDense()));
+        assertTrue(dense.equals(csc.toDense()));
+        assertSame(csr, csr.toCsr());
+        assertArrayEquals(csc.getPointers(), csr.toCsc().getPointers());
+        assertArrayEquals(csc.getIndices(), csr.toCsc().getIndices());
+        assertArrayEquals(csr.getValues(), csc.toCsr().getValues());
+
+        // The transpose shares the arrays of the matrix
+        final SparseMatrix transposed = csr.transpose();
+        assertEquals(SparseMatrix.Format.CSC, transposed.getFormat());
+        assertSame(csr.getValues(), transposed.getValues());
+        assertTrue(dense.transpose().equals(transposed.toDense()));
+        assertEquals("A^T", transposed.getName());
+
+        final SparseMatrix square = SparseMatrix.builder("S", 3, 3).add(0, 0, 1).add(2, 2, 3).add(2, 1, 4).buildCsc();
+        assertArrayEquals(new double[] {1, 0, 3}, square.getDiagonal());
+    }
+
+    @Test
+    public void multiplyTests() {
+        final Matrix dense = new Matrix("A", DENSE);
+        final double[] x = {1, 2, 3, 4};
+        final double[] z = {1, -1, 2};
+        for (final SparseMatrix.Format format : SparseMatrix.Format.values()) {
+            final SparseMatrix a = SparseMatrix.fromDense(dense, format);
+            assertArrayEquals(new double[] {8, 6, 18}, a.multiply(x));
+            assertArrayEquals(new double[] {10, 0, 8, 1}, a.transposeMultiply(z));
+
+            // Destinations are overwritten, not accumulated into
+            final double[] y = {7, 7, 7};
+            assertSame(y, a.multiplyInto(x, y));
+            assertArrayEquals(new double[] {8, 6, 18}, y);
+            assertThrows(IllegalArgumentException.class, () -> a.multiply(z));
+        }
+        final SparseMatrix square = SparseMatrix.builder("S", 2, 2).add(0, 0, 1).buildCsr();
+        final double[] v = {1, 1};
+        assertThrows(IllegalArgumentException.class, () -> square.multiplyInto(v, v));
+    }
+
+    @Test
+    public void parallelTests() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Random random = new Random(9);
+            final int n = 100_000;
+            final SparseMatrix.Builder builder = SparseMatrix.builder("A", n, n + 7);
+            for (int i = 0; i < n; i++) {
+                builder.add(i, i, 4);
+                for (int k = 0; k < 9; k++) {
+                    builder.add(i, random.nextInt(n + 7), random.nextDouble() - 0.5);
+                }
+            }
+            final SparseMatrix csr = builder.buildCsr();
+            final SparseMatrix csc = csr.toCsc();
+            assertEquals(csr.getNonZeroCount(), csr.getIndices().length);
+            assertEquals(csr.getNonZeroCount(), csc.getValues().length);
+
+            final double[] x = random.doubles(n + 7).toArray();
+            final double[] z = random.doubles(n).toArray();
+            final double[] expected = csr.multiply(x, null);
+            final double[] expectedTranspose = csr.transposeMultiply(z, null);
+            assertClose(expected, csr.multiply(x, pool));
+            assertClose(expected, csc.multiply(x, pool));
+            assertClose(expected, csc.multiply(x, null));
+            assertClose(expectedTranspose, csr.transposeMultiply(z, pool));
+            assertClose(expectedTranspose, csc.transposeMultiply(z, pool));
+
+            // Values written in place after a parallel transpose product are seen by the next one
+            final double[] values = csr.getValues();
+            for (int p = 0; p < values.length; p++) {
+                values[p] *= -2.0;
+            }
+            final double[] scaled = csr.transposeMultiply(z, null);
+            assertClose(scaled, csr.transposeMultiply(z, pool));
+            assertEquals(-2.0 * expectedTranspose[3], scaled[3], 1e-12);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertClose(final double[] expected, final double[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-12);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package univariate.models.plotting;
+
+import calculus.univariate.models.functions.ConstantFunction;
+import calculus.univariate.models.functions.Function;
+import calculus.univariate.models.functions.combinations.RationalFunction;
+import calculus.univariate.models.functions.logarithmic.NaturalLogFunction;
+import calculus.univariate.models.functions.polynomials.PolynomialFunction;
+import calculus.univariate.models.functions.polynomials.PolynomialTerm;
+import calculus.univariate.models.functions.specials.AbsoluteValueFunction;
+import calculus.univariate.models.functions.specials.PieceWiseFunction;
+import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.plotting.AdaptiveSampler;
+import calculus.univariate.models.plotting.SampledCurve;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveSamplerTests {
+
+    private static final PolynomialFunction X = polynomial(new PolynomialTerm(1.0, "x", 1));
+
+    @Test
+    public void smoothFunctionTests() {
+        final SampledCurve curve = sample(polynomial(new PolynomialTerm(1.0, "x", 2)), Range.closed(-1.0, 1.0), 200, 1e-5);
+
+        assertEquals(1, curve.segmentCount());
+        assertTrue(curve.size() > 64 && curve.size() <= 200);
+        assertEquals(-1.0, curve.getXs()[0]);
+        assertEquals(1.0, curve.getXs()[curve.size() - 1]);
+        assertAscending(curve);
+        for (int i = 0; i < curve.size(); i++) {
+            assertEquals(curve.getXs()[i] * curve.getXs()[i], curve.getYs()[i], 1e-12);
+        }
+    }
+
+    @Test
+    public void flatRegionsTests() {
+        final Function constant = ConstantFunction.builder().funcName("c").value(2.0).build();
+        assertEquals(64, sample(constant, Range.closed(0.0, 10.0), 1000, 1e-6).size());
+
+        // Only the interval around the kink of |x| is refined
+        final Function abs = AbsoluteValueFunction.builder().funcName("a").varName("x").innerFunction(X).build();
+        final SampledCurve curve = sample(abs, Range.closed(-1.0, 1.0), 1000, 1e-6);
+        assertTrue(curve.size() < 100);
+        assertTrue(Arrays.stream(curve.getXs()).anyMatch(x -> Math.abs(x) < 1e-5));
+    }
+
+    @Test
+    public void rationalPoleTests() {
+        final Function reciprocal = RationalFunction.builder()
+                .funcName("r").varName("x")
+                .numerator(polynomial(new PolynomialTerm(1.0, "x", 0)))
+                .denominator(X)
+                .build();
+        final SampledCurve curve = sample(reciprocal, Range.closed(-1.0, 1.0), 500, 1e-3);
+
+        assertEquals(2, curve.segmentCount());
+        assertAscending(curve);
+        for (int i = 0; i < curve.size(); i++) {
+            assertTrue(Double.isNaN(curve.getYs()[i]) || curve.getXs()[i] * curve.getYs()[i] > 0);
+        }
+    }
+
+    @Test
+    public void logBoundaryTests() {
+        final SampledCurve curve = sample(new NaturalLogFunction("l", "x", X), Range.closed(-1.0, 2.0), 500, 1e-3);
+
+        assertEquals(1, curve.segmentCount());
+        assertTrue(curve.getXs()[0] > 0 && curve.getXs()[0] < 1e-6);
+        assertEquals(Math.log(2), curve.getYs()[curve.size() - 1], 1e-12);
+    }
+
+    @Test
+    public void pieceWiseBreakTests() {
+        final SampledCurve jump = sample(PieceWiseFunction.defaultFunction(), Range.closed(-1.0, 1.0), 200, 1e-3);
+        assertEquals(2, jump.segmentCount());
+        assertEquals(64, jump.size() - 1);
+
+        // x for x < 0 and 2x for x >= 0 is continuous, so it is drawn in one piece
+        final Function continuous = new PieceWiseFunction("f", "x", Map.of(
+                X, Range.lessThan(0.0),
+                polynomial(new PolynomialTerm(2.0, "x", 1)), Range.atLeast(0.0)
+        ));
+        assertEquals(1, sample(continuous, Range.closed(-1.0, 1.0), 200, 1e-3).segmentCount());
+    }
+
+    @Test
+    public void budgetTests() {
+        final Function abs = AbsoluteValueFunction.builder().funcName("a").varName("x").innerFunction(X).build();
+        final SampledCurve curve = sample(abs, Range.closed(-3.0, 5.0), 100, 1e-15);
+
+        assertTrue(curve.size() <= 100);
+        assertThrows(IllegalArgumentException.class, () -> sample(abs, Range.atLeast(0.0), 100, 1e-3));
+        assertThrows(IllegalArgumentException.class, () -> sample(abs, Range.closed(0.0, 1.0), 10, 1e-3));
+    }
+
+    private static SampledCurve sample(final Function function, final Range range, final int maxPoints, final double tolerance) {
+        return AdaptiveSampler.builder()
+                .function(function)
+                .range(range)
+                .maxPoints(maxPoints)
+                .tolerance(tolerance)
+                .build()
+                .sample();
+    }
+
+    private static PolynomialFunction polynomial(final PolynomialTerm... terms) {
+        return new PolynomialFunction(new LinkedList<>(List.of(terms)), "p", "x");
+    }
+
+    private static void assertAscending(final SampledCurve curve) {
+        for (int i = 1; i < curve.size(); i++) {
+            assertTrue(curve.getXs()[i - 1] < curve.getXs()[i]);
+        }
+    }
+}
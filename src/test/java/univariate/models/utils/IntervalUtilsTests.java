@@ -0,0 +1,145 @@
+package univariate.models.utils;
+
+import calculus.univariate.models.functions.Function;
+import calculus.univariate.models.functions.combinations.RationalFunction;
+import calculus.univariate.models.functions.logarithmic.NaturalLogFunction;
+import calculus.univariate.models.functions.polynomials.PolynomialFunction;
+import calculus.univariate.models.functions.polynomials.PolynomialTerm;
+import calculus.univariate.models.functions.trigonometric.TrigonometricFunction;
+import calculus.univariate.models.functions.trigonometric.TrigonometricFunctionType;
+import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.utils.IntervalUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntervalUtilsTests {
+
+    private static final PolynomialFunction X = new PolynomialFunction(new LinkedList<>(List.of(new PolynomialTerm(1.0, "x", 1))), "f", "x");
+
+    // x^2 - 2x
+    private static final PolynomialFunction QUADRATIC = new PolynomialFunction(
+            new LinkedList<>(List.of(new PolynomialTerm(1.0, "x", 2), new PolynomialTerm(-2.0, "x", 1))), "q", "x");
+
+    @Test
+    public void arithmeticTests() {
+        final Range a = Range.closed(-1.0, 2.0);
+        final Range b = Range.closed(3.0, 4.0);
+
+        assertEnclosed(2.0, 6.0, IntervalUtils.add(a, b));
+        assertEnclosed(-5.0, -1.0, IntervalUtils.subtract(a, b));
+        assertEnclosed(-4.0, 8.0, IntervalUtils.multiply(a, b));
+        assertEnclosed(-1.0 / 3, 2.0 / 3, IntervalUtils.divide(a, b));
+        assertEquals(Range.all(), IntervalUtils.divide(b, a));
+        assertEnclosed(0.0, 4.0, IntervalUtils.pow(a, 2));
+        assertEnclosed(-1.0, 8.0, IntervalUtils.pow(a, 3));
+        assertEquals(Range.closed(0.0, 2.0), IntervalUtils.abs(a));
+        assertNull(IntervalUtils.add(a, null));
+    }
+
+    @Test
+    public void outwardRoundingTests() {
+        final Range sum = IntervalUtils.add(Range.singleton(0.1), Range.singleton(0.2));
+
+        assertTrue(sum.getLowerBound() < 0.1 + 0.2 && sum.getUpperBound() > 0.1 + 0.2);
+        assertTrue(sum.includes(0.3));
+    }
+
+    @Test
+    public void unboundedTests() {
+        final Range positive = IntervalUtils.multiply(Range.atLeast(0.0), Range.closed(1.0, 2.0));
+
+        assertEquals(0.0, positive.getLowerBound(), 1e-300);
+        assertEquals(Double.POSITIVE_INFINITY, positive.getUpperBound());
+        assertEnclosed(0.0, 0.0, IntervalUtils.multiply(Range.singleton(0.0), Range.all()));
+    }
+
+    @Test
+    public void monotoneFunctionTests() {
+        assertEnclosed(0.0, 1.0, IntervalUtils.log(Range.closed(1.0, Math.E), Math.E));
+        assertEquals(Double.NEGATIVE_INFINITY, IntervalUtils.log(Range.closed(-5.0, 100.0), 10).getLowerBound());
+        assertEquals(2.0, IntervalUtils.log(Range.closed(-5.0, 100.0), 10).getUpperBound(), 1e-12);
+        assertNull(IntervalUtils.log(Range.closed(-2.0, -1.0), Math.E));
+        assertEnclosed(0.25, 4.0, IntervalUtils.exp(2.0, Range.closed(-2.0, 2.0)));
+        assertEnclosed(0.25, 4.0, IntervalUtils.exp(0.5, Range.closed(-2.0, 2.0)));
+        assertEnclosed(0.0, 3.0, IntervalUtils.pow(Range.closed(-4.0, 9.0), 0.5));
+    }
+
+    @Test
+    public void trigonometricTests() {
+        assertEnclosed(-1.0, 1.0, IntervalUtils.sin(Range.closed(0.0, 7.0)));
+        assertEnclosed(0.0, 1.0, IntervalUtils.sin(Range.closed(0.0, Math.PI)));
+        assertEnclosed(Math.sin(0.1), Math.sin(0.2), IntervalUtils.sin(Range.closed(0.1, 0.2)));
+        assertEnclosed(-1.0, Math.cos(3.0), IntervalUtils.cos(Range.closed(3.0, 3.2)));
+        assertEquals(Range.closed(-1.0, 1.0), IntervalUtils.cos(Range.atLeast(0.0)));
+        assertEnclosed(-1.0, 1.0, IntervalUtils.tan(Range.closed(-Math.PI / 4, Math.PI / 4)));
+        assertEquals(Range.all(), IntervalUtils.tan(Range.closed(1.0, 2.0)));
+    }
+
+    @Test
+    public void functionEvaluationTests() {
+        // Term by term, x^2 - 2x over [0, 2] is enclosed by [0, 4] - [0, 4]
+        assertEnclosed(-4.0, 4.0, QUADRATIC.evaluate(Range.closed(0.0, 2.0)));
+
+        final Function reciprocal = RationalFunction.builder()
+                .funcName("r").varName("x")
+                .numerator(new PolynomialFunction(new LinkedList<>(List.of(new PolynomialTerm(1.0, "x", 0))), "n", "x"))
+                .denominator(X)
+                .build();
+        assertEnclosed(0.5, 1.0, reciprocal.evaluate(Range.closed(1.0, 2.0)));
+        assertEquals(Range.all(), reciprocal.evaluate(Range.closed(-1.0, 1.0)));
+
+        final Function log = new NaturalLogFunction("l", "x", X);
+        assertEnclosed(0.0, 1.0, log.evaluate(Range.closed(1.0, Math.E)));
+
+        final Function sine = TrigonometricFunction.builder()
+                .funcName("s").varName("x")
+                .trigonometricFunctionType(TrigonometricFunctionType.SINE)
+                .innerFunction(X)
+                .build();
+        assertEnclosed(-1.0, 1.0, sine.evaluate(Range.closed(-2.0, 2.0)));
+
+        // Every sampled value must lie within the enclosure
+        final Range input = Range.closed(-3.0, 5.0);
+        final Range enclosure = QUADRATIC.evaluate(input);
+        for (double x = -3.0; x <= 5.0; x += 0.01) {
+            assertTrue(enclosure.includes(QUADRATIC.evaluate(x)));
+        }
+    }
+
+    @Test
+    public void branchAndBoundTests() {
+        final Range refined = IntervalUtils.refine(QUADRATIC, Range.closed(0.0, 2.0), 1e-3, 10000);
+        assertTrue(refined.includes(-1.0) && refined.includes(0.0));
+        assertEquals(-1.0, refined.getLowerBound(), 1e-2);
+        assertEquals(0.0, refined.getUpperBound(), 1e-2);
+
+        final Range minimum = IntervalUtils.minimum(QUADRATIC, Range.closed(-10.0, 10.0), 1e-9);
+        assertTrue(minimum.includes(-1.0));
+        assertEquals(-1.0, minimum.getLowerBound(), 1e-8);
+
+        final Range maximum = IntervalUtils.maximum(QUADRATIC, Range.closed(-10.0, 10.0), 1e-9);
+        assertTrue(maximum.includes(120.0));
+        assertEquals(120.0, maximum.getUpperBound(), 1e-7);
+    }
+
+    @Test
+    public void rootCandidatesTests() {
+        final List<Range> candidates = IntervalUtils.rootCandidates(QUADRATIC, Range.closed(-10.0, 10.0), 1e-6);
+
+        assertTrue(candidates.stream().anyMatch(box -> box.includes(0.0)));
+        assertTrue(candidates.stream().anyMatch(box -> box.includes(2.0)));
+        assertTrue(candidates.stream().allMatch(box -> Math.abs(box.getLowerBound()) < 1e-3 || Math.abs(box.getLowerBound() - 2) < 1e-3));
+    }
+
+    private static void assertEnclosed(final double lowerBound, final double upperBound, final Range range) {
+        assertTrue(range.getLowerBound() <= lowerBound && range.getUpperBound() >= upperBound, range.toString());
+        assertEquals(lowerBound, range.getLowerBound(), 1e-12);
+        assertEquals(upperBound, range.getUpperBound(), 1e-12);
+    }
+}
@@ -0,0 +1,72 @@
+package univariate.models.utils;
+
+import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.numberUtils.RangeSampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RangeSamplerTests {
+
+    @Test
+    public void boundFlagsTests() {
+        assertEquals(List.of(0.0, 0.25, 0.5, 0.75, 1.0), Range.closed(0.0, 1.0).toList(0.25));
+        assertEquals(List.of(0.25, 0.5, 0.75), Range.open(0.0, 1.0).toList(0.25));
+        assertEquals(List.of(0.0, 0.25, 0.5, 0.75), Range.closedOpen(0.0, 1.0).toList(0.25));
+        assertEquals(List.of(0.25, 0.5, 0.75, 1.0), Range.openClosed(0.0, 1.0).toList(0.25));
+        assertEquals(List.of(0.0, 0.4, 0.8, 1.0), Range.closed(0.0, 1.0).toList(0.4));
+        assertEquals(List.of(3.0), Range.singleton(3.0).toList(0.1));
+    }
+
+    @Test
+    public void noDriftTests() {
+        final RangeSampler sampler = Range.closed(0.0, 1.0).sampler(0.1);
+
+        assertEquals(11, sampler.size());
+        assertEquals(0.1 * 7, sampler.get(7), 0.0);
+        assertEquals(1.0, sampler.get(10), 0.0);
+        assertThrows(IndexOutOfBoundsException.class, () -> sampler.get(11));
+    }
+
+    @Test
+    public void largeSamplerTests() {
+        // 10^9 samples, never materialised
+        final RangeSampler sampler = Range.closedOpen(0.0, 1e4).sampler(1e-5);
+
+        assertEquals(1_000_000_000L, sampler.size());
+        assertEquals(1e4 - 1e-5, sampler.get(sampler.size() - 1), 1e-9);
+        assertEquals(0.1 * (1e5 - 1) * 1e5 / 2, Range.closedOpen(0.0, 1e4).sampler(0.1).parallelStream().sum(), 1e-3);
+    }
+
+    @Test
+    public void parallelStreamTests() {
+        final RangeSampler sampler = Range.closed(-1.0, 1.0).sampler(1e-6);
+
+        assertEquals(sampler.stream().count(), sampler.parallelStream().count());
+        assertArrayEquals(sampler.stream().toArray(), sampler.parallelStream().toArray());
+        assertEquals(0.0, sampler.parallelStream().sum(), 1e-6);
+    }
+
+    @Test
+    public void chunksTests() {
+        final Iterator<double[]> chunks = Range.closed(0.0, 1.0).sampler(0.25).chunks(2);
+
+        assertArrayEquals(new double[] {0.0, 0.25}, chunks.next());
+        assertArrayEquals(new double[] {0.5, 0.75}, chunks.next());
+        assertArrayEquals(new double[] {1.0}, chunks.next());
+        assertFalse(chunks.hasNext());
+    }
+
+    @Test
+    public void exceptionsTests() {
+        assertThrows(IllegalArgumentException.class, () -> Range.atLeast(0.0).sampler(0.1));
+        assertThrows(IllegalArgumentException.class, () -> Range.closed(0.0, 1.0).sampler(0.0));
+        assertThrows(IllegalArgumentException.class, () -> Range.closed(0.0, 1.0).sampler(1.0).chunks(0));
+    }
+}
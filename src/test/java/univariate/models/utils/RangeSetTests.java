@@ -0,0 +1,109 @@
+package univariate.models.utils;
+
+import calculus.univariate.models.numberUtils.Range;
+import calculus.univariate.models.numberUtils.RangeSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RangeSetTests {
+
+    @Test
+    public void coalesceTests() {
+        final RangeSet set = RangeSet.of(
+                Range.closed(5.0, 6.0),
+                Range.closedOpen(0.0, 1.0),
+                Range.closed(1.0, 2.0),
+                Range.open(1.5, 3.0),
+                Range.open(3.0, 4.0)
+        );
+
+        // [0, 1) and [1, 2] touch, (1.5, 3) overlaps, but (.., 3) and (3, ..) both exclude 3
+        assertEquals(List.of(Range.closedOpen(0.0, 3.0), Range.open(3.0, 4.0), Range.closed(5.0, 6.0)), set.toList());
+        assertEquals(3, set.size());
+        assertTrue(RangeSet.of().isEmpty());
+        assertTrue(RangeSet.of(Range.open(1.0, 1.0)).isEmpty());
+
+        // Null ranges are skipped
+        assertEquals(List.of(Range.closed(0.0, 2.0)), RangeSet.of(Range.closed(1.0, 2.0), null, Range.closed(0.0, 1.0), null).toList());
+    }
+
+    @Test
+    public void includesTests() {
+        final RangeSet set = RangeSet.of(Range.lessThan(-10.0), Range.singleton(0.0), Range.openClosed(1.0, 2.0));
+
+        assertTrue(set.includes(Double.NEGATIVE_INFINITY));
+        assertTrue(set.includes(-11.0));
+        assertFalse(set.includes(-10.0));
+        assertTrue(set.includes(0.0));
+        assertFalse(set.includes(0.5));
+        assertFalse(set.includes(1.0));
+        assertTrue(set.includes(2.0));
+        assertFalse(set.includes(Double.POSITIVE_INFINITY));
+        assertFalse(set.includes(Double.NaN));
+
+        assertTrue(set.includes(Range.closed(1.5, 2.0)));
+        assertTrue(set.includes(Range.open(1.0, 2.0)));
+        assertFalse(set.includes(Range.closed(1.0, 2.0)));
+        assertTrue(set.includes(Range.lessThan(-10.0)));
+        assertFalse(set.includes(Range.atMost(-10.0)));
+    }
+
+    @Test
+    public void unionTests() {
+        final RangeSet set1 = RangeSet.of(Range.closed(0.0, 1.0), Range.open(4.0, 5.0));
+        final RangeSet set2 = RangeSet.of(Range.openClosed(1.0, 2.0), Range.closed(5.0, 6.0), Range.greaterThan(10.0));
+
+        assertEquals(
+                RangeSet.of(Range.closed(0.0, 2.0), Range.openClosed(4.0, 6.0), Range.greaterThan(10.0)),
+                set1.union(set2)
+        );
+        assertEquals(set1, set1.union(RangeSet.empty()));
+    }
+
+    @Test
+    public void intersectionTests() {
+        final RangeSet set1 = RangeSet.of(Range.closed(0.0, 3.0), Range.open(4.0, 8.0));
+        final RangeSet set2 = RangeSet.of(Range.openClosed(1.0, 2.0), Range.closed(3.0, 5.0), Range.atLeast(8.0));
+
+        assertEquals(
+                List.of(Range.openClosed(1.0, 2.0), Range.singleton(3.0), Range.openClosed(4.0, 5.0)),
+                set1.intersection(set2).toList()
+        );
+        assertTrue(set1.intersection(RangeSet.empty()).isEmpty());
+        assertEquals(set2, set2.intersection(RangeSet.all()));
+    }
+
+    @Test
+    public void complementTests() {
+        final RangeSet set = RangeSet.of(Range.atMost(0.0), Range.closedOpen(1.0, 2.0), Range.open(2.0, 3.0));
+
+        assertEquals(List.of(Range.open(0.0, 1.0), Range.singleton(2.0), Range.atLeast(3.0)), set.complement().toList());
+        assertEquals(set, set.complement().complement());
+        assertEquals(RangeSet.all(), RangeSet.empty().complement());
+        assertTrue(RangeSet.all().complement().isEmpty());
+        assertEquals(List.of(Range.closedOpen(1.0, 2.0), Range.open(2.0, 3.0)), set.difference(RangeSet.of(Range.atMost(0.5))).toList());
+    }
+
+    @Test
+    public void manyRangesTests() {
+        final List<Range> evens = new ArrayList<>();
+        final List<Range> odds = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            (i % 2 == 0 ? evens : odds).add(Range.closedOpen((double) i, i + 1.0));
+        }
+        final RangeSet evenSet = RangeSet.of(evens);
+        final RangeSet oddSet = RangeSet.of(odds);
+
+        assertEquals(5000, evenSet.size());
+        assertTrue(evenSet.intersection(oddSet).isEmpty());
+        assertEquals(List.of(Range.closedOpen(0.0, 10000.0)), evenSet.union(oddSet).toList());
+        assertTrue(evenSet.includes(4242.5));
+        assertFalse(evenSet.includes(4243.5));
+    }
+}
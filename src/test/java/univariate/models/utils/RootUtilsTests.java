@@ -0,0 +1,64 @@
+package univariate.models.utils;
+
+import calculus.univariate.utils.RootUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RootUtilsTests {
+
+    @Test
+    public void findRootsTest() {
+        final List<Double> roots = RootUtils.findRoots(x -> x * x - 2, -5, 5, 1000, 1e-12);
+
+        assertEquals(2, roots.size());
+        assertEquals(-Math.sqrt(2), roots.get(0), 1e-10);
+        assertEquals(Math.sqrt(2), roots.get(1), 1e-10);
+    }
+
+    @Test
+    public void findRootsOnSamplePointTest() {
+        final List<Double> roots = RootUtils.findRoots(x -> x * (x - 1), -2, 2, 4, 1e-12);
+
+        assertEquals(List.of(0.0, 1.0), roots);
+    }
+
+    @Test
+    public void polesAreNotRootsTest() {
+        assertTrue(RootUtils.findRoots(x -> 1 / (x - 1.5), -5, 5, 1000, 1e-12).isEmpty());
+
+        final List<Double> signChanges = RootUtils.findSignChanges(x -> 1 / (x - 1.5), -5, 5, 1000, 1e-12);
+        assertEquals(1, signChanges.size());
+        assertEquals(1.5, signChanges.get(0), 1e-10);
+    }
+
+    @Test
+    public void definednessChangesTest() {
+        final List<Double> signChanges = RootUtils.findSignChanges(x -> Math.sqrt(x - 0.3), -1, 1, 100, 1e-12);
+
+        assertEquals(1, signChanges.size());
+        assertEquals(0.3, signChanges.get(0), 1e-10);
+    }
+
+    @Test
+    public void invalidWindowTest() {
+        assertThrows(IllegalArgumentException.class, () -> RootUtils.findRoots(x -> x, 1, 1, 10, 1e-12));
+        assertThrows(IllegalArgumentException.class, () -> RootUtils.findRoots(x -> x, 0, Double.POSITIVE_INFINITY, 10, 1e-12));
+        assertThrows(IllegalArgumentException.class, () -> RootUtils.findRoots(x -> x, 0, 1, 0, 1e-12));
+    }
+
+    @Test
+    public void polynomialRootsTest() {
+        // (x - 1)^2 (x + 2) = x^3 - 3x + 2
+        final List<Double> roots = RootUtils.polynomialRoots(new double[]{2, -3, 0, 1});
+
+        assertEquals(2, roots.size());
+        assertEquals(-2.0, roots.get(0), 1e-10);
+        assertEquals(1.0, roots.get(1), 1e-7);
+        assertTrue(RootUtils.polynomialRoots(new double[]{1, 0, 1}).isEmpty());
+    }
+}